@@ -0,0 +1,53 @@
+package org.example.locaspace.benchmarks;
+
+import org.example.locaspace.model.Lieu;
+import org.example.locaspace.model.User;
+import org.example.locaspace.model.enums.Role;
+import org.example.locaspace.service.ReservationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// GET /api/reservations/lieu/{id}/available-dates: the 90-day free-day scan for a lieu with
+// a growing number of active reservations inside the window
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AvailabilityBenchmark {
+
+    @Param({"0", "10", "100", "1000"})
+    int reservations;
+
+    private ReservationService reservationService;
+    private Long lieuId;
+
+    @Setup
+    public void setUp() {
+        BenchmarkData data = new BenchmarkData();
+        reservationService = BenchmarkContext.bean(ReservationService.class);
+        User owner = data.user(Role.PROPRIETAIRE);
+        Lieu lieu = data.lieux(owner, 1).get(0);
+        data.reservations(lieu, data.user(Role.LOCATAIRE), reservations);
+        lieuId = lieu.getId();
+    }
+
+    @Benchmark
+    public List<LocalDate> getAvailableDates() {
+        return reservationService.getAvailableDates(lieuId);
+    }
+}
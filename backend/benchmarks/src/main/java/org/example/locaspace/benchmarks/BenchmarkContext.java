@@ -0,0 +1,64 @@
+package org.example.locaspace.benchmarks;
+
+import org.example.locaspace.LocaSpaceApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+
+// The application booted once per forked JVM against an in-memory H2 database in MySQL mode,
+// with the schema generated by Hibernate and the background schedulers pushed out of the way
+final class BenchmarkContext {
+
+    private static ConfigurableApplicationContext context;
+
+    private BenchmarkContext() {
+    }
+
+    static synchronized ConfigurableApplicationContext get() {
+        if (context == null) {
+            // As command-line arguments: builder properties are defaults that application.properties overrides
+            String[] args = properties().entrySet().stream()
+                .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                .toArray(String[]::new);
+            context = new SpringApplicationBuilder(LocaSpaceApplication.class).run(args);
+            Runtime.getRuntime().addShutdownHook(new Thread(context::close));
+        }
+        return context;
+    }
+
+    static <T> T bean(Class<T> type) {
+        return get().getBean(type);
+    }
+
+    private static Map<String, Object> properties() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("spring.datasource.url", "jdbc:h2:mem:locaspace;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+        // data.sql targets the MySQL schema and would run before Hibernate creates the tables
+        properties.put("spring.sql.init.mode", "never");
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("spring.main.banner-mode", "off");
+        properties.put("logging.level.root", "WARN");
+        properties.put("server.port", "0");
+        properties.put("file.upload-dir", tempDir());
+        properties.put("photo.gc.cron", "-");
+        properties.put("photo.variants.poll-interval", "3600000");
+        properties.put("reservation.expiry-sweep-interval", "3600000");
+        return properties;
+    }
+
+    private static String tempDir() {
+        try {
+            return Files.createTempDirectory("locaspace-bench").toString();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package org.example.locaspace.benchmarks;
+
+import org.example.locaspace.model.Avis;
+import org.example.locaspace.model.Lieu;
+import org.example.locaspace.model.Reservation;
+import org.example.locaspace.model.User;
+import org.example.locaspace.model.enums.LieuType;
+import org.example.locaspace.model.enums.ReservationStatus;
+import org.example.locaspace.model.enums.Role;
+import org.example.locaspace.repository.AvisRepository;
+import org.example.locaspace.repository.LieuRepository;
+import org.example.locaspace.repository.ReservationRepository;
+import org.example.locaspace.repository.UserRepository;
+import org.hibernate.Hibernate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+// Seeds the benchmark database through the application's repositories. Generated values are
+// deterministic (fixed seed) so two runs measure the same data.
+final class BenchmarkData {
+
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+    private static final ReservationStatus[] ACTIVE = {
+        ReservationStatus.OPTION, ReservationStatus.EN_ATTENTE, ReservationStatus.CONFIRMEE
+    };
+
+    private final UserRepository userRepository;
+    private final LieuRepository lieuRepository;
+    private final AvisRepository avisRepository;
+    private final ReservationRepository reservationRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Random random = new Random(42);
+
+    BenchmarkData() {
+        this.userRepository = BenchmarkContext.bean(UserRepository.class);
+        this.lieuRepository = BenchmarkContext.bean(LieuRepository.class);
+        this.avisRepository = BenchmarkContext.bean(AvisRepository.class);
+        this.reservationRepository = BenchmarkContext.bean(ReservationRepository.class);
+        this.transactionTemplate = BenchmarkContext.bean(TransactionTemplate.class);
+    }
+
+    User user(Role role) {
+        long n = SEQUENCE.incrementAndGet();
+        return userRepository.save(User.builder()
+            .nom("Bench " + role.name().toLowerCase() + " " + n)
+            .email("bench" + n + "@example.com")
+            .motDePasse("{noop}bench")
+            .role(role)
+            .build());
+    }
+
+    // Validated lieux with six photos and a few reviews each
+    List<Lieu> lieux(User owner, int count) {
+        // One review per (author, lieu): avis has a unique key on the pair
+        List<User> reviewers = List.of(user(Role.LOCATAIRE), user(Role.LOCATAIRE), user(Role.LOCATAIRE));
+        List<Lieu> lieux = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long n = SEQUENCE.incrementAndGet();
+            List<String> photos = new ArrayList<>();
+            for (int p = 0; p < 6; p++) {
+                photos.add("/uploads/sha256/ab/cd/" + Long.toHexString(n * 31 + p) + ".jpg");
+            }
+            lieux.add(Lieu.builder()
+                .titre("Appartement lumineux n°" + n)
+                .description("Bel appartement rénové au cœur du quartier, proche des transports et des commerces.")
+                .type(LieuType.values()[i % LieuType.values().length])
+                .prix(BigDecimal.valueOf(40 + random.nextInt(200)))
+                .adresse(n + " rue de la République, Lyon")
+                .valide(true)
+                .photos(photos)
+                .owner(owner)
+                .build());
+        }
+        List<Lieu> saved = lieuRepository.saveAll(lieux);
+        List<Avis> avis = new ArrayList<>();
+        for (Lieu lieu : saved) {
+            for (User reviewer : reviewers) {
+                avis.add(Avis.builder().note(1 + random.nextInt(5)).commentaire("Très bon séjour").auteur(reviewer).lieu(lieu).build());
+            }
+        }
+        avisRepository.saveAll(avis);
+        return saved;
+    }
+
+    // Active reservations of 1 to 5 nights starting within the next 90 days (overlaps allowed)
+    List<Reservation> reservations(Lieu lieu, User locataire, int count) {
+        LocalDate today = LocalDate.now();
+        List<Reservation> reservations = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDate start = today.plusDays(random.nextInt(90));
+            reservations.add(Reservation.builder()
+                .dateDebut(start)
+                .dateFin(start.plusDays(1 + random.nextInt(5)))
+                .statut(ACTIVE[random.nextInt(ACTIVE.length)])
+                .locataire(locataire)
+                .lieu(lieu)
+                .build());
+        }
+        return reservationRepository.saveAll(reservations);
+    }
+
+    // Reloads lieux with their photos and owner initialized, as the controllers hand them to the mapper
+    List<Lieu> loaded(List<Lieu> lieux) {
+        List<Long> ids = lieux.stream().map(Lieu::getId).collect(Collectors.toList());
+        return transactionTemplate.execute(status -> {
+            List<Lieu> loaded = lieuRepository.findAllById(ids);
+            for (Lieu lieu : loaded) {
+                Hibernate.initialize(lieu.getPhotos());
+                Hibernate.initialize(lieu.getOwner());
+            }
+            return loaded;
+        });
+    }
+
+    List<Reservation> loadedReservations(List<Reservation> reservations) {
+        List<Long> ids = reservations.stream().map(Reservation::getId).collect(Collectors.toList());
+        return transactionTemplate.execute(status -> {
+            List<Reservation> loaded = reservationRepository.findAllById(ids);
+            for (Reservation reservation : loaded) {
+                Hibernate.initialize(reservation.getLocataire());
+                Hibernate.initialize(reservation.getLieu());
+                Hibernate.initialize(reservation.getLieu().getPhotos());
+            }
+            return loaded;
+        });
+    }
+}
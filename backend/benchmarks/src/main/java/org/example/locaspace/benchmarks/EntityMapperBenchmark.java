@@ -0,0 +1,79 @@
+package org.example.locaspace.benchmarks;
+
+import org.example.locaspace.dto.lieu.LieuResponse;
+import org.example.locaspace.dto.reservation.ReservationResponse;
+import org.example.locaspace.mapper.EntityMapper;
+import org.example.locaspace.model.Lieu;
+import org.example.locaspace.model.Reservation;
+import org.example.locaspace.model.User;
+import org.example.locaspace.model.enums.Role;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Entity to response mapping for a page of lieux, database lookups included: the batched list
+// mapping against the per-lieu mapping of the detail endpoint, and reservation mapping
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EntityMapperBenchmark {
+
+    @Param({"12", "50"})
+    int pageSize;
+
+    private EntityMapper entityMapper;
+    private List<Lieu> lieux;
+    private List<Reservation> reservations;
+
+    @Setup
+    public void setUp() {
+        BenchmarkData data = new BenchmarkData();
+        entityMapper = BenchmarkContext.bean(EntityMapper.class);
+        User owner = data.user(Role.PROPRIETAIRE);
+        User locataire = data.user(Role.LOCATAIRE);
+        lieux = data.loaded(data.lieux(owner, pageSize));
+        List<Reservation> saved = new ArrayList<>();
+        for (Lieu lieu : lieux) {
+            saved.addAll(data.reservations(lieu, locataire, 1));
+        }
+        reservations = data.loadedReservations(saved);
+    }
+
+    @Benchmark
+    public List<LieuResponse> toLieuCardResponses() {
+        return entityMapper.toLieuCardResponses(lieux);
+    }
+
+    @Benchmark
+    public List<LieuResponse> toLieuResponseEach() {
+        List<LieuResponse> responses = new ArrayList<>(lieux.size());
+        for (Lieu lieu : lieux) {
+            responses.add(entityMapper.toLieuResponse(lieu));
+        }
+        return responses;
+    }
+
+    @Benchmark
+    public List<ReservationResponse> toReservationResponses() {
+        List<ReservationResponse> responses = new ArrayList<>(reservations.size());
+        for (Reservation reservation : reservations) {
+            responses.add(entityMapper.toReservationResponse(reservation));
+        }
+        return responses;
+    }
+}
@@ -0,0 +1,84 @@
+package org.example.locaspace.benchmarks;
+
+import org.example.locaspace.dto.lieu.LieuResponse;
+import org.example.locaspace.dto.lieu.PhotoVariantsResponse;
+import org.example.locaspace.dto.notification.NotificationResponse;
+import org.example.locaspace.dto.reservation.ReservationResponse;
+import org.example.locaspace.dto.user.UserSummaryResponse;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Deterministic response payloads shaped like production pages (same shapes as the backend tests' ResponseFixtures)
+final class Fixtures {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 6, 1, 12, 0);
+
+    private Fixtures() {
+    }
+
+    static PageImpl<LieuResponse> lieuPage(int size) {
+        List<LieuResponse> content = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            content.add(lieu(1000 + i));
+        }
+        return new PageImpl<>(content, PageRequest.of(0, size), 240);
+    }
+
+    static LieuResponse lieu(long id) {
+        String cover = "/uploads/sha256/ab/cd/" + Long.toHexString(id * 0x9E3779B97F4A7C15L) + "0123456789abcdef.jpg";
+        Map<Integer, String> variants = new LinkedHashMap<>();
+        for (int width : new int[]{320, 640, 1280}) {
+            variants.put(width, cover.replace(".jpg", "-w" + width + ".jpg").replace("/cd/", "/cd/variants/"));
+        }
+        return new LieuResponse(id, "Appartement lumineux n°" + id,
+            "Bel appartement rénové au cœur du quartier, proche des transports et des commerces. ".repeat(8),
+            "Appartement", BigDecimal.valueOf(85 + id % 100), id + " rue de la République, Lyon", true,
+            List.of(cover), 6, owner(id), 4.2, 17L,
+            List.of(PhotoVariantsResponse.builder()
+                .url(cover)
+                .placeholder("data:image/jpeg;base64,/9j/4AAQSkZJRgABAQAAAQABAAD/2wBDAAgGBgcGBQgHBwcJCQgKDBQNDAsLDBkSEw8UHR")
+                .variants(variants)
+                .build()));
+    }
+
+    static List<ReservationResponse> reservations(int size) {
+        List<ReservationResponse> content = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            LieuResponse lieu = lieu(1000 + i % 7);
+            LocalDate start = LocalDate.of(2025, 7, 1).plusDays(i * 3L);
+            content.add(new ReservationResponse((long) i, start, start.plusDays(3), "CONFIRMEE",
+                new UserSummaryResponse(50L + i, "Locataire " + i, "guest" + i + "@example.com", "LOCATAIRE"),
+                new LieuResponse(lieu.id(), lieu.titre(), lieu.description(), lieu.type(), lieu.prix(),
+                    lieu.adresse(), lieu.valide(), lieu.photos(), null, null, null),
+                3L, lieu.prix().doubleValue() * 3, null));
+        }
+        return content;
+    }
+
+    static List<NotificationResponse> notifications(int size) {
+        List<NotificationResponse> content = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            content.add(NotificationResponse.builder()
+                .id((long) i)
+                .title("Nouvelle réservation")
+                .message("Votre lieu « Appartement lumineux n°" + i + " » a été réservé du 1 au 4 juillet.")
+                .type("RESERVATION")
+                .lu(i % 3 == 0)
+                .createdAt(NOW.minusHours(i))
+                .build());
+        }
+        return content;
+    }
+
+    private static UserSummaryResponse owner(long id) {
+        return new UserSummaryResponse(7L, "Propriétaire " + (id % 5), "owner" + (id % 5) + "@example.com", "PROPRIETAIRE");
+    }
+}
@@ -0,0 +1,59 @@
+package org.example.locaspace.benchmarks;
+
+import org.example.locaspace.security.JwtUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+// Token issue on login and the signature check the JWT filter runs on every authenticated request
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtUtils jwtUtils;
+    private String token;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        jwtUtils = new JwtUtils();
+        // Same values as application.properties; JwtUtils only reads them through @Value
+        set(jwtUtils, "jwtSecret", "locaspaceSecretKeyForJWTTokenGeneration2024SecureKey");
+        set(jwtUtils, "jwtExpirationMs", 86400000);
+        token = jwtUtils.generateTokenFromUsername("bench@example.com");
+    }
+
+    @Benchmark
+    public String generate() {
+        return jwtUtils.generateTokenFromUsername("bench@example.com");
+    }
+
+    @Benchmark
+    public Boolean validate() {
+        return jwtUtils.validateJwtToken(token);
+    }
+
+    @Benchmark
+    public String userName() {
+        return jwtUtils.getUserNameFromJwtToken(token);
+    }
+
+    private static void set(Object target, String name, Object value) throws ReflectiveOperationException {
+        Field field = target.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(target, value);
+    }
+}
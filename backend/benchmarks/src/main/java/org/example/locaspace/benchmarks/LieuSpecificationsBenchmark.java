@@ -0,0 +1,87 @@
+package org.example.locaspace.benchmarks;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.example.locaspace.model.Lieu;
+import org.example.locaspace.model.enums.LieuType;
+import org.example.locaspace.repository.LieuSpecifications;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+// Criteria predicates built for each search request, as LieuService.findLieuCards composes
+// them, and the same tree turned into an executable query (no database round trip)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LieuSpecificationsBenchmark {
+
+    private static final LocalDate START = LocalDate.of(2025, 7, 1);
+    private static final LocalDate END = LocalDate.of(2025, 7, 14);
+
+    private EntityManager entityManager;
+    private CriteriaBuilder cb;
+
+    @Setup
+    public void setUp() {
+        entityManager = BenchmarkContext.bean(EntityManagerFactory.class).createEntityManager();
+        cb = entityManager.getCriteriaBuilder();
+    }
+
+    @TearDown
+    public void tearDown() {
+        entityManager.close();
+    }
+
+    @Benchmark
+    public Predicate withFilters() {
+        return predicate(LieuSpecifications.withFilters(LieuType.APPARTEMENT, BigDecimal.valueOf(50), BigDecimal.valueOf(150), "Lyon"));
+    }
+
+    @Benchmark
+    public Predicate withKeyword() {
+        return predicate(LieuSpecifications.withKeyword("terrasse"));
+    }
+
+    @Benchmark
+    public Predicate filtersAndAvailability() {
+        return predicate(LieuSpecifications.withFilters(LieuType.APPARTEMENT, BigDecimal.valueOf(50), BigDecimal.valueOf(150), "Lyon")
+            .and(LieuSpecifications.availableBetween(START, END)));
+    }
+
+    @Benchmark
+    public Object filtersAndAvailabilityQuery() {
+        Specification<Lieu> spec = LieuSpecifications.withFilters(LieuType.APPARTEMENT, BigDecimal.valueOf(50), BigDecimal.valueOf(150), "Lyon")
+            .and(LieuSpecifications.availableBetween(START, END));
+        CriteriaQuery<Lieu> query = cb.createQuery(Lieu.class);
+        Root<Lieu> root = query.from(Lieu.class);
+        query.select(root).where(spec.toPredicate(root, query, cb));
+        return entityManager.createQuery(query);
+    }
+
+    private Predicate predicate(Specification<Lieu> spec) {
+        CriteriaQuery<Lieu> query = cb.createQuery(Lieu.class);
+        Root<Lieu> root = query.from(Lieu.class);
+        return spec.toPredicate(root, query, cb);
+    }
+}
@@ -0,0 +1,39 @@
+package org.example.locaspace.benchmarks;
+
+import org.example.locaspace.controller.LieuController;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+// Type filter parsing on search and create/update requests, over the spellings clients send
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParseLieuTypeBenchmark {
+
+    private static final String[] INPUTS = {
+        "APPARTEMENT", "Appartement", "apartment", "Maison", "house", "VILLA", " studio ",
+        "Loft", "chambre", "Bureau", "event-space", "Salle Evenement", "salle_evenement"
+    };
+
+    @Benchmark
+    @OperationsPerInvocation(13)
+    public void parseLieuType(Blackhole blackhole) {
+        for (String input : INPUTS) {
+            blackhole.consume(LieuController.parseLieuType(input));
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package org.example.locaspace.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Compares two JMH JSON result files (-rf json) benchmark by benchmark and exits with status 1
+// when a score got worse by more than the threshold (default 10%, or the third argument in
+// percent). Throughput is better when higher, every other mode when lower. The allocation per
+// operation (-prof gc) is compared as well when both runs have it.
+public final class ResultsDiff {
+
+    private static final String ALLOCATION = "gc.alloc.rate.norm";
+
+    private ResultsDiff() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: ResultsDiff <baseline.json> <current.json> [threshold-percent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+        Map<String, JsonNode> baseline = load(new File(args[0]));
+        Map<String, JsonNode> current = load(new File(args[1]));
+
+        int regressions = 0;
+        System.out.printf("%-90s %14s %14s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            JsonNode after = entry.getValue();
+            if (before == null) {
+                System.out.printf("%-90s %14s %14.3f %9s%n", entry.getKey(), "-", score(after.path("primaryMetric")), "new");
+                continue;
+            }
+            boolean higherIsBetter = "thrpt".equals(after.path("mode").asText());
+            regressions += compare(entry.getKey(), before.path("primaryMetric"), after.path("primaryMetric"),
+                higherIsBetter, threshold);
+
+            JsonNode allocationBefore = before.path("secondaryMetrics").path(ALLOCATION);
+            JsonNode allocationAfter = after.path("secondaryMetrics").path(ALLOCATION);
+            if (!allocationBefore.isMissingNode() && !allocationAfter.isMissingNode()) {
+                regressions += compare(entry.getKey() + " [" + ALLOCATION + "]", allocationBefore, allocationAfter,
+                    false, threshold);
+            }
+        }
+        for (String removed : baseline.keySet()) {
+            if (!current.containsKey(removed)) {
+                System.out.printf("%-90s %14s %14s %9s%n", removed, "", "-", "removed");
+            }
+        }
+
+        if (regressions > 0) {
+            System.out.printf("%d regression(s) above %.1f%%%n", regressions, threshold);
+            System.exit(1);
+        }
+    }
+
+    private static int compare(String name, JsonNode before, JsonNode after, boolean higherIsBetter, double threshold) {
+        double baseline = score(before);
+        double current = score(after);
+        double change = baseline == 0 ? 0 : (current - baseline) / baseline * 100;
+        boolean regression = higherIsBetter ? change < -threshold : change > threshold;
+        System.out.printf("%-90s %14.3f %14.3f %+8.1f%%%s%n", name, baseline, current, change,
+            regression ? "  REGRESSION" : "");
+        return regression ? 1 : 0;
+    }
+
+    private static double score(JsonNode metric) {
+        return metric.path("score").asDouble();
+    }
+
+    // Keyed by benchmark, mode and sorted parameters so runs with different @Param sets line up
+    private static Map<String, JsonNode> load(File file) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            Map<String, String> params = new TreeMap<>();
+            Iterator<Map.Entry<String, JsonNode>> fields = result.path("params").fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> param = fields.next();
+                params.put(param.getKey(), param.getValue().asText());
+            }
+            String benchmark = result.path("benchmark").asText();
+            String name = benchmark.substring(benchmark.lastIndexOf('.', benchmark.lastIndexOf('.') - 1) + 1);
+            results.put(name + " (" + result.path("mode").asText() + ")" + (params.isEmpty() ? "" : " " + params), result);
+        }
+        return results;
+    }
+}
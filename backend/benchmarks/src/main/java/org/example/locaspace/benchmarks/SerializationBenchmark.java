@@ -0,0 +1,73 @@
+package org.example.locaspace.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.example.locaspace.dto.lieu.LieuResponse;
+import org.example.locaspace.dto.notification.NotificationResponse;
+import org.example.locaspace.dto.reservation.ReservationResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Serialization of the hot response DTOs, per page of listings. Run with -prof gc for the
+// allocation per page (gc.alloc.rate.norm); "reflection" is Boot's default mapper, "blackbird"
+// adds the module registered by JacksonConfig.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"12", "50", "100"})
+    int listings;
+
+    @Param({"reflection", "blackbird"})
+    String accessors;
+
+    private ObjectMapper mapper;
+    private PageImpl<LieuResponse> lieuPage;
+    private List<ReservationResponse> reservations;
+    private List<NotificationResponse> notifications;
+
+    @Setup
+    public void setUp() {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        if ("blackbird".equals(accessors)) {
+            builder.modulesToInstall(new BlackbirdModule());
+        }
+        mapper = builder.build();
+        lieuPage = Fixtures.lieuPage(listings);
+        reservations = Fixtures.reservations(listings);
+        notifications = Fixtures.notifications(listings);
+    }
+
+    @Benchmark
+    public byte[] lieuPage() throws Exception {
+        return mapper.writeValueAsBytes(lieuPage);
+    }
+
+    @Benchmark
+    public byte[] reservations() throws Exception {
+        return mapper.writeValueAsBytes(reservations);
+    }
+
+    @Benchmark
+    public byte[] notifications() throws Exception {
+        return mapper.writeValueAsBytes(notifications);
+    }
+}
@@ -0,0 +1,71 @@
+package org.example.locaspace.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.locaspace.config.WebMvcConfig;
+import org.example.locaspace.dto.lieu.LieuResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+// Cost of encoding a page of listings in each negotiable format, optionally followed by the
+// response compression. Mappers come from WebMvcConfig as in production; payload sizes are
+// asserted by SerializationFormatsTest.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    @Param({"12", "50"})
+    int listings;
+
+    @Param({"json", "cbor", "smile"})
+    String format;
+
+    @Param({"false", "true"})
+    boolean gzip;
+
+    private ObjectMapper mapper;
+    private PageImpl<LieuResponse> lieuPage;
+
+    @Setup
+    public void setUp() {
+        WebMvcConfig webMvcConfig = new WebMvcConfig();
+        mapper = switch (format) {
+            case "cbor" -> webMvcConfig.cborHttpMessageConverter(new Jackson2ObjectMapperBuilder()).getObjectMapper();
+            case "smile" -> webMvcConfig.smileHttpMessageConverter(new Jackson2ObjectMapperBuilder()).getObjectMapper();
+            default -> Jackson2ObjectMapperBuilder.json().build();
+        };
+        lieuPage = Fixtures.lieuPage(listings);
+    }
+
+    @Benchmark
+    public byte[] lieuPage() throws IOException {
+        byte[] encoded = mapper.writeValueAsBytes(lieuPage);
+        if (!gzip) {
+            return encoded;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(encoded.length / 4);
+        try (GZIPOutputStream compressed = new GZIPOutputStream(out)) {
+            compressed.write(encoded);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,56 @@
+package org.example.locaspace.loadtest;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Lock-free latency histogram with log-scaled buckets 1% wide, from 1 microsecond to ~2 minutes:
+// percentiles are exact to within 1% with a fixed 16 KB footprint per endpoint
+final class LatencyHistogram {
+
+    private static final double GROWTH = Math.log(1.01);
+    private static final int BUCKETS = 1900;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    void record(long micros) {
+        long value = Math.max(1, micros);
+        buckets.incrementAndGet(bucketOf(value));
+        count.incrementAndGet();
+        max.accumulateAndGet(value, Math::max);
+    }
+
+    long count() {
+        return count.get();
+    }
+
+    long max() {
+        return max.get();
+    }
+
+    // Upper bound of the bucket holding the given percentile (0-100), in microseconds
+    long percentile(double percentile) {
+        long total = count.get();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(total * percentile / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets.get(i);
+            if (seen >= rank) {
+                return Math.min(max.get(), upperBound(i));
+            }
+        }
+        return max.get();
+    }
+
+    static int bucketOf(long micros) {
+        return (int) Math.min(BUCKETS - 1, (long) (Math.log(micros) / GROWTH));
+    }
+
+    static long upperBound(int bucket) {
+        return (long) Math.ceil(Math.exp((bucket + 1) * GROWTH));
+    }
+}
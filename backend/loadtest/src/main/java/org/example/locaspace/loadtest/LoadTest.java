@@ -0,0 +1,124 @@
+package org.example.locaspace.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// Closed-model load driver: `concurrency` virtual users each log in, then loop over the
+// browse / search / detail / book / notify mix until the deadline. Every request is timed per
+// endpoint; the warm-up period is excluded from the report.
+//
+// Options (key=value, defaults in brackets):
+//   base-url [http://localhost:8082]   concurrency [100]   duration [60s]   warmup [10s]
+//   think-time [0ms]   users [10000]   lieux [2000]   (same as loadtest.seed.* of the server)
+//   mix [browse:35,search:25,detail:25,book:5,notify:10]   seed [42]
+//   seed-dir [../..] directory of test-login.json and test-reservation.json
+//   report [none] JSON report file
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        String baseUrl = options.getOrDefault("base-url", "http://localhost:8082");
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "100"));
+        Duration duration = duration(options.getOrDefault("duration", "60s"));
+        Duration warmup = duration(options.getOrDefault("warmup", "10s"));
+        File seedDir = new File(options.getOrDefault("seed-dir", "../.."));
+        String report = options.get("report");
+
+        ObjectMapper mapper = new ObjectMapper();
+        Scenario scenario = new Scenario(
+            baseUrl,
+            read(mapper, new File(seedDir, "test-login.json")),
+            read(mapper, new File(seedDir, "test-reservation.json")),
+            Integer.parseInt(options.getOrDefault("users", "10000")),
+            Integer.parseInt(options.getOrDefault("lieux", "2000")),
+            Mix.parse(options.getOrDefault("mix", "browse:35,search:25,detail:25,book:5,notify:10")),
+            duration(options.getOrDefault("think-time", "0ms")));
+
+        HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+        Metrics metrics = new Metrics();
+        ExecutorService executor = newExecutor(concurrency);
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        long deadline = System.nanoTime() + warmup.toNanos() + duration.toNanos();
+
+        System.out.printf("%d virtual users against %s for %s (+%s warm-up)%n", concurrency, baseUrl, duration, warmup);
+        for (int i = 0; i < concurrency; i++) {
+            // Start times are spread over the warm-up so logins do not arrive all at once
+            long startDelay = warmup.toNanos() * i / concurrency;
+            executor.submit(new VirtualUser(i, scenario, client, metrics, seed + i, startDelay, deadline));
+        }
+        Thread.sleep(warmup.toMillis());
+        metrics.startRecording();
+        executor.shutdown();
+        if (!executor.awaitTermination(duration.toMillis() + 60_000, TimeUnit.MILLISECONDS)) {
+            executor.shutdownNow();
+        }
+        metrics.report(System.out, report != null ? new File(report) : null);
+    }
+
+    // Virtual threads when the JVM has them (21+), otherwise one platform thread per virtual user
+    static ExecutorService newExecutor(int concurrency) {
+        try {
+            ExecutorService executor = (ExecutorService) Executors.class
+                .getMethod("newVirtualThreadPerTaskExecutor")
+                .invoke(null);
+            System.out.println("Using virtual threads");
+            return executor;
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(concurrency);
+        }
+    }
+
+    private static JsonNode read(ObjectMapper mapper, File file) throws IOException {
+        if (!file.isFile()) {
+            throw new IllegalArgumentException(file.getAbsolutePath() + " not found (set seed-dir=...)");
+        }
+        return mapper.readTree(file);
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Expected key=value, got " + arg);
+            }
+            options.put(arg.substring(0, eq).replaceFirst("^--", ""), arg.substring(eq + 1));
+        }
+        return options;
+    }
+
+    // 500ms, 30s, 2m, 1h
+    static Duration duration(String value) {
+        String v = value.trim().toLowerCase();
+        if (v.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(v.substring(0, v.length() - 2)));
+        }
+        long amount = Long.parseLong(v.substring(0, v.length() - 1));
+        switch (v.charAt(v.length() - 1)) {
+            case 's':
+                return Duration.ofSeconds(amount);
+            case 'm':
+                return Duration.ofMinutes(amount);
+            case 'h':
+                return Duration.ofHours(amount);
+            default:
+                throw new IllegalArgumentException("Invalid duration: " + value);
+        }
+    }
+}
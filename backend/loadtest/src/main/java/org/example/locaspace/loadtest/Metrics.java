@@ -0,0 +1,104 @@
+package org.example.locaspace.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Per-endpoint latency and status counts. Samples taken while warming up are dropped.
+final class Metrics {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private volatile boolean recording;
+    private volatile long recordingStartedNanos;
+
+    void startRecording() {
+        recordingStartedNanos = System.nanoTime();
+        recording = true;
+    }
+
+    // status is the HTTP status, or 0 when the request failed without a response
+    void record(String endpoint, int status, long micros) {
+        if (!recording) {
+            return;
+        }
+        Endpoint stats = endpoints.computeIfAbsent(endpoint, name -> new Endpoint());
+        stats.latency.record(micros);
+        stats.statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+    }
+
+    void report(PrintStream out, File json) throws IOException {
+        double seconds = Math.max(1e-9, (System.nanoTime() - recordingStartedNanos) / 1e9);
+        Map<String, Endpoint> sorted = new TreeMap<>(endpoints);
+
+        out.printf("%n%-42s %9s %9s %8s %9s %9s %9s %9s %9s%n",
+            "Endpoint", "Requests", "Req/s", "Errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        long total = 0;
+        for (Map.Entry<String, Endpoint> entry : sorted.entrySet()) {
+            LatencyHistogram latency = entry.getValue().latency;
+            total += latency.count();
+            out.printf("%-42s %9d %9.1f %8d %9.1f %9.1f %9.1f %9.1f %9.1f%n", entry.getKey(), latency.count(),
+                latency.count() / seconds, entry.getValue().errors(), millis(latency.percentile(50)),
+                millis(latency.percentile(90)), millis(latency.percentile(99)), millis(latency.percentile(99.9)),
+                millis(latency.max()));
+        }
+        out.printf("%-42s %9d %9.1f%n", "Total", total, total / seconds);
+
+        if (json != null) {
+            ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+            ObjectNode root = mapper.createObjectNode();
+            root.put("durationSeconds", seconds);
+            root.put("requests", total);
+            root.put("throughput", total / seconds);
+            ArrayNode list = root.putArray("endpoints");
+            for (Map.Entry<String, Endpoint> entry : sorted.entrySet()) {
+                LatencyHistogram latency = entry.getValue().latency;
+                ObjectNode node = list.addObject();
+                node.put("endpoint", entry.getKey());
+                node.put("requests", latency.count());
+                node.put("throughput", latency.count() / seconds);
+                node.put("errors", entry.getValue().errors());
+                ObjectNode percentiles = node.putObject("latencyMs");
+                for (double percentile : PERCENTILES) {
+                    percentiles.put("p" + (percentile % 1 == 0 ? String.valueOf((int) percentile) : String.valueOf(percentile)),
+                        millis(latency.percentile(percentile)));
+                }
+                percentiles.put("max", millis(latency.max()));
+                ObjectNode statuses = node.putObject("statuses");
+                new TreeMap<>(entry.getValue().statuses).forEach((status, count) -> statuses.put(String.valueOf(status), count.sum()));
+            }
+            mapper.writeValue(json, root);
+            out.println("Report written to " + json.getAbsolutePath());
+        }
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static final class Endpoint {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+
+        // Failed connections and server errors; 4xx answers (e.g. 409 on a taken date) are expected traffic
+        long errors() {
+            long errors = 0;
+            for (Map.Entry<Integer, LongAdder> status : statuses.entrySet()) {
+                if (status.getKey() == 0 || status.getKey() >= 500) {
+                    errors += status.getValue().sum();
+                }
+            }
+            return errors;
+        }
+    }
+}
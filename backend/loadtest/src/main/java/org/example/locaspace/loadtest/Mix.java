@@ -0,0 +1,42 @@
+package org.example.locaspace.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Weighted choice of the next action, e.g. "browse:35,search:25,detail:25,book:5,notify:10"
+final class Mix {
+
+    enum Action { BROWSE, SEARCH, DETAIL, BOOK, NOTIFY }
+
+    private final List<Action> actions = new ArrayList<>();
+    private final List<Integer> cumulative = new ArrayList<>();
+    private int total;
+
+    static Mix parse(String spec) {
+        Mix mix = new Mix();
+        for (String part : spec.split(",")) {
+            String[] kv = part.trim().split(":");
+            int weight = Integer.parseInt(kv[1].trim());
+            if (weight > 0) {
+                mix.total += weight;
+                mix.actions.add(Action.valueOf(kv[0].trim().toUpperCase()));
+                mix.cumulative.add(mix.total);
+            }
+        }
+        if (mix.total == 0) {
+            throw new IllegalArgumentException("Empty mix: " + spec);
+        }
+        return mix;
+    }
+
+    Action next(Random random) {
+        int r = random.nextInt(total);
+        for (int i = 0; i < actions.size(); i++) {
+            if (r < cumulative.get(i)) {
+                return actions.get(i);
+            }
+        }
+        return actions.get(actions.size() - 1);
+    }
+}
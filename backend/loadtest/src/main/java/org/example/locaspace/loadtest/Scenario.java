@@ -0,0 +1,49 @@
+package org.example.locaspace.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.time.Duration;
+
+// What the virtual users replay: the seeded accounts and lieux, the request templates read from
+// test-login.json / test-reservation.json and the action mix
+final class Scenario {
+
+    // Synthetic accounts created by the server's LoadTestSeeder (same pattern and owner ratio)
+    static final String EMAIL_PATTERN = "user%d@loadtest.locaspace";
+    static final int OWNER_EVERY = 10;
+
+    static final String[] CITIES = {
+        "Paris", "Lyon", "Marseille", "Toulouse", "Nice", "Nantes", "Bordeaux", "Lille", "Strasbourg", "Montpellier"
+    };
+    static final String[] TYPES = {"appartement", "maison", "villa", "studio", "loft", "chambre", "bureau"};
+
+    final String baseUrl;
+    final JsonNode login;
+    final JsonNode reservation;
+    final int users;
+    final int lieux;
+    final Mix mix;
+    final Duration thinkTime;
+
+    Scenario(String baseUrl, JsonNode login, JsonNode reservation, int users, int lieux, Mix mix, Duration thinkTime) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.login = login;
+        this.reservation = reservation;
+        this.users = users;
+        this.lieux = lieux;
+        this.mix = mix;
+        this.thinkTime = thinkTime;
+    }
+
+    // Virtual user 0 is the test-login.json account, the others cycle over the synthetic tenants
+    String emailOf(int virtualUser) {
+        if (virtualUser == 0 || users == 0) {
+            return login.path("email").asText();
+        }
+        int n = 1 + (virtualUser - 1) % users;
+        if (n % OWNER_EVERY == 0) {
+            n = n % users + 1;
+        }
+        return String.format(EMAIL_PATTERN, n);
+    }
+}
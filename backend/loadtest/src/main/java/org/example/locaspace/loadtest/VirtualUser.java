@@ -0,0 +1,184 @@
+package org.example.locaspace.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// One simulated visitor: logs in, then loops over the scenario's action mix until the deadline
+final class VirtualUser implements Runnable {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final int index;
+    private final Scenario scenario;
+    private final HttpClient client;
+    private final Metrics metrics;
+    private final Random random;
+    private final long startDelayNanos;
+    private final long deadlineNanos;
+    private String token;
+
+    VirtualUser(int index, Scenario scenario, HttpClient client, Metrics metrics, long seed,
+                long startDelayNanos, long deadlineNanos) {
+        this.index = index;
+        this.scenario = scenario;
+        this.client = client;
+        this.metrics = metrics;
+        this.random = new Random(seed);
+        this.startDelayNanos = startDelayNanos;
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    @Override
+    public void run() {
+        try {
+            TimeUnit.NANOSECONDS.sleep(startDelayNanos);
+            login();
+            while (System.nanoTime() < deadlineNanos) {
+                switch (scenario.mix.next(random)) {
+                    case BROWSE:
+                        browse();
+                        break;
+                    case SEARCH:
+                        search();
+                        break;
+                    case DETAIL:
+                        detail();
+                        break;
+                    case BOOK:
+                        book();
+                        break;
+                    case NOTIFY:
+                        notifications();
+                        break;
+                }
+                if (!scenario.thinkTime.isZero()) {
+                    Thread.sleep(scenario.thinkTime.toMillis());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void login() throws InterruptedException {
+        ObjectNode body = MAPPER.createObjectNode()
+            .put("email", scenario.emailOf(index))
+            .put("password", scenario.login.path("password").asText());
+        HttpResponse<String> response = send("POST /api/auth/login", post("/api/auth/login", body.toString()));
+        if (response != null && response.statusCode() == 200) {
+            try {
+                token = MAPPER.readTree(response.body()).path("token").asText(null);
+            } catch (IOException e) {
+                token = null;
+            }
+        }
+    }
+
+    private void browse() throws InterruptedException {
+        int page = random.nextInt(Math.max(1, scenario.lieux / 12 / 4));
+        if (random.nextBoolean()) {
+            send("GET /api/lieux?view=card", get("/api/lieux?view=card&size=12&page=" + page));
+        } else {
+            send("GET /api/lieux", get("/api/lieux?size=12&page=" + page));
+        }
+    }
+
+    private void search() throws InterruptedException {
+        StringBuilder query = new StringBuilder("/api/lieux/search?size=12&view=card&city=")
+            .append(encode(Scenario.CITIES[random.nextInt(Scenario.CITIES.length)]));
+        if (random.nextBoolean()) {
+            query.append("&type=").append(Scenario.TYPES[random.nextInt(Scenario.TYPES.length)]);
+        }
+        if (random.nextBoolean()) {
+            int min = 30 + random.nextInt(200);
+            query.append("&minPrice=").append(min).append("&maxPrice=").append(min + 50 + random.nextInt(200));
+        }
+        if (random.nextInt(3) == 0) {
+            LocalDate start = LocalDate.now().plusDays(7 + random.nextInt(120));
+            query.append("&startDate=").append(start).append("&endDate=").append(start.plusDays(2 + random.nextInt(5)));
+        }
+        send("GET /api/lieux/search", get(query.toString()));
+    }
+
+    private void detail() throws InterruptedException {
+        long lieuId = 1 + random.nextInt(Math.max(1, scenario.lieux));
+        send("GET /api/lieux/{id}", get("/api/lieux/" + lieuId));
+        send("GET /api/lieux/{id}/avis", get("/api/lieux/" + lieuId + "/avis"));
+    }
+
+    // test-reservation.json with another lieu and dates moved into the coming year (same length of stay)
+    private void book() throws InterruptedException {
+        if (token == null) {
+            return;
+        }
+        JsonNode template = scenario.reservation;
+        long nights = Math.max(1, ChronoUnit.DAYS.between(
+            LocalDate.parse(template.path("startDate").asText()), LocalDate.parse(template.path("endDate").asText())));
+        LocalDate start = LocalDate.now().plusDays(14 + random.nextInt(350));
+        ObjectNode body = template.deepCopy();
+        body.put("placeId", 1 + random.nextInt(Math.max(1, scenario.lieux)));
+        body.put("startDate", start.toString());
+        body.put("endDate", start.plusDays(nights).toString());
+        send("POST /api/reservations", post("/api/reservations", body.toString()));
+    }
+
+    private void notifications() throws InterruptedException {
+        if (token == null) {
+            return;
+        }
+        send("GET /api/notifications", get("/api/notifications"));
+        send("GET /api/notifications/unread/count", get("/api/notifications/unread/count"));
+    }
+
+    private HttpRequest.Builder get(String path) {
+        // Like a browser: responses above the server's compression threshold come back gzipped
+        return request(path).header("Accept-Encoding", "gzip").GET();
+    }
+
+    private HttpRequest.Builder post(String path, String json) {
+        return request(path).header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(json));
+    }
+
+    private HttpRequest.Builder request(String path) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(scenario.baseUrl + path))
+            .timeout(TIMEOUT)
+            .header("Accept", "application/json");
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    // Times the full exchange, body included; failures are recorded as status 0
+    private HttpResponse<String> send(String endpoint, HttpRequest.Builder request) throws InterruptedException {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString(StandardCharsets.ISO_8859_1));
+            metrics.record(endpoint, response.statusCode(), (System.nanoTime() - start) / 1000);
+            return response;
+        } catch (IOException e) {
+            metrics.record(endpoint, 0, (System.nanoTime() - start) / 1000);
+            return null;
+        }
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
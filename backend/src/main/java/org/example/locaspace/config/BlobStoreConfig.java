@@ -0,0 +1,109 @@
+package org.example.locaspace.config;
+
+import org.example.locaspace.storage.BlobStore;
+import org.example.locaspace.storage.LocalBlobStore;
+import org.example.locaspace.storage.S3BlobStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Paths;
+
+// Photo blob storage backend, chosen with photo.storage.type: "local" (files under
+// file.upload-dir, the default) or "s3" (any S3-compatible endpoint, e.g. MinIO)
+@Configuration
+public class BlobStoreConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "photo.storage.type", havingValue = "local", matchIfMissing = true)
+    public BlobStore localBlobStore(@Value("${file.upload-dir:uploads}") String uploadDir) {
+        return new LocalBlobStore(Paths.get(uploadDir));
+    }
+
+    @Configuration
+    @ConditionalOnProperty(name = "photo.storage.type", havingValue = "s3")
+    static class S3 {
+
+        @Value("${photo.storage.s3.endpoint:}")
+        private String endpoint;
+
+        @Value("${photo.storage.s3.region:us-east-1}")
+        private String region;
+
+        @Value("${photo.storage.s3.bucket}")
+        private String bucket;
+
+        @Value("${photo.storage.s3.access-key:}")
+        private String accessKey;
+
+        @Value("${photo.storage.s3.secret-key:}")
+        private String secretKey;
+
+        // MinIO and most self-hosted endpoints need path-style URLs (endpoint/bucket/key)
+        @Value("${photo.storage.s3.path-style:true}")
+        private boolean pathStyle;
+
+        @Value("${photo.storage.s3.multipart-threshold:8MB}")
+        private DataSize multipartThreshold;
+
+        @Value("${photo.storage.s3.part-size:5MB}")
+        private DataSize partSize;
+
+        @Value("${photo.storage.s3.upload-threads:4}")
+        private int uploadThreads;
+
+        @Value("${photo.storage.s3.cache-dir:uploads-cache}")
+        private String cacheDir;
+
+        @Value("${photo.storage.s3.cache-max-size:2GB}")
+        private DataSize cacheMaxSize;
+
+        @Bean(destroyMethod = "close")
+        public S3Client s3Client() {
+            var builder = S3Client.builder()
+                .region(Region.of(region))
+                .credentialsProvider(credentials())
+                .serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(pathStyle).build());
+            if (!endpoint.isEmpty()) {
+                builder.endpointOverride(URI.create(endpoint));
+            }
+            return builder.build();
+        }
+
+        @Bean(destroyMethod = "close")
+        public S3Presigner s3Presigner() {
+            var builder = S3Presigner.builder()
+                .region(Region.of(region))
+                .credentialsProvider(credentials())
+                .serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(pathStyle).build());
+            if (!endpoint.isEmpty()) {
+                builder.endpointOverride(URI.create(endpoint));
+            }
+            return builder.build();
+        }
+
+        @Bean(destroyMethod = "close")
+        public BlobStore s3BlobStore(S3Client s3Client, S3Presigner s3Presigner) throws IOException {
+            return new S3BlobStore(s3Client, s3Presigner, bucket, multipartThreshold.toBytes(), partSize.toBytes(),
+                uploadThreads, Paths.get(cacheDir), cacheMaxSize.toBytes());
+        }
+
+        private AwsCredentialsProvider credentials() {
+            return accessKey.isEmpty()
+                ? DefaultCredentialsProvider.create()
+                : StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey));
+        }
+    }
+}
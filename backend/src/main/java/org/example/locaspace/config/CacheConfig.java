@@ -0,0 +1,11 @@
+package org.example.locaspace.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+// Spring cache abstraction on Caffeine; caches and their size/expiry are declared in
+// application.properties (spring.cache.*) and reported as cache.* metrics
+@Configuration
+@EnableCaching
+public class CacheConfig {
+}
@@ -0,0 +1,58 @@
+package org.example.locaspace.config;
+
+import io.micrometer.observation.ObservationRegistry;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.example.locaspace.metrics.QueryCountListener;
+import org.example.locaspace.metrics.SlowQueryListener;
+import org.example.locaspace.tracing.QueryObservationListener;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.util.function.SingletonSupplier;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+// Wraps the pool in a datasource-proxy so every statement reaches the listeners: per-request
+// counts and N+1 warnings (QueryCountListener, assertQueryCount in tests), slow query logging
+// and JDBC spans. The proxy unwraps to the Hikari pool, so pool metrics and health are
+// unaffected. datasource.query-count.enabled=false removes it.
+@Configuration
+@ConditionalOnProperty(name = "datasource.query-count.enabled", havingValue = "true", matchIfMissing = true)
+public class DataSourceProxyConfig {
+
+    // Static: post-processors are instantiated before regular configuration beans
+    @Bean
+    public static BeanPostProcessor dataSourceProxyPostProcessor(Environment environment,
+                                                                 ObjectProvider<ObservationRegistry> observationRegistry) {
+        Duration slowQueryThreshold = environment.getProperty("datasource.slow-query.threshold",
+            Duration.class, Duration.ofMillis(200));
+        SingletonSupplier<ObservationRegistry> registry =
+            SingletonSupplier.of(() -> observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP));
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return proxy(dataSource, beanName,
+                        new SlowQueryListener(slowQueryThreshold), new QueryObservationListener(registry));
+                }
+                return bean;
+            }
+        };
+    }
+
+    public static DataSource proxy(DataSource dataSource, String name, QueryExecutionListener... listeners) {
+        ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(dataSource)
+            .name(name)
+            .listener(new QueryCountListener());
+        for (QueryExecutionListener listener : listeners) {
+            builder.listener(listener);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,18 @@
+package org.example.locaspace.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+
+    // Replaces reflective getter/constructor calls with generated lambdas (LambdaMetafactory).
+    // Boot registers Module beans on its Jackson2ObjectMapperBuilder, so the JSON, CBOR and
+    // Smile converters all pick it up.
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
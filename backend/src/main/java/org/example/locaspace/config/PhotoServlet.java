@@ -0,0 +1,270 @@
+package org.example.locaspace.config;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.locaspace.service.PhotoStorageService;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Optional;
+
+// Serves /uploads/** outside the DispatcherServlet. Content-addressed URLs are cached forever,
+// conditional and single-range requests are answered from file metadata, and bodies above the
+// sendfile threshold are handed to Tomcat's sendfile so the request thread is released before
+// the bytes go out. A .webp sibling is preferred when the client accepts it, and precompressed
+// .br/.gz siblings are used for compressible types.
+public class PhotoServlet extends HttpServlet {
+
+    private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+    private static final String MUTABLE = "public, max-age=3600";
+    private static final long SENDFILE_THRESHOLD = 48 * 1024;
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final transient PhotoStorageService photoStorageService;
+
+    public PhotoServlet(PhotoStorageService photoStorageService) {
+        this.photoStorageService = photoStorageService;
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        serve(request, response, true);
+    }
+
+    @Override
+    protected void doHead(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        serve(request, response, false);
+    }
+
+    private void serve(HttpServletRequest request, HttpServletResponse response, boolean withBody) throws IOException {
+        String pathInfo = request.getPathInfo();
+        String url = "/uploads" + pathInfo;
+        Optional<Path> resolved = pathInfo == null || pathInfo.contains("/.")
+            ? Optional.empty()
+            : photoStorageService.fetch(url);
+        if (resolved.isEmpty() || !Files.isRegularFile(resolved.get())) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        Path requested = resolved.get();
+        String fileName = requested.getFileName().toString();
+        String contentType = Optional.ofNullable(getServletContext().getMimeType(fileName)).orElse("application/octet-stream");
+        boolean immutable = pathInfo.startsWith("/sha256/");
+
+        // Representation selection; the URL keeps identifying the original image
+        Path file = requested;
+        String contentEncoding = null;
+        boolean negotiable = contentType.equals("image/jpeg") || contentType.equals("image/png");
+        if (negotiable) {
+            if (accepts(request.getHeader("Accept"), "image/webp")) {
+                Optional<Path> webp = sibling(url, stripExtension(fileName) + ".webp");
+                if (webp.isPresent()) {
+                    file = webp.get();
+                    contentType = "image/webp";
+                }
+            }
+            response.setHeader("Vary", "Accept");
+        } else if (isCompressible(contentType)) {
+            String acceptEncoding = request.getHeader("Accept-Encoding");
+            Optional<Path> br = accepts(acceptEncoding, "br") ? sibling(url, fileName + ".br") : Optional.empty();
+            Optional<Path> gz = br.isEmpty() && accepts(acceptEncoding, "gzip") ? sibling(url, fileName + ".gz") : Optional.empty();
+            if (br.isPresent()) {
+                file = br.get();
+                contentEncoding = "br";
+            } else if (gz.isPresent()) {
+                file = gz.get();
+                contentEncoding = "gzip";
+            }
+            response.setHeader("Vary", "Accept-Encoding");
+        }
+
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        long length = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis() / 1000 * 1000;
+        // Strong validator: size + mtime (+ variant) of the exact bytes that will be sent
+        String etag = "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified)
+            + (file != requested ? "-" + (contentEncoding != null ? contentEncoding : "webp") : "") + "\"";
+
+        response.setHeader("ETag", etag);
+        response.setDateHeader("Last-Modified", lastModified);
+        response.setHeader("Cache-Control", immutable ? IMMUTABLE : MUTABLE);
+        response.setHeader("Accept-Ranges", "bytes");
+        response.setHeader("X-Content-Type-Options", "nosniff");
+
+        if (notModified(request, etag, lastModified)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        long start = 0;
+        long end = length - 1;
+        String range = request.getHeader("Range");
+        if (range != null && contentEncoding == null && ifRangeMatches(request, etag, lastModified)) {
+            long[] parsed = parseRange(range, length);
+            if (parsed == null) {
+                response.setHeader("Content-Range", "bytes */" + length);
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            if (parsed.length == 2) {
+                start = parsed[0];
+                end = parsed[1];
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader("Content-Range", "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+
+        long count = end - start + 1;
+        response.setContentType(contentType);
+        if (contentEncoding != null) {
+            response.setHeader("Content-Encoding", contentEncoding);
+        }
+        response.setContentLengthLong(count);
+        if (!withBody || count == 0) {
+            return;
+        }
+
+        if (count >= SENDFILE_THRESHOLD && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ServletOutputStream out = response.getOutputStream();
+            WritableByteChannel target = Channels.newChannel(out);
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, target);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+                remaining -= sent;
+            }
+            out.flush();
+        }
+    }
+
+    private static boolean notModified(HttpServletRequest request, String etag, long lastModified) {
+        String ifNoneMatch = request.getHeader("If-None-Match");
+        if (ifNoneMatch != null) {
+            for (String candidate : ifNoneMatch.split(",")) {
+                String c = candidate.trim();
+                if (c.equals("*") || c.equals(etag) || c.equals("W/" + etag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        long ifModifiedSince = dateHeader(request, "If-Modified-Since");
+        return ifModifiedSince >= 0 && lastModified <= ifModifiedSince;
+    }
+
+    private static boolean ifRangeMatches(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader("If-Range");
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"")) {
+            return ifRange.equals(etag);
+        }
+        long date = dateHeader(request, "If-Range");
+        return date >= 0 && lastModified <= date;
+    }
+
+    // {start, end} for one satisfiable range, {} to ignore the header (multiple ranges), null if unsatisfiable
+    static long[] parseRange(String header, long length) {
+        if (!header.startsWith("bytes=")) {
+            return new long[0];
+        }
+        String spec = header.substring("bytes=".length()).trim();
+        if (spec.contains(",")) {
+            return new long[0];
+        }
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return new long[0];
+        }
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            long start;
+            long end;
+            if (first.isEmpty()) {
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0) {
+                    return null;
+                }
+                start = Math.max(0, length - suffix);
+                end = length - 1;
+            } else {
+                start = Long.parseLong(first);
+                end = last.isEmpty() ? length - 1 : Math.min(Long.parseLong(last), length - 1);
+            }
+            if (start >= length || start > end) {
+                return null;
+            }
+            return new long[]{start, end};
+        } catch (NumberFormatException e) {
+            return new long[0];
+        }
+    }
+
+    private static long dateHeader(HttpServletRequest request, String name) {
+        try {
+            return request.getDateHeader(name);
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+
+    private static boolean accepts(String header, String token) {
+        if (header == null) {
+            return false;
+        }
+        for (String part : header.split(",")) {
+            String[] pieces = part.trim().split(";");
+            if (!pieces[0].trim().equalsIgnoreCase(token)) {
+                continue;
+            }
+            for (int i = 1; i < pieces.length; i++) {
+                String p = pieces[i].trim();
+                if (p.startsWith("q=") && p.substring(2).trim().matches("0(\\.0*)?")) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static boolean isCompressible(String contentType) {
+        return contentType.startsWith("text/") || contentType.equals("image/svg+xml")
+            || contentType.equals("application/json") || contentType.equals("application/javascript");
+    }
+
+    // Looked up through the storage service so remote stores serve siblings from the read cache too
+    private Optional<Path> sibling(String url, String name) throws IOException {
+        return photoStorageService.fetch(url.substring(0, url.lastIndexOf('/') + 1) + name);
+    }
+
+    private static String stripExtension(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        return dot > 0 ? fileName.substring(0, dot) : fileName;
+    }
+}
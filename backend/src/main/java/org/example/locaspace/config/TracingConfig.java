@@ -0,0 +1,58 @@
+package org.example.locaspace.config;
+
+import io.opentelemetry.exporter.logging.otlp.OtlpJsonLoggingSpanExporter;
+import io.opentelemetry.exporter.otlp.http.trace.OtlpHttpSpanExporter;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.example.locaspace.tracing.TailSamplingSpanExporter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// Span export. Boot turns the observations (HTTP server, @Observed services, JDBC statements,
+// scheduled tasks, worker jobs) into OpenTelemetry spans; they go through tail sampling to
+// - an OTLP/HTTP collector when tracing.export.otlp.endpoint is set
+//   (e.g. http://localhost:4318/v1/traces for a local OpenTelemetry Collector or Jaeger)
+// - and/or OTLP JSON lines in logs/traces.jsonl with the trace-files profile (logback-spring.xml)
+@Configuration
+public class TracingConfig {
+
+    @Value("${tracing.export.otlp.endpoint:}")
+    private String otlpEndpoint;
+
+    @Value("${tracing.export.log-file:false}")
+    private boolean logFile;
+
+    @Value("${tracing.tail-sampling.slow-threshold:500ms}")
+    private Duration slowThreshold;
+
+    @Value("${tracing.tail-sampling.ratio:0.05}")
+    private double ratio;
+
+    @Value("${tracing.tail-sampling.max-buffered-spans:20000}")
+    private int maxBufferedSpans;
+
+    @Value("${tracing.tail-sampling.decision-wait:30s}")
+    private Duration decisionWait;
+
+    @Bean
+    public SpanExporter tailSamplingSpanExporter() {
+        List<SpanExporter> exporters = new ArrayList<>();
+        if (StringUtils.hasText(otlpEndpoint)) {
+            exporters.add(OtlpHttpSpanExporter.builder().setEndpoint(otlpEndpoint).build());
+        }
+        if (logFile) {
+            exporters.add(OtlpJsonLoggingSpanExporter.create());
+        }
+        if (exporters.isEmpty()) {
+            // Nothing to export to: spans still carry the trace ids of the log lines
+            return SpanExporter.composite();
+        }
+        return new TailSamplingSpanExporter(SpanExporter.composite(exporters),
+            slowThreshold, ratio, maxBufferedSpans, decisionWait);
+    }
+}
@@ -1,27 +1,40 @@
 package org.example.locaspace.config;
 
-import org.springframework.beans.factory.annotation.Value;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.example.locaspace.service.PhotoStorageService;
+import org.springframework.boot.web.servlet.ServletRegistrationBean;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
 public class WebMvcConfig implements WebMvcConfigurer {
 
-    @Value("${file.upload-dir:uploads}")
-    private String uploadDir;
-
-    @Override
-    public void addResourceHandlers(ResourceHandlerRegistry registry) {
-        // Serve uploaded files under /uploads/** from the local filesystem directory
-        String location = "file:" + (uploadDir.endsWith("/") ? uploadDir : uploadDir + "/");
-        registry.addResourceHandler("/uploads/**")
-                .addResourceLocations(location)
-                .setCachePeriod(3600);
+    // Uploaded files under /uploads/** are served by a dedicated servlet (caching, ranges,
+    // sendfile) instead of a DispatcherServlet resource handler
+    @Bean
+    public ServletRegistrationBean<PhotoServlet> photoServlet(PhotoStorageService photoStorageService) {
+        ServletRegistrationBean<PhotoServlet> registration =
+            new ServletRegistrationBean<>(new PhotoServlet(photoStorageService), "/uploads/*");
+        registration.setName("photoServlet");
+        registration.setLoadOnStartup(1);
+        return registration;
     }
-}
-
-
-
 
+    // Binary alternatives to JSON for API clients that send Accept: application/cbor or
+    // application/x-jackson-smile. Built from Boot's builder so they share the JSON mapper's
+    // modules and settings; Boot adds converter beans to the MVC converter list.
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
 
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
@@ -3,20 +3,22 @@ package org.example.locaspace.controller;
 import jakarta.validation.Valid;
 import org.example.locaspace.dto.avis.AvisRequest;
 import org.example.locaspace.dto.avis.AvisResponse;
+import org.example.locaspace.dto.avis.RatingHistogramResponse;
 import org.example.locaspace.exception.BadRequestException;
 import org.example.locaspace.exception.ResourceNotFoundException;
 import org.example.locaspace.exception.UnauthorizedException;
 import org.example.locaspace.mapper.EntityMapper;
 import org.example.locaspace.model.Avis;
 import org.example.locaspace.model.Lieu;
-import org.example.locaspace.model.Reservation;
 import org.example.locaspace.model.User;
 import org.example.locaspace.security.UserDetailsServiceImpl;
 import org.example.locaspace.service.AvisService;
 import org.example.locaspace.service.LieuService;
+import org.example.locaspace.service.RatingHistogramService;
 import org.example.locaspace.service.ReservationService;
 import org.example.locaspace.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -30,21 +32,26 @@ import java.util.stream.Collectors;
 @RequestMapping("/api")
 public class AvisController {
 
+    private static final int MAX_FEED_PAGE_SIZE = 50;
+
     private final AvisService avisService;
     private final LieuService lieuService;
     private final UserService userService;
     private final ReservationService reservationService;
+    private final RatingHistogramService ratingHistogramService;
     private final EntityMapper entityMapper;
 
     public AvisController(AvisService avisService, 
                           LieuService lieuService, 
                           UserService userService, 
                           ReservationService reservationService, 
+                          RatingHistogramService ratingHistogramService,
                           EntityMapper entityMapper) {
         this.avisService = avisService;
         this.lieuService = lieuService;
         this.userService = userService;
         this.reservationService = reservationService;
+        this.ratingHistogramService = ratingHistogramService;
         this.entityMapper = entityMapper;
     }
 
@@ -54,14 +61,31 @@ public class AvisController {
         Lieu lieu = lieuService.getLieuById(lieuId)
             .orElseThrow(() -> new ResourceNotFoundException("Lieu", "id", lieuId));
 
-        List<Avis> avisList = avisService.getAvisForLieu(lieu);
-        List<AvisResponse> responses = avisList.stream()
+        List<AvisResponse> responses = avisService.getAllAvisFeed(lieu.getId()).stream()
             .map(entityMapper::toAvisResponse)
             .collect(Collectors.toList());
 
         return ResponseEntity.ok(responses);
     }
 
+    // Paginated reviews of a place, newest first; the default first page is served from cache
+    @GetMapping("/lieux/{lieuId}/avis/feed")
+    public ResponseEntity<Page<AvisResponse>> getAvisFeed(@PathVariable Long lieuId,
+                                                          @RequestParam(defaultValue = "0") int page,
+                                                          @RequestParam(defaultValue = "" + AvisService.FEED_PAGE_SIZE) int size) {
+        if (page < 0 || size < 1 || size > MAX_FEED_PAGE_SIZE) {
+            throw new BadRequestException("page must be >= 0 and size between 1 and " + MAX_FEED_PAGE_SIZE);
+        }
+        Page<AvisResponse> responses = avisService.getAvisFeed(lieuId, page, size).map(entityMapper::toAvisResponse);
+        return ResponseEntity.ok(responses);
+    }
+
+    // Number of reviews per note (1 to 5 stars) of a place
+    @GetMapping("/lieux/{lieuId}/avis/histogram")
+    public ResponseEntity<RatingHistogramResponse> getRatingHistogram(@PathVariable Long lieuId) {
+        return ResponseEntity.ok(ratingHistogramService.getHistogram(lieuId));
+    }
+
     // Add a review for a place
     @PostMapping("/lieux/{lieuId}/avis")
     @PreAuthorize("hasRole('LOCATAIRE')")
@@ -76,19 +100,7 @@ public class AvisController {
         Lieu lieu = lieuService.getLieuById(lieuId)
             .orElseThrow(() -> new ResourceNotFoundException("Lieu", "id", lieuId));
 
-        // Check if user has completed reservation for this place
-        List<Reservation> completedReservations = reservationService.getPastReservationsForReview(currentUser);
-        boolean hasStayedAtPlace = completedReservations.stream()
-            .anyMatch(reservation -> reservation.getLieu().getId().equals(lieuId));
-
-        if (!hasStayedAtPlace) {
-            throw new BadRequestException("You must have completed a reservation at this place to leave a review");
-        }
-
-        // Check if user already reviewed this place
-        if (avisService.hasUserReviewedPlace(currentUser, lieu)) {
-            throw new BadRequestException("You have already reviewed this place");
-        }
+        avisService.checkCanReview(currentUser.getId(), lieuId);
 
         Avis avis = Avis.builder()
             .note(avisRequest.getNote())
@@ -138,10 +150,7 @@ public class AvisController {
             throw new UnauthorizedException("You can only update your own reviews");
         }
 
-        existingAvis.setNote(avisRequest.getNote());
-        existingAvis.setCommentaire(avisRequest.getCommentaire());
-
-        Avis updatedAvis = avisService.updateAvis(existingAvis);
+        Avis updatedAvis = avisService.updateAvis(existingAvis, avisRequest.getNote(), avisRequest.getCommentaire());
         AvisResponse response = entityMapper.toAvisResponse(updatedAvis);
 
         return ResponseEntity.ok(response);
@@ -165,7 +174,7 @@ public class AvisController {
             throw new UnauthorizedException("You can only delete your own reviews");
         }
 
-        avisService.deleteAvis(avisId);
+        avisService.deleteAvis(avis);
         return ResponseEntity.noContent().build();
     }
 
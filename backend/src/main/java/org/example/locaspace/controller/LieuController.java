@@ -1,59 +1,89 @@
 package org.example.locaspace.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.example.locaspace.dto.lieu.CalendarBlockRequest;
+import org.example.locaspace.dto.lieu.CalendarEntryResponse;
+import org.example.locaspace.dto.lieu.LieuCardResponse;
+import org.example.locaspace.dto.lieu.LieuFacetsResponse;
 import org.example.locaspace.dto.lieu.LieuRequest;
 import org.example.locaspace.dto.lieu.LieuResponse;
+import org.example.locaspace.dto.lieu.LieuView;
+import org.example.locaspace.dto.lieu.PhotoUploadRequest;
+import org.example.locaspace.dto.lieu.PhotoUploadResponse;
 import org.example.locaspace.exception.BadRequestException;
 import org.example.locaspace.exception.ResourceNotFoundException;
 import org.example.locaspace.exception.UnauthorizedException;
+import org.example.locaspace.geo.GeoArea;
 import org.example.locaspace.mapper.EntityMapper;
 import org.example.locaspace.model.Lieu;
 import org.example.locaspace.model.User;
 import org.example.locaspace.model.enums.LieuType;
+import org.example.locaspace.repository.LieuCard;
 import org.example.locaspace.security.UserDetailsServiceImpl;
+import org.example.locaspace.service.ICalendarService;
+import org.example.locaspace.service.PhotoVariantService;
 import org.example.locaspace.service.LieuService;
 import org.example.locaspace.service.UserService;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/lieux")
 public class LieuController {
 
+    // Largest "within X km" search; also keeps the flat distance approximation accurate
+    private static final double MAX_RADIUS_KM = 100;
+
     private final LieuService lieuService;
     private final UserService userService;
     private final EntityMapper entityMapper;
     private final org.example.locaspace.service.PhotoStorageService photoStorageService;
     private final org.example.locaspace.service.CalendarService calendarService;
+    private final ICalendarService iCalendarService;
+    private final PhotoVariantService photoVariantService;
 
     public LieuController(LieuService lieuService,
                           UserService userService,
                           EntityMapper entityMapper,
                           org.example.locaspace.service.PhotoStorageService photoStorageService,
-                          org.example.locaspace.service.CalendarService calendarService) {
+                          org.example.locaspace.service.CalendarService calendarService,
+                          ICalendarService iCalendarService,
+                          PhotoVariantService photoVariantService) {
         this.lieuService = lieuService;
         this.userService = userService;
         this.entityMapper = entityMapper;
         this.photoStorageService = photoStorageService;
         this.calendarService = calendarService;
+        this.iCalendarService = iCalendarService;
+        this.photoVariantService = photoVariantService;
     }
 
     @PostMapping
     @PreAuthorize("hasRole('PROPRIETAIRE')")
     public ResponseEntity<LieuResponse> addLieu(@Valid @RequestBody LieuRequest lieuRequest,
                                                 Authentication authentication) {
+        requireCoordinatePair(lieuRequest);
 
         UserDetailsServiceImpl.UserPrincipal userPrincipal =
             (UserDetailsServiceImpl.UserPrincipal) authentication.getPrincipal();
@@ -65,6 +95,8 @@ public class LieuController {
             .type(parseLieuType(lieuRequest.getType()))
             .prix(lieuRequest.getPrix())
             .adresse(lieuRequest.getAdresse())
+            .latitude(lieuRequest.getLatitude())
+            .longitude(lieuRequest.getLongitude())
             .photos(lieuRequest.getPhotos())
             .owner(currentUser)
             .valide(true)
@@ -77,21 +109,30 @@ public class LieuController {
     }
 
     @GetMapping
-    public ResponseEntity<Page<LieuResponse>> listLieux(@PageableDefault(size = 12) Pageable pageable) {
+    public ResponseEntity<Page<?>> listLieux(@RequestParam(required = false) String view,
+                                             @PageableDefault(size = 12) Pageable pageable) {
+        LieuView lieuView = LieuView.parse(view);
+        if (lieuView != LieuView.DETAIL) {
+            return ResponseEntity.ok(toCardPage(
+                lieuService.findLieuCards(null, null, null, null, null, null, null, null, pageable), lieuView));
+        }
         Page<Lieu> lieux = lieuService.getAllValidatedLieux(pageable);
-        Page<LieuResponse> responses = lieux.map(entityMapper::toLieuResponse);
+        Page<LieuResponse> responses = toCardPage(lieux);
         return ResponseEntity.ok(responses);
     }
 
     @GetMapping("/properties/{id}/calendar")
     @PreAuthorize("hasRole('PROPRIETAIRE')")
-    public ResponseEntity<List<org.example.locaspace.model.CalendarEvent>> getCalendar(
+    public ResponseEntity<List<CalendarEntryResponse>> getCalendar(
             @PathVariable Long id,
             @RequestParam("startDate") String startDate,
             @RequestParam("endDate") String endDate) {
-        java.time.LocalDate start = java.time.LocalDate.parse(startDate.substring(0, 10));
-        java.time.LocalDate end = java.time.LocalDate.parse(endDate.substring(0, 10));
-        return ResponseEntity.ok(calendarService.getEvents(id, start, end));
+        LocalDate start = LocalDate.parse(startDate.substring(0, 10));
+        LocalDate end = LocalDate.parse(endDate.substring(0, 10));
+        if (start.isAfter(end)) {
+            throw new BadRequestException("startDate must be before endDate");
+        }
+        return ResponseEntity.ok(calendarService.getTimeline(id, start, end));
     }
 
     @PostMapping("/properties/{id}/calendar/block")
@@ -102,6 +143,48 @@ public class LieuController {
         return ResponseEntity.ok(calendarService.blockDates(id, request.getStartDate(), request.getEndDate(), request.getTitle()));
     }
 
+    // Public .ics feed for other platforms; the token in the URL is the only credential
+    @GetMapping(value = "/{id}/calendar.ics", produces = "text/calendar")
+    public ResponseEntity<StreamingResponseBody> exportCalendar(@PathVariable Long id,
+                                                                @RequestParam String token,
+                                                                WebRequest webRequest) {
+        iCalendarService.checkFeedToken(id, token);
+        ICalendarService.FeedVersion version = iCalendarService.getFeedVersion(id);
+        if (webRequest.checkNotModified(version.getEtag(), version.getLastModified())) {
+            return null;
+        }
+        Lieu lieu = lieuService.getLieuById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Lieu", "id", id));
+        String calendarName = lieu.getTitre() != null ? lieu.getTitre() : "LocaSpace " + id;
+
+        StreamingResponseBody body = out -> iCalendarService.writeFeed(id, calendarName, out);
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType("text/calendar;charset=UTF-8"))
+            .eTag(version.getEtag())
+            .lastModified(version.getLastModified())
+            .cacheControl(CacheControl.noCache())
+            .body(body);
+    }
+
+    @GetMapping("/{id}/calendar/feed")
+    @PreAuthorize("hasRole('PROPRIETAIRE')")
+    public ResponseEntity<Map<String, String>> getCalendarFeed(@PathVariable Long id, Authentication authentication) {
+        requireOwnedLieu(id, authentication, "You don't have permission to share the calendar of this lieu");
+        String token = iCalendarService.getOrCreateFeedToken(id);
+        return ResponseEntity.ok(Map.of("url", "/api/lieux/" + id + "/calendar.ics?token=" + token));
+    }
+
+    // Raw text/calendar body, read incrementally; source names the feed (e.g. "airbnb") so each one replaces only its own blocks
+    @PostMapping(value = "/{id}/calendar/import", consumes = {"text/calendar", "text/plain", "application/octet-stream"})
+    @PreAuthorize("hasRole('PROPRIETAIRE')")
+    public ResponseEntity<ICalendarService.ImportResult> importCalendar(@PathVariable Long id,
+                                                                        @RequestParam String source,
+                                                                        InputStream body,
+                                                                        Authentication authentication) throws java.io.IOException {
+        requireOwnedLieu(id, authentication, "You don't have permission to import a calendar for this lieu");
+        return ResponseEntity.ok(iCalendarService.importFeed(id, source, body));
+    }
+
     @DeleteMapping("/calendar/events/{eventId}")
     @PreAuthorize("hasRole('PROPRIETAIRE')")
     public ResponseEntity<Void> deleteEvent(@PathVariable Long eventId) {
@@ -125,18 +208,67 @@ public class LieuController {
             throw new UnauthorizedException("You don't have permission to upload photos for this lieu");
         }
 
-        List<String> urls = photoStorageService.storePropertyPhotos(id, photos);
-        List<String> merged = new java.util.ArrayList<>();
-        if (lieu.getPhotos() != null) {
-            merged.addAll(lieu.getPhotos());
+        List<String> urls = photoStorageService.storePropertyPhotos(id, photos).stream()
+            .map(org.example.locaspace.service.PhotoStorageService.StoredPhoto::getUrl)
+            .collect(Collectors.toList());
+        appendPhotos(lieu, urls);
+
+        return ResponseEntity.ok(urls);
+    }
+
+    // Same as POST /{id}/photos, but the multipart body is read straight from the request stream
+    // (multipart resolution is lazy, so nothing is spooled to temp files before this runs)
+    @PostMapping(value = "/{id}/photos/stream", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasRole('PROPRIETAIRE')")
+    public ResponseEntity<List<String>> streamPhotos(@PathVariable Long id,
+                                                     HttpServletRequest request,
+                                                     Authentication authentication) throws java.io.IOException {
+        Lieu lieu = requireOwnedLieu(id, authentication, "You don't have permission to upload photos for this lieu");
+
+        String boundary = MediaType.parseMediaType(request.getContentType()).getParameter("boundary");
+        if (boundary == null || boundary.isEmpty()) {
+            throw new BadRequestException("Missing multipart boundary");
         }
-        merged.addAll(urls);
-        lieu.setPhotos(merged);
-        lieuService.createLieu(lieu);
+        List<String> urls = photoStorageService.storePropertyPhotos(id, request.getInputStream(), boundary).stream()
+            .map(org.example.locaspace.service.PhotoStorageService.StoredPhoto::getUrl)
+            .collect(Collectors.toList());
+        appendPhotos(lieu, urls);
 
         return ResponseEntity.ok(urls);
     }
 
+    // Direct upload, step 1: a presigned PUT URL for the photo's bytes (S3-compatible storage only)
+    @PostMapping("/{id}/photos/presign")
+    @PreAuthorize("hasRole('PROPRIETAIRE')")
+    public ResponseEntity<PhotoUploadResponse> presignPhoto(@PathVariable Long id,
+                                                            @Valid @RequestBody PhotoUploadRequest request,
+                                                            Authentication authentication) {
+        requireOwnedLieu(id, authentication, "You don't have permission to upload photos for this lieu");
+        org.example.locaspace.service.PhotoStorageService.PresignedPhoto presigned =
+            photoStorageService.presignUpload(id, request.getSha256(), request.getContentType(), request.getSize());
+        PhotoUploadResponse.PhotoUploadResponseBuilder response = PhotoUploadResponse.builder()
+            .publicUrl(presigned.getUrl())
+            .exists(presigned.isExists());
+        if (presigned.getUpload() != null) {
+            response.uploadUrl(presigned.getUpload().getUrl())
+                .headers(presigned.getUpload().getHeaders())
+                .expiresAt(presigned.getUpload().getExpiresAt());
+        }
+        return ResponseEntity.ok(response.build());
+    }
+
+    // Direct upload, step 2: attach the uploaded photos to the lieu
+    @PostMapping("/{id}/photos/commit")
+    @PreAuthorize("hasRole('PROPRIETAIRE')")
+    public ResponseEntity<List<String>> commitPhotos(@PathVariable Long id,
+                                                     @RequestBody List<String> urls,
+                                                     Authentication authentication) throws java.io.IOException {
+        Lieu lieu = requireOwnedLieu(id, authentication, "You don't have permission to upload photos for this lieu");
+        List<String> confirmed = photoStorageService.confirmUploads(urls);
+        appendPhotos(lieu, confirmed);
+        return ResponseEntity.ok(confirmed);
+    }
+
     @DeleteMapping("/{id}/photos")
     @PreAuthorize("hasRole('PROPRIETAIRE')")
     public ResponseEntity<Void> deletePhoto(@PathVariable Long id,
@@ -195,6 +327,7 @@ public class LieuController {
     public ResponseEntity<LieuResponse> updateLieu(@PathVariable Long id,
                                                    @Valid @RequestBody LieuRequest lieuRequest,
                                                    Authentication authentication) {
+        requireCoordinatePair(lieuRequest);
 
         UserDetailsServiceImpl.UserPrincipal userPrincipal =
             (UserDetailsServiceImpl.UserPrincipal) authentication.getPrincipal();
@@ -206,6 +339,8 @@ public class LieuController {
             .type(parseLieuType(lieuRequest.getType()))
             .prix(lieuRequest.getPrix())
             .adresse(lieuRequest.getAdresse())
+            .latitude(lieuRequest.getLatitude())
+            .longitude(lieuRequest.getLongitude())
             .photos(lieuRequest.getPhotos())
             .build();
 
@@ -235,74 +370,152 @@ public class LieuController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Page<LieuResponse>> searchLieux(
+    public ResponseEntity<Page<?>> searchLieux(
             @RequestParam(required = false) String keyword,
             @RequestParam(required = false) String type,
             @RequestParam(required = false) BigDecimal minPrice,
             @RequestParam(required = false) BigDecimal maxPrice,
             @RequestParam(required = false) String city,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            // Within radiusKm of (lat, lng)
+            @RequestParam(required = false) Double lat,
+            @RequestParam(required = false) Double lng,
+            @RequestParam(required = false) Double radiusKm,
+            // Map viewport
+            @RequestParam(required = false) Double minLat,
+            @RequestParam(required = false) Double minLng,
+            @RequestParam(required = false) Double maxLat,
+            @RequestParam(required = false) Double maxLng,
+            @RequestParam(required = false) String view,
             @PageableDefault(size = 12) Pageable pageable) {
 
         Page<Lieu> lieux;
         LieuType lieuType = type != null && !type.isBlank() ? parseLieuType(type) : null;
+        requireDateRange(startDate, endDate);
+        GeoArea area = geoArea(lat, lng, radiusKm, minLat, minLng, maxLat, maxLng);
+        LieuView lieuView = LieuView.parse(view);
+        if (lieuView != LieuView.DETAIL) {
+            return ResponseEntity.ok(toCardPage(
+                lieuService.findLieuCards(keyword, lieuType, minPrice, maxPrice, city, startDate, endDate, area, pageable), lieuView));
+        }
 
         if (keyword != null && !keyword.trim().isEmpty()) {
-            lieux = lieuService.searchLieux(keyword, pageable);
-        } else if (type != null || minPrice != null || maxPrice != null || city != null) {
-            lieux = lieuService.searchLieuxWithFilters(lieuType, minPrice, maxPrice, city, pageable);
+            lieux = startDate != null || area != null
+                ? lieuService.searchLieux(keyword, startDate, endDate, area, pageable)
+                : lieuService.searchLieux(keyword, pageable);
+        } else if (type != null || minPrice != null || maxPrice != null || city != null || startDate != null || area != null) {
+            lieux = lieuService.searchLieuxWithFilters(lieuType, minPrice, maxPrice, city, startDate, endDate, area, pageable);
         } else {
             lieux = lieuService.getAllValidatedLieux(pageable);
         }
 
-        Page<LieuResponse> responses = lieux.map(entityMapper::toLieuResponse);
+        Page<LieuResponse> responses = toCardPage(lieux);
         return ResponseEntity.ok(responses);
     }
 
+    // Filter chip counts for a search: same filters as GET /search, counted in one grouped query
+    @GetMapping("/search/facets")
+    public ResponseEntity<LieuFacetsResponse> searchFacets(
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) Double lat,
+            @RequestParam(required = false) Double lng,
+            @RequestParam(required = false) Double radiusKm,
+            @RequestParam(required = false) Double minLat,
+            @RequestParam(required = false) Double minLng,
+            @RequestParam(required = false) Double maxLat,
+            @RequestParam(required = false) Double maxLng) {
+
+        LieuType lieuType = type != null && !type.isBlank() ? parseLieuType(type) : null;
+        requireDateRange(startDate, endDate);
+        GeoArea area = geoArea(lat, lng, radiusKm, minLat, minLng, maxLat, maxLng);
+        return ResponseEntity.ok(entityMapper.toLieuFacetsResponse(
+            lieuService.getSearchFacets(keyword, lieuType, minPrice, maxPrice, city, startDate, endDate, area)));
+    }
+
     @GetMapping("/type/{type}")
-    public ResponseEntity<Page<LieuResponse>> getLieuxByType(@PathVariable String type,
-                                                             @PageableDefault(size = 12) Pageable pageable) {
+    public ResponseEntity<Page<?>> getLieuxByType(@PathVariable String type,
+                                                  @RequestParam(required = false) String view,
+                                                  @PageableDefault(size = 12) Pageable pageable) {
         LieuType lieuType = parseLieuType(type);
+        LieuView lieuView = LieuView.parse(view);
+        if (lieuView != LieuView.DETAIL) {
+            return ResponseEntity.ok(toCardPage(
+                lieuService.findLieuCards(null, lieuType, null, null, null, null, null, null, pageable), lieuView));
+        }
         Page<Lieu> lieux = lieuService.getLieuxByType(lieuType, pageable);
-        Page<LieuResponse> responses = lieux.map(entityMapper::toLieuResponse);
+        Page<LieuResponse> responses = toCardPage(lieux);
         return ResponseEntity.ok(responses);
     }
 
     @GetMapping("/city/{city}")
-    public ResponseEntity<Page<LieuResponse>> getLieuxByCity(@PathVariable String city,
-                                                             @PageableDefault(size = 12) Pageable pageable) {
+    public ResponseEntity<Page<?>> getLieuxByCity(@PathVariable String city,
+                                                  @RequestParam(required = false) String view,
+                                                  @PageableDefault(size = 12) Pageable pageable) {
+        LieuView lieuView = LieuView.parse(view);
+        if (lieuView != LieuView.DETAIL) {
+            return ResponseEntity.ok(toCardPage(
+                lieuService.findLieuCards(null, null, null, null, city, null, null, null, pageable), lieuView));
+        }
         Page<Lieu> lieux = lieuService.getLieuxByCity(city, pageable);
-        Page<LieuResponse> responses = lieux.map(entityMapper::toLieuResponse);
+        Page<LieuResponse> responses = toCardPage(lieux);
         return ResponseEntity.ok(responses);
     }
 
     @GetMapping("/price")
-    public ResponseEntity<Page<LieuResponse>> getLieuxByPriceRange(
+    public ResponseEntity<Page<?>> getLieuxByPriceRange(
             @RequestParam BigDecimal min,
             @RequestParam BigDecimal max,
+            @RequestParam(required = false) String view,
             @PageableDefault(size = 12) Pageable pageable) {
+        LieuView lieuView = LieuView.parse(view);
+        if (lieuView != LieuView.DETAIL) {
+            return ResponseEntity.ok(toCardPage(
+                lieuService.findLieuCards(null, null, min, max, null, null, null, null, pageable), lieuView));
+        }
 
         Page<Lieu> lieux = lieuService.getLieuxByPriceRange(min, max, pageable);
-        Page<LieuResponse> responses = lieux.map(entityMapper::toLieuResponse);
+        Page<LieuResponse> responses = toCardPage(lieux);
         return ResponseEntity.ok(responses);
     }
 
     @GetMapping("/my")
     @PreAuthorize("hasRole('PROPRIETAIRE')")
-    public ResponseEntity<List<LieuResponse>> getMyLieux(Authentication authentication) {
+    public ResponseEntity<List<?>> getMyLieux(@RequestParam(required = false) String view,
+                                              Authentication authentication) {
 
         UserDetailsServiceImpl.UserPrincipal userPrincipal =
             (UserDetailsServiceImpl.UserPrincipal) authentication.getPrincipal();
         User currentUser = userService.getUserById(userPrincipal.getId());
 
+        LieuView lieuView = LieuView.parse(view);
+        if (lieuView != LieuView.DETAIL) {
+            return ResponseEntity.ok(entityMapper.toLieuCards(lieuService.findLieuCardsByOwner(currentUser), lieuView));
+        }
         List<Lieu> lieux = lieuService.getLieuxByOwner(currentUser);
-        List<LieuResponse> responses = lieux.stream()
-            .map(entityMapper::toLieuResponse)
-            .collect(Collectors.toList());
+        List<LieuResponse> responses = entityMapper.toLieuCardResponses(lieux);
 
         return ResponseEntity.ok(responses);
     }
 
-    private LieuType parseLieuType(String rawType) {
+    // List pages carry the cover photo only; GET /{id} returns every photo
+    private Page<LieuResponse> toCardPage(Page<Lieu> lieux) {
+        return new PageImpl<>(entityMapper.toLieuCardResponses(lieux.getContent()), lieux.getPageable(), lieux.getTotalElements());
+    }
+
+    private Page<LieuCardResponse> toCardPage(Page<LieuCard> cards, LieuView view) {
+        return new PageImpl<>(entityMapper.toLieuCards(cards.getContent(), view), cards.getPageable(), cards.getTotalElements());
+    }
+
+    // Lenient: accepts French and English names, any case, with spaces or dashes. Public for the
+    // benchmarks module.
+    public static LieuType parseLieuType(String rawType) {
         if (rawType == null || rawType.isBlank()) {
             throw new BadRequestException("Type is required");
         }
@@ -340,4 +553,86 @@ public class LieuController {
                 throw new BadRequestException("Invalid lieu type: " + rawType);
         }
     }
+
+    private static void requireDateRange(LocalDate startDate, LocalDate endDate) {
+        if ((startDate == null) != (endDate == null) || (startDate != null && startDate.isAfter(endDate))) {
+            throw new BadRequestException("startDate and endDate must be provided together, with startDate <= endDate");
+        }
+    }
+
+    // A circle (lat, lng, radiusKm) or a viewport (minLat, minLng, maxLat, maxLng), not both; null for neither
+    private static GeoArea geoArea(Double lat, Double lng, Double radiusKm,
+                                   Double minLat, Double minLng, Double maxLat, Double maxLng) {
+        boolean circle = lat != null || lng != null || radiusKm != null;
+        boolean box = minLat != null || minLng != null || maxLat != null || maxLng != null;
+        if (circle && box) {
+            throw new BadRequestException("Search either around lat/lng or inside minLat/minLng/maxLat/maxLng, not both");
+        }
+        if (circle) {
+            if (lat == null || lng == null || radiusKm == null) {
+                throw new BadRequestException("lat, lng and radiusKm must be provided together");
+            }
+            requireLatitude(lat);
+            requireLongitude(lng);
+            if (!(radiusKm > 0 && radiusKm <= MAX_RADIUS_KM)) {
+                throw new BadRequestException("radiusKm must be greater than 0 and at most " + (int) MAX_RADIUS_KM);
+            }
+            return GeoArea.circle(lat, lng, radiusKm);
+        }
+        if (box) {
+            if (minLat == null || minLng == null || maxLat == null || maxLng == null) {
+                throw new BadRequestException("minLat, minLng, maxLat and maxLng must be provided together");
+            }
+            requireLatitude(minLat);
+            requireLatitude(maxLat);
+            requireLongitude(minLng);
+            requireLongitude(maxLng);
+            // A viewport across the antimeridian is not supported: listings are in Europe
+            if (minLat > maxLat || minLng > maxLng) {
+                throw new BadRequestException("minLat/minLng must not be greater than maxLat/maxLng");
+            }
+            return GeoArea.box(minLat, minLng, maxLat, maxLng);
+        }
+        return null;
+    }
+
+    private static void requireLatitude(double latitude) {
+        if (!(latitude >= -90 && latitude <= 90)) {
+            throw new BadRequestException("Latitude must be between -90 and 90");
+        }
+    }
+
+    private static void requireLongitude(double longitude) {
+        if (!(longitude >= -180 && longitude <= 180)) {
+            throw new BadRequestException("Longitude must be between -180 and 180");
+        }
+    }
+
+    private static void requireCoordinatePair(LieuRequest request) {
+        if ((request.getLatitude() == null) != (request.getLongitude() == null)) {
+            throw new BadRequestException("latitude and longitude must be provided together");
+        }
+    }
+
+    private void appendPhotos(Lieu lieu, List<String> urls) {
+        List<String> merged = new java.util.ArrayList<>();
+        if (lieu.getPhotos() != null) {
+            merged.addAll(lieu.getPhotos());
+        }
+        merged.addAll(urls);
+        lieu.setPhotos(merged);
+        lieuService.createLieu(lieu);
+        photoVariantService.enqueue(urls);
+    }
+
+    private Lieu requireOwnedLieu(Long id, Authentication authentication, String message) {
+        UserDetailsServiceImpl.UserPrincipal userPrincipal =
+            (UserDetailsServiceImpl.UserPrincipal) authentication.getPrincipal();
+        Lieu lieu = lieuService.getLieuById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Lieu", "id", id));
+        if (!lieu.getOwner().getId().equals(userPrincipal.getId())) {
+            throw new UnauthorizedException(message);
+        }
+        return lieu;
+    }
 }
@@ -124,6 +124,56 @@ public class ReservationController {
         }
     }
 
+    // Tenant: Place a short-lived hold on dates before sending the request to the owner
+    @PostMapping("/hold")
+    @PreAuthorize("isAuthenticated()")
+    @Transactional
+    public ResponseEntity<ReservationResponse> placeHold(@Valid @RequestBody ReservationRequest request,
+                                                         Authentication authentication) {
+        UserDetailsServiceImpl.UserPrincipal principal = (UserDetailsServiceImpl.UserPrincipal) authentication.getPrincipal();
+        User tenant = userService.getUserById(principal.getId());
+
+        Lieu lieu = lieuService.getLieuById(request.getPlaceId())
+            .orElseThrow(() -> new ResourceNotFoundException("Lieu", "id", request.getPlaceId()));
+
+        Reservation hold = Reservation.builder()
+                .lieu(lieu)
+                .locataire(tenant)
+                .dateDebut(request.getStartDate())
+                .dateFin(request.getEndDate())
+                .build();
+
+        try {
+            Reservation saved = reservationService.placeHold(hold);
+            return ResponseEntity.ok(createSimpleReservationResponse(saved));
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid argument: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            log.error("Illegal state: {}", e.getMessage());
+            return ResponseEntity.status(409).build(); // Conflict
+        }
+    }
+
+    // Tenant: Confirm a hold, which sends the request to the owner
+    @PutMapping("/{id}/confirm-hold")
+    @PreAuthorize("isAuthenticated()")
+    @Transactional
+    public ResponseEntity<ReservationResponse> confirmHold(@PathVariable Long id, Authentication authentication) {
+        UserDetailsServiceImpl.UserPrincipal principal = (UserDetailsServiceImpl.UserPrincipal) authentication.getPrincipal();
+        User tenant = userService.getUserById(principal.getId());
+        try {
+            Reservation confirmed = reservationService.confirmHold(id, tenant);
+            return ResponseEntity.ok(createSimpleReservationResponse(confirmed));
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid argument: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            log.error("Illegal state: {}", e.getMessage());
+            return ResponseEntity.status(409).build(); // Conflict
+        }
+    }
+
     // Tenant: Cancel reservation
     @DeleteMapping("/{id}/cancel")
     @PreAuthorize("isAuthenticated()")
@@ -195,7 +245,8 @@ public class ReservationController {
                 locataire,
                 lieu,
                 totalNights,
-                totalPrice
+                totalPrice,
+                reservation.getExpiresAt()
             );
         } catch (Exception e) {
             log.error("Error creating simple reservation response: {}", e.getMessage(), e);
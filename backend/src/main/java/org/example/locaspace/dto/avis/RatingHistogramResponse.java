@@ -0,0 +1,17 @@
+package org.example.locaspace.dto.avis;
+
+import lombok.*;
+
+import java.util.Map;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class RatingHistogramResponse {
+
+    private Long lieuId;
+
+    // Number of reviews per note, 1 to 5 stars
+    private Map<Integer, Long> counts;
+
+    private Long reviewCount;
+    private Double averageRating;
+}
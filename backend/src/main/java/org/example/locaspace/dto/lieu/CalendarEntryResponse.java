@@ -0,0 +1,34 @@
+package org.example.locaspace.dto.lieu;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// One entry of the owner calendar timeline: a booking or a block, possibly coalesced from
+// several adjacent rows of the same kind and status (their ids are then listed in "ids").
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CalendarEntryResponse {
+    private Long id;
+    private Long bookingId;
+    private List<Long> ids;
+    private Long propertyId;
+    private LocalDate startDate;
+    private LocalDate endDate;
+
+    // 'booked' or 'blocked'
+    private String type;
+
+    // Reservation status for bookings
+    private String status;
+
+    private String title;
+}
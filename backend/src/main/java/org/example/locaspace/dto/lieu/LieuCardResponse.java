@@ -0,0 +1,33 @@
+package org.example.locaspace.dto.lieu;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+// Grid card for ?view=card (and ?view=owner, which adds valide): no description, no owner,
+// one cover photo
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LieuCardResponse {
+    private Long id;
+    private String titre;
+    private String type;
+    private BigDecimal prix;
+    private String adresse;
+    // Map marker position
+    private Double latitude;
+    private Double longitude;
+    private Boolean valide;
+    private String cover;
+    private PhotoVariantsResponse coverVariants;
+    private Integer photoCount;
+    private Double averageRating;
+    private Long reviewCount;
+}
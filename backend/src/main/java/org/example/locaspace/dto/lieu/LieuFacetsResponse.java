@@ -0,0 +1,42 @@
+package org.example.locaspace.dto.lieu;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+// GET /api/lieux/search/facets: counts for the filter chips of a search. value is what the chip
+// sends back (type, city); a price chip sends min as minPrice and max as maxPrice.
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LieuFacetsResponse {
+    private long total;
+    private List<FacetCount> types;
+    private List<PriceRange> prices;
+    private List<FacetCount> cities;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class FacetCount {
+        private String value;
+        private String label;
+        private long count;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class PriceRange {
+        private BigDecimal min;
+        private BigDecimal max;
+        private long count;
+    }
+}
@@ -34,6 +34,15 @@ public class LieuRequest {
     @Size(max = 10, message = "Maximum 10 photos allowed")
     private List<String> photos;
 
+    // Optional exact position; without it the address city is geocoded
+    @DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+    @DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
+    private Double latitude;
+
+    @DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+    @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
+    private Double longitude;
+
     public LieuRequest() {
     }
 
@@ -93,5 +102,20 @@ public class LieuRequest {
     public void setPhotos(List<String> photos) {
         this.photos = photos;
     }
-}
 
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+}
@@ -0,0 +1,24 @@
+package org.example.locaspace.dto.lieu;
+
+import org.example.locaspace.exception.BadRequestException;
+
+// Shape of list responses, chosen with ?view=
+public enum LieuView {
+    // LieuCardResponse from a column projection
+    CARD,
+    // LieuResponse (description, owner, cover photo); the default
+    DETAIL,
+    // LieuCardResponse plus the validation flag, for the owner dashboard
+    OWNER;
+
+    public static LieuView parse(String raw) {
+        if (raw == null || raw.isBlank()) {
+            return DETAIL;
+        }
+        try {
+            return valueOf(raw.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Unknown view '" + raw + "', expected card, detail or owner");
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package org.example.locaspace.dto.lieu;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// A photo the client wants to PUT directly to the blob store
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PhotoUploadRequest {
+
+    @NotBlank(message = "sha256 is required")
+    private String sha256;
+
+    @NotBlank(message = "Content type is required")
+    private String contentType;
+
+    @Positive(message = "Size must be positive")
+    private long size;
+}
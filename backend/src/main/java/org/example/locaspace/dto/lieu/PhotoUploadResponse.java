@@ -0,0 +1,25 @@
+package org.example.locaspace.dto.lieu;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.Map;
+
+// Where to PUT the bytes (uploadUrl + headers), unless the blob already exists; the photo is then
+// attached to the lieu by POSTing publicUrl to /photos/commit
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PhotoUploadResponse {
+    private String publicUrl;
+    private boolean exists;
+    private String uploadUrl;
+    private Map<String, String> headers;
+    private Instant expiresAt;
+}
@@ -0,0 +1,23 @@
+package org.example.locaspace.dto.lieu;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+// Resized copies of one photo; variants is empty until the background job has run
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PhotoVariantsResponse {
+    private String url;
+    private String placeholder;
+    // width in px -> URL
+    private Map<Integer, String> variants;
+    private String srcset;
+}
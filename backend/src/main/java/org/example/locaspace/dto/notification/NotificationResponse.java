@@ -1,20 +1,15 @@
 package org.example.locaspace.dto.notification;
 
-import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
-@Data
-@NoArgsConstructor
-@AllArgsConstructor
 @Builder
-public class NotificationResponse {
-    private Long id;
-    private String title;
-    private String message;
-    private String type;
-    private boolean lu;
-    private LocalDateTime createdAt;
+public record NotificationResponse(
+    Long id,
+    String title,
+    String message,
+    String type,
+    boolean lu,
+    LocalDateTime createdAt
+) {
 }
@@ -0,0 +1,30 @@
+package org.example.locaspace.geo;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+// Comparable form of a city name: accents and case folded, punctuation and hyphens as single
+// spaces, St/Ste spelled out ("Saint-Étienne", "ST ETIENNE" and "saint etienne" are equal)
+public final class CityNames {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^a-z0-9]+");
+
+    private CityNames() {
+    }
+
+    public static String key(String name) {
+        if (name == null) {
+            return "";
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(name, Normalizer.Form.NFD)).replaceAll("");
+        folded = SEPARATORS.matcher(folded.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+        if (folded.startsWith("st ")) {
+            folded = "saint " + folded.substring(3);
+        } else if (folded.startsWith("ste ")) {
+            folded = "sainte " + folded.substring(4);
+        }
+        return folded;
+    }
+}
@@ -0,0 +1,126 @@
+package org.example.locaspace.geo;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+// Offline geocoding: the city of a free-text address is looked up in a bundled CSV gazetteer
+// (geocoding.gazetteer, name,latitude,longitude,country), held in memory by CityNames key.
+// Address parts are tried from the last comma-separated one backwards, so "12 rue de Paris, Lyon"
+// is Lyon; postcodes, arrondissements and CEDEX are ignored ("75008 Paris", "Lyon 3e").
+// city() also names towns missing from the gazetteer, from the address layout alone.
+@Component
+public class Gazetteer {
+
+    private static final Logger log = LoggerFactory.getLogger(Gazetteer.class);
+
+    // Longest city name, in words, tried at the end of an address without commas
+    private static final int MAX_NAME_WORDS = 4;
+
+    private static final Pattern POSTCODE = Pattern.compile("^\\d{4,5}\\s+|\\s+\\d{4,5}$");
+    private static final Pattern CEDEX = Pattern.compile("(?i)\\s+cedex(\\s+\\d+)?$");
+
+    // Trailing address parts that are not a city (CityNames keys)
+    private static final Set<String> COUNTRIES = Set.of("france", "belgique", "belgium", "suisse", "switzerland",
+        "espagne", "spain", "italie", "italy", "allemagne", "germany", "portugal", "pays bas", "netherlands",
+        "royaume uni", "united kingdom");
+
+    private static final Pattern IGNORED_WORDS = Pattern.compile("\\b(\\w*\\d\\w*|cedex|arrondissement)\\b");
+
+    private final Map<String, Place> places = new HashMap<>();
+
+    public Gazetteer(@Value("${geocoding.gazetteer:classpath:gazetteer/cities.csv}") Resource gazetteer) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(gazetteer.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#") || line.startsWith("name,")) {
+                    continue;
+                }
+                String[] columns = line.split(",");
+                Place place = new Place(columns[0].trim(),
+                    Double.parseDouble(columns[1].trim()), Double.parseDouble(columns[2].trim()));
+                // First entry wins for homonyms
+                places.putIfAbsent(CityNames.key(place.getName()), place);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read gazetteer " + gazetteer, e);
+        }
+        log.info("Gazetteer loaded: {} places", places.size());
+    }
+
+    public Optional<Place> locate(String adresse) {
+        if (adresse == null || adresse.isBlank()) {
+            return Optional.empty();
+        }
+        String[] parts = adresse.split(",");
+        for (int i = parts.length - 1; i >= 0; i--) {
+            Place place = places.get(cityPart(parts[i]));
+            if (place != null) {
+                return Optional.of(place);
+            }
+        }
+        // No part is a city on its own: try the last words ("12 rue de la Gare Lyon")
+        String[] words = cityPart(parts[parts.length - 1]).split(" ");
+        for (int n = Math.min(MAX_NAME_WORDS, words.length - 1); n >= 1; n--) {
+            Place place = places.get(String.join(" ", Arrays.copyOfRange(words, words.length - n, words.length)));
+            if (place != null) {
+                return Optional.of(place);
+            }
+        }
+        return Optional.empty();
+    }
+
+    // City of an address: the gazetteer spelling when it is a known place, otherwise the last part
+    // after a comma that is neither a country nor a street (digits), postcode and CEDEX removed
+    public Optional<String> city(String adresse) {
+        Optional<Place> place = locate(adresse);
+        if (place.isPresent() || adresse == null) {
+            return place.map(Place::getName);
+        }
+        String[] parts = adresse.split(",");
+        // A single part is most likely a street on its own
+        for (int i = parts.length - 1; i >= 0 && parts.length > 1; i--) {
+            String part = CEDEX.matcher(POSTCODE.matcher(parts[i].trim()).replaceAll("")).replaceAll("").trim();
+            String key = CityNames.key(part);
+            if (!key.isEmpty() && !COUNTRIES.contains(key) && part.chars().noneMatch(Character::isDigit)) {
+                return Optional.of(part);
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static String cityPart(String part) {
+        // Keyed again once the ignored words are gone, e.g. to spell out "42000 st etienne"
+        return CityNames.key(IGNORED_WORDS.matcher(CityNames.key(part)).replaceAll(" "));
+    }
+
+    public static final class Place {
+        private final String name;
+        private final double latitude;
+        private final double longitude;
+
+        public Place(String name, double latitude, double longitude) {
+            this.name = name;
+            this.latitude = latitude;
+            this.longitude = longitude;
+        }
+
+        public String getName() { return name; }
+        public double getLatitude() { return latitude; }
+        public double getLongitude() { return longitude; }
+    }
+}
@@ -0,0 +1,52 @@
+package org.example.locaspace.geo;
+
+// Area of a map search: a viewport (bounding box) or a circle of radiusKm around a point, which
+// also carries its bounding box. Callers validate the coordinates first.
+public final class GeoArea {
+
+    // Kilometres per degree of latitude (mean Earth radius 6371 km)
+    public static final double KM_PER_DEGREE = 6371 * Math.PI / 180;
+
+    private final double minLatitude;
+    private final double minLongitude;
+    private final double maxLatitude;
+    private final double maxLongitude;
+    // Circle only
+    private final Double latitude;
+    private final Double longitude;
+    private final Double radiusKm;
+
+    private GeoArea(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude,
+                    Double latitude, Double longitude, Double radiusKm) {
+        this.minLatitude = minLatitude;
+        this.minLongitude = minLongitude;
+        this.maxLatitude = maxLatitude;
+        this.maxLongitude = maxLongitude;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.radiusKm = radiusKm;
+    }
+
+    public static GeoArea box(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude) {
+        return new GeoArea(minLatitude, minLongitude, maxLatitude, maxLongitude, null, null, null);
+    }
+
+    public static GeoArea circle(double latitude, double longitude, double radiusKm) {
+        double latitudeDelta = radiusKm / KM_PER_DEGREE;
+        double longitudeDelta = radiusKm / (KM_PER_DEGREE * Math.max(Math.cos(Math.toRadians(latitude)), 0.01));
+        return new GeoArea(
+            Math.max(latitude - latitudeDelta, -90), Math.max(longitude - longitudeDelta, -180),
+            Math.min(latitude + latitudeDelta, 90), Math.min(longitude + longitudeDelta, 180),
+            latitude, longitude, radiusKm);
+    }
+
+    public boolean isCircle() { return radiusKm != null; }
+
+    public double getMinLatitude() { return minLatitude; }
+    public double getMinLongitude() { return minLongitude; }
+    public double getMaxLatitude() { return maxLatitude; }
+    public double getMaxLongitude() { return maxLongitude; }
+    public Double getLatitude() { return latitude; }
+    public Double getLongitude() { return longitude; }
+    public Double getRadiusKm() { return radiusKm; }
+}
@@ -0,0 +1,114 @@
+package org.example.locaspace.geo;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+// Geohash cells: nearby points share a prefix, so an area maps to a few prefix ranges of one
+// ordinary B-tree index (lieux.geohash) instead of needing a spatial index
+public final class GeoHash {
+
+    // Stored precision: cells of about 4.8 m x 4.8 m
+    public static final int PRECISION = 9;
+
+    private static final String BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz";
+
+    private GeoHash() {
+    }
+
+    public static String encode(double latitude, double longitude, int precision) {
+        double minLat = -90, maxLat = 90;
+        double minLng = -180, maxLng = 180;
+        StringBuilder hash = new StringBuilder(precision);
+        boolean lngBit = true;
+        int bits = 0;
+        int ch = 0;
+        while (hash.length() < precision) {
+            if (lngBit) {
+                double mid = (minLng + maxLng) / 2;
+                if (longitude >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLng = mid;
+                } else {
+                    ch <<= 1;
+                    maxLng = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (latitude >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLat = mid;
+                } else {
+                    ch <<= 1;
+                    maxLat = mid;
+                }
+            }
+            lngBit = !lngBit;
+            if (++bits == 5) {
+                hash.append(BASE32.charAt(ch));
+                bits = 0;
+                ch = 0;
+            }
+        }
+        return hash.toString();
+    }
+
+    // Prefixes of the cells covering the area's bounds, at the finest precision that needs no more
+    // than maxCells of them; empty when even single-character cells are too many (whole-world boxes)
+    public static List<String> cover(GeoArea area, int maxCells) {
+        int precision = 0;
+        for (int p = 1; p <= PRECISION && cellCount(area, p) <= maxCells; p++) {
+            precision = p;
+        }
+        if (precision == 0) {
+            return List.of();
+        }
+        int[] rows = rows(area, precision);
+        int[] columns = columns(area, precision);
+        double cellHeight = 180.0 / (1L << latitudeBits(precision));
+        double cellWidth = 360.0 / (1L << longitudeBits(precision));
+
+        Set<String> cells = new LinkedHashSet<>();
+        for (int row = rows[0]; row <= rows[1]; row++) {
+            for (int column = columns[0]; column <= columns[1]; column++) {
+                // Encoding the centre of a grid cell gives that cell's hash
+                cells.add(encode(-90 + (row + 0.5) * cellHeight, -180 + (column + 0.5) * cellWidth, precision));
+            }
+        }
+        return new ArrayList<>(cells);
+    }
+
+    private static long cellCount(GeoArea area, int precision) {
+        int[] rows = rows(area, precision);
+        int[] columns = columns(area, precision);
+        return (long) (rows[1] - rows[0] + 1) * (columns[1] - columns[0] + 1);
+    }
+
+    private static int[] rows(GeoArea area, int precision) {
+        return span(area.getMinLatitude() + 90, area.getMaxLatitude() + 90, 180, 1L << latitudeBits(precision));
+    }
+
+    private static int[] columns(GeoArea area, int precision) {
+        return span(area.getMinLongitude() + 180, area.getMaxLongitude() + 180, 360, 1L << longitudeBits(precision));
+    }
+
+    // First and last of the cells, along one axis of the given extent, touched by [from, to]
+    private static int[] span(double from, double to, double extent, long cells) {
+        return new int[]{index(from, extent, cells), index(to, extent, cells)};
+    }
+
+    private static int index(double offset, double extent, long cells) {
+        long index = (long) Math.floor(offset / extent * cells);
+        return (int) Math.max(0, Math.min(index, cells - 1));
+    }
+
+    // Longitude takes the first of every two bits
+    private static int longitudeBits(int precision) {
+        return (5 * precision + 1) / 2;
+    }
+
+    private static int latitudeBits(int precision) {
+        return 5 * precision / 2;
+    }
+}
@@ -1,7 +1,11 @@
 package org.example.locaspace.mapper;
 
 import org.example.locaspace.dto.avis.AvisResponse;
+import org.example.locaspace.dto.lieu.LieuCardResponse;
+import org.example.locaspace.dto.lieu.LieuFacetsResponse;
 import org.example.locaspace.dto.lieu.LieuResponse;
+import org.example.locaspace.dto.lieu.LieuView;
+import org.example.locaspace.dto.lieu.PhotoVariantsResponse;
 import org.example.locaspace.dto.reservation.ReservationResponse;
 import org.example.locaspace.dto.user.UserResponse;
 import org.example.locaspace.dto.user.UserSummaryResponse;
@@ -10,14 +14,26 @@ import org.example.locaspace.model.Lieu;
 import org.example.locaspace.model.Reservation;
 import org.example.locaspace.model.User;
 import org.example.locaspace.model.enums.LieuType;
+import org.example.locaspace.repository.AvisFeedItem;
 import org.example.locaspace.repository.AvisRepository;
+import org.example.locaspace.repository.LieuCard;
+import org.example.locaspace.repository.LieuRepository;
+import org.example.locaspace.repository.UserRepository;
+import org.example.locaspace.repository.UserStats;
+import org.example.locaspace.service.LieuFacets;
+import org.example.locaspace.service.PhotoVariantService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 @Component
 public class EntityMapper {
@@ -27,6 +43,15 @@ public class EntityMapper {
     @Autowired
     private AvisRepository avisRepository;
 
+    @Autowired
+    private LieuRepository lieuRepository;
+
+    @Autowired
+    private PhotoVariantService photoVariantService;
+
+    @Autowired
+    private UserRepository userRepository;
+
     public UserSummaryResponse toUserSummaryResponse(User user) {
         if (user == null) {
             return null;
@@ -40,20 +65,15 @@ public class EntityMapper {
         );
     }
 
+    // Totals come from one aggregate query; the reservations and avis collections stay unloaded
     public UserResponse toUserResponse(User user) {
         if (user == null) {
             return null;
         }
 
-        Long totalReservations = user.getReservations() != null ? (long) user.getReservations().size() : 0L;
-        Long totalReviews = user.getAvis() != null ? (long) user.getAvis().size() : 0L;
-
-        Double averageRating = null;
-        if (user.getAvis() != null && !user.getAvis().isEmpty()) {
-            averageRating = user.getAvis().stream()
-                .mapToInt(Avis::getNote)
-                .average()
-                .orElse(0.0);
+        UserStats stats = user.getId() != null ? userRepository.findStatsById(user.getId()) : null;
+        if (stats == null) {
+            stats = UserStats.empty();
         }
 
         return new UserResponse(
@@ -62,9 +82,9 @@ public class EntityMapper {
             user.getEmail(),
             user.getRole() != null ? user.getRole().name() : null,
             null,
-            totalReservations,
-            totalReviews,
-            averageRating
+            stats.getReservationCount(),
+            stats.getReviewCount(),
+            stats.getAverageRating()
         );
     }
 
@@ -86,12 +106,123 @@ public class EntityMapper {
             lieu.getAdresse(),
             lieu.isValide(),
             lieu.getPhotos(),
+            lieu.getPhotos() != null ? lieu.getPhotos().size() : 0,
             owner,
             averageRating,
-            reviewCount
+            reviewCount,
+            photoVariantService.getVariants(lieu.getPhotos())
         );
     }
 
+    // List pages: the whole page is mapped with one photo query and one rating query instead of
+    // three queries per lieu, and each card only carries its cover photo
+    public List<LieuResponse> toLieuCardResponses(List<Lieu> lieux) {
+        if (lieux.isEmpty()) {
+            return new ArrayList<>();
+        }
+        PageData data = loadPageData(lieux.stream().map(Lieu::getId).collect(Collectors.toList()));
+
+        List<LieuResponse> responses = new ArrayList<>(lieux.size());
+        for (Lieu lieu : lieux) {
+            String cover = data.covers.get(lieu.getId());
+            Object[] rating = data.ratings.get(lieu.getId());
+            responses.add(new LieuResponse(
+                lieu.getId(),
+                lieu.getTitre(),
+                lieu.getDescription(),
+                formatLieuType(lieu.getType()),
+                lieu.getPrix(),
+                lieu.getAdresse(),
+                lieu.isValide(),
+                cover != null ? List.of(cover) : List.of(),
+                data.photoCounts.getOrDefault(lieu.getId(), 0),
+                toUserSummaryResponse(lieu.getOwner()),
+                rating != null ? (Double) rating[1] : null,
+                rating != null ? (Long) rating[2] : 0L,
+                cover != null ? List.of(data.variants.get(cover)) : List.of()
+            ));
+        }
+        return responses;
+    }
+
+    // ?view=card / ?view=owner: projected rows plus the same batched cover and rating lookups
+    public List<LieuCardResponse> toLieuCards(List<LieuCard> cards, LieuView view) {
+        if (cards.isEmpty()) {
+            return new ArrayList<>();
+        }
+        PageData data = loadPageData(cards.stream().map(LieuCard::getId).collect(Collectors.toList()));
+
+        List<LieuCardResponse> responses = new ArrayList<>(cards.size());
+        for (LieuCard card : cards) {
+            String cover = data.covers.get(card.getId());
+            Object[] rating = data.ratings.get(card.getId());
+            responses.add(LieuCardResponse.builder()
+                .id(card.getId())
+                .titre(card.getTitre())
+                .type(formatLieuType(card.getType()))
+                .prix(card.getPrix())
+                .adresse(card.getAdresse())
+                .latitude(card.getLatitude())
+                .longitude(card.getLongitude())
+                .valide(view == LieuView.OWNER ? card.isValide() : null)
+                .cover(cover)
+                .coverVariants(cover != null ? data.variants.get(cover) : null)
+                .photoCount(data.photoCounts.getOrDefault(card.getId(), 0))
+                .averageRating(rating != null ? (Double) rating[1] : null)
+                .reviewCount(rating != null ? (Long) rating[2] : 0L)
+                .build());
+        }
+        return responses;
+    }
+
+    // Type and city chips by descending count; price chips in price order, empty ones included
+    public LieuFacetsResponse toLieuFacetsResponse(LieuFacets facets) {
+        List<LieuFacetsResponse.FacetCount> types = facets.getTypes().entrySet().stream()
+            .sorted(Map.Entry.<LieuType, Long>comparingByValue().reversed())
+            .map(entry -> new LieuFacetsResponse.FacetCount(entry.getKey().name(), formatLieuType(entry.getKey()), entry.getValue()))
+            .collect(Collectors.toList());
+        List<LieuFacetsResponse.PriceRange> prices = facets.getPrices().stream()
+            .map(bucket -> new LieuFacetsResponse.PriceRange(bucket.getMin(), bucket.getMax(), bucket.getCount()))
+            .collect(Collectors.toList());
+        List<LieuFacetsResponse.FacetCount> cities = facets.getCities().stream()
+            .map(city -> new LieuFacetsResponse.FacetCount(city.getName(), city.getName(), city.getCount()))
+            .collect(Collectors.toList());
+        return LieuFacetsResponse.builder()
+            .total(facets.getTotal())
+            .types(types)
+            .prices(prices)
+            .cities(cities)
+            .build();
+    }
+
+    private PageData loadPageData(List<Long> ids) {
+        PageData data = new PageData();
+        for (Object[] row : lieuRepository.findPhotosByLieuIds(ids)) {
+            Long lieuId = (Long) row[0];
+            data.covers.putIfAbsent(lieuId, (String) row[1]);
+            data.photoCounts.merge(lieuId, 1, Integer::sum);
+        }
+        for (Object[] row : avisRepository.findRatingStatsByLieuIds(ids)) {
+            data.ratings.put((Long) row[0], row);
+        }
+        List<String> coverUrls = ids.stream()
+            .map(data.covers::get)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+        for (PhotoVariantsResponse variant : photoVariantService.getVariants(coverUrls)) {
+            data.variants.put(variant.getUrl(), variant);
+        }
+        return data;
+    }
+
+    // Per-page lookups shared by the list mappers, keyed by lieu id (variants by cover URL)
+    private static class PageData {
+        private final Map<Long, String> covers = new HashMap<>();
+        private final Map<Long, Integer> photoCounts = new HashMap<>();
+        private final Map<Long, Object[]> ratings = new HashMap<>();
+        private final Map<String, PhotoVariantsResponse> variants = new HashMap<>();
+    }
+
     public ReservationResponse toReservationResponse(Reservation reservation) {
         if (reservation == null) {
             return null;
@@ -145,7 +276,8 @@ public class EntityMapper {
                 locataire,
                 lieu,
                 totalNights,
-                totalPrice
+                totalPrice,
+                reservation.getExpiresAt()
             );
         } catch (Exception e) {
             log.error("Error mapping reservation to response", e);
@@ -173,6 +305,18 @@ public class EntityMapper {
         );
     }
 
+    public AvisResponse toAvisResponse(AvisFeedItem item) {
+        return AvisResponse.builder()
+            .id(item.getId())
+            .note(item.getNote())
+            .commentaire(item.getCommentaire())
+            .auteurId(item.getAuteurId())
+            .auteurNom(item.getAuteurNom())
+            .lieuId(item.getLieuId())
+            .lieuTitre(item.getLieuTitre())
+            .build();
+    }
+
     public AvisResponse toAvisResponse(Avis avis) {
         if (avis == null) {
             return null;
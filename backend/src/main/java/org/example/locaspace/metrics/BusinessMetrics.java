@@ -0,0 +1,68 @@
+package org.example.locaspace.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+// Domain counters, next to the technical metrics Boot already records (http.server.requests,
+// spring.data.repository.invocations, hikaricp.*, hibernate.*). Exposed at /actuator/prometheus
+// as locaspace_*_total.
+@Component
+public class BusinessMetrics {
+
+    private final MeterRegistry registry;
+    private final Counter bookingConflicts;
+    private final Counter photoBytesWritten;
+
+    public BusinessMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.bookingConflicts = Counter.builder("locaspace.bookings.conflicts")
+            .description("Booking attempts rejected because the dates were taken")
+            .register(registry);
+        this.photoBytesWritten = Counter.builder("locaspace.photos.bytes.written")
+            .description("Photo bytes written to the blob store (deduplicated uploads excluded)")
+            .baseUnit("bytes")
+            .register(registry);
+    }
+
+    // kind: request (owner must answer) or hold (short-lived option)
+    public void bookingCreated(String kind) {
+        Counter.builder("locaspace.bookings.created")
+            .description("Reservations created")
+            .tag("kind", kind)
+            .register(registry)
+            .increment();
+    }
+
+    public void bookingConflicted() {
+        bookingConflicts.increment();
+    }
+
+    public void notificationSent(String type) {
+        Counter.builder("locaspace.notifications.sent")
+            .description("In-app notifications created")
+            .tag("type", type)
+            .register(registry)
+            .increment();
+    }
+
+    public void photoStored(long bytes, boolean deduplicated) {
+        Counter.builder("locaspace.photos.stored")
+            .description("Photos uploaded through the API")
+            .tag("deduplicated", String.valueOf(deduplicated))
+            .register(registry)
+            .increment();
+        if (!deduplicated) {
+            photoBytesWritten.increment(bytes);
+        }
+    }
+
+    // reason: malformed, expired, unsupported, empty, signature
+    public void jwtValidationFailed(String reason) {
+        Counter.builder("locaspace.jwt.validation.failures")
+            .description("Rejected bearer tokens")
+            .tag("reason", reason)
+            .register(registry)
+            .increment();
+    }
+}
@@ -0,0 +1,73 @@
+package org.example.locaspace.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+// Counts the SQL statements of each HTTP request, security filters included (the JWT filter
+// loads the user). Every request feeds locaspace.http.statements per endpoint; a request over
+// datasource.query-count.warn-threshold statements, or running one query shape at least
+// datasource.query-count.repeat-threshold times (an N+1), is logged with its top query shapes.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryCountFilter.class);
+
+    private static final int LOGGED_SHAPES = 5;
+    private static final int MAX_SHAPE_LENGTH = 300;
+
+    private final MeterRegistry registry;
+
+    @Value("${datasource.query-count.warn-threshold:30}")
+    private int warnThreshold;
+
+    @Value("${datasource.query-count.repeat-threshold:10}")
+    private int repeatThreshold;
+
+    public QueryCountFilter(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        QueryCounter.Scope scope = QueryCounter.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            scope.close();
+            report(request, scope);
+        }
+    }
+
+    private void report(HttpServletRequest request, QueryCounter.Scope scope) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        DistributionSummary.builder("locaspace.http.statements")
+            .description("SQL statements executed per HTTP request")
+            .tag("method", request.getMethod())
+            .tag("uri", uri)
+            .register(registry)
+            .record(scope.getTotal());
+
+        if (scope.getTotal() > warnThreshold || scope.getMaxRepeat() >= repeatThreshold) {
+            log.warn("{} {} ran {} SQL statements ({} distinct), most frequent:{}",
+                request.getMethod(), request.getRequestURI(), scope.getTotal(), scope.getDistinct(),
+                scope.describe(LOGGED_SHAPES, MAX_SHAPE_LENGTH));
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package org.example.locaspace.metrics;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+
+// Feeds every executed statement to the QueryCounter scopes of the calling thread. A prepared
+// statement batch is one round trip and counts once.
+public class QueryCountListener implements QueryExecutionListener {
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        for (QueryInfo query : queryInfoList) {
+            QueryCounter.record(query.getQuery());
+        }
+    }
+}
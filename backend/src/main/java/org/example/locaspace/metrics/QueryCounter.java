@@ -0,0 +1,124 @@
+package org.example.locaspace.metrics;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+// Statements executed on the current thread, counted by QueryCountListener for as long as a
+// scope is open: one per HTTP request (QueryCountFilter) and one per assertQueryCount block in
+// tests. Scopes nest, a statement counts in every open scope of the thread. Outside a scope
+// (schedulers, async workers) recording is a single ThreadLocal read.
+public final class QueryCounter {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private QueryCounter() {
+    }
+
+    public static Scope start() {
+        Scope scope = new Scope(CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    static void record(String sql) {
+        Scope scope = CURRENT.get();
+        if (scope == null) {
+            return;
+        }
+        String shape = shapeOf(sql);
+        for (; scope != null; scope = scope.parent) {
+            scope.add(shape);
+        }
+    }
+
+    // Groups statements that only differ by their literals or the length of an IN list, so the
+    // same query issued once per row shows up as one shape with a high count
+    public static String shapeOf(String sql) {
+        String shape = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        shape = STRING_LITERAL.matcher(shape).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        return IN_LIST.matcher(shape).replaceAll("in (...)");
+    }
+
+    public static final class Scope implements AutoCloseable {
+        private final Scope parent;
+        private final Map<String, Integer> shapes = new HashMap<>();
+        private int total;
+        private boolean closed;
+
+        private Scope(Scope parent) {
+            this.parent = parent;
+        }
+
+        private void add(String shape) {
+            if (!closed) {
+                total++;
+                shapes.merge(shape, 1, Integer::sum);
+            }
+        }
+
+        public int getTotal() { return total; }
+        public int getDistinct() { return shapes.size(); }
+
+        public int count(String statementPrefix) {
+            int count = 0;
+            for (Map.Entry<String, Integer> entry : shapes.entrySet()) {
+                if (entry.getKey().regionMatches(true, 0, statementPrefix, 0, statementPrefix.length())) {
+                    count += entry.getValue();
+                }
+            }
+            return count;
+        }
+
+        // Highest execution count of a single shape: the N of an N+1
+        public int getMaxRepeat() {
+            int max = 0;
+            for (int count : shapes.values()) {
+                max = Math.max(max, count);
+            }
+            return max;
+        }
+
+        // Shapes by descending execution count
+        public List<Map.Entry<String, Integer>> topShapes(int limit) {
+            List<Map.Entry<String, Integer>> entries = new ArrayList<>(shapes.entrySet());
+            entries.sort(Map.Entry.<String, Integer>comparingByValue().reversed());
+            return entries.subList(0, Math.min(limit, entries.size()));
+        }
+
+        public String describe(int limit, int maxShapeLength) {
+            StringBuilder out = new StringBuilder();
+            for (Map.Entry<String, Integer> entry : topShapes(limit)) {
+                String shape = entry.getKey();
+                if (shape.length() > maxShapeLength) {
+                    shape = shape.substring(0, maxShapeLength) + "...";
+                }
+                out.append(System.lineSeparator()).append(String.format("%5dx %s", entry.getValue(), shape));
+            }
+            return out.toString();
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (CURRENT.get() == this) {
+                if (parent == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(parent);
+                }
+            }
+        }
+    }
+}
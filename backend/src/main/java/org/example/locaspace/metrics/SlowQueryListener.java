@@ -0,0 +1,42 @@
+package org.example.locaspace.metrics;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+
+// Replaces spring.jpa.show-sql: only statements slower than datasource.slow-query.threshold are
+// logged, as their shape (no literals), with the trace id of the log pattern to find the request.
+public class SlowQueryListener implements QueryExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(SlowQueryListener.class);
+
+    private final long thresholdMillis;
+
+    public SlowQueryListener(Duration threshold) {
+        this.thresholdMillis = threshold.toMillis();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (execInfo.getElapsedTime() < thresholdMillis) {
+            return;
+        }
+        for (QueryInfo query : queryInfoList) {
+            if (execInfo.isBatch()) {
+                log.warn("Slow SQL ({} ms, batch of {}): {}", execInfo.getElapsedTime(), execInfo.getBatchSize(),
+                    QueryCounter.shapeOf(query.getQuery()));
+            } else {
+                log.warn("Slow SQL ({} ms): {}", execInfo.getElapsedTime(), QueryCounter.shapeOf(query.getQuery()));
+            }
+        }
+    }
+}
@@ -3,7 +3,12 @@ package org.example.locaspace.model;
 import jakarta.persistence.*;
 import lombok.*;
 
-@Entity @Table(name = "avis")
+// One review per (author, lieu), enforced by the database; the key also serves the "has this
+// tenant already reviewed this lieu" lookup
+@Entity
+@Table(name = "avis", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_avis_user_lieu", columnNames = {"user_id", "lieu_id"})
+})
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class Avis {
 
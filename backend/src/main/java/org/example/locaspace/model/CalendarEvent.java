@@ -2,11 +2,17 @@ package org.example.locaspace.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "calendar_events")
+@Table(name = "calendar_events", indexes = {
+    @Index(name = "idx_calendar_events_lieu_dates", columnList = "lieu_id, start_date, end_date")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "uk_calendar_events_lieu_source_uid", columnNames = {"lieu_id", "external_source", "external_uid"})
+})
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class CalendarEvent {
 
@@ -25,6 +31,19 @@ public class CalendarEvent {
     private String type;
 
     private String title;
+
+    // UID of the VEVENT this block was imported from (null for blocks created in LocaSpace)
+    private String externalUid;
+
+    // Feed the block was imported from, e.g. "airbnb"; each import only replaces blocks of its own feed
+    @Column(length = 64)
+    private String externalSource;
+
+    // Random tag of the import that last wrote this block; rows without the current tag are pruned
+    private Long importGeneration;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
 }
 
 
@@ -7,13 +7,20 @@ import org.example.locaspace.model.enums.LieuType;
 import java.math.BigDecimal;
 import java.util.List;
 
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.Where;
 
 import java.math.BigDecimal;
 import java.util.List;
 
-@Entity @Table(name = "lieux")
+@Entity
+@Table(name = "lieux", indexes = {
+    // Map searches: prefix ranges of the cells covering the area (LieuSpecifications.within)
+    @Index(name = "idx_lieux_geohash", columnList = "geohash"),
+    // City filters and facets: exact match on the normalized city
+    @Index(name = "idx_lieux_ville_key", columnList = "ville_key")
+})
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 @SQLDelete(sql = "UPDATE lieux SET deleted = true WHERE id = ?")
 @Where(clause = "deleted = false")
@@ -31,10 +38,29 @@ public class Lieu {
     private String adresse;
     private boolean valide;
 
+    // Set from the request or geocoded from the address city (Gazetteer) on every save;
+    // null when neither gives a position
+    private Double latitude;
+    private Double longitude;
+    @Column(length = 12)
+    private String geohash;
+
+    // City parsed from the address on every save (Gazetteer.city), and its CityNames key
+    @Column(length = 100)
+    private String ville;
+    @Column(name = "ville_key", length = 100)
+    private String villeKey;
+
     @Builder.Default
     private boolean deleted = false;
 
+    // Secret for the public iCalendar feed URL, generated on first request
+    private String calendarToken;
+
+    // Lazy photos of several lieux in the session are initialized together (one IN query);
+    // list pages go through EntityMapper.toLieuCardResponses, which loads them explicitly
     @ElementCollection
+    @BatchSize(size = 50)
     @CollectionTable(name = "lieu_photos", joinColumns = @JoinColumn(name = "lieu_id"))
     @Column(name = "photo_url")
     private List<String> photos;
@@ -0,0 +1,36 @@
+package org.example.locaspace.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// Star histogram of a lieu's reviews, kept up to date by every review write instead of being
+// aggregated over avis on each read
+@Entity
+@Table(name = "lieu_rating_stats")
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class LieuRatingStats {
+
+    @Id
+    @Column(name = "lieu_id")
+    private Long lieuId;
+
+    @Column(name = "stars_1", nullable = false)
+    private long stars1;
+
+    @Column(name = "stars_2", nullable = false)
+    private long stars2;
+
+    @Column(name = "stars_3", nullable = false)
+    private long stars3;
+
+    @Column(name = "stars_4", nullable = false)
+    private long stars4;
+
+    @Column(name = "stars_5", nullable = false)
+    private long stars5;
+
+    // Counts indexed by note - 1
+    public long[] toCounts() {
+        return new long[]{stars1, stars2, stars3, stars4, stars5};
+    }
+}
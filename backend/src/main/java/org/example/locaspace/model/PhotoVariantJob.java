@@ -0,0 +1,62 @@
+package org.example.locaspace.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// Persistent queue entry for the resized copies of one uploaded photo; survives restarts
+@Entity
+@Table(name = "photo_variant_jobs", indexes = {
+    @Index(name = "idx_photo_variant_jobs_status", columnList = "status, id")
+})
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class PhotoVariantJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 512)
+    private String photoUrl;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status;
+
+    private int attempts;
+
+    // Comma-separated widths actually generated (never wider than the original)
+    private String widths;
+
+    // Extension of the generated files, e.g. ".jpg"
+    private String format;
+
+    // Tiny blurred preview as a data: URI, inlined into responses
+    @Column(columnDefinition = "TEXT")
+    private String placeholder;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    public enum Status {
+        PENDING,
+        RUNNING,
+        DONE,
+        FAILED
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
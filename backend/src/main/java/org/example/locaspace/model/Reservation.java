@@ -7,11 +7,19 @@ import org.example.locaspace.model.enums.ReservationStatus;
 import java.time.LocalDate;
 
 import org.hibernate.annotations.SQLDelete;
+import org.hibernate.annotations.UpdateTimestamp;
 import org.hibernate.annotations.Where;
 
 import java.time.LocalDate;
-
-@Entity @Table(name = "reservations")
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "reservations", indexes = {
+    @Index(name = "idx_reservations_statut_expires", columnList = "statut, expires_at"),
+    @Index(name = "idx_reservations_lieu_dates", columnList = "lieu_id, date_debut, date_fin"),
+    // Review eligibility: a TERMINEE stay of this tenant at this lieu
+    @Index(name = "idx_reservations_user_lieu_statut", columnList = "user_id, lieu_id, statut")
+})
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 @SQLDelete(sql = "UPDATE reservations SET deleted = true WHERE id = ?")
 @Where(clause = "deleted = false")
@@ -26,9 +34,15 @@ public class Reservation {
     @Enumerated(EnumType.STRING)
     private ReservationStatus statut;
 
+    // Holds (OPTION) and unanswered requests (EN_ATTENTE) stop blocking dates after this instant
+    private LocalDateTime expiresAt;
+
     @Builder.Default
     private boolean deleted = false;
 
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
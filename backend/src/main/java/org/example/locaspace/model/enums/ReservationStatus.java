@@ -1,5 +1,5 @@
 package org.example.locaspace.model.enums;
 
 public enum ReservationStatus {
-    EN_ATTENTE, CONFIRMEE, REFUSEE, ANNULEE, TERMINEE
+    OPTION, EN_ATTENTE, CONFIRMEE, REFUSEE, ANNULEE, TERMINEE, EXPIREE
 }
@@ -0,0 +1,32 @@
+package org.example.locaspace.repository;
+
+// One entry of a lieu's review feed, selected with its author's name by a constructor expression
+// so neither the author nor the lieu is loaded per review. Immutable, so pages can be cached.
+public class AvisFeedItem {
+    private final Long id;
+    private final int note;
+    private final String commentaire;
+    private final Long auteurId;
+    private final String auteurNom;
+    private final Long lieuId;
+    private final String lieuTitre;
+
+    public AvisFeedItem(Long id, int note, String commentaire, Long auteurId, String auteurNom,
+                        Long lieuId, String lieuTitre) {
+        this.id = id;
+        this.note = note;
+        this.commentaire = commentaire;
+        this.auteurId = auteurId;
+        this.auteurNom = auteurNom;
+        this.lieuId = lieuId;
+        this.lieuTitre = lieuTitre;
+    }
+
+    public Long getId() { return id; }
+    public int getNote() { return note; }
+    public String getCommentaire() { return commentaire; }
+    public Long getAuteurId() { return auteurId; }
+    public String getAuteurNom() { return auteurNom; }
+    public Long getLieuId() { return lieuId; }
+    public String getLieuTitre() { return lieuTitre; }
+}
@@ -3,11 +3,14 @@ package org.example.locaspace.repository;
 import org.example.locaspace.model.Avis;
 import org.example.locaspace.model.Lieu;
 import org.example.locaspace.model.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,6 +23,16 @@ public interface AvisRepository extends JpaRepository<Avis, Long> {
     
     @Query("SELECT a FROM Avis a WHERE a.lieu = :lieu ORDER BY a.id DESC")
     List<Avis> findByLieuOrderByIdDesc(@Param("lieu") Lieu lieu);
+
+    // Newest first, author name joined in; walks the lieu_id index, whose entries are ordered by id
+    @Query(value = "SELECT new org.example.locaspace.repository.AvisFeedItem(a.id, a.note, a.commentaire, u.id, u.nom, l.id, l.titre) " +
+                   "FROM Avis a JOIN a.lieu l LEFT JOIN a.auteur u WHERE l.id = :lieuId ORDER BY a.id DESC",
+           countQuery = "SELECT COUNT(a) FROM Avis a WHERE a.lieu.id = :lieuId")
+    Page<AvisFeedItem> findFeedByLieuId(@Param("lieuId") Long lieuId, Pageable pageable);
+
+    // (note, review count) of a lieu, for lieux whose histogram row does not exist yet
+    @Query("SELECT a.note, COUNT(a) FROM Avis a WHERE a.lieu.id = :lieuId GROUP BY a.note")
+    List<Object[]> countByNoteForLieu(@Param("lieuId") Long lieuId);
     
     @Query("SELECT a FROM Avis a WHERE a.lieu.owner = :owner")
     List<Avis> findByLieuOwner(@Param("owner") User owner);
@@ -29,6 +42,10 @@ public interface AvisRepository extends JpaRepository<Avis, Long> {
     
     @Query("SELECT COUNT(a) FROM Avis a WHERE a.lieu = :lieu")
     Long countByLieu(@Param("lieu") Lieu lieu);
+
+    // (lieu id, average note, review count) for every lieu that has reviews
+    @Query("SELECT a.lieu.id, AVG(a.note), COUNT(a) FROM Avis a WHERE a.lieu.id IN :lieuIds GROUP BY a.lieu.id")
+    List<Object[]> findRatingStatsByLieuIds(@Param("lieuIds") Collection<Long> lieuIds);
     
     @Query("SELECT a FROM Avis a WHERE a.note >= :minNote")
     List<Avis> findByNoteGreaterThanEqual(@Param("minNote") int minNote);
@@ -40,4 +57,14 @@ public interface AvisRepository extends JpaRepository<Avis, Long> {
     
     @Query("SELECT COUNT(a) FROM Avis a WHERE a.auteur = :auteur")
     Long countByAuteur(@Param("auteur") User auteur);
+
+    // Both review preconditions in one round trip, each an index-only EXISTS: a completed stay
+    // (idx_reservations_user_lieu_statut) and an existing review (uk_avis_user_lieu)
+    @Query("SELECT new org.example.locaspace.repository.ReviewEligibility(" +
+           "CASE WHEN EXISTS (SELECT 1 FROM Reservation r WHERE r.locataire.id = :userId AND r.lieu.id = :lieuId " +
+           "AND r.statut = org.example.locaspace.model.enums.ReservationStatus.TERMINEE) THEN true ELSE false END, " +
+           "CASE WHEN EXISTS (SELECT 1 FROM Avis a WHERE a.auteur.id = :userId AND a.lieu.id = :lieuId) " +
+           "THEN true ELSE false END) " +
+           "FROM User u WHERE u.id = :userId")
+    Optional<ReviewEligibility> findReviewEligibility(@Param("userId") Long userId, @Param("lieuId") Long lieuId);
 }
@@ -0,0 +1,55 @@
+package org.example.locaspace.repository;
+
+import jakarta.persistence.QueryHint;
+import org.example.locaspace.model.CalendarEvent;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+// Read side of the public iCalendar feed. Rows are streamed as projections (nothing enters the
+// persistence context) with a fetch size so MySQL serves them from a server-side cursor.
+// Blocks imported from other platforms are left out so feeds never echo back to their source.
+public interface CalendarFeedRepository extends Repository<CalendarEvent, Long> {
+
+    String FEED_STATUSES = "('OPTION','EN_ATTENTE','CONFIRMEE')";
+
+    interface FeedEntry {
+        Long getId();
+        LocalDate getStartDate();
+        LocalDate getEndDate();
+        String getStatus();
+        String getTitle();
+    }
+
+    interface FeedVersion {
+        Long getCount();
+        LocalDateTime getLastModified();
+    }
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT r.id AS id, r.dateDebut AS startDate, r.dateFin AS endDate, CAST(r.statut AS String) AS status, " +
+           "NULL AS title FROM Reservation r WHERE r.lieu.id = :lieuId AND r.dateFin >= :from " +
+           "AND r.statut IN " + FEED_STATUSES + " ORDER BY r.dateDebut")
+    Stream<FeedEntry> streamReservations(@Param("lieuId") Long lieuId, @Param("from") LocalDate from);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT e.id AS id, e.startDate AS startDate, e.endDate AS endDate, e.type AS status, e.title AS title " +
+           "FROM CalendarEvent e WHERE e.lieu.id = :lieuId AND e.endDate >= :from AND e.externalUid IS NULL " +
+           "ORDER BY e.startDate")
+    Stream<FeedEntry> streamBlocks(@Param("lieuId") Long lieuId, @Param("from") LocalDate from);
+
+    // Row count + latest change per source: any insert, update or delete moves one of the two
+    @Query("SELECT COUNT(r) AS count, MAX(r.updatedAt) AS lastModified FROM Reservation r " +
+           "WHERE r.lieu.id = :lieuId AND r.statut IN " + FEED_STATUSES)
+    FeedVersion reservationVersion(@Param("lieuId") Long lieuId);
+
+    @Query("SELECT COUNT(e) AS count, MAX(e.updatedAt) AS lastModified FROM CalendarEvent e " +
+           "WHERE e.lieu.id = :lieuId AND e.externalUid IS NULL")
+    FeedVersion blockVersion(@Param("lieuId") Long lieuId);
+}
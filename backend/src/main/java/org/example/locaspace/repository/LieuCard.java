@@ -0,0 +1,43 @@
+package org.example.locaspace.repository;
+
+import org.example.locaspace.model.enums.LieuType;
+
+import java.math.BigDecimal;
+
+// Columns a lieu card needs, selected with a constructor expression so description, photos and
+// owner are never read for browse pages
+public class LieuCard {
+    private final Long id;
+    private final String titre;
+    private final LieuType type;
+    private final BigDecimal prix;
+    private final String adresse;
+    private final boolean valide;
+    private final Double latitude;
+    private final Double longitude;
+
+    public LieuCard(Long id, String titre, LieuType type, BigDecimal prix, String adresse, boolean valide) {
+        this(id, titre, type, prix, adresse, valide, null, null);
+    }
+
+    public LieuCard(Long id, String titre, LieuType type, BigDecimal prix, String adresse, boolean valide,
+                    Double latitude, Double longitude) {
+        this.id = id;
+        this.titre = titre;
+        this.type = type;
+        this.prix = prix;
+        this.adresse = adresse;
+        this.valide = valide;
+        this.latitude = latitude;
+        this.longitude = longitude;
+    }
+
+    public Long getId() { return id; }
+    public String getTitre() { return titre; }
+    public LieuType getType() { return type; }
+    public BigDecimal getPrix() { return prix; }
+    public String getAdresse() { return adresse; }
+    public boolean isValide() { return valide; }
+    public Double getLatitude() { return latitude; }
+    public Double getLongitude() { return longitude; }
+}
@@ -0,0 +1,12 @@
+package org.example.locaspace.repository;
+
+import org.example.locaspace.model.Lieu;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+// Projection queries for list pages, mixed into LieuRepository
+public interface LieuCardRepository {
+
+    Page<LieuCard> findCards(Specification<Lieu> spec, Pageable pageable);
+}
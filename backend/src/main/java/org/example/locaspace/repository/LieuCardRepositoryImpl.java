@@ -0,0 +1,71 @@
+package org.example.locaspace.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.example.locaspace.model.Lieu;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.List;
+
+public class LieuCardRepositoryImpl implements LieuCardRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<LieuCard> findCards(Specification<Lieu> spec, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<LieuCard> query = cb.createQuery(LieuCard.class);
+        Root<Lieu> root = query.from(Lieu.class);
+        query.select(cb.construct(LieuCard.class,
+            root.get("id"), root.get("titre"), root.get("type"), root.get("prix"), root.get("adresse"), root.get("valide"),
+            root.get("latitude"), root.get("longitude")));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        }
+
+        TypedQuery<LieuCard> typed = entityManager.createQuery(query);
+        if (pageable.isUnpaged()) {
+            List<LieuCard> all = typed.getResultList();
+            return new PageImpl<>(all, pageable, all.size());
+        }
+        typed.setFirstResult((int) pageable.getOffset());
+        typed.setMaxResults(pageable.getPageSize());
+        List<LieuCard> content = typed.getResultList();
+
+        // Skip the count when the page itself shows where the results end
+        long total;
+        if (pageable.getOffset() == 0 && content.size() < pageable.getPageSize()) {
+            total = content.size();
+        } else {
+            total = count(spec);
+        }
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    private long count(Specification<Lieu> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Lieu> root = query.from(Lieu.class);
+        query.select(cb.count(root));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
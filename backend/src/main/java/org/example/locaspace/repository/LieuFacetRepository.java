@@ -0,0 +1,17 @@
+package org.example.locaspace.repository;
+
+import org.example.locaspace.model.Lieu;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+// Grouped counts for the search facets, mixed into LieuRepository
+public interface LieuFacetRepository {
+
+    // One aggregate over the lieux matching spec, grouped by type, price bucket (index of the first
+    // bound the price is below, bounds.length above them all), city, and membership of
+    // [minPrix, maxPrix] when either is given
+    List<LieuFacetRow> countFacets(Specification<Lieu> spec, BigDecimal minPrix, BigDecimal maxPrix,
+                                   List<BigDecimal> priceBounds);
+}
@@ -0,0 +1,63 @@
+package org.example.locaspace.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.example.locaspace.model.Lieu;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+public class LieuFacetRepositoryImpl implements LieuFacetRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<LieuFacetRow> countFacets(Specification<Lieu> spec, BigDecimal minPrix, BigDecimal maxPrix,
+                                          List<BigDecimal> priceBounds) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<LieuFacetRow> query = cb.createQuery(LieuFacetRow.class);
+        Root<Lieu> root = query.from(Lieu.class);
+        Expression<BigDecimal> prix = root.get("prix");
+
+        // Bounds as literals: the same CASE text in SELECT and GROUP BY
+        CriteriaBuilder.Case<Integer> bucket = cb.selectCase();
+        for (int i = 0; i < priceBounds.size(); i++) {
+            bucket = bucket.when(cb.lessThan(prix, cb.literal(priceBounds.get(i))), cb.literal(i));
+        }
+        Expression<Integer> priceBucket = bucket.otherwise(cb.literal(priceBounds.size()));
+
+        List<Expression<?>> groups = new ArrayList<>(List.of(root.get("type"), priceBucket, root.get("villeKey")));
+        Expression<Integer> inPriceRange = cb.literal(1);
+        if (minPrix != null || maxPrix != null) {
+            List<Predicate> range = new ArrayList<>();
+            if (minPrix != null) {
+                range.add(cb.greaterThanOrEqualTo(prix, cb.literal(minPrix)));
+            }
+            if (maxPrix != null) {
+                range.add(cb.lessThanOrEqualTo(prix, cb.literal(maxPrix)));
+            }
+            inPriceRange = cb.<Integer>selectCase()
+                .when(cb.and(range.toArray(new Predicate[0])), cb.literal(1))
+                .otherwise(cb.literal(0));
+            groups.add(inPriceRange);
+        }
+
+        query.select(cb.construct(LieuFacetRow.class,
+            root.get("type"), priceBucket, root.get("villeKey"), cb.least(root.<String>get("ville")),
+            inPriceRange, cb.count(root)));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.groupBy(groups);
+        return entityManager.createQuery(query).getResultList();
+    }
+}
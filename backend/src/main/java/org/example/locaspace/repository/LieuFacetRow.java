@@ -0,0 +1,31 @@
+package org.example.locaspace.repository;
+
+import org.example.locaspace.model.enums.LieuType;
+
+// One group of LieuFacetRepository.countFacets: the lieux sharing a type, price bucket and city,
+// split by whether their price is in the requested range
+public class LieuFacetRow {
+    private final LieuType type;
+    private final int priceBucket;
+    private final String villeKey;
+    private final String ville;
+    private final boolean inPriceRange;
+    private final long count;
+
+    public LieuFacetRow(LieuType type, Integer priceBucket, String villeKey, String ville,
+                        Integer inPriceRange, Long count) {
+        this.type = type;
+        this.priceBucket = priceBucket;
+        this.villeKey = villeKey;
+        this.ville = ville;
+        this.inPriceRange = inPriceRange == 1;
+        this.count = count;
+    }
+
+    public LieuType getType() { return type; }
+    public int getPriceBucket() { return priceBucket; }
+    public String getVilleKey() { return villeKey; }
+    public String getVille() { return ville; }
+    public boolean isInPriceRange() { return inPriceRange; }
+    public long getCount() { return count; }
+}
@@ -0,0 +1,35 @@
+package org.example.locaspace.repository;
+
+import org.example.locaspace.model.LieuRatingStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface LieuRatingStatsRepository extends JpaRepository<LieuRatingStats, Long> {
+
+    // Moves one review between buckets in a single row update: removedNote and addedNote are
+    // 1..5, or 0 for none (creation, deletion). Returns 0 when the lieu has no counter row yet.
+    @Modifying
+    @Query("UPDATE LieuRatingStats s SET " +
+           "s.stars1 = s.stars1 + CASE WHEN :addedNote = 1 THEN 1 ELSE 0 END - CASE WHEN :removedNote = 1 THEN 1 ELSE 0 END, " +
+           "s.stars2 = s.stars2 + CASE WHEN :addedNote = 2 THEN 1 ELSE 0 END - CASE WHEN :removedNote = 2 THEN 1 ELSE 0 END, " +
+           "s.stars3 = s.stars3 + CASE WHEN :addedNote = 3 THEN 1 ELSE 0 END - CASE WHEN :removedNote = 3 THEN 1 ELSE 0 END, " +
+           "s.stars4 = s.stars4 + CASE WHEN :addedNote = 4 THEN 1 ELSE 0 END - CASE WHEN :removedNote = 4 THEN 1 ELSE 0 END, " +
+           "s.stars5 = s.stars5 + CASE WHEN :addedNote = 5 THEN 1 ELSE 0 END - CASE WHEN :removedNote = 5 THEN 1 ELSE 0 END " +
+           "WHERE s.lieuId = :lieuId")
+    int move(@Param("lieuId") Long lieuId, @Param("removedNote") int removedNote, @Param("addedNote") int addedNote);
+
+    // Creates the counter row from the reviews already in avis
+    @Modifying
+    @Query(value = "INSERT INTO lieu_rating_stats (lieu_id, stars_1, stars_2, stars_3, stars_4, stars_5) " +
+                   "SELECT :lieuId, " +
+                   "COALESCE(SUM(CASE WHEN note = 1 THEN 1 ELSE 0 END), 0), " +
+                   "COALESCE(SUM(CASE WHEN note = 2 THEN 1 ELSE 0 END), 0), " +
+                   "COALESCE(SUM(CASE WHEN note = 3 THEN 1 ELSE 0 END), 0), " +
+                   "COALESCE(SUM(CASE WHEN note = 4 THEN 1 ELSE 0 END), 0), " +
+                   "COALESCE(SUM(CASE WHEN note = 5 THEN 1 ELSE 0 END), 0) " +
+                   "FROM avis WHERE lieu_id = :lieuId",
+           nativeQuery = true)
+    int insertFromAvis(@Param("lieuId") Long lieuId);
+}
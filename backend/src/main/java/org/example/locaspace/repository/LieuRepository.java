@@ -8,15 +8,19 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface LieuRepository extends JpaRepository<Lieu, Long>, JpaSpecificationExecutor<Lieu> {
+public interface LieuRepository extends JpaRepository<Lieu, Long>, JpaSpecificationExecutor<Lieu>,
+        LieuCardRepository, LieuFacetRepository {
     
     @EntityGraph(attributePaths = {"owner"})
     Page<Lieu> findByValideTrue(Pageable pageable);
@@ -32,8 +36,8 @@ public interface LieuRepository extends JpaRepository<Lieu, Long>, JpaSpecificat
     Page<Lieu> findByPrixBetween(@Param("minPrix") BigDecimal minPrix, @Param("maxPrix") BigDecimal maxPrix, Pageable pageable);
     
     @EntityGraph(attributePaths = {"owner"})
-    @Query("SELECT l FROM Lieu l WHERE l.valide = true AND LOWER(l.adresse) LIKE LOWER(CONCAT('%', :ville, '%'))")
-    Page<Lieu> findByAdresseContainingIgnoreCase(@Param("ville") String ville, Pageable pageable);
+    @Query("SELECT l FROM Lieu l WHERE l.valide = true AND l.villeKey = :villeKey")
+    Page<Lieu> findByVilleKey(@Param("villeKey") String villeKey, Pageable pageable);
     
     @EntityGraph(attributePaths = {"owner"})
     @Query("SELECT l FROM Lieu l WHERE l.valide = true AND " +
@@ -53,7 +57,38 @@ public interface LieuRepository extends JpaRepository<Lieu, Long>, JpaSpecificat
                                        Pageable pageable);
     
     List<Lieu> findByValideFalse(); // For admin validation
+
+    // (lieu id, photo url) for a page of lieux, in collection order
+    @Query("SELECT l.id, p FROM Lieu l JOIN l.photos p WHERE l.id IN :ids")
+    List<Object[]> findPhotosByLieuIds(@Param("ids") Collection<Long> ids);
     
     @Query("SELECT COUNT(l) FROM Lieu l WHERE l.owner = :owner")
     Long countByOwner(@Param("owner") User owner);
+
+    // Lieux saved without a position or a city (before geocoding, or by SQL imports), in id order
+    // after afterId: (id, adresse, latitude, longitude, geohash, villeKey)
+    @Query("SELECT l.id, l.adresse, l.latitude, l.longitude, l.geohash, l.villeKey FROM Lieu l " +
+           "WHERE (l.geohash IS NULL OR l.villeKey IS NULL) AND l.id > :afterId ORDER BY l.id")
+    List<Object[]> findUnlocated(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Guarded: skipped if the lieu was located or its address changed since it was read
+    @Modifying
+    @Transactional
+    @Query("UPDATE Lieu l SET l.latitude = :latitude, l.longitude = :longitude, l.geohash = :geohash " +
+           "WHERE l.id = :id AND l.geohash IS NULL AND l.adresse = :adresse")
+    int setLocation(@Param("id") Long id,
+                    @Param("adresse") String adresse,
+                    @Param("latitude") Double latitude,
+                    @Param("longitude") Double longitude,
+                    @Param("geohash") String geohash);
+
+    // Guarded: skipped if the lieu got a city or its address changed since it was read
+    @Modifying
+    @Transactional
+    @Query("UPDATE Lieu l SET l.ville = :ville, l.villeKey = :villeKey " +
+           "WHERE l.id = :id AND l.villeKey IS NULL AND l.adresse = :adresse")
+    int setVille(@Param("id") Long id,
+                 @Param("adresse") String adresse,
+                 @Param("ville") String ville,
+                 @Param("villeKey") String villeKey);
 }
@@ -1,18 +1,32 @@
 package org.example.locaspace.repository;
 
+import jakarta.persistence.criteria.Expression;
 import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.example.locaspace.geo.GeoArea;
+import org.example.locaspace.geo.GeoHash;
+import org.example.locaspace.model.CalendarEvent;
 import org.example.locaspace.model.Lieu;
+import org.example.locaspace.model.Reservation;
 import org.example.locaspace.model.enums.LieuType;
+import org.example.locaspace.model.enums.ReservationStatus;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 public class LieuSpecifications {
+
+    // Most geohash prefix ranges OR-ed into one map search
+    private static final int MAX_GEOHASH_CELLS = 16;
     
+    // villeKey: a CityNames key, matched exactly on idx_lieux_ville_key
     public static Specification<Lieu> withFilters(
-            LieuType type, BigDecimal minPrix, BigDecimal maxPrix, String ville) {
+            LieuType type, BigDecimal minPrix, BigDecimal maxPrix, String villeKey) {
 
         return (root, query, cb) -> {
             List<Predicate> predicates = new ArrayList<>();
@@ -32,9 +46,87 @@ public class LieuSpecifications {
                 predicates.add(cb.lessThanOrEqualTo(root.get("prix"), maxPrix));
             }
             
-            if (ville != null && !ville.trim().isEmpty()) {
-                predicates.add(cb.like(cb.lower(root.get("adresse")),
-                    "%" + ville.toLowerCase() + "%"));
+            if (villeKey != null && !villeKey.isEmpty()) {
+                predicates.add(cb.equal(root.get("villeKey"), villeKey));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    // Same matching as LieuRepository.searchByKeyword, for combining with other specifications
+    public static Specification<Lieu> withKeyword(String keyword) {
+        return (root, query, cb) -> {
+            String pattern = "%" + keyword.toLowerCase() + "%";
+            return cb.and(
+                cb.isTrue(root.get("valide")),
+                cb.or(
+                    cb.like(cb.lower(root.get("titre")), pattern),
+                    cb.like(cb.lower(root.get("description")), pattern),
+                    cb.like(cb.lower(root.get("adresse")), pattern)
+                )
+            );
+        };
+    }
+
+    public static Specification<Lieu> ownedBy(Long ownerId) {
+        return (root, query, cb) -> cb.equal(root.get("owner").get("id"), ownerId);
+    }
+
+    // Lieux with no active reservation and no owner block overlapping [start, end]; same rules as OccupancyService
+    public static Specification<Lieu> availableBetween(LocalDate start, LocalDate end) {
+        return (root, query, cb) -> {
+            LocalDateTime now = LocalDateTime.now();
+
+            Subquery<Long> booked = query.subquery(Long.class);
+            Root<Reservation> reservation = booked.from(Reservation.class);
+            booked.select(reservation.get("id")).where(
+                cb.equal(reservation.get("lieu"), root),
+                reservation.get("statut").in(ReservationStatus.OPTION, ReservationStatus.EN_ATTENTE, ReservationStatus.CONFIRMEE),
+                cb.or(cb.isNull(reservation.get("expiresAt")),
+                      cb.greaterThan(reservation.<LocalDateTime>get("expiresAt"), now)),
+                cb.lessThanOrEqualTo(reservation.<LocalDate>get("dateDebut"), end),
+                cb.greaterThanOrEqualTo(reservation.<LocalDate>get("dateFin"), start)
+            );
+
+            Subquery<Long> blocked = query.subquery(Long.class);
+            Root<CalendarEvent> event = blocked.from(CalendarEvent.class);
+            blocked.select(event.get("id")).where(
+                cb.equal(event.get("lieu"), root),
+                cb.lessThanOrEqualTo(event.<LocalDate>get("startDate"), end),
+                cb.greaterThanOrEqualTo(event.<LocalDate>get("endDate"), start)
+            );
+
+            return cb.and(cb.not(cb.exists(booked)), cb.not(cb.exists(blocked)));
+        };
+    }
+
+    // Lieux inside a map viewport or within radiusKm of a point. The geohash prefixes of the cells
+    // covering the area select the candidates on idx_lieux_geohash; the coordinate bounds trim
+    // them to the box, and for a circle the distance is checked on a local flat projection
+    // (equirectangular), accurate to well under 1% at the radii a search allows.
+    public static Specification<Lieu> within(GeoArea area) {
+        return (root, query, cb) -> {
+            Expression<Double> latitude = root.get("latitude");
+            Expression<Double> longitude = root.get("longitude");
+            List<Predicate> predicates = new ArrayList<>();
+
+            List<Predicate> cells = new ArrayList<>();
+            for (String prefix : GeoHash.cover(area, MAX_GEOHASH_CELLS)) {
+                cells.add(cb.like(root.get("geohash"), prefix + "%"));
+            }
+            if (!cells.isEmpty()) {
+                predicates.add(cb.or(cells.toArray(new Predicate[0])));
+            }
+            predicates.add(cb.between(latitude, area.getMinLatitude(), area.getMaxLatitude()));
+            predicates.add(cb.between(longitude, area.getMinLongitude(), area.getMaxLongitude()));
+
+            if (area.isCircle()) {
+                double kmPerDegreeLongitude = GeoArea.KM_PER_DEGREE * Math.cos(Math.toRadians(area.getLatitude()));
+                Expression<Double> north = cb.prod(cb.diff(latitude, area.getLatitude()), GeoArea.KM_PER_DEGREE);
+                Expression<Double> east = cb.prod(cb.diff(longitude, area.getLongitude()), kmPerDegreeLongitude);
+                predicates.add(cb.le(cb.sum(cb.prod(north, north), cb.prod(east, east)),
+                    area.getRadiusKm() * area.getRadiusKm()));
             }
 
             return cb.and(predicates.toArray(new Predicate[0]));
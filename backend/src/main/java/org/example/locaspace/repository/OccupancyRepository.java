@@ -0,0 +1,50 @@
+package org.example.locaspace.repository;
+
+import org.example.locaspace.model.Reservation;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Occupancy of a lieu = active reservations + owner calendar blocks, read in a single UNION ALL
+// over the (lieu_id, start, end) indexes of both tables. Ranges are inclusive on both ends.
+public interface OccupancyRepository extends Repository<Reservation, Long> {
+
+    String ACTIVE_RESERVATION = "r.deleted = false AND r.statut IN ('OPTION','EN_ATTENTE','CONFIRMEE') " +
+                                "AND (r.expires_at IS NULL OR r.expires_at > :now)";
+
+    @Query(value = "SELECT COUNT(*) FROM (" +
+                   "(SELECT r.id FROM reservations r WHERE r.lieu_id = :lieuId AND " + ACTIVE_RESERVATION +
+                   " AND r.date_debut <= :end AND r.date_fin >= :start LIMIT 1)" +
+                   " UNION ALL " +
+                   "(SELECT e.id FROM calendar_events e WHERE e.lieu_id = :lieuId" +
+                   " AND e.start_date <= :end AND e.end_date >= :start LIMIT 1)" +
+                   ") o",
+           nativeQuery = true)
+    long countOverlapping(@Param("lieuId") Long lieuId,
+                          @Param("start") LocalDate start,
+                          @Param("end") LocalDate end,
+                          @Param("now") LocalDateTime now);
+
+    // Columns: source, id, start_date, end_date, status, title. statut is cast because Hibernate
+    // may create it as an ENUM column, which H2 cannot union with calendar_events.type
+    @Query(value = "SELECT o.source, o.id, o.start_date, o.end_date, o.status, o.title FROM (" +
+                   "SELECT 'reservation' AS source, r.id AS id, r.date_debut AS start_date, r.date_fin AS end_date," +
+                   " CAST(r.statut AS CHAR(20)) AS status, NULL AS title" +
+                   " FROM reservations r WHERE r.lieu_id = :lieuId AND " + ACTIVE_RESERVATION +
+                   " AND r.date_debut <= :end AND r.date_fin >= :start" +
+                   " UNION ALL " +
+                   "SELECT 'block' AS source, e.id AS id, e.start_date AS start_date, e.end_date AS end_date," +
+                   " e.type AS status, e.title AS title" +
+                   " FROM calendar_events e WHERE e.lieu_id = :lieuId" +
+                   " AND e.start_date <= :end AND e.end_date >= :start" +
+                   ") o ORDER BY o.start_date, o.end_date",
+           nativeQuery = true)
+    List<Object[]> findOverlapping(@Param("lieuId") Long lieuId,
+                                   @Param("start") LocalDate start,
+                                   @Param("end") LocalDate end,
+                                   @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,56 @@
+package org.example.locaspace.repository;
+
+import org.example.locaspace.model.PhotoVariantJob;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PhotoVariantJobRepository extends JpaRepository<PhotoVariantJob, Long> {
+
+    List<PhotoVariantJob> findByPhotoUrlIn(Collection<String> photoUrls);
+
+    List<PhotoVariantJob> findByPhotoUrlInAndStatus(Collection<String> photoUrls, PhotoVariantJob.Status status);
+
+    @Query("SELECT j.id FROM PhotoVariantJob j WHERE j.status = :status ORDER BY j.id")
+    List<Long> findIdsByStatus(@Param("status") PhotoVariantJob.Status status, Pageable pageable);
+
+    // Guarded claim so a job is only handed to one worker
+    @Modifying
+    @Query("UPDATE PhotoVariantJob j SET j.status = :newStatus, j.updatedAt = :now WHERE j.id = :id AND j.status = :status")
+    int transition(@Param("id") Long id,
+                   @Param("status") PhotoVariantJob.Status status,
+                   @Param("newStatus") PhotoVariantJob.Status newStatus,
+                   @Param("now") LocalDateTime now);
+
+    // Jobs stuck in RUNNING (worker or process died mid-job) go back to the queue; the lost run
+    // counts as an attempt so a photo that kills its worker cannot loop forever
+    @Modifying
+    @Query("UPDATE PhotoVariantJob j SET j.status = 'PENDING', j.attempts = j.attempts + 1, j.updatedAt = :now " +
+           "WHERE j.status = 'RUNNING' AND j.updatedAt < :staleBefore AND j.attempts + 1 < :maxAttempts")
+    int requeueStale(@Param("staleBefore") LocalDateTime staleBefore,
+                     @Param("maxAttempts") int maxAttempts,
+                     @Param("now") LocalDateTime now);
+
+    // Stale jobs whose lost run was their last allowed attempt
+    @Modifying
+    @Query("UPDATE PhotoVariantJob j SET j.status = 'FAILED', j.attempts = j.attempts + 1, " +
+           "j.lastError = 'Worker stopped while processing', j.updatedAt = :now " +
+           "WHERE j.status = 'RUNNING' AND j.updatedAt < :staleBefore AND j.attempts + 1 >= :maxAttempts")
+    int failStale(@Param("staleBefore") LocalDateTime staleBefore,
+                  @Param("maxAttempts") int maxAttempts,
+                  @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM PhotoVariantJob j WHERE j.photoUrl IN :photoUrls")
+    int deleteByPhotoUrlIn(@Param("photoUrls") Collection<String> photoUrls);
+}
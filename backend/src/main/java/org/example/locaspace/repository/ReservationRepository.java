@@ -4,12 +4,16 @@ import org.example.locaspace.model.Lieu;
 import org.example.locaspace.model.Reservation;
 import org.example.locaspace.model.User;
 import org.example.locaspace.model.enums.ReservationStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,13 +31,28 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
     @Query("SELECT r FROM Reservation r JOIN FETCH r.lieu l JOIN FETCH r.locataire u WHERE r.lieu.owner = :owner")
     List<Reservation> findByLieuOwner(@Param("owner") User owner);
 
-    @Query("SELECT r FROM Reservation r WHERE r.lieu = :lieu AND r.statut IN ('EN_ATTENTE','CONFIRMEE') AND " +
-           "((r.dateDebut BETWEEN :dateDebut AND :dateFin) OR " +
-           "(r.dateFin BETWEEN :dateDebut AND :dateFin) OR " +
-           "(r.dateDebut <= :dateDebut AND r.dateFin >= :dateFin))")
-    List<Reservation> findConflictingReservations(@Param("lieu") Lieu lieu,
-                                                 @Param("dateDebut") LocalDate dateDebut,
-                                                 @Param("dateFin") LocalDate dateFin);
+    @Query("SELECT r.id FROM Reservation r WHERE r.statut IN :statuts AND r.expiresAt <= :now ORDER BY r.expiresAt")
+    List<Long> findExpiredIds(@Param("statuts") Collection<ReservationStatus> statuts,
+                              @Param("now") LocalDateTime now,
+                              Pageable pageable);
+
+    // Guarded transition: only applies if the reservation is still in the expected status and past its deadline
+    @Modifying
+    @Query("UPDATE Reservation r SET r.statut = :newStatut, r.updatedAt = :now WHERE r.id = :id AND r.statut = :statut AND r.expiresAt <= :now")
+    int expireIfDue(@Param("id") Long id,
+                    @Param("statut") ReservationStatus statut,
+                    @Param("newStatut") ReservationStatus newStatut,
+                    @Param("now") LocalDateTime now);
+
+    // Guarded transition: only applies if the reservation is still in the expected status and within its deadline
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Reservation r SET r.statut = :newStatut, r.expiresAt = :expiresAt, r.updatedAt = :now " +
+           "WHERE r.id = :id AND r.statut = :statut AND (r.expiresAt IS NULL OR r.expiresAt > :now)")
+    int transitionIfLive(@Param("id") Long id,
+                         @Param("statut") ReservationStatus statut,
+                         @Param("newStatut") ReservationStatus newStatut,
+                         @Param("expiresAt") LocalDateTime expiresAt,
+                         @Param("now") LocalDateTime now);
 
     @Query("SELECT r FROM Reservation r WHERE r.locataire = :locataire AND r.statut = :statut")
     List<Reservation> findByLocataireAndStatut(@Param("locataire") User locataire,
@@ -0,0 +1,15 @@
+package org.example.locaspace.repository;
+
+// Whether a tenant may review a lieu (AvisRepository.findReviewEligibility)
+public class ReviewEligibility {
+    private final boolean eligibleStay;
+    private final boolean reviewed;
+
+    public ReviewEligibility(boolean eligibleStay, boolean reviewed) {
+        this.eligibleStay = eligibleStay;
+        this.reviewed = reviewed;
+    }
+
+    public boolean hasEligibleStay() { return eligibleStay; }
+    public boolean hasReviewed() { return reviewed; }
+}
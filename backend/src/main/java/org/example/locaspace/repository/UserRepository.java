@@ -2,8 +2,20 @@ package org.example.locaspace.repository;
 
 import org.example.locaspace.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
+
+    // One statement with three scalar subqueries over the user_id indexes; soft-deleted
+    // reservations are excluded by the Reservation @Where. Null when the user does not exist.
+    @Query("SELECT new org.example.locaspace.repository.UserStats(" +
+           "(SELECT COUNT(r) FROM Reservation r WHERE r.locataire.id = u.id), " +
+           "(SELECT COUNT(a) FROM Avis a WHERE a.auteur.id = u.id), " +
+           "(SELECT AVG(a.note) FROM Avis a WHERE a.auteur.id = u.id)) " +
+           "FROM User u WHERE u.id = :userId")
+    UserStats findStatsById(@Param("userId") Long userId);
 }
@@ -0,0 +1,23 @@
+package org.example.locaspace.repository;
+
+// Profile totals of a user, computed by the database (UserRepository.findStatsById) so the
+// reservations and avis collections are never loaded to count them
+public class UserStats {
+    private final long reservationCount;
+    private final long reviewCount;
+    private final Double averageRating;
+
+    public UserStats(Long reservationCount, Long reviewCount, Double averageRating) {
+        this.reservationCount = reservationCount != null ? reservationCount : 0L;
+        this.reviewCount = reviewCount != null ? reviewCount : 0L;
+        this.averageRating = averageRating;
+    }
+
+    public static UserStats empty() {
+        return new UserStats(0L, 0L, null);
+    }
+
+    public long getReservationCount() { return reservationCount; }
+    public long getReviewCount() { return reviewCount; }
+    public Double getAverageRating() { return averageRating; }
+}
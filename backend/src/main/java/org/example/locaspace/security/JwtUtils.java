@@ -4,6 +4,8 @@ import org.slf4j.LoggerFactory;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import org.example.locaspace.metrics.BusinessMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -24,6 +26,9 @@ public class JwtUtils {
     
     @Value("${jwt.expiration}")
     private int jwtExpirationMs;
+
+    @Autowired
+    private BusinessMetrics businessMetrics;
     
     private SecretKey getSigningKey() {
         return Keys.hmacShaKeyFor(jwtSecret.getBytes());
@@ -81,12 +86,19 @@ public class JwtUtils {
             return true;
         } catch (MalformedJwtException e) {
             log.error("Invalid JWT token: {}", e.getMessage());
+            businessMetrics.jwtValidationFailed("malformed");
         } catch (ExpiredJwtException e) {
             log.error("JWT token is expired: {}", e.getMessage());
+            businessMetrics.jwtValidationFailed("expired");
         } catch (UnsupportedJwtException e) {
             log.error("JWT token is unsupported: {}", e.getMessage());
+            businessMetrics.jwtValidationFailed("unsupported");
         } catch (IllegalArgumentException e) {
             log.error("JWT claims string is empty: {}", e.getMessage());
+            businessMetrics.jwtValidationFailed("empty");
+        } catch (io.jsonwebtoken.security.SignatureException e) {
+            log.error("JWT signature does not match: {}", e.getMessage());
+            businessMetrics.jwtValidationFailed("signature");
         }
         return false;
     }
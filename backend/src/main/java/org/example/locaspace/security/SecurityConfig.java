@@ -3,6 +3,7 @@ package org.example.locaspace.security;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -80,8 +81,13 @@ public class SecurityConfig {
             .authorizeHttpRequests(auth -> auth
                 .requestMatchers("/api/auth/**").permitAll()
                 .requestMatchers("/api/health/**").permitAll()
+                .requestMatchers("/actuator/health/**", "/actuator/prometheus").permitAll()
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
                 .requestMatchers("/api/lieux", "/api/lieux/{id}", "/api/lieux/search").permitAll()
+                .requestMatchers(HttpMethod.GET, "/api/lieux/search/facets").permitAll()
                 .requestMatchers("/api/lieux/{id}/avis").permitAll()
+                .requestMatchers(HttpMethod.GET, "/api/lieux/{id}/avis/feed", "/api/lieux/{id}/avis/histogram").permitAll()
+                .requestMatchers(HttpMethod.GET, "/api/lieux/{id}/calendar.ics").permitAll()
                 .requestMatchers("/uploads/**").permitAll()
                 .requestMatchers("/api/users/me/**").authenticated()
                 .requestMatchers("/api/lieux/{id}/reservations").hasAnyRole("PROPRIETAIRE", "ADMIN")
@@ -0,0 +1,13 @@
+package org.example.locaspace.service;
+
+// Published by every review write so the cached first page of the lieu's feed is evicted once
+// the write is committed; a null lieuId stands for any lieu
+public class AvisChangedEvent {
+    private final Long lieuId;
+
+    public AvisChangedEvent(Long lieuId) {
+        this.lieuId = lieuId;
+    }
+
+    public Long getLieuId() { return lieuId; }
+}
@@ -0,0 +1,32 @@
+package org.example.locaspace.service;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+// Evicts cached feed pages after the review write commits. Evicting inside the transaction would
+// let a concurrent reader put the pre-write page back until the cache entry expires.
+@Component
+public class AvisFeedCacheEvictor {
+
+    private final CacheManager cacheManager;
+
+    public AvisFeedCacheEvictor(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAvisChanged(AvisChangedEvent event) {
+        Cache cache = cacheManager.getCache(AvisService.AVIS_FIRST_PAGE);
+        if (cache == null) {
+            return;
+        }
+        if (event.getLieuId() == null) {
+            cache.clear();
+        } else {
+            cache.evict(event.getLieuId());
+        }
+    }
+}
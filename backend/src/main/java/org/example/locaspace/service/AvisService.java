@@ -1,28 +1,80 @@
 package org.example.locaspace.service;
 
+import io.micrometer.observation.annotation.Observed;
+import org.example.locaspace.exception.BadRequestException;
 import org.example.locaspace.model.Avis;
 import org.example.locaspace.model.Lieu;
 import org.example.locaspace.model.User;
+import org.example.locaspace.repository.AvisFeedItem;
 import org.example.locaspace.repository.AvisRepository;
+import org.example.locaspace.repository.ReviewEligibility;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
 
 @Service
+@Observed(name = "locaspace.service")
 public class AvisService {
 
+    // First page of each lieu's review feed (see CacheConfig), evicted after every review write commits
+    public static final String AVIS_FIRST_PAGE = "avisFirstPage";
+    public static final int FEED_PAGE_SIZE = 10;
+
+    private static final String ALREADY_REVIEWED = "You have already reviewed this place";
+    private static final String REVIEW_KEY = "uk_avis_user_lieu";
+
     private final AvisRepository avisRepository;
+    private final RatingHistogramService ratingHistogramService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public AvisService(AvisRepository avisRepository) {
+    public AvisService(AvisRepository avisRepository,
+                       RatingHistogramService ratingHistogramService,
+                       ApplicationEventPublisher eventPublisher) {
         this.avisRepository = avisRepository;
+        this.ratingHistogramService = ratingHistogramService;
+        this.eventPublisher = eventPublisher;
     }
 
-    // Create a new review
+    // Create a new review. A concurrent duplicate that got past checkCanReview is rejected by the
+    // uk_avis_user_lieu key.
+    @Transactional
     public Avis createAvis(Avis avis) {
-        return avisRepository.save(avis);
+        Long lieuId = avis.getLieu().getId();
+        ratingHistogramService.prepare(lieuId);
+        Avis saved;
+        try {
+            saved = avisRepository.save(avis);
+        } catch (DataIntegrityViolationException e) {
+            if (isDuplicateReview(e)) {
+                throw new BadRequestException(ALREADY_REVIEWED);
+            }
+            throw e;
+        }
+        ratingHistogramService.move(lieuId, 0, saved.getNote());
+        eventPublisher.publishEvent(new AvisChangedEvent(lieuId));
+        return saved;
+    }
+
+    // A tenant may review a lieu once, after a completed stay there
+    public void checkCanReview(Long userId, Long lieuId) {
+        ReviewEligibility eligibility = avisRepository.findReviewEligibility(userId, lieuId)
+            .orElseGet(() -> new ReviewEligibility(false, false));
+        if (!eligibility.hasEligibleStay()) {
+            throw new BadRequestException("You must have completed a reservation at this place to leave a review");
+        }
+        if (eligibility.hasReviewed()) {
+            throw new BadRequestException(ALREADY_REVIEWED);
+        }
     }
 
     // Get review by ID
@@ -35,18 +87,60 @@ public class AvisService {
         return avisRepository.findByLieuOrderByIdDesc(lieu);
     }
 
+    // Page of a lieu's reviews, newest first, with the author name, in one query (plus the count)
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = AVIS_FIRST_PAGE, key = "#lieuId",
+               condition = "#page == 0 && #size == T(org.example.locaspace.service.AvisService).FEED_PAGE_SIZE")
+    public Page<AvisFeedItem> getAvisFeed(Long lieuId, int page, int size) {
+        return avisRepository.findFeedByLieuId(lieuId, PageRequest.of(page, size));
+    }
+
+    // Every review of a lieu, in the feed's shape (no per-review author or lieu lookup)
+    @Transactional(readOnly = true)
+    public List<AvisFeedItem> getAllAvisFeed(Long lieuId) {
+        return avisRepository.findFeedByLieuId(lieuId, Pageable.unpaged()).getContent();
+    }
+
     // Get all reviews by a user
     public List<Avis> getAvisByUser(User user) {
         return avisRepository.findByAuteur(user);
     }
 
-    // Update a review
-    public Avis updateAvis(Avis avis) {
-        return avisRepository.save(avis);
+    // Update a review; a new note moves it to another histogram bucket
+    @Transactional
+    public Avis updateAvis(Avis avis, int note, String commentaire) {
+        Long lieuId = avis.getLieu().getId();
+        int previousNote = avis.getNote();
+        if (previousNote != note) {
+            ratingHistogramService.prepare(lieuId);
+        }
+        avis.setNote(note);
+        avis.setCommentaire(commentaire);
+        Avis saved = avisRepository.save(avis);
+        ratingHistogramService.move(lieuId, previousNote, note);
+        eventPublisher.publishEvent(new AvisChangedEvent(lieuId));
+        return saved;
     }
 
     // Delete a review
+    @Transactional
+    public void deleteAvis(Avis avis) {
+        Long lieuId = avis.getLieu().getId();
+        ratingHistogramService.prepare(lieuId);
+        avisRepository.delete(avis);
+        ratingHistogramService.move(lieuId, avis.getNote(), 0);
+        eventPublisher.publishEvent(new AvisChangedEvent(lieuId));
+    }
+
+    // Delete a review by id; only the cached first page of its own lieu goes
+    @Transactional
     public void deleteAvis(Long id) {
+        avisRepository.findById(id).ifPresent(avis -> {
+            Long lieuId = avis.getLieu().getId();
+            ratingHistogramService.prepare(lieuId);
+            ratingHistogramService.move(lieuId, avis.getNote(), 0);
+            eventPublisher.publishEvent(new AvisChangedEvent(lieuId));
+        });
         avisRepository.deleteById(id);
     }
 
@@ -79,4 +173,9 @@ public class AvisService {
     public Long getUserReviewCount(User user) {
         return avisRepository.countByAuteur(user);
     }
-}
\ No newline at end of file
+
+    private static boolean isDuplicateReview(DataIntegrityViolationException e) {
+        String message = e.getMostSpecificCause().getMessage();
+        return message != null && message.toLowerCase().contains(REVIEW_KEY);
+    }
+}
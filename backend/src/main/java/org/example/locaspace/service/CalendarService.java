@@ -1,5 +1,8 @@
 package org.example.locaspace.service;
 
+import io.micrometer.observation.annotation.Observed;
+import org.example.locaspace.dto.lieu.CalendarEntryResponse;
+import org.example.locaspace.exception.ResourceNotFoundException;
 import org.example.locaspace.model.CalendarEvent;
 import org.example.locaspace.model.Lieu;
 import org.example.locaspace.repository.CalendarEventRepository;
@@ -9,9 +12,13 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
 
 @Service
+@Observed(name = "locaspace.service")
 @Transactional
 public class CalendarService {
 
@@ -21,11 +28,23 @@ public class CalendarService {
     @Autowired
     private LieuRepository lieuRepository;
 
+    @Autowired
+    private OccupancyService occupancyService;
+
     public List<CalendarEvent> getEvents(Long lieuId, LocalDate start, LocalDate end) {
         Lieu lieu = lieuRepository.findById(lieuId).orElseThrow();
         return calendarEventRepository.findInRange(lieu, start, end);
     }
 
+    // Bookings and blocks overlapping [start, end] as one sorted timeline, adjacent ranges of the same kind merged
+    @Transactional(readOnly = true)
+    public List<CalendarEntryResponse> getTimeline(Long lieuId, LocalDate start, LocalDate end) {
+        if (!lieuRepository.existsById(lieuId)) {
+            throw new ResourceNotFoundException("Lieu", "id", lieuId);
+        }
+        return coalesce(lieuId, occupancyService.getOccupancy(lieuId, start, end));
+    }
+
     public CalendarEvent blockDates(Long lieuId, LocalDate start, LocalDate end, String title) {
         Lieu lieu = lieuRepository.findById(lieuId).orElseThrow();
         CalendarEvent event = CalendarEvent.builder()
@@ -41,9 +60,52 @@ public class CalendarService {
     public void deleteEvent(Long eventId) {
         calendarEventRepository.deleteById(eventId);
     }
-}
-
 
+    static List<CalendarEntryResponse> coalesce(Long lieuId, List<OccupancyService.OccupiedRange> ranges) {
+        List<OccupancyService.OccupiedRange> sorted = new ArrayList<>(ranges);
+        sorted.sort(Comparator.comparing(OccupancyService.OccupiedRange::getSource)
+            .thenComparing(r -> String.valueOf(r.getStatus()))
+            .thenComparing(OccupancyService.OccupiedRange::getStartDate));
 
+        List<CalendarEntryResponse> timeline = new ArrayList<>();
+        CalendarEntryResponse current = null;
+        String currentSource = null;
+        for (OccupancyService.OccupiedRange range : sorted) {
+            boolean sameKind = current != null
+                && range.getSource().equals(currentSource)
+                && Objects.equals(range.getStatus(), current.getStatus())
+                && !range.getStartDate().isAfter(current.getEndDate().plusDays(1));
+            if (sameKind) {
+                if (range.getEndDate().isAfter(current.getEndDate())) {
+                    current.setEndDate(range.getEndDate());
+                }
+                if (current.getIds() == null) {
+                    current.setIds(new ArrayList<>(List.of(current.getId() != null ? current.getId() : current.getBookingId())));
+                    current.setId(null);
+                    current.setBookingId(null);
+                    current.setTitle(null);
+                }
+                current.getIds().add(range.getId());
+                continue;
+            }
 
+            boolean booking = OccupancyService.SOURCE_RESERVATION.equals(range.getSource());
+            current = CalendarEntryResponse.builder()
+                .id(booking ? null : range.getId())
+                .bookingId(booking ? range.getId() : null)
+                .propertyId(lieuId)
+                .startDate(range.getStartDate())
+                .endDate(range.getEndDate())
+                .type(booking ? "booked" : "blocked")
+                .status(range.getStatus())
+                .title(range.getTitle())
+                .build();
+            currentSource = range.getSource();
+            timeline.add(current);
+        }
 
+        timeline.sort(Comparator.comparing(CalendarEntryResponse::getStartDate)
+            .thenComparing(CalendarEntryResponse::getEndDate));
+        return timeline;
+    }
+}
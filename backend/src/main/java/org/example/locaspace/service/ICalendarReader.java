@@ -0,0 +1,164 @@
+package org.example.locaspace.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+// Pull parser for .ics files: unfolds content lines and yields one VEVENT at a time, so the
+// memory used by an import does not depend on the size of the file.
+public class ICalendarReader {
+
+    private final BufferedReader in;
+    private String pending;
+
+    public ICalendarReader(Reader reader) {
+        this.in = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+    }
+
+    // Next VEVENT, or null at end of input. Events without UID or DTSTART are returned with valid() == false.
+    public Event next() throws IOException {
+        Event event = null;
+        String line;
+        while ((line = nextLine()) != null) {
+            if (event == null) {
+                if (line.equalsIgnoreCase("BEGIN:VEVENT")) {
+                    event = new Event();
+                }
+                continue;
+            }
+            if (line.equalsIgnoreCase("END:VEVENT")) {
+                return event;
+            }
+            int colon = indexOfValueSeparator(line);
+            if (colon < 0) {
+                continue;
+            }
+            String name = line.substring(0, colon);
+            String value = line.substring(colon + 1);
+            int semicolon = name.indexOf(';');
+            String property = (semicolon < 0 ? name : name.substring(0, semicolon)).toUpperCase();
+            switch (property) {
+                case "UID":
+                    event.uid = unescape(value).trim();
+                    break;
+                case "SUMMARY":
+                    event.summary = unescape(value);
+                    break;
+                case "STATUS":
+                    event.cancelled = value.trim().equalsIgnoreCase("CANCELLED");
+                    break;
+                case "DTSTART":
+                    event.startDate = parseDate(value);
+                    break;
+                case "DTEND":
+                    event.endDate = parseDate(value);
+                    event.endIsDate = value.trim().length() == 8;
+                    break;
+                case "RECURRENCE-ID":
+                    event.override = true;
+                    break;
+                default:
+                    break;
+            }
+        }
+        return null;
+    }
+
+    // Unfolds RFC 5545 continuation lines (leading space or tab) into one logical line
+    private String nextLine() throws IOException {
+        String line = pending != null ? pending : in.readLine();
+        pending = null;
+        if (line == null) {
+            return null;
+        }
+        StringBuilder sb = null;
+        String next;
+        while ((next = in.readLine()) != null) {
+            if (!next.isEmpty() && (next.charAt(0) == ' ' || next.charAt(0) == '\t')) {
+                if (sb == null) {
+                    sb = new StringBuilder(line);
+                }
+                sb.append(next, 1, next.length());
+            } else {
+                pending = next;
+                break;
+            }
+        }
+        return sb != null ? sb.toString() : line;
+    }
+
+    // First ':' outside a quoted parameter value
+    private static int indexOfValueSeparator(String line) {
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (c == ':' && !quoted) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // DATE (20250101) or DATE-TIME (20250101T120000[Z]); only the calendar day matters for blocks
+    private static LocalDate parseDate(String value) {
+        String v = value.trim();
+        if (v.length() < 8) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(v.substring(0, 8), DateTimeFormatter.BASIC_ISO_DATE);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    static String unescape(String text) {
+        if (text.indexOf('\\') < 0) {
+            return text;
+        }
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\\' && i + 1 < text.length()) {
+                char n = text.charAt(++i);
+                sb.append(n == 'n' || n == 'N' ? '\n' : n);
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    public static class Event {
+        private String uid;
+        private String summary;
+        private LocalDate startDate;
+        private LocalDate endDate;
+        private boolean endIsDate;
+        private boolean cancelled;
+        private boolean override;
+
+        public String getUid() { return uid; }
+        public String getSummary() { return summary; }
+        public LocalDate getStartDate() { return startDate; }
+        public boolean isCancelled() { return cancelled; }
+        public boolean isOverride() { return override; }
+
+        public boolean valid() {
+            return uid != null && !uid.isEmpty() && startDate != null;
+        }
+
+        // Inclusive last day: an all-day DTEND is exclusive, a missing DTEND means a single day
+        public LocalDate getEndDate() {
+            if (endDate == null || !endDate.isAfter(startDate)) {
+                return startDate;
+            }
+            return endIsDate ? endDate.minusDays(1) : endDate;
+        }
+    }
+}
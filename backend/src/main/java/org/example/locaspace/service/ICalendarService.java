@@ -0,0 +1,241 @@
+package org.example.locaspace.service;
+
+import io.micrometer.observation.annotation.Observed;
+import org.example.locaspace.exception.BadRequestException;
+import org.example.locaspace.exception.ResourceNotFoundException;
+import org.example.locaspace.exception.UnauthorizedException;
+import org.example.locaspace.model.Lieu;
+import org.example.locaspace.repository.CalendarFeedRepository;
+import org.example.locaspace.repository.LieuRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+// iCalendar sync with other platforms: a streamed .ics feed per lieu, and an incremental import
+// that upserts the external VEVENTs as calendar blocks keyed by (lieu_id, external_source, external_uid).
+@Service
+@Observed(name = "locaspace.service")
+public class ICalendarService {
+
+    private static final Logger log = LoggerFactory.getLogger(ICalendarService.class);
+
+    private static final int BATCH_SIZE = 500;
+    private static final int MAX_UID_LENGTH = 255;
+    private static final int MAX_SOURCE_LENGTH = 64;
+
+    private static final String UPSERT_BLOCK =
+        "INSERT INTO calendar_events (lieu_id, external_source, external_uid, start_date, end_date, type, title, " +
+        "import_generation, updated_at) VALUES (?, ?, ?, ?, ?, 'blocked', ?, ?, ?) " +
+        "ON DUPLICATE KEY UPDATE start_date = VALUES(start_date), end_date = VALUES(end_date), " +
+        "title = VALUES(title), import_generation = VALUES(import_generation), updated_at = VALUES(updated_at)";
+    private static final String DELETE_BLOCK =
+        "DELETE FROM calendar_events WHERE lieu_id = ? AND external_source = ? AND external_uid = ?";
+    private static final String DELETE_STALE_BLOCKS =
+        "DELETE FROM calendar_events WHERE lieu_id = ? AND external_source = ? AND external_uid IS NOT NULL " +
+        "AND (import_generation IS NULL OR import_generation <> ?)";
+
+    private final CalendarFeedRepository calendarFeedRepository;
+    private final LieuRepository lieuRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final SecureRandom random = new SecureRandom();
+
+    public ICalendarService(CalendarFeedRepository calendarFeedRepository,
+                            LieuRepository lieuRepository,
+                            JdbcTemplate jdbcTemplate) {
+        this.calendarFeedRepository = calendarFeedRepository;
+        this.lieuRepository = lieuRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Returns the feed token of the lieu, generating it on first use
+    @Transactional
+    public String getOrCreateFeedToken(Long lieuId) {
+        Lieu lieu = lieuRepository.findById(lieuId)
+            .orElseThrow(() -> new ResourceNotFoundException("Lieu", "id", lieuId));
+        if (lieu.getCalendarToken() == null) {
+            byte[] bytes = new byte[24];
+            random.nextBytes(bytes);
+            lieu.setCalendarToken(Base64.getUrlEncoder().withoutPadding().encodeToString(bytes));
+            lieuRepository.save(lieu);
+        }
+        return lieu.getCalendarToken();
+    }
+
+    @Transactional(readOnly = true)
+    public void checkFeedToken(Long lieuId, String token) {
+        Lieu lieu = lieuRepository.findById(lieuId)
+            .orElseThrow(() -> new ResourceNotFoundException("Lieu", "id", lieuId));
+        String expected = lieu.getCalendarToken();
+        if (expected == null || token == null
+            || !MessageDigest.isEqual(expected.getBytes(StandardCharsets.UTF_8), token.getBytes(StandardCharsets.UTF_8))) {
+            throw new UnauthorizedException("Invalid calendar token");
+        }
+    }
+
+    // Cheap aggregate read used for ETag / Last-Modified before any event is streamed
+    @Transactional(readOnly = true)
+    public FeedVersion getFeedVersion(Long lieuId) {
+        CalendarFeedRepository.FeedVersion reservations = calendarFeedRepository.reservationVersion(lieuId);
+        CalendarFeedRepository.FeedVersion blocks = calendarFeedRepository.blockVersion(lieuId);
+        LocalDateTime lastModified = latest(reservations.getLastModified(), blocks.getLastModified());
+        long millis = lastModified != null
+            ? lastModified.atZone(ZoneId.systemDefault()).truncatedTo(ChronoUnit.SECONDS).toInstant().toEpochMilli()
+            : 0L;
+        String etag = "\"" + lieuId + "-" + reservations.getCount() + "-" + blocks.getCount() + "-" + millis + "\"";
+        return new FeedVersion(etag, millis);
+    }
+
+    // Streams reservations and owner blocks that end today or later; rows go straight to the output
+    @Transactional(readOnly = true)
+    public void writeFeed(Long lieuId, String calendarName, OutputStream outputStream) throws IOException {
+        LocalDate from = LocalDate.now();
+        ICalendarWriter writer = new ICalendarWriter(
+            new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8)));
+        writer.begin(calendarName);
+        try (Stream<CalendarFeedRepository.FeedEntry> reservations = calendarFeedRepository.streamReservations(lieuId, from)) {
+            for (CalendarFeedRepository.FeedEntry entry : (Iterable<CalendarFeedRepository.FeedEntry>) reservations::iterator) {
+                String summary = "CONFIRMEE".equals(entry.getStatus()) ? "Réservé" : "Réservation en attente";
+                writer.event("reservation-" + entry.getId() + "@locaspace", entry.getStartDate(), entry.getEndDate(), summary);
+            }
+        }
+        try (Stream<CalendarFeedRepository.FeedEntry> blocks = calendarFeedRepository.streamBlocks(lieuId, from)) {
+            for (CalendarFeedRepository.FeedEntry entry : (Iterable<CalendarFeedRepository.FeedEntry>) blocks::iterator) {
+                String summary = entry.getTitle() != null && !entry.getTitle().isBlank() ? entry.getTitle() : "Indisponible";
+                writer.event("block-" + entry.getId() + "@locaspace", entry.getStartDate(), entry.getEndDate(), summary);
+            }
+        }
+        writer.end();
+    }
+
+    // Upserts the VEVENTs of an external feed in JDBC batches. The file is treated as a full
+    // snapshot of its source: blocks previously imported from that source and no longer in it
+    // are removed at the end, blocks of other sources are left alone. Every row upserted by this
+    // import is tagged with a random generation, so the prune does not depend on clock precision.
+    @Transactional
+    public ImportResult importFeed(Long lieuId, String source, InputStream inputStream) throws IOException {
+        String feed = normalizeSource(source);
+        if (!lieuRepository.existsById(lieuId)) {
+            throw new ResourceNotFoundException("Lieu", "id", lieuId);
+        }
+        Timestamp importedAt = Timestamp.valueOf(LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS));
+        long generation = random.nextLong();
+        ImportResult result = new ImportResult();
+
+        List<Object[]> upserts = new ArrayList<>(BATCH_SIZE);
+        List<Object[]> deletes = new ArrayList<>(BATCH_SIZE);
+        ICalendarReader reader = new ICalendarReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        ICalendarReader.Event event;
+        while ((event = reader.next()) != null) {
+            if (!event.valid() || event.isOverride() || event.getUid().length() > MAX_UID_LENGTH) {
+                result.skipped++;
+                continue;
+            }
+            if (event.isCancelled()) {
+                deletes.add(new Object[]{lieuId, feed, event.getUid()});
+                result.cancelled++;
+                if (deletes.size() == BATCH_SIZE) {
+                    flush(DELETE_BLOCK, deletes);
+                }
+                continue;
+            }
+            upserts.add(new Object[]{
+                lieuId,
+                feed,
+                event.getUid(),
+                Date.valueOf(event.getStartDate()),
+                Date.valueOf(event.getEndDate()),
+                truncate(event.getSummary()),
+                generation,
+                importedAt
+            });
+            result.imported++;
+            if (upserts.size() == BATCH_SIZE) {
+                flush(UPSERT_BLOCK, upserts);
+            }
+        }
+        flush(UPSERT_BLOCK, upserts);
+        flush(DELETE_BLOCK, deletes);
+        result.removed = jdbcTemplate.update(DELETE_STALE_BLOCKS, lieuId, feed, generation);
+
+        log.info("Calendar import for lieu {} from {}: {} upserted, {} cancelled, {} removed, {} skipped",
+            lieuId, feed, result.imported, result.cancelled, result.removed, result.skipped);
+        return result;
+    }
+
+    private void flush(String sql, List<Object[]> batch) {
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+            batch.clear();
+        }
+    }
+
+    // Case-insensitive feed key, e.g. "Airbnb" and "airbnb " are the same source
+    static String normalizeSource(String source) {
+        String feed = source == null ? "" : source.trim().toLowerCase(Locale.ROOT);
+        if (feed.isEmpty() || feed.length() > MAX_SOURCE_LENGTH) {
+            throw new BadRequestException("source must be between 1 and " + MAX_SOURCE_LENGTH + " characters");
+        }
+        return feed;
+    }
+
+    private static String truncate(String summary) {
+        if (summary == null) {
+            return null;
+        }
+        return summary.length() > 255 ? summary.substring(0, 255) : summary;
+    }
+
+    private static LocalDateTime latest(LocalDateTime a, LocalDateTime b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        return a.isAfter(b) ? a : b;
+    }
+
+    public static class FeedVersion {
+        private final String etag;
+        private final long lastModified;
+
+        public FeedVersion(String etag, long lastModified) {
+            this.etag = etag;
+            this.lastModified = lastModified;
+        }
+
+        public String getEtag() { return etag; }
+        public long getLastModified() { return lastModified; }
+    }
+
+    public static class ImportResult {
+        private int imported;
+        private int cancelled;
+        private int removed;
+        private int skipped;
+
+        public int getImported() { return imported; }
+        public int getCancelled() { return cancelled; }
+        public int getRemoved() { return removed; }
+        public int getSkipped() { return skipped; }
+    }
+}
@@ -0,0 +1,89 @@
+package org.example.locaspace.service;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+// Minimal RFC 5545 writer: all-day VEVENTs, CRLF line endings, text escaping and 75-octet folding.
+// Writes straight through to the underlying writer so a feed never has to fit in memory.
+public class ICalendarWriter {
+
+    private static final DateTimeFormatter DATE = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final DateTimeFormatter STAMP = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+    private static final int MAX_LINE_OCTETS = 75;
+
+    private final Writer out;
+    private final String dtstamp;
+
+    public ICalendarWriter(Writer out) {
+        this.out = out;
+        this.dtstamp = ZonedDateTime.now(ZoneOffset.UTC).format(STAMP);
+    }
+
+    public void begin(String calendarName) throws IOException {
+        line("BEGIN:VCALENDAR");
+        line("VERSION:2.0");
+        line("PRODID:-//LocaSpace//Calendar Feed//FR");
+        line("CALSCALE:GREGORIAN");
+        line("METHOD:PUBLISH");
+        line("X-WR-CALNAME:" + escape(calendarName));
+    }
+
+    // endDate is inclusive in LocaSpace; DTEND of an all-day event is exclusive
+    public void event(String uid, LocalDate startDate, LocalDate endDate, String summary) throws IOException {
+        line("BEGIN:VEVENT");
+        line("UID:" + escape(uid));
+        line("DTSTAMP:" + dtstamp);
+        line("DTSTART;VALUE=DATE:" + startDate.format(DATE));
+        line("DTEND;VALUE=DATE:" + endDate.plusDays(1).format(DATE));
+        line("SUMMARY:" + escape(summary));
+        line("TRANSP:OPAQUE");
+        line("END:VEVENT");
+    }
+
+    public void end() throws IOException {
+        line("END:VCALENDAR");
+        out.flush();
+    }
+
+    static String escape(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '\\': sb.append("\\\\"); break;
+                case ';': sb.append("\\;"); break;
+                case ',': sb.append("\\,"); break;
+                case '\n': sb.append("\\n"); break;
+                case '\r': break;
+                default: sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    // Folds at 75 octets without splitting a UTF-8 sequence; continuation lines start with a space
+    private void line(String content) throws IOException {
+        int octets = 0;
+        int limit = MAX_LINE_OCTETS;
+        for (int i = 0; i < content.length(); ) {
+            int cp = content.codePointAt(i);
+            int size = cp < 0x80 ? 1 : cp < 0x800 ? 2 : cp < 0x10000 ? 3 : 4;
+            if (octets + size > limit) {
+                out.write("\r\n ");
+                octets = 0;
+                limit = MAX_LINE_OCTETS - 1;
+            }
+            out.write(Character.toChars(cp));
+            octets += size;
+            i += Character.charCount(cp);
+        }
+        out.write("\r\n");
+    }
+}
@@ -0,0 +1,160 @@
+package org.example.locaspace.service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.List;
+
+// Pure-Java (ImageIO + Java2D) resizing of uploaded photos into width variants and a tiny placeholder.
+final class ImageVariants {
+
+    static final int PLACEHOLDER_WIDTH = 16;
+
+    static {
+        // Decode/encode in memory instead of through ImageIO's temp-file cache
+        ImageIO.setUseCache(false);
+    }
+
+    private ImageVariants() {
+    }
+
+    // Writes <baseName>-w<width><ext> into targetDir for every width smaller than the original.
+    static Result generate(Path source, Path targetDir, String baseName, int[] widths, float quality) throws IOException {
+        int[] sorted = widths.clone();
+        Arrays.sort(sorted);
+        BufferedImage original = read(source, sorted.length > 0 ? sorted[sorted.length - 1] : PLACEHOLDER_WIDTH);
+        boolean alpha = original.getColorModel().hasAlpha();
+        String ext = alpha ? ".png" : ".jpg";
+
+        Files.createDirectories(targetDir);
+        List<Integer> generated = new ArrayList<>();
+        BufferedImage current = original;
+        // Largest first, each variant downscaled from the previous one
+        for (int i = sorted.length - 1; i >= 0; i--) {
+            int width = sorted[i];
+            if (width >= current.getWidth()) {
+                continue;
+            }
+            current = scale(current, width, alpha);
+            Path target = targetDir.resolve(baseName + "-w" + width + ext);
+            Path partial = targetDir.resolve("." + baseName + "-w" + width + ext + ".part");
+            try (OutputStream out = Files.newOutputStream(partial)) {
+                write(current, alpha, quality, out);
+            }
+            Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            generated.add(0, width);
+        }
+
+        BufferedImage tiny = scale(current, Math.min(PLACEHOLDER_WIDTH, current.getWidth()), alpha);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        write(tiny, alpha, 0.5f, bytes);
+        String placeholder = "data:image/" + (alpha ? "png" : "jpeg") + ";base64,"
+            + Base64.getEncoder().encodeToString(bytes.toByteArray());
+
+        return new Result(generated, ext, placeholder);
+    }
+
+    // Decodes with source subsampling so the decoded image is no larger than needed for maxWidth;
+    // a 6000px photo never has to be fully materialised to produce a 1280px variant
+    private static BufferedImage read(Path source, int maxWidth) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(source.toFile())) {
+            Iterator<ImageReader> readers = in != null ? ImageIO.getImageReaders(in) : null;
+            if (readers == null || !readers.hasNext()) {
+                throw new UnsupportedImageException("No ImageIO reader for " + source.getFileName());
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int width = reader.getWidth(0);
+                ImageReadParam param = reader.getDefaultReadParam();
+                int factor = Math.max(1, width / Math.max(1, maxWidth));
+                if (factor > 1) {
+                    param.setSourceSubsampling(factor, factor, 0, 0);
+                }
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Halves repeatedly with bilinear filtering, then does the final step: close to area-averaging quality at a fraction of the cost
+    static BufferedImage scale(BufferedImage source, int targetWidth, boolean alpha) {
+        BufferedImage current = source;
+        int type = alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        do {
+            int width = Math.max(targetWidth, current.getWidth() / 2);
+            int height = Math.max(1, (int) Math.round((double) source.getHeight() * width / source.getWidth()));
+            BufferedImage next = new BufferedImage(width, height, type);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(current, 0, 0, width, height, null);
+            } finally {
+                g.dispose();
+            }
+            current = next;
+        } while (current.getWidth() > targetWidth);
+        return current;
+    }
+
+    private static void write(BufferedImage image, boolean alpha, float quality, OutputStream out) throws IOException {
+        if (alpha) {
+            ImageIO.write(image, "png", out);
+            return;
+        }
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(ios);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    static class Result {
+        private final List<Integer> widths;
+        private final String format;
+        private final String placeholder;
+
+        Result(List<Integer> widths, String format, String placeholder) {
+            this.widths = widths;
+            this.format = format;
+            this.placeholder = placeholder;
+        }
+
+        List<Integer> getWidths() { return widths; }
+        String getFormat() { return format; }
+        String getPlaceholder() { return placeholder; }
+    }
+
+    // The file is not an image ImageIO can decode (e.g. HEIC); retrying will not help
+    static class UnsupportedImageException extends IOException {
+        UnsupportedImageException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package org.example.locaspace.service;
+
+import org.example.locaspace.model.enums.LieuType;
+import org.example.locaspace.repository.LieuFacetRow;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Counts behind the search filter chips. Each facet counts its values among the lieux matching the
+// other active filters, so the chips of a facet show the alternatives to the current choice; total
+// is the number of results with every filter applied.
+public final class LieuFacets {
+
+    // Upper bounds of the price chips: <50, 50-100, 100-200, 200-500, 500+
+    public static final List<BigDecimal> PRICE_BOUNDS = List.of(
+        BigDecimal.valueOf(50), BigDecimal.valueOf(100), BigDecimal.valueOf(200), BigDecimal.valueOf(500));
+
+    private final long total;
+    private final Map<LieuType, Long> types;
+    private final List<PriceBucket> prices;
+    private final List<City> cities;
+
+    private LieuFacets(long total, Map<LieuType, Long> types, List<PriceBucket> prices, List<City> cities) {
+        this.total = total;
+        this.types = types;
+        this.prices = prices;
+        this.cities = cities;
+    }
+
+    // type / villeKey: the active filters, null when unset. The price filter is already resolved per
+    // row (LieuFacetRow.isInPriceRange). Cities are the maxCities largest, plus the selected one.
+    public static LieuFacets of(List<LieuFacetRow> rows, LieuType type, String villeKey, int maxCities) {
+        long total = 0;
+        Map<LieuType, Long> types = new EnumMap<>(LieuType.class);
+        long[] prices = new long[PRICE_BOUNDS.size() + 1];
+        Map<String, City> cities = new HashMap<>();
+
+        for (LieuFacetRow row : rows) {
+            boolean typeMatches = type == null || type == row.getType();
+            boolean cityMatches = villeKey == null || villeKey.equals(row.getVilleKey());
+            if (row.isInPriceRange() && cityMatches && row.getType() != null) {
+                types.merge(row.getType(), row.getCount(), Long::sum);
+            }
+            if (typeMatches && cityMatches) {
+                prices[row.getPriceBucket()] += row.getCount();
+            }
+            if (typeMatches && row.isInPriceRange() && row.getVilleKey() != null) {
+                cities.computeIfAbsent(row.getVilleKey(), key -> new City(key, row.getVille())).count += row.getCount();
+            }
+            if (typeMatches && row.isInPriceRange() && cityMatches) {
+                total += row.getCount();
+            }
+        }
+
+        List<PriceBucket> priceBuckets = new ArrayList<>(prices.length);
+        for (int i = 0; i < prices.length; i++) {
+            priceBuckets.add(new PriceBucket(i == 0 ? null : PRICE_BOUNDS.get(i - 1),
+                i < PRICE_BOUNDS.size() ? PRICE_BOUNDS.get(i) : null, prices[i]));
+        }
+
+        List<City> topCities = new ArrayList<>(cities.values());
+        topCities.sort(Comparator.comparingLong(City::getCount).reversed().thenComparing(City::getKey));
+        if (topCities.size() > maxCities) {
+            City selected = villeKey != null ? cities.get(villeKey) : null;
+            topCities = new ArrayList<>(topCities.subList(0, maxCities));
+            if (selected != null && !topCities.contains(selected)) {
+                topCities.add(selected);
+            }
+        }
+        return new LieuFacets(total, types, priceBuckets, topCities);
+    }
+
+    public long getTotal() { return total; }
+    public Map<LieuType, Long> getTypes() { return types; }
+    public List<PriceBucket> getPrices() { return prices; }
+    public List<City> getCities() { return cities; }
+
+    // [min, max), either end open when null
+    public static final class PriceBucket {
+        private final BigDecimal min;
+        private final BigDecimal max;
+        private final long count;
+
+        PriceBucket(BigDecimal min, BigDecimal max, long count) {
+            this.min = min;
+            this.max = max;
+            this.count = count;
+        }
+
+        public BigDecimal getMin() { return min; }
+        public BigDecimal getMax() { return max; }
+        public long getCount() { return count; }
+    }
+
+    public static final class City {
+        private final String key;
+        private final String name;
+        private long count;
+
+        City(String key, String name) {
+            this.key = key;
+            this.name = name;
+        }
+
+        public String getKey() { return key; }
+        public String getName() { return name; }
+        public long getCount() { return count; }
+    }
+}
@@ -0,0 +1,82 @@
+package org.example.locaspace.service;
+
+import io.micrometer.observation.ObservationRegistry;
+import org.example.locaspace.geo.Gazetteer;
+import org.example.locaspace.model.Lieu;
+import org.example.locaspace.repository.LieuRepository;
+import org.example.locaspace.tracing.WorkerTracing;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Fills the position and the normalized city of lieux saved without them: rows from before
+// geocoding or city parsing, and rows inserted by SQL (data.sql, the load test seeder). Runs
+// shortly after startup and then periodically, in keyset batches of lieu.location-backfill.batch-size,
+// each lieu with its own guarded updates so it never overwrites a concurrent edit. Lieux whose
+// address names no city stay as they are.
+@Component
+public class LieuLocationBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(LieuLocationBackfill.class);
+
+    private final LieuRepository lieuRepository;
+    private final Gazetteer gazetteer;
+    private final ObservationRegistry observationRegistry;
+
+    @Value("${lieu.location-backfill.batch-size:200}")
+    private int batchSize;
+
+    public LieuLocationBackfill(LieuRepository lieuRepository, Gazetteer gazetteer,
+                                ObservationRegistry observationRegistry) {
+        this.lieuRepository = lieuRepository;
+        this.gazetteer = gazetteer;
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Scheduled(initialDelayString = "${lieu.location-backfill.initial-delay:20000}",
+               fixedDelayString = "${lieu.location-backfill.interval:21600000}")
+    public void backfill() {
+        WorkerTracing.observe(observationRegistry, "lieu-location-backfill", this::run);
+    }
+
+    void run() {
+        int updated = 0;
+        int skipped = 0;
+        long afterId = 0;
+        List<Object[]> rows;
+        do {
+            rows = lieuRepository.findUnlocated(afterId, PageRequest.of(0, batchSize));
+            for (Object[] row : rows) {
+                Long id = (Long) row[0];
+                String adresse = (String) row[1];
+                afterId = id;
+                Lieu lieu = Lieu.builder()
+                    .adresse(adresse)
+                    .latitude((Double) row[2])
+                    .longitude((Double) row[3])
+                    .build();
+                boolean changed = false;
+                if (row[4] == null && LieuService.locate(lieu, gazetteer)) {
+                    changed |= lieuRepository.setLocation(id, adresse,
+                        lieu.getLatitude(), lieu.getLongitude(), lieu.getGeohash()) > 0;
+                }
+                if (row[5] == null && LieuService.resolveVille(lieu, gazetteer)) {
+                    changed |= lieuRepository.setVille(id, adresse, lieu.getVille(), lieu.getVilleKey()) > 0;
+                }
+                if (changed) {
+                    updated++;
+                } else {
+                    skipped++;
+                }
+            }
+        } while (rows.size() == batchSize);
+        if (updated > 0 || skipped > 0) {
+            log.info("Lieu location backfill: {} updated, {} without a known position or city", updated, skipped);
+        }
+    }
+}
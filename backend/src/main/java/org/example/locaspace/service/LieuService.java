@@ -1,9 +1,15 @@
 package org.example.locaspace.service;
 
 
+import io.micrometer.observation.annotation.Observed;
+import org.example.locaspace.geo.CityNames;
+import org.example.locaspace.geo.Gazetteer;
+import org.example.locaspace.geo.GeoArea;
+import org.example.locaspace.geo.GeoHash;
 import org.example.locaspace.model.Lieu;
 import org.example.locaspace.model.User;
 import org.example.locaspace.model.enums.LieuType;
+import org.example.locaspace.repository.LieuCard;
 import org.example.locaspace.repository.LieuRepository;
 import org.example.locaspace.repository.AvisRepository;
 import org.example.locaspace.repository.LieuSpecifications;
@@ -15,27 +21,66 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
 @Service
+@Observed(name = "locaspace.service")
 @Transactional
 public class LieuService {
+
+    // City chips returned by the search facets
+    private static final int MAX_CITY_FACETS = 20;
     
     private final LieuRepository lieuRepository;
     private final AvisRepository avisRepository;
+    private final Gazetteer gazetteer;
     
     @Autowired
-    public LieuService(LieuRepository lieuRepository, AvisRepository avisRepository) {
+    public LieuService(LieuRepository lieuRepository, AvisRepository avisRepository, Gazetteer gazetteer) {
         this.lieuRepository = lieuRepository;
         this.avisRepository = avisRepository;
+        this.gazetteer = gazetteer;
     }
     
     // Create new lieu
     public Lieu createLieu(Lieu lieu) {
         lieu.setValide(true); 
+        locate(lieu, gazetteer);
+        resolveVille(lieu, gazetteer);
         return lieuRepository.save(lieu);
     }
+
+    // Coordinates given with the lieu win; otherwise the address city is geocoded offline.
+    // Returns whether the lieu now has a position.
+    static boolean locate(Lieu lieu, Gazetteer gazetteer) {
+        if (lieu.getLatitude() == null || lieu.getLongitude() == null) {
+            Optional<Gazetteer.Place> place = gazetteer.locate(lieu.getAdresse());
+            lieu.setLatitude(place.map(Gazetteer.Place::getLatitude).orElse(null));
+            lieu.setLongitude(place.map(Gazetteer.Place::getLongitude).orElse(null));
+        }
+        lieu.setGeohash(lieu.getLatitude() != null
+            ? GeoHash.encode(lieu.getLatitude(), lieu.getLongitude(), GeoHash.PRECISION)
+            : null);
+        return lieu.getGeohash() != null;
+    }
+
+    // Returns whether the address names a city
+    static boolean resolveVille(Lieu lieu, Gazetteer gazetteer) {
+        String ville = gazetteer.city(lieu.getAdresse()).orElse(null);
+        lieu.setVille(ville);
+        lieu.setVilleKey(ville != null ? CityNames.key(ville) : null);
+        return ville != null;
+    }
+
+    // Key a city filter is matched on: "75015 Paris" and "paris" both find the lieux of Paris
+    private String villeKey(String ville) {
+        if (ville == null || ville.trim().isEmpty()) {
+            return null;
+        }
+        return CityNames.key(gazetteer.city(ville).orElse(ville));
+    }
     
     // Get all validated lieux (public)
     public Page<Lieu> getAllValidatedLieux(Pageable pageable) {
@@ -62,8 +107,12 @@ public class LieuService {
                 lieu.setType(updatedLieu.getType());
                 lieu.setPrix(updatedLieu.getPrix());
                 lieu.setAdresse(updatedLieu.getAdresse());
+                lieu.setLatitude(updatedLieu.getLatitude());
+                lieu.setLongitude(updatedLieu.getLongitude());
                 lieu.setPhotos(updatedLieu.getPhotos());
                 lieu.setValide(true); // Always validated now
+                locate(lieu, gazetteer);
+                resolveVille(lieu, gazetteer);
                 return lieuRepository.save(lieu);
             })
             .orElse(null);
@@ -93,6 +142,11 @@ public class LieuService {
         return lieuRepository.searchByKeyword(keyword.trim(), pageable);
     }
     
+    // Keyword search restricted to lieux free on [startDate, endDate] and/or inside a map area
+    public Page<Lieu> searchLieux(String keyword, LocalDate startDate, LocalDate endDate, GeoArea area, Pageable pageable) {
+        return lieuRepository.findAll(searchSpec(keyword, null, null, null, null, startDate, endDate, area), pageable);
+    }
+    
     // Filter by type
     public Page<Lieu> getLieuxByType(LieuType type, Pageable pageable) {
         return lieuRepository.findByType(type, pageable);
@@ -105,17 +159,60 @@ public class LieuService {
     
     // Filter by city
     public Page<Lieu> getLieuxByCity(String ville, Pageable pageable) {
-        return lieuRepository.findByAdresseContainingIgnoreCase(ville, pageable);
+        return lieuRepository.findByVilleKey(villeKey(ville), pageable);
     }
     
-    // Advanced search with multiple filters
-    public Page<Lieu> searchLieuxWithFilters(LieuType type, BigDecimal minPrix, BigDecimal maxPrix, String ville, Pageable pageable) {
-        return lieuRepository.findAll(
-            LieuSpecifications.withFilters(type, minPrix, maxPrix, ville), 
-            pageable
-        );
+    // Advanced search with multiple filters, optionally restricted to lieux free on [startDate, endDate]
+    // and/or inside a map area
+    public Page<Lieu> searchLieuxWithFilters(LieuType type, BigDecimal minPrix, BigDecimal maxPrix, String ville,
+                                             LocalDate startDate, LocalDate endDate, GeoArea area, Pageable pageable) {
+        return lieuRepository.findAll(searchSpec(null, type, minPrix, maxPrix, ville, startDate, endDate, area), pageable);
     }
     
+    // Column projections for ?view=card|owner; the filters match the entity-returning searches
+    @Transactional(readOnly = true)
+    public Page<LieuCard> findLieuCards(String keyword, LieuType type, BigDecimal minPrix, BigDecimal maxPrix, String ville,
+                                        LocalDate startDate, LocalDate endDate, GeoArea area, Pageable pageable) {
+        return lieuRepository.findCards(searchSpec(keyword, type, minPrix, maxPrix, ville, startDate, endDate, area), pageable);
+    }
+
+    // Facet counts of a search, from one grouped query: the candidates are those of the search minus
+    // its type, price and city filters, which are then applied per facet (LieuFacets)
+    @Transactional(readOnly = true)
+    public LieuFacets getSearchFacets(String keyword, LieuType type, BigDecimal minPrix, BigDecimal maxPrix, String ville,
+                                      LocalDate startDate, LocalDate endDate, GeoArea area) {
+        if (keyword != null && !keyword.trim().isEmpty()) {
+            // Same as the search: a keyword search ignores those filters
+            type = null;
+            minPrix = null;
+            maxPrix = null;
+            ville = null;
+        }
+        Specification<Lieu> candidates = searchSpec(keyword, null, null, null, null, startDate, endDate, area);
+        return LieuFacets.of(lieuRepository.countFacets(candidates, minPrix, maxPrix, LieuFacets.PRICE_BOUNDS),
+            type, villeKey(ville), MAX_CITY_FACETS);
+    }
+
+    // A keyword search ignores the type, price and city filters
+    private Specification<Lieu> searchSpec(String keyword, LieuType type, BigDecimal minPrix, BigDecimal maxPrix,
+                                                  String ville, LocalDate startDate, LocalDate endDate, GeoArea area) {
+        Specification<Lieu> spec = keyword != null && !keyword.trim().isEmpty()
+            ? LieuSpecifications.withKeyword(keyword.trim())
+            : LieuSpecifications.withFilters(type, minPrix, maxPrix, villeKey(ville));
+        if (startDate != null && endDate != null) {
+            spec = spec.and(LieuSpecifications.availableBetween(startDate, endDate));
+        }
+        if (area != null) {
+            spec = spec.and(LieuSpecifications.within(area));
+        }
+        return spec;
+    }
+
+    @Transactional(readOnly = true)
+    public List<LieuCard> findLieuCardsByOwner(User owner) {
+        return lieuRepository.findCards(LieuSpecifications.ownedBy(owner.getId()), Pageable.unpaged()).getContent();
+    }
+
     // Get lieu statistics
     public LieuStats getLieuStats(Long lieuId) {
         return lieuRepository.findById(lieuId)
@@ -0,0 +1,229 @@
+package org.example.locaspace.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+// Single-pass multipart/form-data reader over the raw request stream. Each part is exposed as an
+// InputStream that ends at the next boundary, so part bodies are never buffered or spooled to disk.
+// Parts must be consumed in order; calling nextPart() skips whatever is left of the current one.
+public class MultipartStreamReader {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_HEADER_BYTES = 8 * 1024;
+
+    private final InputStream in;
+    private final byte[] delimiter;
+    private final byte[] buf;
+    private int head;
+    private int tail;
+    // No delimiter starts before this index (saves rescanning the buffer on every read)
+    private int scanned;
+    private boolean eof;
+    private boolean finished;
+    private PartInputStream current;
+
+    public MultipartStreamReader(InputStream in, String boundary) {
+        this.in = in;
+        this.delimiter = ("\r\n--" + boundary).getBytes(StandardCharsets.ISO_8859_1);
+        this.buf = new byte[Math.max(BUFFER_SIZE, delimiter.length * 4)];
+        // The first boundary has no leading CRLF; seed one so the preamble reads like an ordinary part
+        buf[0] = '\r';
+        buf[1] = '\n';
+        this.tail = 2;
+        this.current = new PartInputStream();
+    }
+
+    // Next part, or null once the closing boundary has been read
+    public Part nextPart() throws IOException {
+        if (finished) {
+            return null;
+        }
+        current.skipRemaining();
+        if (!ensure(2)) {
+            throw new IOException("Unexpected end of multipart stream");
+        }
+        if (buf[head] == '-' && buf[head + 1] == '-') {
+            finished = true;
+            return null;
+        }
+        skipLineEnd();
+        Map<String, String> headers = readHeaders();
+        current = new PartInputStream();
+        return new Part(headers, current);
+    }
+
+    private void skipLineEnd() throws IOException {
+        // Transport padding (spaces/tabs) is allowed between the boundary and its CRLF
+        while (ensure(1) && (buf[head] == ' ' || buf[head] == '\t')) {
+            head++;
+        }
+        if (!ensure(2) || buf[head] != '\r' || buf[head + 1] != '\n') {
+            throw new IOException("Malformed multipart boundary line");
+        }
+        head += 2;
+    }
+
+    private Map<String, String> readHeaders() throws IOException {
+        Map<String, String> headers = new LinkedHashMap<>();
+        int read = 0;
+        while (true) {
+            StringBuilder line = new StringBuilder();
+            while (true) {
+                if (!ensure(2)) {
+                    throw new IOException("Unexpected end of multipart headers");
+                }
+                if (buf[head] == '\r' && buf[head + 1] == '\n') {
+                    head += 2;
+                    break;
+                }
+                line.append((char) (buf[head++] & 0xFF));
+                if (++read > MAX_HEADER_BYTES) {
+                    throw new IOException("Multipart part headers too large");
+                }
+            }
+            if (line.length() == 0) {
+                return headers;
+            }
+            int colon = line.indexOf(":");
+            if (colon > 0) {
+                // Header bytes are UTF-8 in practice (browsers send raw UTF-8 filenames)
+                String raw = new String(line.toString().getBytes(StandardCharsets.ISO_8859_1), StandardCharsets.UTF_8);
+                headers.put(raw.substring(0, colon).trim().toLowerCase(Locale.ROOT), raw.substring(colon + 1).trim());
+            }
+        }
+    }
+
+    // True once at least n unread bytes are buffered; false if the input ends first
+    private boolean ensure(int n) throws IOException {
+        while (tail - head < n) {
+            if (eof) {
+                return false;
+            }
+            fill();
+        }
+        return true;
+    }
+
+    private void fill() throws IOException {
+        if (head > 0) {
+            System.arraycopy(buf, head, buf, 0, tail - head);
+            tail -= head;
+            scanned = Math.max(0, scanned - head);
+            head = 0;
+        }
+        int n = in.read(buf, tail, buf.length - tail);
+        if (n < 0) {
+            eof = true;
+        } else {
+            tail += n;
+        }
+    }
+
+    private int indexOfDelimiter() {
+        int last = tail - delimiter.length;
+        outer:
+        for (int i = Math.max(head, scanned); i <= last; i++) {
+            for (int j = 0; j < delimiter.length; j++) {
+                if (buf[i + j] != delimiter[j]) {
+                    continue outer;
+                }
+            }
+            scanned = i;
+            return i;
+        }
+        scanned = Math.max(scanned, last + 1);
+        return -1;
+    }
+
+    private class PartInputStream extends InputStream {
+
+        private boolean done;
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            int n = read(one, 0, 1);
+            return n < 0 ? -1 : one[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (done) {
+                return -1;
+            }
+            if (len == 0) {
+                return 0;
+            }
+            while (true) {
+                int idx = indexOfDelimiter();
+                int safe;
+                if (idx >= 0) {
+                    safe = idx - head;
+                    if (safe == 0) {
+                        head += delimiter.length;
+                        done = true;
+                        return -1;
+                    }
+                } else {
+                    // Keep a possible partial delimiter at the end of the buffer for the next round
+                    safe = tail - head - (delimiter.length - 1);
+                }
+                if (safe > 0) {
+                    int n = Math.min(safe, len);
+                    System.arraycopy(buf, head, b, off, n);
+                    head += n;
+                    return n;
+                }
+                if (eof) {
+                    throw new IOException("Unexpected end of multipart stream");
+                }
+                fill();
+            }
+        }
+
+        void skipRemaining() throws IOException {
+            byte[] scratch = new byte[8192];
+            while (read(scratch, 0, scratch.length) >= 0) {
+                // discard
+            }
+        }
+    }
+
+    public static class Part {
+        private final Map<String, String> headers;
+        private final InputStream inputStream;
+
+        Part(Map<String, String> headers, InputStream inputStream) {
+            this.headers = headers;
+            this.inputStream = inputStream;
+        }
+
+        public InputStream getInputStream() { return inputStream; }
+        public String getContentType() { return headers.get("content-type"); }
+        public String getName() { return dispositionParam("name"); }
+        public String getFilename() { return dispositionParam("filename"); }
+
+        private String dispositionParam(String param) {
+            String disposition = headers.get("content-disposition");
+            if (disposition == null) {
+                return null;
+            }
+            for (String token : disposition.split(";")) {
+                String t = token.trim();
+                int eq = t.indexOf('=');
+                if (eq > 0 && t.substring(0, eq).trim().equalsIgnoreCase(param)) {
+                    String value = t.substring(eq + 1).trim();
+                    if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+                        value = value.substring(1, value.length() - 1);
+                    }
+                    return value;
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package org.example.locaspace.service;
 
+import io.micrometer.observation.annotation.Observed;
+import org.example.locaspace.metrics.BusinessMetrics;
 import org.example.locaspace.model.Notification;
 import org.example.locaspace.model.User;
 import org.example.locaspace.repository.NotificationRepository;
@@ -9,13 +11,16 @@ import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 
 @Service
+@Observed(name = "locaspace.service")
 @Transactional
 public class NotificationService {
 
     private final NotificationRepository notificationRepository;
+    private final BusinessMetrics businessMetrics;
 
-    public NotificationService(NotificationRepository notificationRepository) {
+    public NotificationService(NotificationRepository notificationRepository, BusinessMetrics businessMetrics) {
         this.notificationRepository = notificationRepository;
+        this.businessMetrics = businessMetrics;
     }
 
     public List<Notification> getNotificationsForUser(User user) {
@@ -39,6 +44,7 @@ public class NotificationService {
             .lu(false)
             .build();
         notificationRepository.save(notification);
+        businessMetrics.notificationSent(type.name());
     }
 
     public void markAsRead(Long notificationId) {
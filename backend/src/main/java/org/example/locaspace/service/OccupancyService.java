@@ -0,0 +1,121 @@
+package org.example.locaspace.service;
+
+import io.micrometer.observation.annotation.Observed;
+import org.example.locaspace.repository.OccupancyRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+// Single source of truth for "is this lieu taken on these dates": active reservations (holds,
+// pending requests that have not expired, confirmed stays) and owner calendar blocks.
+@Service
+@Observed(name = "locaspace.service")
+@Transactional(readOnly = true)
+public class OccupancyService {
+
+    public static final String SOURCE_RESERVATION = "reservation";
+    public static final String SOURCE_BLOCK = "block";
+
+    private final OccupancyRepository occupancyRepository;
+
+    public OccupancyService(OccupancyRepository occupancyRepository) {
+        this.occupancyRepository = occupancyRepository;
+    }
+
+    // True when nothing occupies any day of [start, end]
+    public boolean isFree(Long lieuId, LocalDate start, LocalDate end) {
+        return occupancyRepository.countOverlapping(lieuId, start, end, LocalDateTime.now()) == 0;
+    }
+
+    // Reservations and blocks overlapping [start, end], ordered by start date
+    public List<OccupiedRange> getOccupancy(Long lieuId, LocalDate start, LocalDate end) {
+        List<Object[]> rows = occupancyRepository.findOverlapping(lieuId, start, end, LocalDateTime.now());
+        List<OccupiedRange> ranges = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            ranges.add(new OccupiedRange(
+                (String) row[0],
+                ((Number) row[1]).longValue(),
+                toLocalDate(row[2]),
+                toLocalDate(row[3]),
+                row[4] != null ? row[4].toString() : null,
+                (String) row[5]
+            ));
+        }
+        return ranges;
+    }
+
+    // Days of [start, end] not covered by any occupied range
+    public List<LocalDate> getFreeDays(Long lieuId, LocalDate start, LocalDate end) {
+        int days = (int) ChronoUnit.DAYS.between(start, end) + 1;
+        if (days <= 0) {
+            return List.of();
+        }
+
+        BitSet taken = new BitSet(days);
+        for (OccupiedRange range : getOccupancy(lieuId, start, end)) {
+            int from = (int) Math.max(0, ChronoUnit.DAYS.between(start, range.getStartDate()));
+            int to = (int) Math.min(days - 1, ChronoUnit.DAYS.between(start, range.getEndDate()));
+            if (from <= to) {
+                taken.set(from, to + 1);
+            }
+        }
+
+        List<LocalDate> free = new ArrayList<>(days - taken.cardinality());
+        for (int i = taken.nextClearBit(0); i < days; i = taken.nextClearBit(i + 1)) {
+            free.add(start.plusDays(i));
+        }
+        return free;
+    }
+
+    // Native queries return java.sql.Date or LocalDate depending on driver/dialect settings
+    private static LocalDate toLocalDate(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof LocalDate) {
+            return (LocalDate) value;
+        }
+        if (value instanceof java.sql.Date) {
+            return ((java.sql.Date) value).toLocalDate();
+        }
+        if (value instanceof java.sql.Timestamp) {
+            return ((java.sql.Timestamp) value).toLocalDateTime().toLocalDate();
+        }
+        if (value instanceof LocalDateTime) {
+            return ((LocalDateTime) value).toLocalDate();
+        }
+        return LocalDate.parse(value.toString().substring(0, 10));
+    }
+
+    public static class OccupiedRange {
+        private final String source;
+        private final Long id;
+        private final LocalDate startDate;
+        private final LocalDate endDate;
+        private final String status;
+        private final String title;
+
+        public OccupiedRange(String source, Long id, LocalDate startDate, LocalDate endDate, String status, String title) {
+            this.source = source;
+            this.id = id;
+            this.startDate = startDate;
+            this.endDate = endDate;
+            this.status = status;
+            this.title = title;
+        }
+
+        // Getters
+        public String getSource() { return source; }
+        public Long getId() { return id; }
+        public LocalDate getStartDate() { return startDate; }
+        public LocalDate getEndDate() { return endDate; }
+        public String getStatus() { return status; }
+        public String getTitle() { return title; }
+    }
+}
@@ -0,0 +1,259 @@
+package org.example.locaspace.service;
+
+import org.example.locaspace.repository.PhotoVariantJobRepository;
+import org.example.locaspace.storage.BlobStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Mark-and-sweep over the photo store, whichever BlobStore backs it.
+// Mark: every /uploads/ URL in lieu_photos of a lieu that is not soft-deleted, as a compact
+// fingerprint set. Sweep: the store is listed in batches of photo.gc.batch-size entries; each
+// batch's orphans older than the grace period are deleted (with their variants and variant job),
+// then the sweeper pauses for photo.gc.batch-pause so it never saturates the disk or the bucket.
+// This covers content-addressed blobs dropped by deletePhoto as well as the legacy lieux/{id}
+// directories of soft-deleted lieux. The grace period covers the window between an upload (or a
+// presigned PUT) and the lieu save that references it.
+@Component
+public class PhotoGarbageCollector {
+
+    private static final Logger log = LoggerFactory.getLogger(PhotoGarbageCollector.class);
+
+    // Layout of the old per-lieu uploads (uploads/lieux/{id}/<file>)
+    static final String LEGACY_DIR = "lieux";
+
+    private static final String REFERENCED_PHOTOS =
+        "SELECT lp.photo_url FROM lieu_photos lp JOIN lieux l ON l.id = lp.lieu_id " +
+        "WHERE l.deleted = false AND lp.photo_url LIKE '" + PhotoStorageService.PUBLIC_PREFIX + "%'";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PhotoStorageService photoStorageService;
+    private final PhotoVariantJobRepository variantJobRepository;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile GcStats lastRun;
+
+    @Value("${photo.gc.grace-period:24h}")
+    private Duration gracePeriod;
+
+    @Value("${photo.gc.batch-size:500}")
+    private int batchSize;
+
+    @Value("${photo.gc.batch-pause:200ms}")
+    private Duration batchPause;
+
+    public PhotoGarbageCollector(JdbcTemplate jdbcTemplate,
+                                 PhotoStorageService photoStorageService,
+                                 PhotoVariantJobRepository variantJobRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.photoStorageService = photoStorageService;
+        this.variantJobRepository = variantJobRepository;
+    }
+
+    @Scheduled(cron = "${photo.gc.cron:0 30 3 * * *}")
+    public GcStats collect() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("Photo GC already running, skipping");
+            return lastRun;
+        }
+        try {
+            GcStats stats = sweep();
+            lastRun = stats;
+            return stats;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    public GcStats getLastRun() {
+        return lastRun;
+    }
+
+    private GcStats sweep() {
+        long started = System.currentTimeMillis();
+        BlobStore blobStore = photoStorageService.getBlobStore();
+
+        // Mark
+        PhotoReferenceSet references = new PhotoReferenceSet();
+        jdbcTemplate.query(REFERENCED_PHOTOS, (RowCallbackHandler) rs ->
+            photoStorageService.keyOf(rs.getString(1)).ifPresent(key -> references.add(stemOf(key))));
+        references.seal();
+
+        // Sweep
+        Sweep sweep = new Sweep(blobStore, references, Instant.now().minus(gracePeriod));
+        try {
+            for (String prefix : List.of(PhotoStorageService.BLOB_DIR + "/", LEGACY_DIR + "/")) {
+                blobStore.list(prefix, sweep::visit);
+                sweep.flush();
+            }
+            // Whole uploads/lieux/{id} directories emptied by the sweep
+            blobStore.pruneEmptyDirectories(LEGACY_DIR + "/");
+            sweep.reclaimed += deleteStaleStaging(photoStorageService.stagingRoot(), sweep.cutoff);
+        } catch (IOException | UncheckedIOException e) {
+            log.error("Photo GC aborted: {}", e.getMessage(), e);
+        } catch (SweepInterruptedException e) {
+            log.warn("Photo GC interrupted after {} entries", sweep.scanned);
+        }
+
+        GcStats stats = new GcStats(sweep.scanned, references.size(), sweep.deleted, sweep.reclaimed);
+        log.info("Photo GC: {} files scanned, {} referenced photos, {} deleted, {} bytes reclaimed in {} ms",
+            stats.getScanned(), stats.getReferenced(), stats.getDeleted(), stats.getReclaimedBytes(),
+            System.currentTimeMillis() - started);
+        return stats;
+    }
+
+    // One pass over the listing. Entries are diffed as they arrive; orphans are deleted a batch
+    // at a time so the listing never has to be held in memory.
+    private class Sweep {
+        private final BlobStore blobStore;
+        private final PhotoReferenceSet references;
+        private final Instant cutoff;
+        private final List<BlobStore.BlobInfo> orphans = new ArrayList<>();
+        private long scanned;
+        private long deleted;
+        private long reclaimed;
+        private int sinceLastPause;
+
+        Sweep(BlobStore blobStore, PhotoReferenceSet references, Instant cutoff) {
+            this.blobStore = blobStore;
+            this.references = references;
+            this.cutoff = cutoff;
+        }
+
+        void visit(BlobStore.BlobInfo blob) {
+            scanned++;
+            if (blob.getLastModified().isBefore(cutoff) && !references.contains(stemOf(blob.getKey()))) {
+                orphans.add(blob);
+            }
+            if (++sinceLastPause >= batchSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            List<String> photoUrls = new ArrayList<>();
+            try {
+                for (BlobStore.BlobInfo orphan : orphans) {
+                    blobStore.delete(orphan.getKey());
+                    reclaimed += orphan.getSize();
+                    deleted++;
+                    if (!isVariant(orphan.getKey())) {
+                        photoUrls.add(photoStorageService.toUrl(orphan.getKey()));
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                orphans.clear();
+                if (!photoUrls.isEmpty()) {
+                    variantJobRepository.deleteByPhotoUrlIn(photoUrls);
+                }
+            }
+            if (sinceLastPause > 0) {
+                sinceLastPause = 0;
+                pause();
+            }
+        }
+
+        private void pause() {
+            if (batchPause.isZero() || batchPause.isNegative()) {
+                return;
+            }
+            try {
+                Thread.sleep(batchPause.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SweepInterruptedException();
+            }
+        }
+    }
+
+    // Partial uploads abandoned by a crash
+    private long deleteStaleStaging(Path staging, Instant cutoff) throws IOException {
+        if (!Files.isDirectory(staging)) {
+            return 0;
+        }
+        long bytes = 0;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(staging)) {
+            for (Path partial : stream) {
+                if (Files.isRegularFile(partial) && olderThan(partial, cutoff)) {
+                    bytes += sizeOf(partial);
+                    Files.deleteIfExists(partial);
+                }
+            }
+        }
+        return bytes;
+    }
+
+    // The key a photo and all of its variants share: sha256/ab/cd/<hash>.jpg and
+    // sha256/ab/cd/variants/<hash>-w640.jpg both map to sha256/ab/cd/<hash>
+    static String stemOf(String key) {
+        int slash = key.lastIndexOf('/');
+        String dir = key.substring(0, slash + 1);
+        String name = key.substring(slash + 1);
+        int dot = name.lastIndexOf('.');
+        String base = dot > 0 ? name.substring(0, dot) : name;
+        String variantsSuffix = PhotoVariantService.VARIANTS_DIR + "/";
+        if (dir.endsWith("/" + variantsSuffix)) {
+            dir = dir.substring(0, dir.length() - variantsSuffix.length());
+            int width = base.lastIndexOf("-w");
+            if (width > 0) {
+                base = base.substring(0, width);
+            }
+        }
+        return dir + base;
+    }
+
+    private static boolean isVariant(String key) {
+        return key.contains("/" + PhotoVariantService.VARIANTS_DIR + "/");
+    }
+
+    private static boolean olderThan(Path path, Instant cutoff) throws IOException {
+        return Files.getLastModifiedTime(path).toInstant().isBefore(cutoff);
+    }
+
+    private static long sizeOf(Path path) {
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static class SweepInterruptedException extends RuntimeException {
+    }
+
+    public static class GcStats {
+        private final long scanned;
+        private final long referenced;
+        private final long deleted;
+        private final long reclaimedBytes;
+
+        public GcStats(long scanned, long referenced, long deleted, long reclaimedBytes) {
+            this.scanned = scanned;
+            this.referenced = referenced;
+            this.deleted = deleted;
+            this.reclaimedBytes = reclaimedBytes;
+        }
+
+        public long getScanned() { return scanned; }
+        public long getReferenced() { return referenced; }
+        public long getDeleted() { return deleted; }
+        public long getReclaimedBytes() { return reclaimedBytes; }
+    }
+}
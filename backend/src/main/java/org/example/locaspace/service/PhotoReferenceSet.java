@@ -0,0 +1,65 @@
+package org.example.locaspace.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+// Set of referenced photo keys held as sorted 64-bit fingerprints: 8 bytes per reference instead
+// of a String per URL, so the GC can hold every reference of a large catalogue in memory. A
+// fingerprint collision can only make an orphan look referenced (it is kept), never the reverse.
+final class PhotoReferenceSet {
+
+    private long[] fingerprints = new long[1024];
+    private int size;
+    private boolean sealed;
+
+    void add(String key) {
+        if (sealed) {
+            throw new IllegalStateException("Reference set is sealed");
+        }
+        if (size == fingerprints.length) {
+            fingerprints = Arrays.copyOf(fingerprints, size * 2);
+        }
+        fingerprints[size++] = fingerprint(key);
+    }
+
+    // Sorts and de-duplicates; called once, after the mark phase
+    PhotoReferenceSet seal() {
+        Arrays.sort(fingerprints, 0, size);
+        int distinct = 0;
+        for (int i = 0; i < size; i++) {
+            if (distinct == 0 || fingerprints[i] != fingerprints[distinct - 1]) {
+                fingerprints[distinct++] = fingerprints[i];
+            }
+        }
+        size = distinct;
+        fingerprints = Arrays.copyOf(fingerprints, size);
+        sealed = true;
+        return this;
+    }
+
+    boolean contains(String key) {
+        if (!sealed) {
+            throw new IllegalStateException("Reference set is not sealed");
+        }
+        return Arrays.binarySearch(fingerprints, 0, size, fingerprint(key)) >= 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    // FNV-1a over the UTF-8 bytes, followed by a 64-bit finalizer to spread the low bits
+    static long fingerprint(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -1,48 +1,401 @@
 package org.example.locaspace.service;
 
+import io.micrometer.observation.annotation.Observed;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.example.locaspace.exception.BadRequestException;
+import org.example.locaspace.metrics.BusinessMetrics;
+import org.example.locaspace.storage.BlobStore;
+import org.example.locaspace.tracing.WorkerTracing;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Service
+@Observed(name = "locaspace.service")
 public class PhotoStorageService {
 
+    private static final Logger log = LoggerFactory.getLogger(PhotoStorageService.class);
+
+    static final String PUBLIC_PREFIX = "/uploads/";
+    static final String BLOB_DIR = "sha256";
+    static final String STAGING_DIR = ".staging";
+
+    // Bytes per transferFrom call; also how often the size limit is checked
+    private static final long TRANSFER_CHUNK = 1024 * 1024;
+
     @Value("${file.upload-dir:uploads}")
     private String uploadDir;
 
-    public List<String> storePropertyPhotos(Long lieuId, List<MultipartFile> files) throws IOException {
-        Path root = Paths.get(uploadDir, "lieux", String.valueOf(lieuId));
-        Files.createDirectories(root);
+    @Value("${photo.upload.max-file-size:10MB}")
+    private DataSize maxFileSize;
+
+    @Value("${photo.upload.max-files:20}")
+    private int maxFiles;
+
+    @Value("${photo.upload.threads:4}")
+    private int uploadThreads;
+
+    @Value("${photo.upload.queue-capacity:32}")
+    private int uploadQueueCapacity;
 
-        List<String> urls = new ArrayList<>();
+    @Value("${photo.storage.presign-ttl:15m}")
+    private Duration presignTtl;
+
+    @Autowired
+    private BlobStore blobStore;
+
+    @Autowired
+    private BusinessMetrics businessMetrics;
+
+    private ThreadPoolExecutor uploadExecutor;
+    private ExecutorService tracedUploadExecutor;
+
+    @PostConstruct
+    void start() {
+        AtomicInteger counter = new AtomicInteger();
+        // Bounded queue; when it is full the request thread writes the file itself, which
+        // throttles uploads instead of rejecting them
+        uploadExecutor = new ThreadPoolExecutor(uploadThreads, uploadThreads, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(uploadQueueCapacity),
+            r -> {
+                Thread t = new Thread(r, "photo-upload-" + counter.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            },
+            new ThreadPoolExecutor.CallerRunsPolicy());
+        // Writes show up in the trace of the upload request
+        tracedUploadExecutor = WorkerTracing.propagating(uploadExecutor);
+    }
+
+    @PreDestroy
+    void stop() {
+        uploadExecutor.shutdown();
+    }
+
+    // Files already parsed by Spring multipart: written concurrently on the upload pool
+    public List<StoredPhoto> storePropertyPhotos(Long lieuId, List<MultipartFile> files) throws IOException {
+        Path staging = stagingDirectory();
+        checkFileCount(files.size());
+
+        List<CompletableFuture<StoredPhoto>> futures = new ArrayList<>();
         for (MultipartFile file : files) {
             if (file.isEmpty()) continue;
-            String original = file.getOriginalFilename();
-            String ext = original != null && original.contains(".") ? original.substring(original.lastIndexOf('.')) : "";
-            String unique = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"))
-                    + "-" + UUID.randomUUID() + ext;
-            Path target = root.resolve(unique);
-            Files.copy(file.getInputStream(), target, StandardCopyOption.REPLACE_EXISTING);
-            // Public URL served by WebMvcConfig under /uploads/**
-            String publicUrl = "/uploads/lieux/" + lieuId + "/" + unique;
-            urls.add(publicUrl);
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                try (InputStream in = file.getInputStream()) {
+                    return store(lieuId, staging, file.getOriginalFilename(), in);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, tracedUploadExecutor));
+        }
+        return collect(futures);
+    }
+
+    // Raw multipart/form-data request body: every file part is written from the request stream
+    // straight to the blob store while the digest is computed, with no temp file in between
+    public List<StoredPhoto> storePropertyPhotos(Long lieuId, InputStream body, String boundary) throws IOException {
+        Path staging = stagingDirectory();
+        MultipartStreamReader reader = new MultipartStreamReader(body, boundary);
+        List<StoredPhoto> stored = new ArrayList<>();
+        MultipartStreamReader.Part part;
+        while ((part = reader.nextPart()) != null) {
+            if (part.getFilename() == null || part.getFilename().isEmpty()) {
+                continue;
+            }
+            checkFileCount(stored.size() + 1);
+            stored.add(store(lieuId, staging, part.getFilename(), part.getInputStream()));
+        }
+        return stored;
+    }
+
+    // Content-addressed: the blob key is sha256/ab/cd/<hash><ext>, so identical bytes are stored
+    // once and a URL never changes meaning. Blobs are shared between lieux and never deleted here;
+    // PhotoGarbageCollector removes the ones no longer referenced from lieu_photos.
+    private StoredPhoto store(Long lieuId, Path staging, String originalFilename, InputStream in) throws IOException {
+        // Streamed into a local staging file while hashing, then handed to the blob store once the key is known
+        Path partial = staging.resolve(UUID.randomUUID() + ".part");
+
+        MessageDigest sha256 = newDigest();
+        long size = 0;
+        try (FileChannel out = FileChannel.open(partial, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+             ReadableByteChannel src = Channels.newChannel(new DigestInputStream(in, sha256))) {
+            long n;
+            while ((n = out.transferFrom(src, size, TRANSFER_CHUNK)) > 0) {
+                size += n;
+                if (size > maxFileSize.toBytes()) {
+                    throw new BadRequestException("Photo exceeds the maximum size of " + maxFileSize.toMegabytes() + "MB");
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(partial);
+            throw e;
+        }
+
+        String hash = HexFormat.of().formatHex(sha256.digest());
+        String ext = sniffExtension(partial).orElse(extension(originalFilename));
+        String key = blobPath(hash, ext);
+        boolean deduplicated = blobStore.exists(key);
+        if (deduplicated) {
+            Files.delete(partial);
+            // Refresh mtime so a concurrent GC sweep treats the blob as new (grace period)
+            blobStore.touch(key);
+        } else {
+            blobStore.putFile(key, partial, contentTypeOf(ext));
+        }
+
+        log.debug("Stored photo {} for lieu {} ({} bytes{})", hash, lieuId, size, deduplicated ? ", deduplicated" : "");
+        businessMetrics.photoStored(size, deduplicated);
+        // Public URL served (immutable) by PhotoServlet under /uploads/sha256/**
+        return new StoredPhoto(toUrl(key), blobStore.localPath(key).orElse(null), size, hash, deduplicated);
+    }
+
+    // Direct upload: the client PUTs the bytes to the returned URL, then confirms them with
+    // confirmUploads. The hash is part of the signature, so the key cannot receive other bytes.
+    public PresignedPhoto presignUpload(Long lieuId, String sha256Hex, String contentType, long size) {
+        if (sha256Hex == null || !sha256Hex.matches("[0-9a-f]{64}")) {
+            throw new BadRequestException("sha256 must be 64 lowercase hex characters");
+        }
+        String ext = extensionOf(contentType)
+            .orElseThrow(() -> new BadRequestException("Unsupported photo type: " + contentType));
+        if (size <= 0 || size > maxFileSize.toBytes()) {
+            throw new BadRequestException("Photo exceeds the maximum size of " + maxFileSize.toMegabytes() + "MB");
+        }
+        String key = blobPath(sha256Hex, ext);
+        try {
+            if (blobStore.exists(key)) {
+                return new PresignedPhoto(toUrl(key), true, null);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        String checksum = Base64.getEncoder().encodeToString(HexFormat.of().parseHex(sha256Hex));
+        BlobStore.PresignedUpload upload = blobStore.presignUpload(key, contentType, checksum, presignTtl)
+            .orElseThrow(() -> new BadRequestException("Direct uploads are not supported by the configured photo storage"));
+        log.debug("Presigned upload of {} for lieu {}", key, lieuId);
+        return new PresignedPhoto(toUrl(key), false, upload);
+    }
+
+    // URLs of directly uploaded photos, checked to exist in the blob store
+    public List<String> confirmUploads(List<String> urls) throws IOException {
+        checkFileCount(urls.size());
+        for (String url : urls) {
+            String key = keyOf(url)
+                .filter(k -> k.startsWith(BLOB_DIR + "/"))
+                .orElseThrow(() -> new BadRequestException("Not an uploaded photo: " + url));
+            if (!blobStore.exists(key)) {
+                throw new BadRequestException("Photo has not been uploaded: " + url);
+            }
+            blobStore.touch(key);
         }
         return urls;
     }
-}
 
+    private List<StoredPhoto> collect(List<CompletableFuture<StoredPhoto>> futures) throws IOException {
+        List<StoredPhoto> stored = new ArrayList<>(futures.size());
+        Throwable failure = null;
+        for (CompletableFuture<StoredPhoto> future : futures) {
+            try {
+                stored.add(future.join());
+            } catch (CompletionException e) {
+                failure = failure == null ? e.getCause() : failure;
+            }
+        }
+        if (failure != null) {
+            // Blobs already written may be shared with other lieux; unreferenced ones are left to the GC
+            if (failure instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) failure).getCause();
+            }
+            if (failure instanceof RuntimeException) {
+                throw (RuntimeException) failure;
+            }
+            throw new IOException(failure);
+        }
+        return stored;
+    }
+
+    // Blob key for a public /uploads/... URL; empty for external URLs or paths escaping the upload directory
+    public Optional<String> keyOf(String url) {
+        if (url == null || !url.startsWith(PUBLIC_PREFIX)) {
+            return Optional.empty();
+        }
+        String key = url.substring(PUBLIC_PREFIX.length());
+        if (key.isEmpty() || key.contains("\\") || key.startsWith("/")) {
+            return Optional.empty();
+        }
+        for (String segment : key.split("/", -1)) {
+            if (segment.isEmpty() || segment.startsWith(".")) {
+                return Optional.empty();
+            }
+        }
+        return Optional.of(key);
+    }
+
+    // A local file with the photo's bytes (downloaded into the read cache for remote stores)
+    public Optional<Path> fetch(String url) throws IOException {
+        Optional<String> key = keyOf(url);
+        return key.isPresent() ? blobStore.localPath(key.get()) : Optional.empty();
+    }
+
+    public String toUrl(String key) {
+        return PUBLIC_PREFIX + key;
+    }
+
+    public BlobStore getBlobStore() {
+        return blobStore;
+    }
+
+    // Local scratch space for uploads in progress; never part of the blob store
+    public Path stagingRoot() {
+        return Paths.get(uploadDir, STAGING_DIR);
+    }
+
+    static String blobPath(String hash, String ext) {
+        return BLOB_DIR + "/" + hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash + ext;
+    }
+
+    private Path stagingDirectory() throws IOException {
+        Path staging = stagingRoot();
+        Files.createDirectories(staging);
+        return staging;
+    }
+
+    private void checkFileCount(int count) {
+        if (count > maxFiles) {
+            throw new BadRequestException("At most " + maxFiles + " photos can be uploaded at once");
+        }
+    }
+
+    // Extension from the magic bytes, so the same image uploaded as .jpeg and .JPG maps to one blob
+    private static Optional<String> sniffExtension(Path file) throws IOException {
+        byte[] head = new byte[12];
+        int read;
+        try (InputStream in = Files.newInputStream(file)) {
+            read = in.readNBytes(head, 0, head.length);
+        }
+        if (read >= 3 && (head[0] & 0xFF) == 0xFF && (head[1] & 0xFF) == 0xD8 && (head[2] & 0xFF) == 0xFF) {
+            return Optional.of(".jpg");
+        }
+        if (read >= 8 && (head[0] & 0xFF) == 0x89 && head[1] == 'P' && head[2] == 'N' && head[3] == 'G') {
+            return Optional.of(".png");
+        }
+        if (read >= 6 && head[0] == 'G' && head[1] == 'I' && head[2] == 'F' && head[3] == '8') {
+            return Optional.of(".gif");
+        }
+        if (read >= 12 && head[0] == 'R' && head[1] == 'I' && head[2] == 'F' && head[3] == 'F'
+            && head[8] == 'W' && head[9] == 'E' && head[10] == 'B' && head[11] == 'P') {
+            return Optional.of(".webp");
+        }
+        return Optional.empty();
+    }
+
+    private static String contentTypeOf(String ext) {
+        switch (ext) {
+            case ".jpg": return "image/jpeg";
+            case ".png": return "image/png";
+            case ".gif": return "image/gif";
+            case ".webp": return "image/webp";
+            default: return "application/octet-stream";
+        }
+    }
 
+    private static Optional<String> extensionOf(String contentType) {
+        if (contentType == null) {
+            return Optional.empty();
+        }
+        switch (contentType.toLowerCase()) {
+            case "image/jpeg": return Optional.of(".jpg");
+            case "image/png": return Optional.of(".png");
+            case "image/gif": return Optional.of(".gif");
+            case "image/webp": return Optional.of(".webp");
+            default: return Optional.empty();
+        }
+    }
 
+    private static String extension(String original) {
+        if (original == null || !original.contains(".")) {
+            return "";
+        }
+        String ext = original.substring(original.lastIndexOf('.'));
+        // Keep only a plain extension; the rest of the client filename is never used on disk
+        return ext.matches("\\.[A-Za-z0-9]{1,10}") ? ext.toLowerCase() : "";
+    }
 
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 
+    public static class StoredPhoto {
+        private final String url;
+        private final Path path;
+        private final long size;
+        private final String sha256;
+        private final boolean deduplicated;
+
+        public StoredPhoto(String url, Path path, long size, String sha256, boolean deduplicated) {
+            this.url = url;
+            this.path = path;
+            this.size = size;
+            this.sha256 = sha256;
+            this.deduplicated = deduplicated;
+        }
+
+        public String getUrl() { return url; }
+        public Path getPath() { return path; }
+        public long getSize() { return size; }
+        public String getSha256() { return sha256; }
+        public boolean isDeduplicated() { return deduplicated; }
+    }
+
+    public static class PresignedPhoto {
+        private final String url;
+        private final boolean exists;
+        private final BlobStore.PresignedUpload upload;
+
+        public PresignedPhoto(String url, boolean exists, BlobStore.PresignedUpload upload) {
+            this.url = url;
+            this.exists = exists;
+            this.upload = upload;
+        }
+
+        public String getUrl() { return url; }
+        public boolean isExists() { return exists; }
+        public BlobStore.PresignedUpload getUpload() { return upload; }
+    }
+}
@@ -0,0 +1,218 @@
+package org.example.locaspace.service;
+
+import io.micrometer.observation.annotation.Observed;
+import org.example.locaspace.dto.lieu.PhotoVariantsResponse;
+import org.example.locaspace.model.PhotoVariantJob;
+import org.example.locaspace.repository.PhotoVariantJobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Responsive variants of lieu photos. Jobs live in photo_variant_jobs so queued work survives
+// restarts; PhotoVariantWorker runs them on a bounded pool.
+@Service
+@Observed(name = "locaspace.service")
+public class PhotoVariantService {
+
+    private static final Logger log = LoggerFactory.getLogger(PhotoVariantService.class);
+
+    static final String VARIANTS_DIR = "variants";
+
+    private final PhotoVariantJobRepository jobRepository;
+    private final PhotoStorageService photoStorageService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${photo.variants.widths:320,640,1280}")
+    private int[] widths;
+
+    @Value("${photo.variants.jpeg-quality:0.8}")
+    private float jpegQuality;
+
+    @Value("${photo.variants.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${photo.variants.stale-after-minutes:10}")
+    private long staleAfterMinutes;
+
+    public PhotoVariantService(PhotoVariantJobRepository jobRepository,
+                               PhotoStorageService photoStorageService,
+                               ApplicationEventPublisher eventPublisher) {
+        this.jobRepository = jobRepository;
+        this.photoStorageService = photoStorageService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    // Queues one job per locally stored photo that does not have one yet
+    @Transactional
+    public void enqueue(Collection<String> photoUrls) {
+        Set<String> known = jobRepository.findByPhotoUrlIn(photoUrls).stream()
+            .map(PhotoVariantJob::getPhotoUrl)
+            .collect(Collectors.toSet());
+        List<PhotoVariantJob> jobs = new ArrayList<>();
+        for (String url : new HashSet<>(photoUrls)) {
+            if (known.contains(url) || photoStorageService.keyOf(url).isEmpty()) {
+                continue;
+            }
+            jobs.add(PhotoVariantJob.builder()
+                .photoUrl(url)
+                .status(PhotoVariantJob.Status.PENDING)
+                .build());
+        }
+        if (jobs.isEmpty()) {
+            return;
+        }
+        List<Long> ids = jobRepository.saveAll(jobs).stream().map(PhotoVariantJob::getId).collect(Collectors.toList());
+        eventPublisher.publishEvent(new PhotoVariantsRequestedEvent(ids));
+    }
+
+    @Transactional
+    public List<Long> findPendingJobIds(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime staleBefore = now.minusMinutes(staleAfterMinutes);
+        int failed = jobRepository.failStale(staleBefore, maxAttempts, now);
+        int requeued = jobRepository.requeueStale(staleBefore, maxAttempts, now);
+        if (failed > 0 || requeued > 0) {
+            log.warn("Requeued {} stale photo variant jobs, gave up on {}", requeued, failed);
+        }
+        return jobRepository.findIdsByStatus(PhotoVariantJob.Status.PENDING, PageRequest.of(0, limit));
+    }
+
+    @Transactional
+    public boolean claim(Long jobId) {
+        return jobRepository.transition(jobId, PhotoVariantJob.Status.PENDING, PhotoVariantJob.Status.RUNNING,
+            LocalDateTime.now()) == 1;
+    }
+
+    // Runs a claimed job outside any transaction (image work can take seconds) and records the outcome
+    public void process(Long jobId) {
+        PhotoVariantJob job = jobRepository.findById(jobId).orElse(null);
+        if (job == null || job.getStatus() != PhotoVariantJob.Status.RUNNING) {
+            return;
+        }
+        Path scratch = null;
+        try {
+            String key = photoStorageService.keyOf(job.getPhotoUrl())
+                .orElseThrow(() -> new ImageVariants.UnsupportedImageException("Not a stored photo"));
+            Path source = photoStorageService.fetch(job.getPhotoUrl())
+                .orElseThrow(() -> new ImageVariants.UnsupportedImageException("Photo is missing from the blob store"));
+            // Generated next to the staging area, then handed to the blob store one file at a time
+            Files.createDirectories(photoStorageService.stagingRoot());
+            scratch = Files.createTempDirectory(photoStorageService.stagingRoot(), "variants-");
+            ImageVariants.Result result = ImageVariants.generate(source, scratch, baseName(source), widths, jpegQuality);
+            String variantPrefix = variantPrefix(key);
+            try (DirectoryStream<Path> generated = Files.newDirectoryStream(scratch)) {
+                for (Path variant : generated) {
+                    photoStorageService.getBlobStore().putFile(variantPrefix + variant.getFileName(), variant, contentTypeOf(result.getFormat()));
+                }
+            }
+            job.setWidths(result.getWidths().stream().map(String::valueOf).collect(Collectors.joining(",")));
+            job.setFormat(result.getFormat());
+            job.setPlaceholder(result.getPlaceholder());
+            job.setLastError(null);
+            job.setStatus(PhotoVariantJob.Status.DONE);
+        } catch (Exception e) {
+            job.setAttempts(job.getAttempts() + 1);
+            job.setLastError(truncate(e.getClass().getSimpleName() + ": " + e.getMessage()));
+            boolean retry = !(e instanceof ImageVariants.UnsupportedImageException) && job.getAttempts() < maxAttempts;
+            job.setStatus(retry ? PhotoVariantJob.Status.PENDING : PhotoVariantJob.Status.FAILED);
+            log.warn("Photo variant job {} for {} failed (attempt {}): {}", jobId, job.getPhotoUrl(), job.getAttempts(), e.getMessage());
+        } finally {
+            deleteScratch(scratch);
+        }
+        jobRepository.save(job);
+    }
+
+    // Variants for each URL, in the given order; photos without finished variants only carry their URL
+    @Transactional(readOnly = true)
+    public List<PhotoVariantsResponse> getVariants(List<String> photoUrls) {
+        if (photoUrls == null || photoUrls.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Map<String, PhotoVariantJob> done = new HashMap<>();
+        for (PhotoVariantJob job : jobRepository.findByPhotoUrlInAndStatus(photoUrls, PhotoVariantJob.Status.DONE)) {
+            done.put(job.getPhotoUrl(), job);
+        }
+        List<PhotoVariantsResponse> responses = new ArrayList<>(photoUrls.size());
+        for (String url : photoUrls) {
+            PhotoVariantJob job = done.get(url);
+            responses.add(job != null ? toResponse(job) : PhotoVariantsResponse.builder().url(url).variants(Map.of()).build());
+        }
+        return responses;
+    }
+
+    private PhotoVariantsResponse toResponse(PhotoVariantJob job) {
+        Map<Integer, String> variants = new LinkedHashMap<>();
+        String url = job.getPhotoUrl();
+        if (job.getWidths() != null && !job.getWidths().isEmpty()) {
+            String dir = url.substring(0, url.lastIndexOf('/') + 1) + VARIANTS_DIR + "/";
+            String base = baseName(url.substring(url.lastIndexOf('/') + 1));
+            for (String width : job.getWidths().split(",")) {
+                variants.put(Integer.parseInt(width), dir + base + "-w" + width + job.getFormat());
+            }
+        }
+        String srcset = variants.entrySet().stream()
+            .map(e -> e.getValue() + " " + e.getKey() + "w")
+            .collect(Collectors.joining(", "));
+        return PhotoVariantsResponse.builder()
+            .url(url)
+            .placeholder(job.getPlaceholder())
+            .variants(variants)
+            .srcset(srcset.isEmpty() ? null : srcset)
+            .build();
+    }
+
+    // sha256/ab/cd/<hash>.jpg -> sha256/ab/cd/variants/
+    static String variantPrefix(String key) {
+        return key.substring(0, key.lastIndexOf('/') + 1) + VARIANTS_DIR + "/";
+    }
+
+    private static String contentTypeOf(String format) {
+        return ".png".equals(format) ? "image/png" : "image/jpeg";
+    }
+
+    private static void deleteScratch(Path scratch) {
+        if (scratch == null) {
+            return;
+        }
+        try (DirectoryStream<Path> leftovers = Files.newDirectoryStream(scratch)) {
+            for (Path file : leftovers) {
+                Files.deleteIfExists(file);
+            }
+            Files.deleteIfExists(scratch);
+        } catch (IOException e) {
+            log.warn("Could not clean up {}: {}", scratch, e.getMessage());
+        }
+    }
+
+    private static String baseName(Path source) {
+        return baseName(source.getFileName().toString());
+    }
+
+    private static String baseName(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        return dot > 0 ? fileName.substring(0, dot) : fileName;
+    }
+
+    private static String truncate(String message) {
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+}
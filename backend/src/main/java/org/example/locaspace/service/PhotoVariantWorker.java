@@ -0,0 +1,104 @@
+package org.example.locaspace.service;
+
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.example.locaspace.tracing.WorkerTracing;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Runs photo variant jobs on a small bounded pool. New jobs are started right after their rows
+// commit; anything that did not fit in the pool queue, or was left over by a restart, is picked
+// up by the periodic poll. The database row is the source of truth, the in-memory queue is only a buffer.
+@Component
+public class PhotoVariantWorker {
+
+    private static final Logger log = LoggerFactory.getLogger(PhotoVariantWorker.class);
+
+    private final PhotoVariantService photoVariantService;
+    private final ObservationRegistry observationRegistry;
+
+    @Value("${photo.variants.threads:2}")
+    private int threads;
+
+    @Value("${photo.variants.queue-capacity:16}")
+    private int queueCapacity;
+
+    private ThreadPoolExecutor pool;
+    // Jobs submitted after a commit run in the trace of the request that created them
+    private ExecutorService tracedPool;
+
+    public PhotoVariantWorker(PhotoVariantService photoVariantService, ObservationRegistry observationRegistry) {
+        this.photoVariantService = photoVariantService;
+        this.observationRegistry = observationRegistry;
+    }
+
+    @PostConstruct
+    void start() {
+        AtomicInteger counter = new AtomicInteger();
+        pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            r -> {
+                Thread t = new Thread(r, "photo-variants-" + counter.incrementAndGet());
+                t.setDaemon(true);
+                // Decoding is CPU heavy; keep request threads ahead of it
+                t.setPriority(Thread.NORM_PRIORITY - 1);
+                return t;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+        tracedPool = WorkerTracing.propagating(pool);
+    }
+
+    @PreDestroy
+    void stop() {
+        pool.shutdownNow();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRequested(PhotoVariantsRequestedEvent event) {
+        event.getJobIds().forEach(this::submit);
+    }
+
+    @Scheduled(initialDelayString = "${photo.variants.poll-initial-delay:15000}",
+               fixedDelayString = "${photo.variants.poll-interval:30000}")
+    public void poll() {
+        int capacity = pool.getQueue().remainingCapacity();
+        if (capacity == 0) {
+            return;
+        }
+        List<Long> ids = photoVariantService.findPendingJobIds(capacity);
+        ids.forEach(this::submit);
+    }
+
+    private void submit(Long jobId) {
+        try {
+            tracedPool.execute(() -> WorkerTracing.observe(observationRegistry, "photo-variants", () -> run(jobId)));
+        } catch (RejectedExecutionException e) {
+            // Pool is saturated; the job stays PENDING in the table and the next poll retries it
+            log.debug("Photo variant job {} deferred, worker queue full", jobId);
+        }
+    }
+
+    private void run(Long jobId) {
+        try {
+            if (photoVariantService.claim(jobId)) {
+                photoVariantService.process(jobId);
+            }
+        } catch (Exception e) {
+            log.error("Photo variant job {} crashed", jobId, e);
+        }
+    }
+}
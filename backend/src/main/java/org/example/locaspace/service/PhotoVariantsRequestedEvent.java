@@ -0,0 +1,14 @@
+package org.example.locaspace.service;
+
+import java.util.List;
+
+// Published when variant jobs are queued, so the worker can start them once the rows are committed
+public class PhotoVariantsRequestedEvent {
+    private final List<Long> jobIds;
+
+    public PhotoVariantsRequestedEvent(List<Long> jobIds) {
+        this.jobIds = jobIds;
+    }
+
+    public List<Long> getJobIds() { return jobIds; }
+}
@@ -0,0 +1,95 @@
+package org.example.locaspace.service;
+
+import io.micrometer.observation.annotation.Observed;
+import org.example.locaspace.dto.avis.RatingHistogramResponse;
+import org.example.locaspace.model.LieuRatingStats;
+import org.example.locaspace.repository.AvisRepository;
+import org.example.locaspace.repository.LieuRatingStatsRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Per-lieu star histogram (lieu_rating_stats), moved incrementally by AvisService on each review
+// write. A lieu's counter row is created from its committed reviews, in a transaction of its own,
+// before its first review write: every review is then either in the seed or in an increment,
+// whatever the interleaving of concurrent writers. Reads of lieux without a row yet aggregate avis.
+@Service
+@Observed(name = "locaspace.service")
+public class RatingHistogramService {
+
+    private final LieuRatingStatsRepository statsRepository;
+    private final AvisRepository avisRepository;
+    private final TransactionTemplate seedTransaction;
+
+    public RatingHistogramService(LieuRatingStatsRepository statsRepository,
+                                  AvisRepository avisRepository,
+                                  PlatformTransactionManager transactionManager) {
+        this.statsRepository = statsRepository;
+        this.avisRepository = avisRepository;
+        this.seedTransaction = new TransactionTemplate(transactionManager);
+        this.seedTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // Must run before the review row is written
+    public void prepare(Long lieuId) {
+        if (statsRepository.existsById(lieuId)) {
+            return;
+        }
+        try {
+            seedTransaction.executeWithoutResult(status -> statsRepository.insertFromAvis(lieuId));
+        } catch (DataIntegrityViolationException e) {
+            // Seeded by a concurrent review write
+        }
+    }
+
+    // removedNote / addedNote: 1..5, or 0 for none
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void move(Long lieuId, int removedNote, int addedNote) {
+        if (removedNote != addedNote) {
+            statsRepository.move(lieuId, removedNote, addedNote);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public RatingHistogramResponse getHistogram(Long lieuId) {
+        long[] counts = statsRepository.findById(lieuId)
+            .map(LieuRatingStats::toCounts)
+            .orElseGet(() -> countFromAvis(lieuId));
+
+        Map<Integer, Long> buckets = new LinkedHashMap<>();
+        long total = 0;
+        long sum = 0;
+        for (int note = 1; note <= 5; note++) {
+            long count = counts[note - 1];
+            buckets.put(note, count);
+            total += count;
+            sum += count * note;
+        }
+        return RatingHistogramResponse.builder()
+            .lieuId(lieuId)
+            .counts(buckets)
+            .reviewCount(total)
+            .averageRating(total > 0 ? (double) sum / total : null)
+            .build();
+    }
+
+    private long[] countFromAvis(Long lieuId) {
+        long[] counts = new long[5];
+        List<Object[]> rows = avisRepository.countByNoteForLieu(lieuId);
+        for (Object[] row : rows) {
+            int note = ((Number) row[0]).intValue();
+            if (note >= 1 && note <= 5) {
+                counts[note - 1] = ((Number) row[1]).longValue();
+            }
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,17 @@
+package org.example.locaspace.service;
+
+import java.time.LocalDateTime;
+
+// Published when a hold or pending request gets a deadline, so the expiry scheduler can track it
+public class ReservationDeadlineEvent {
+    private final Long reservationId;
+    private final LocalDateTime expiresAt;
+
+    public ReservationDeadlineEvent(Long reservationId, LocalDateTime expiresAt) {
+        this.reservationId = reservationId;
+        this.expiresAt = expiresAt;
+    }
+
+    public Long getReservationId() { return reservationId; }
+    public LocalDateTime getExpiresAt() { return expiresAt; }
+}
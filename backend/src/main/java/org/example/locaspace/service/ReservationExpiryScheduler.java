@@ -0,0 +1,131 @@
+package org.example.locaspace.service;
+
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.example.locaspace.tracing.WorkerTracing;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+// Reclaims expired holds and auto-refuses unanswered requests.
+// New deadlines go into one DelayQueue drained by a single worker thread (no timer per hold);
+// a periodic sweep over the (statut, expires_at) index catches deadlines from before a restart
+// or dropped because the queue was full.
+@Component
+public class ReservationExpiryScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(ReservationExpiryScheduler.class);
+
+    private final ReservationService reservationService;
+    private final ObservationRegistry observationRegistry;
+    private final DelayQueue<PendingDeadline> queue = new DelayQueue<>();
+
+    @Value("${reservation.expiry-queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${reservation.expiry-sweep-batch-size:500}")
+    private int sweepBatchSize;
+
+    private Thread worker;
+
+    public ReservationExpiryScheduler(ReservationService reservationService, ObservationRegistry observationRegistry) {
+        this.reservationService = reservationService;
+        this.observationRegistry = observationRegistry;
+    }
+
+    @PostConstruct
+    void start() {
+        worker = new Thread(this::drainQueue, "reservation-expiry");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        worker.interrupt();
+    }
+
+    // Only track deadlines of committed reservations
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDeadline(ReservationDeadlineEvent event) {
+        if (queue.size() >= queueCapacity) {
+            // The sweep will pick it up
+            return;
+        }
+        queue.offer(new PendingDeadline(event.getReservationId(), event.getExpiresAt()));
+    }
+
+    @Scheduled(initialDelayString = "${reservation.expiry-sweep-initial-delay:10000}",
+               fixedDelayString = "${reservation.expiry-sweep-interval:60000}")
+    public void sweep() {
+        int expired = 0;
+        int expiredInBatch;
+        List<Long> ids;
+        do {
+            expiredInBatch = 0;
+            ids = reservationService.findExpiredReservationIds(sweepBatchSize);
+            for (Long id : ids) {
+                if (expire(id)) {
+                    expiredInBatch++;
+                }
+            }
+            expired += expiredInBatch;
+        } while (ids.size() == sweepBatchSize && expiredInBatch > 0);
+        if (expired > 0) {
+            log.info("Reservation expiry sweep reclaimed {} reservation(s)", expired);
+        }
+    }
+
+    private void drainQueue() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                PendingDeadline next = queue.take();
+                // Deadlines fire long after their request: each one is a trace of its own
+                WorkerTracing.observe(observationRegistry, "reservation-expiry", () -> expire(next.reservationId));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private boolean expire(Long reservationId) {
+        try {
+            return reservationService.expireReservation(reservationId);
+        } catch (Exception e) {
+            log.error("Failed to expire reservation {}: {}", reservationId, e.getMessage());
+            return false;
+        }
+    }
+
+    private static final class PendingDeadline implements Delayed {
+        private final Long reservationId;
+        private final long dueAtMillis;
+
+        PendingDeadline(Long reservationId, LocalDateTime expiresAt) {
+            this.reservationId = reservationId;
+            this.dueAtMillis = expiresAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(dueAtMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(dueAtMillis, ((PendingDeadline) other).dueAtMillis);
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package org.example.locaspace.service;
+import io.micrometer.observation.annotation.Observed;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import org.example.locaspace.metrics.BusinessMetrics;
 import org.example.locaspace.model.Lieu;
 import org.example.locaspace.model.Reservation;
 import org.example.locaspace.model.User;
@@ -9,31 +11,58 @@ import org.example.locaspace.model.enums.ReservationStatus;
 import org.example.locaspace.model.enums.Role;
 import org.example.locaspace.repository.ReservationRepository;
 import org.example.locaspace.repository.LieuRepository;
+import org.example.locaspace.exception.ConflictException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
 
 @Service
+@Observed(name = "locaspace.service")
 @Transactional
 public class ReservationService {
     
     private final ReservationRepository reservationRepository;
     private final LieuRepository lieuRepository;
     private final NotificationService notificationService;
+    private final OccupancyService occupancyService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BusinessMetrics businessMetrics;
     
     private static final Logger log = LoggerFactory.getLogger(ReservationService.class);
 
+    // Statuses whose deadline is enforced by the expiry scheduler
+    private static final EnumSet<ReservationStatus> EXPIRING_STATUSES =
+        EnumSet.of(ReservationStatus.OPTION, ReservationStatus.EN_ATTENTE);
+
+    @Value("${reservation.hold-ttl:15m}")
+    private Duration holdTtl;
+
+    @Value("${reservation.owner-response-sla:48h}")
+    private Duration ownerResponseSla;
+
     @Autowired
     public ReservationService(ReservationRepository reservationRepository, 
                               LieuRepository lieuRepository,
-                              NotificationService notificationService) {
+                              NotificationService notificationService,
+                              OccupancyService occupancyService,
+                              ApplicationEventPublisher eventPublisher,
+                              BusinessMetrics businessMetrics) {
         this.reservationRepository = reservationRepository;
         this.lieuRepository = lieuRepository;
         this.notificationService = notificationService;
+        this.occupancyService = occupancyService;
+        this.eventPublisher = eventPublisher;
+        this.businessMetrics = businessMetrics;
     }
     
     // Create new reservation
@@ -41,44 +70,18 @@ public class ReservationService {
         try {
             log.debug("ReservationService: Creating reservation for lieu ID: {}", reservation.getLieu().getId());
             
-            // Check if lieu exists and load it properly
-            Optional<Lieu> lieuOpt = lieuRepository.findById(reservation.getLieu().getId());
-            if (lieuOpt.isEmpty()) {
-                throw new IllegalArgumentException("Lieu not found");
-            }
-            Lieu lieu = lieuOpt.get();
-            reservation.setLieu(lieu);
-            
-            log.debug("ReservationService: Checking for conflicts...");
-            // Check for date conflicts
-            List<Reservation> conflicts = reservationRepository.findConflictingReservations(
-                lieu,
-                reservation.getDateDebut(),
-                reservation.getDateFin()
-            );
-            
-            if (!conflicts.isEmpty()) {
-                throw new IllegalStateException("Dates not available - conflicting reservation exists");
-            }
-            
-            // Validate dates
-            if (reservation.getDateDebut().isAfter(reservation.getDateFin()) ||
-                reservation.getDateDebut().isBefore(LocalDate.now())) {
-                throw new IllegalArgumentException("Invalid reservation dates");
-            }
+            Lieu lieu = prepareBooking(reservation);
             
             reservation.setStatut(ReservationStatus.EN_ATTENTE); // Default status
+            reservation.setExpiresAt(deadlineFrom(LocalDateTime.now(), ownerResponseSla));
             log.debug("ReservationService: Saving reservation...");
             Reservation saved = reservationRepository.save(reservation);
             log.debug("ReservationService: Reservation saved with ID: {}", saved.getId());
+            publishDeadline(saved);
+            businessMetrics.bookingCreated("request");
             
             // Notify Owner
-            notificationService.createNotification(
-                lieu.getOwner(),
-                "Nouvelle demande de réservation",
-                "Vous avez reçu une nouvelle demande pour " + lieu.getTitre(),
-                org.example.locaspace.model.Notification.NotificationType.RESERVATION_NEW
-            );
+            notifyOwnerOfRequest(lieu);
             
             // Force refresh to load all relationships
             reservationRepository.flush();
@@ -89,6 +92,101 @@ public class ReservationService {
         }
     }
     
+    // Place a short-lived hold (OPTION) on dates; the owner is only notified once the tenant confirms it
+    public Reservation placeHold(Reservation reservation) {
+        prepareBooking(reservation);
+        
+        reservation.setStatut(ReservationStatus.OPTION);
+        reservation.setExpiresAt(deadlineFrom(LocalDateTime.now(), holdTtl));
+        Reservation saved = reservationRepository.save(reservation);
+        publishDeadline(saved);
+        businessMetrics.bookingCreated("hold");
+        
+        reservationRepository.flush();
+        return reservationRepository.findByIdWithDetails(saved.getId()).orElse(saved);
+    }
+    
+    // Turn an active hold into a request for the owner, starting the owner response SLA
+    public Reservation confirmHold(Long id, User tenant) {
+        Reservation reservation = reservationRepository.findByIdWithDetails(id)
+            .orElseThrow(() -> new IllegalArgumentException("Reservation not found"));
+        
+        if (!reservation.getLocataire().getId().equals(tenant.getId())) {
+            throw new IllegalArgumentException("Reservation does not belong to this tenant");
+        }
+        if (reservation.getStatut() != ReservationStatus.OPTION) {
+            throw new IllegalArgumentException("Reservation is not a hold");
+        }
+        
+        LocalDateTime now = LocalDateTime.now();
+        if (isPastDeadline(reservation, now)) {
+            throw new IllegalStateException("Hold has expired");
+        }
+        
+        // Conditional in the database so a concurrent expiry wins over a late confirmation
+        int updated = reservationRepository.transitionIfLive(id, ReservationStatus.OPTION, ReservationStatus.EN_ATTENTE,
+            deadlineFrom(now, ownerResponseSla), now);
+        if (updated == 0) {
+            throw new IllegalStateException("Hold has expired");
+        }
+        Reservation saved = reservationRepository.findByIdWithDetails(id).orElseThrow();
+        publishDeadline(saved);
+        
+        notifyOwnerOfRequest(saved.getLieu());
+        return saved;
+    }
+    
+    // Ids of holds/requests whose deadline has passed, oldest first (indexed on statut, expires_at)
+    @Transactional(readOnly = true)
+    public List<Long> findExpiredReservationIds(int limit) {
+        return reservationRepository.findExpiredIds(EXPIRING_STATUSES, LocalDateTime.now(), PageRequest.of(0, limit));
+    }
+    
+    // Reclaim a hold (-> EXPIREE) or auto-refuse an unanswered request (-> REFUSEE) once its deadline has passed
+    public boolean expireReservation(Long id) {
+        Optional<Reservation> reservationOpt = reservationRepository.findByIdWithDetails(id);
+        if (reservationOpt.isEmpty()) {
+            return false;
+        }
+        Reservation reservation = reservationOpt.get();
+        ReservationStatus current = reservation.getStatut();
+        if (!EXPIRING_STATUSES.contains(current)) {
+            return false;
+        }
+        
+        ReservationStatus target = current == ReservationStatus.OPTION ? ReservationStatus.EXPIREE : ReservationStatus.REFUSEE;
+        int updated = reservationRepository.expireIfDue(id, current, target, LocalDateTime.now());
+        if (updated == 0) {
+            // Owner answered, tenant confirmed or deadline moved in the meantime
+            return false;
+        }
+        
+        String titre = reservation.getLieu().getTitre();
+        if (target == ReservationStatus.EXPIREE) {
+            notificationService.createNotification(
+                reservation.getLocataire(),
+                "Option expirée",
+                "Votre option sur " + titre + " a expiré et les dates ont été libérées.",
+                org.example.locaspace.model.Notification.NotificationType.RESERVATION_CANCELLED
+            );
+        } else {
+            notificationService.createNotification(
+                reservation.getLocataire(),
+                "Demande sans réponse",
+                "Le propriétaire n'a pas répondu à temps, votre demande pour " + titre + " a été refusée.",
+                org.example.locaspace.model.Notification.NotificationType.RESERVATION_CANCELLED
+            );
+            notificationService.createNotification(
+                reservation.getLieu().getOwner(),
+                "Demande expirée",
+                "La demande de réservation pour " + titre + " a été refusée automatiquement faute de réponse.",
+                org.example.locaspace.model.Notification.NotificationType.SYSTEM
+            );
+        }
+        log.debug("ReservationService: Reservation {} expired from {} to {}", id, current, target);
+        return true;
+    }
+    
     // Get reservation by ID
     public Optional<Reservation> getReservationById(Long id) {
         return reservationRepository.findById(id);
@@ -120,23 +218,30 @@ public class ReservationService {
             .map(reservation -> {
                 // Simplified server-side status update; validation can be expanded
                 ReservationStatus oldStatus = reservation.getStatut();
+                if (EXPIRING_STATUSES.contains(oldStatus) && isPastDeadline(reservation, LocalDateTime.now())) {
+                    throw new ConflictException("Reservation request has expired");
+                }
                 if (isValidStatusTransition(oldStatus, newStatus, true, false)) {
-                    reservation.setStatut(newStatus);
-                    Reservation saved = reservationRepository.save(reservation);
+                    // Conditional in the database: fails if the scheduler expired it (or someone else moved it) since the read
+                    int updated = reservationRepository.transitionIfLive(id, oldStatus, newStatus, null, LocalDateTime.now());
+                    if (updated == 0) {
+                        throw new ConflictException("Reservation status changed concurrently or request has expired");
+                    }
+                    Reservation saved = reservationRepository.findByIdWithDetails(id).orElseThrow();
                     
                     // Notify Tenant
                     String title = "Mise à jour de votre réservation";
-                    String message = "Votre réservation pour " + reservation.getLieu().getTitre() + " est maintenant : " + newStatus;
+                    String message = "Votre réservation pour " + saved.getLieu().getTitre() + " est maintenant : " + newStatus;
                     org.example.locaspace.model.Notification.NotificationType type = org.example.locaspace.model.Notification.NotificationType.SYSTEM;
                     
                     if (newStatus == ReservationStatus.CONFIRMEE) {
                         type = org.example.locaspace.model.Notification.NotificationType.RESERVATION_CONFIRMED;
-                        message = "Bonne nouvelle ! Votre réservation pour " + reservation.getLieu().getTitre() + " a été confirmée.";
+                        message = "Bonne nouvelle ! Votre réservation pour " + saved.getLieu().getTitre() + " a été confirmée.";
                     } else if (newStatus == ReservationStatus.REFUSEE) {
-                        message = "Malheureusement, votre demande pour " + reservation.getLieu().getTitre() + " a été refusée.";
+                        message = "Malheureusement, votre demande pour " + saved.getLieu().getTitre() + " a été refusée.";
                     }
                     
-                    notificationService.createNotification(reservation.getLocataire(), title, message, type);
+                    notificationService.createNotification(saved.getLocataire(), title, message, type);
                     
                     return saved;
                 } else {
@@ -190,48 +295,22 @@ public class ReservationService {
             .orElse(false);
     }
     
-    // Check availability for a lieu and date range
+    // Check availability for a lieu and date range (reservations and owner blocks)
     public boolean isAvailable(Long lieuId, LocalDate dateDebut, LocalDate dateFin) {
-        Optional<Lieu> lieuOpt = lieuRepository.findById(lieuId);
-        if (lieuOpt.isEmpty()) {
+        if (!lieuRepository.existsById(lieuId)) {
             return false;
         }
-        
-        List<Reservation> conflicts = reservationRepository.findConflictingReservations(
-            lieuOpt.get(), dateDebut, dateFin
-        );
-        
-        return conflicts.isEmpty();
+        return occupancyService.isFree(lieuId, dateDebut, dateFin);
     }
     
     // Get available dates for a lieu (next 90 days)
     public List<LocalDate> getAvailableDates(Long lieuId) {
-        Optional<Lieu> lieuOpt = lieuRepository.findById(lieuId);
-        if (lieuOpt.isEmpty()) {
+        if (!lieuRepository.existsById(lieuId)) {
             return List.of();
         }
         
         LocalDate today = LocalDate.now();
-        LocalDate endDate = today.plusDays(90);
-        
-        List<Reservation> reservations = reservationRepository.findByLieu(lieuOpt.get());
-        
-        List<LocalDate> availableDates = new java.util.ArrayList<>();
-        LocalDate current = today;
-        
-        while (!current.isAfter(endDate)) {
-            final LocalDate checkDate = current;
-            boolean isAvailable = reservations.stream()
-                .filter(r -> ReservationStatus.CONFIRMEE.equals(r.getStatut()) || ReservationStatus.EN_ATTENTE.equals(r.getStatut()))
-                .noneMatch(r -> !checkDate.isBefore(r.getDateDebut()) && !checkDate.isAfter(r.getDateFin()));
-            
-            if (isAvailable) {
-                availableDates.add(current);
-            }
-            current = current.plusDays(1);
-        }
-        
-        return availableDates;
+        return occupancyService.getFreeDays(lieuId, today, today.plusDays(90));
     }
     
     // Get reservation statistics
@@ -267,9 +346,65 @@ public class ReservationService {
         }
     }
     
+    private Lieu prepareBooking(Reservation reservation) {
+        // Check if lieu exists and load it properly
+        Optional<Lieu> lieuOpt = lieuRepository.findById(reservation.getLieu().getId());
+        if (lieuOpt.isEmpty()) {
+            throw new IllegalArgumentException("Lieu not found");
+        }
+        Lieu lieu = lieuOpt.get();
+        reservation.setLieu(lieu);
+        
+        log.debug("ReservationService: Checking for conflicts...");
+        // Check for date conflicts with active reservations and owner blocks
+        if (!occupancyService.isFree(lieu.getId(), reservation.getDateDebut(), reservation.getDateFin())) {
+            businessMetrics.bookingConflicted();
+            throw new IllegalStateException("Dates not available - conflicting reservation exists");
+        }
+        
+        // Validate dates
+        if (reservation.getDateDebut().isAfter(reservation.getDateFin()) ||
+            reservation.getDateDebut().isBefore(LocalDate.now())) {
+            throw new IllegalArgumentException("Invalid reservation dates");
+        }
+        return lieu;
+    }
+    
+    private void notifyOwnerOfRequest(Lieu lieu) {
+        notificationService.createNotification(
+            lieu.getOwner(),
+            "Nouvelle demande de réservation",
+            "Vous avez reçu une nouvelle demande pour " + lieu.getTitre(),
+            org.example.locaspace.model.Notification.NotificationType.RESERVATION_NEW
+        );
+    }
+    
+    private void publishDeadline(Reservation reservation) {
+        if (reservation.getExpiresAt() != null) {
+            eventPublisher.publishEvent(new ReservationDeadlineEvent(reservation.getId(), reservation.getExpiresAt()));
+        }
+    }
+    
+    // A zero or negative duration disables the deadline
+    private static LocalDateTime deadlineFrom(LocalDateTime now, Duration duration) {
+        if (duration == null || duration.isZero() || duration.isNegative()) {
+            return null;
+        }
+        return now.plus(duration);
+    }
+    
+    private static boolean isPastDeadline(Reservation reservation, LocalDateTime now) {
+        return reservation.getExpiresAt() != null && !reservation.getExpiresAt().isAfter(now);
+    }
+    
     // Validate status transitions
     private boolean isValidStatusTransition(ReservationStatus currentStatus, ReservationStatus newStatus, boolean isOwner, boolean isTenant) {
         switch (currentStatus) {
+            case OPTION:
+                if (isTenant) {
+                    return ReservationStatus.EN_ATTENTE.equals(newStatus) || ReservationStatus.ANNULEE.equals(newStatus);
+                }
+                break;
             case EN_ATTENTE:
                 if (isOwner) {
                     return ReservationStatus.CONFIRMEE.equals(newStatus) || ReservationStatus.REFUSEE.equals(newStatus);
@@ -289,6 +424,7 @@ public class ReservationService {
             case REFUSEE:
             case ANNULEE:
             case TERMINEE:
+            case EXPIREE:
                 return false; 
         }
         return false;
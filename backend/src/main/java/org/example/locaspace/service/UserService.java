@@ -1,5 +1,6 @@
 package org.example.locaspace.service;
 
+import io.micrometer.observation.annotation.Observed;
 import org.example.locaspace.exception.BadRequestException;
 import org.example.locaspace.exception.ResourceNotFoundException;
 import org.example.locaspace.model.User;
@@ -10,6 +11,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 @Service
+@Observed(name = "locaspace.service")
 public class UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
@@ -0,0 +1,182 @@
+package org.example.locaspace.storage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Local disk tier in front of a remote store. Entries are evicted least-recently-used once the
+// cache exceeds its size budget; concurrent misses for one key share a single download, and
+// misses are remembered briefly so probing for optional files (.webp, .br) does not hit the remote
+// on every request. Blobs are immutable, so cached copies never need revalidation.
+public class BlobReadCache {
+
+    private static final Logger log = LoggerFactory.getLogger(BlobReadCache.class);
+
+    public interface Loader {
+        // Writes the blob to target; returns false if the blob does not exist
+        boolean download(String key, Path target) throws IOException;
+    }
+
+    private final Path dir;
+    private final long maxBytes;
+    private final long missTtlMillis;
+    private final Loader loader;
+
+    // Access-ordered key -> size, guarded by "this"
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long totalBytes;
+    private final Map<String, CompletableFuture<Optional<Path>>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Long> misses = new ConcurrentHashMap<>();
+
+    public BlobReadCache(Path dir, long maxBytes, long missTtlMillis, Loader loader) throws IOException {
+        this.dir = dir.toAbsolutePath().normalize();
+        this.maxBytes = maxBytes;
+        this.missTtlMillis = missTtlMillis;
+        this.loader = loader;
+        Files.createDirectories(this.dir);
+        rebuildIndex();
+    }
+
+    public Optional<Path> get(String key) throws IOException {
+        Path path = pathOf(key);
+        synchronized (this) {
+            if (entries.get(key) != null && Files.isRegularFile(path)) {
+                return Optional.of(path);
+            }
+        }
+        Long missedAt = misses.get(key);
+        if (missedAt != null && System.currentTimeMillis() - missedAt < missTtlMillis) {
+            return Optional.empty();
+        }
+
+        CompletableFuture<Optional<Path>> mine = new CompletableFuture<>();
+        CompletableFuture<Optional<Path>> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof IOException ? (IOException) e.getCause() : new IOException(e.getCause());
+            }
+        }
+        try {
+            Optional<Path> result = load(key, path);
+            mine.complete(result);
+            return result;
+        } catch (IOException | RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key);
+        }
+    }
+
+    // Seeds the cache with a file that was just uploaded, so the first read is local
+    public void put(String key, Path source) throws IOException {
+        Path path = pathOf(key);
+        Files.createDirectories(path.getParent());
+        Path partial = path.resolveSibling("." + UUID.randomUUID() + ".part");
+        Files.copy(source, partial, StandardCopyOption.REPLACE_EXISTING);
+        Files.move(partial, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        misses.remove(key);
+        record(key, Files.size(path));
+    }
+
+    public void invalidate(String key) throws IOException {
+        synchronized (this) {
+            Long size = entries.remove(key);
+            if (size != null) {
+                totalBytes -= size;
+            }
+        }
+        Files.deleteIfExists(pathOf(key));
+    }
+
+    private Optional<Path> load(String key, Path path) throws IOException {
+        Files.createDirectories(path.getParent());
+        Path partial = path.resolveSibling("." + UUID.randomUUID() + ".part");
+        try {
+            if (!loader.download(key, partial)) {
+                misses.put(key, System.currentTimeMillis());
+                return Optional.empty();
+            }
+            Files.move(partial, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(partial);
+        }
+        misses.remove(key);
+        record(key, Files.size(path));
+        return Optional.of(path);
+    }
+
+    private void record(String key, long size) {
+        List<String> evicted = new ArrayList<>();
+        synchronized (this) {
+            Long previous = entries.put(key, size);
+            totalBytes += size - (previous != null ? previous : 0);
+            Iterator<Map.Entry<String, Long>> it = entries.entrySet().iterator();
+            while (totalBytes > maxBytes && it.hasNext()) {
+                Map.Entry<String, Long> eldest = it.next();
+                if (eldest.getKey().equals(key)) {
+                    continue;
+                }
+                totalBytes -= eldest.getValue();
+                evicted.add(eldest.getKey());
+                it.remove();
+            }
+        }
+        for (String victim : evicted) {
+            try {
+                Files.deleteIfExists(pathOf(victim));
+            } catch (IOException e) {
+                log.warn("Could not evict {} from the blob cache: {}", victim, e.getMessage());
+            }
+        }
+    }
+
+    // Entries from a previous run, oldest access (mtime) first
+    private void rebuildIndex() throws IOException {
+        List<Object[]> found = new ArrayList<>();
+        Files.walkFileTree(dir, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                if (file.getFileName().toString().startsWith(".")) {
+                    Files.deleteIfExists(file);
+                } else {
+                    String key = dir.relativize(file).toString().replace(java.io.File.separatorChar, '/');
+                    found.add(new Object[]{key, attrs.size(), attrs.lastModifiedTime().toMillis()});
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        found.sort((a, b) -> Long.compare((Long) a[2], (Long) b[2]));
+        for (Object[] entry : found) {
+            record((String) entry[0], (Long) entry[1]);
+        }
+        log.info("Blob read cache at {}: {} entries, {} bytes", dir, entries.size(), totalBytes);
+    }
+
+    private Path pathOf(String key) {
+        Path path = dir.resolve(key).normalize();
+        if (!path.startsWith(dir)) {
+            throw new IllegalArgumentException("Blob key escapes the cache: " + key);
+        }
+        return path;
+    }
+}
@@ -0,0 +1,72 @@
+package org.example.locaspace.storage;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+// Where photo bytes live. Keys are relative paths such as "sha256/ab/cd/<hash>.jpg", identical to
+// the part of the public URL after /uploads/. Selected with photo.storage.type (local | s3).
+public interface BlobStore {
+
+    // Stores the file under key. The store takes ownership of the file: it is moved or deleted.
+    void putFile(String key, Path file, String contentType) throws IOException;
+
+    boolean exists(String key) throws IOException;
+
+    // A readable local file with the blob's bytes (the blob itself, or a cached copy), if the blob exists
+    Optional<Path> localPath(String key) throws IOException;
+
+    void delete(String key) throws IOException;
+
+    // Marks the blob as recently used so the GC grace period applies to it again
+    default void touch(String key) throws IOException {
+    }
+
+    // Every blob under prefix, in no particular order. Blobs may be deleted while the listing runs.
+    void list(String prefix, Consumer<BlobInfo> consumer) throws IOException;
+
+    // Removes directories left empty under prefix; object stores have no directories
+    default void pruneEmptyDirectories(String prefix) throws IOException {
+    }
+
+    // URL a client can PUT the bytes to directly, bypassing the application; empty if unsupported
+    default Optional<PresignedUpload> presignUpload(String key, String contentType, String sha256Base64, Duration ttl) {
+        return Optional.empty();
+    }
+
+    class BlobInfo {
+        private final String key;
+        private final long size;
+        private final Instant lastModified;
+
+        public BlobInfo(String key, long size, Instant lastModified) {
+            this.key = key;
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+
+        public String getKey() { return key; }
+        public long getSize() { return size; }
+        public Instant getLastModified() { return lastModified; }
+    }
+
+    class PresignedUpload {
+        private final String url;
+        private final Map<String, String> headers;
+        private final Instant expiresAt;
+
+        public PresignedUpload(String url, Map<String, String> headers, Instant expiresAt) {
+            this.url = url;
+            this.headers = headers;
+            this.expiresAt = expiresAt;
+        }
+
+        public String getUrl() { return url; }
+        public Map<String, String> getHeaders() { return headers; }
+        public Instant getExpiresAt() { return expiresAt; }
+    }
+}
@@ -0,0 +1,270 @@
+package org.example.locaspace.storage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.core.sync.ResponseTransformer;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.MetadataDirective;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+// S3-compatible object storage (AWS S3, MinIO, ...). Large files go up as multipart uploads with
+// parts sent in parallel, clients can be given presigned PUT URLs, and reads are served from a
+// local BlobReadCache so the photo servlet can keep using sendfile.
+public class S3BlobStore implements BlobStore, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(S3BlobStore.class);
+
+    // S3 rejects multipart parts smaller than 5 MiB (except the last one)
+    private static final long MIN_PART_SIZE = 5L * 1024 * 1024;
+
+    private final S3Client s3;
+    private final S3Presigner presigner;
+    private final String bucket;
+    private final long multipartThreshold;
+    private final long partSize;
+    private final ExecutorService partExecutor;
+    private final BlobReadCache cache;
+
+    public S3BlobStore(S3Client s3, S3Presigner presigner, String bucket, long multipartThreshold, long partSize,
+                       int uploadThreads, Path cacheDir, long cacheMaxBytes) throws IOException {
+        this.s3 = s3;
+        this.presigner = presigner;
+        this.bucket = bucket;
+        this.multipartThreshold = Math.max(multipartThreshold, MIN_PART_SIZE);
+        this.partSize = Math.max(partSize, MIN_PART_SIZE);
+        this.cache = new BlobReadCache(cacheDir, cacheMaxBytes, 60_000, this::download);
+
+        AtomicInteger counter = new AtomicInteger();
+        // Parts of one multipart upload are sent concurrently; when the queue is full the
+        // uploading thread sends the part itself
+        this.partExecutor = new ThreadPoolExecutor(uploadThreads, uploadThreads, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(uploadThreads * 4),
+            r -> {
+                Thread t = new Thread(r, "s3-part-" + counter.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            },
+            new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @Override
+    public void close() {
+        partExecutor.shutdown();
+    }
+
+    @Override
+    public void putFile(String key, Path file, String contentType) throws IOException {
+        try {
+            long size = Files.size(file);
+            if (size >= multipartThreshold) {
+                multipartUpload(key, file, size, contentType);
+            } else {
+                s3.putObject(PutObjectRequest.builder()
+                        .bucket(bucket)
+                        .key(key)
+                        .contentType(contentType)
+                        .contentLength(size)
+                        .build(),
+                    RequestBody.fromFile(file));
+            }
+            // Seed the read tier: the uploader is usually the next one to look at the photo
+            cache.put(key, file);
+        } catch (SdkException e) {
+            throw new IOException("Upload of " + key + " failed: " + e.getMessage(), e);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private void multipartUpload(String key, Path file, long size, String contentType) throws IOException {
+        CreateMultipartUploadResponse created = s3.createMultipartUpload(b -> b.bucket(bucket).key(key).contentType(contentType));
+        String uploadId = created.uploadId();
+        try {
+            List<CompletableFuture<CompletedPart>> parts = new ArrayList<>();
+            int partNumber = 1;
+            for (long offset = 0; offset < size; offset += partSize, partNumber++) {
+                long length = Math.min(partSize, size - offset);
+                int number = partNumber;
+                long start = offset;
+                parts.add(CompletableFuture.supplyAsync(() -> {
+                    UploadPartResponse response = s3.uploadPart(b -> b.bucket(bucket).key(key).uploadId(uploadId)
+                            .partNumber(number).contentLength(length),
+                        RequestBody.fromContentProvider(() -> openSlice(file, start, length), length, contentType));
+                    return CompletedPart.builder().partNumber(number).eTag(response.eTag()).build();
+                }, partExecutor));
+            }
+            List<CompletedPart> completed = new ArrayList<>(parts.size());
+            for (CompletableFuture<CompletedPart> part : parts) {
+                completed.add(part.join());
+            }
+            s3.completeMultipartUpload(b -> b.bucket(bucket).key(key).uploadId(uploadId)
+                .multipartUpload(CompletedMultipartUpload.builder().parts(completed).build()));
+            log.debug("Uploaded {} in {} parts", key, completed.size());
+        } catch (CompletionException | SdkException e) {
+            try {
+                s3.abortMultipartUpload(b -> b.bucket(bucket).key(key).uploadId(uploadId));
+            } catch (SdkException abortFailure) {
+                log.warn("Could not abort multipart upload {} for {}: {}", uploadId, key, abortFailure.getMessage());
+            }
+            Throwable cause = e instanceof CompletionException ? e.getCause() : e;
+            throw new IOException("Multipart upload of " + key + " failed: " + cause.getMessage(), cause);
+        }
+    }
+
+    // A fresh stream over [start, start + length) of the file; called again by the SDK on retries
+    private static InputStream openSlice(Path file, long start, long length) {
+        try {
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.READ).position(start);
+            return new FilterInputStream(Channels.newInputStream(channel)) {
+                private long remaining = length;
+
+                @Override
+                public int read() throws IOException {
+                    if (remaining <= 0) {
+                        return -1;
+                    }
+                    int b = super.read();
+                    if (b >= 0) {
+                        remaining--;
+                    }
+                    return b;
+                }
+
+                @Override
+                public int read(byte[] buffer, int off, int len) throws IOException {
+                    if (remaining <= 0) {
+                        return -1;
+                    }
+                    int n = super.read(buffer, off, (int) Math.min(len, remaining));
+                    if (n > 0) {
+                        remaining -= n;
+                    }
+                    return n;
+                }
+            };
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public boolean exists(String key) throws IOException {
+        try {
+            s3.headObject(b -> b.bucket(bucket).key(key));
+            return true;
+        } catch (NoSuchKeyException e) {
+            return false;
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) {
+                return false;
+            }
+            throw new IOException("HEAD " + key + " failed: " + e.getMessage(), e);
+        }
+    }
+
+    // S3 has no mtime to touch: copying the object onto itself resets LastModified server-side
+    @Override
+    public void touch(String key) throws IOException {
+        try {
+            HeadObjectResponse head = s3.headObject(b -> b.bucket(bucket).key(key));
+            s3.copyObject(b -> b.sourceBucket(bucket).sourceKey(key)
+                .destinationBucket(bucket).destinationKey(key)
+                .metadataDirective(MetadataDirective.REPLACE)
+                .contentType(head.contentType())
+                .metadata(head.metadata()));
+        } catch (SdkException e) {
+            throw new IOException("Touching " + key + " failed: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Optional<Path> localPath(String key) throws IOException {
+        return cache.get(key);
+    }
+
+    private boolean download(String key, Path target) throws IOException {
+        try {
+            s3.getObject(b -> b.bucket(bucket).key(key), ResponseTransformer.toFile(target));
+            return true;
+        } catch (NoSuchKeyException e) {
+            return false;
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) {
+                return false;
+            }
+            throw new IOException("GET " + key + " failed: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        try {
+            s3.deleteObject(b -> b.bucket(bucket).key(key));
+        } catch (SdkException e) {
+            throw new IOException("DELETE " + key + " failed: " + e.getMessage(), e);
+        }
+        cache.invalidate(key);
+    }
+
+    @Override
+    public void list(String prefix, Consumer<BlobInfo> consumer) throws IOException {
+        try {
+            s3.listObjectsV2Paginator(ListObjectsV2Request.builder().bucket(bucket).prefix(prefix).build())
+                .contents()
+                .forEach(o -> consumer.accept(new BlobInfo(o.key(), o.size(), o.lastModified())));
+        } catch (SdkException e) {
+            throw new IOException("Listing " + prefix + " failed: " + e.getMessage(), e);
+        }
+    }
+
+    // The checksum header is part of the signature, so S3 rejects bytes that do not match the hash
+    @Override
+    public Optional<PresignedUpload> presignUpload(String key, String contentType, String sha256Base64, Duration ttl) {
+        PresignedPutObjectRequest presigned = presigner.presignPutObject(p -> p
+            .signatureDuration(ttl)
+            .putObjectRequest(b -> b.bucket(bucket).key(key).contentType(contentType).checksumSHA256(sha256Base64)));
+        Map<String, String> headers = new HashMap<>();
+        presigned.signedHeaders().forEach((name, values) -> {
+            if (!name.equalsIgnoreCase("host")) {
+                headers.put(name, String.join(",", values));
+            }
+        });
+        return Optional.of(new PresignedUpload(presigned.url().toString(), headers, presigned.expiration()));
+    }
+}
@@ -0,0 +1,73 @@
+package org.example.locaspace.tracing;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.example.locaspace.metrics.QueryCounter;
+
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+// One locaspace.jdbc.query observation (a span, plus a timer per statement kind) per executed
+// statement. The statement is recorded as its shape, literals replaced by '?', so no user data
+// ends up in the traces. Statements outside any observation (startup DDL, seeding) are not
+// traced: they would each open a trace of their own.
+public class QueryObservationListener implements QueryExecutionListener {
+
+    private static final String OBSERVATION = QueryObservationListener.class.getName();
+    private static final int MAX_STATEMENT_LENGTH = 2000;
+
+    // Resolved on first use: the DataSource is proxied before the registry exists
+    private final Supplier<ObservationRegistry> registry;
+
+    public QueryObservationListener(Supplier<ObservationRegistry> registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        ObservationRegistry observationRegistry = registry.get();
+        if (observationRegistry.getCurrentObservation() == null) {
+            return;
+        }
+        String statement = queryInfoList.stream()
+            .map(query -> QueryCounter.shapeOf(query.getQuery()))
+            .collect(Collectors.joining("; "));
+        if (statement.length() > MAX_STATEMENT_LENGTH) {
+            statement = statement.substring(0, MAX_STATEMENT_LENGTH) + "...";
+        }
+        Observation observation = Observation.createNotStarted("locaspace.jdbc.query", observationRegistry)
+            .contextualName("jdbc " + kindOf(statement))
+            .lowCardinalityKeyValue("statement", kindOf(statement))
+            .highCardinalityKeyValue("db.statement", statement)
+            .start();
+        execInfo.addCustomValue(OBSERVATION, observation);
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Observation observation = execInfo.getCustomValue(OBSERVATION, Observation.class);
+        if (observation == null) {
+            return;
+        }
+        if (execInfo.isBatch()) {
+            observation.highCardinalityKeyValue("db.batch.size", String.valueOf(execInfo.getBatchSize()));
+        }
+        if (!execInfo.isSuccess() && execInfo.getThrowable() != null) {
+            observation.error(execInfo.getThrowable());
+        }
+        observation.stop();
+    }
+
+    // select, insert, update, delete, ... from the first keyword
+    static String kindOf(String statement) {
+        int end = 0;
+        while (end < statement.length() && Character.isLetter(statement.charAt(end))) {
+            end++;
+        }
+        return end == 0 ? "other" : statement.substring(0, end).toLowerCase();
+    }
+}
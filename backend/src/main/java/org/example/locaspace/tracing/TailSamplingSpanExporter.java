@@ -0,0 +1,146 @@
+package org.example.locaspace.tracing;
+
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Tail-based sampling in front of the real exporters. Every span is recorded (sampling
+// probability 1.0) and buffered per trace until the local root span (the HTTP request, the
+// scheduled task, the worker job) ends; only then is the trace kept or dropped as a whole:
+// kept when the root took at least slow-threshold or any span failed, otherwise kept for a
+// ratio of the traces, chosen from the trace id so every instance agrees.
+// Spans ending after the decision (async work outliving the request) follow it. Traces whose
+// root never shows up within decision-wait, or pushed out when more than max-buffered-spans
+// are held, are kept only if one of their spans is slow or failed.
+public class TailSamplingSpanExporter implements SpanExporter {
+
+    private static final int REMEMBERED_DECISIONS = 10_000;
+
+    private final SpanExporter delegate;
+    private final long slowThresholdNanos;
+    private final long ratioBound;
+    private final int maxBufferedSpans;
+    private final long decisionWaitNanos;
+
+    private final Map<String, PendingTrace> pending = new LinkedHashMap<>();
+    private final Map<String, Boolean> decided = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            return size() > REMEMBERED_DECISIONS;
+        }
+    };
+    private int buffered;
+
+    public TailSamplingSpanExporter(SpanExporter delegate, Duration slowThreshold, double ratio,
+                                    int maxBufferedSpans, Duration decisionWait) {
+        this.delegate = delegate;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.ratioBound = (long) (Math.min(Math.max(ratio, 0), 1) * Long.MAX_VALUE);
+        this.maxBufferedSpans = maxBufferedSpans;
+        this.decisionWaitNanos = decisionWait.toNanos();
+    }
+
+    @Override
+    public CompletableResultCode export(Collection<SpanData> spans) {
+        List<SpanData> kept = new ArrayList<>();
+        synchronized (this) {
+            long now = System.nanoTime();
+            for (SpanData span : spans) {
+                String traceId = span.getTraceId();
+                Boolean decision = decided.get(traceId);
+                if (decision != null) {
+                    if (decision) {
+                        kept.add(span);
+                    }
+                    continue;
+                }
+                PendingTrace trace = pending.computeIfAbsent(traceId, id -> new PendingTrace(now));
+                trace.spans.add(span);
+                buffered++;
+                if (isLocalRoot(span)) {
+                    decide(traceId, trace, span.getEndEpochNanos() - span.getStartEpochNanos() >= slowThresholdNanos
+                        || sampled(traceId), kept);
+                }
+            }
+            evict(now, kept);
+        }
+        return kept.isEmpty() ? CompletableResultCode.ofSuccess() : delegate.export(kept);
+    }
+
+    private void decide(String traceId, PendingTrace trace, boolean keep, List<SpanData> kept) {
+        keep = keep || trace.spans.stream().anyMatch(TailSamplingSpanExporter::failed);
+        pending.remove(traceId);
+        buffered -= trace.spans.size();
+        decided.put(traceId, keep);
+        if (keep) {
+            kept.addAll(trace.spans);
+        }
+    }
+
+    // Oldest traces first: out of time, or out of room
+    private void evict(long now, List<SpanData> kept) {
+        Iterator<Map.Entry<String, PendingTrace>> it = pending.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, PendingTrace> eldest = it.next();
+            PendingTrace trace = eldest.getValue();
+            if (now - trace.firstSeenNanos < decisionWaitNanos && buffered <= maxBufferedSpans) {
+                break;
+            }
+            it.remove();
+            buffered -= trace.spans.size();
+            boolean keep = trace.spans.stream().anyMatch(span -> failed(span)
+                || span.getEndEpochNanos() - span.getStartEpochNanos() >= slowThresholdNanos);
+            decided.put(eldest.getKey(), keep);
+            if (keep) {
+                kept.addAll(trace.spans);
+            }
+        }
+    }
+
+    private boolean sampled(String traceId) {
+        // Low 63 bits of the trace id, as the OpenTelemetry ratio sampler does
+        return (Long.parseUnsignedLong(traceId.substring(16), 16) >>> 1) < ratioBound;
+    }
+
+    private static boolean isLocalRoot(SpanData span) {
+        SpanContext parent = span.getParentSpanContext();
+        return !parent.isValid() || parent.isRemote();
+    }
+
+    private static boolean failed(SpanData span) {
+        return span.getStatus().getStatusCode() == StatusCode.ERROR;
+    }
+
+    synchronized int getBufferedSpans() {
+        return buffered;
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return delegate.flush();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        return delegate.shutdown();
+    }
+
+    private static final class PendingTrace {
+        private final long firstSeenNanos;
+        private final List<SpanData> spans = new ArrayList<>();
+
+        PendingTrace(long firstSeenNanos) {
+            this.firstSeenNanos = firstSeenNanos;
+        }
+    }
+}
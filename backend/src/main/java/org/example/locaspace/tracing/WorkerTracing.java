@@ -0,0 +1,30 @@
+package org.example.locaspace.tracing;
+
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+
+import java.util.concurrent.ExecutorService;
+
+// Tracing for the in-house thread pools and worker threads
+public final class WorkerTracing {
+
+    private static final ContextSnapshotFactory SNAPSHOTS = ContextSnapshotFactory.builder().build();
+
+    private WorkerTracing() {
+    }
+
+    // Tasks run inside the observation (span) that was current when they were submitted
+    public static ExecutorService propagating(ExecutorService executor) {
+        return ContextExecutorService.wrap(executor, SNAPSHOTS);
+    }
+
+    // One locaspace.worker.task span per unit of background work, e.g. a photo variant job
+    public static void observe(ObservationRegistry registry, String worker, Runnable task) {
+        Observation.createNotStarted("locaspace.worker.task", registry)
+            .contextualName(worker)
+            .lowCardinalityKeyValue("worker", worker)
+            .observe(task);
+    }
+}
@@ -30,5 +30,5 @@ INSERT INTO reservations (date_debut, date_fin, statut, user_id, lieu_id) VALUES
 -- Insert sample reviews
 INSERT INTO avis (note, commentaire, user_id, lieu_id) VALUES 
 (5, 'Absolument parfait ! La vue est encore plus belle en vrai.', 3, 1),
-(4, 'Super séjour, la villa est très confortable. Un petit bémol pour le wifi un peu lent.', 3, 1),
+(4, 'Super séjour, la villa est très confortable. Un petit bémol pour le wifi un peu lent.', 4, 1),
 (5, 'Emplacement idéal, appartement très propre et bien équipé. Je recommande !', 3, 2);
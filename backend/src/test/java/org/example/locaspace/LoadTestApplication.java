@@ -0,0 +1,14 @@
+package org.example.locaspace;
+
+import org.springframework.boot.SpringApplication;
+
+// The application on the embedded, seeded loadtest profile. H2 and LoadTestSeeder are on the test
+// classpath only, so this is started with ./mvnw spring-boot:test-run rather than spring-boot:run.
+public class LoadTestApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.from(LocaSpaceApplication::main)
+            .withAdditionalProfiles("loadtest")
+            .run(args);
+    }
+}
@@ -0,0 +1,67 @@
+package org.example.locaspace.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.locaspace.dto.lieu.LieuResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.lang.management.ManagementFactory;
+
+import static org.example.locaspace.support.ResponseFixtures.lieuPage;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+// Coarse allocation ceiling for serializing a page of listings with the Blackbird mapper. The
+// ceiling is several times what a warmed-up run allocates, so it only trips on a real regression
+// (e.g. a DTO falling back to reflection or buffering its output twice), and the best of a few
+// rounds is kept so one collection or TLAB refill does not count. Only runs with
+// mvn test -Pallocation-guards; SerializationBenchmark with -prof gc gives the exact figures.
+@Tag("allocation")
+@DisplayName("Hot DTO allocation ceiling")
+class HotDtoAllocationTest {
+
+    private static final int WARMUP = 2_000;
+    private static final int ROUNDS = 5;
+    private static final int PAGES_PER_ROUND = 200;
+    // Output buffer segments plus the final copy come to roughly twice the page size
+    private static final int CEILING_PER_OUTPUT_BYTE = 6;
+
+    private final ObjectMapper blackbird = Jackson2ObjectMapperBuilder.json()
+        .modulesToInstall(new JacksonConfig().blackbirdModule())
+        .build();
+
+    @ParameterizedTest
+    @ValueSource(ints = {12, 50, 100})
+    void serializingAPageShouldStayUnderTheAllocationCeiling(int size) throws Exception {
+        com.sun.management.ThreadMXBean threads = allocationCounter();
+        PageImpl<LieuResponse> page = lieuPage(size);
+        int outputBytes = blackbird.writeValueAsBytes(page).length;
+        for (int i = 0; i < WARMUP; i++) {
+            blackbird.writeValueAsBytes(page);
+        }
+
+        long threadId = Thread.currentThread().getId();
+        long perPage = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long before = threads.getThreadAllocatedBytes(threadId);
+            for (int i = 0; i < PAGES_PER_ROUND; i++) {
+                blackbird.writeValueAsBytes(page);
+            }
+            perPage = Math.min(perPage, (threads.getThreadAllocatedBytes(threadId) - before) / PAGES_PER_ROUND);
+        }
+
+        assertTrue(perPage < (long) CEILING_PER_OUTPUT_BYTE * outputBytes,
+            "Serializing a page of " + size + " allocated " + perPage + " bytes for " + outputBytes + " bytes of output");
+    }
+
+    private static com.sun.management.ThreadMXBean allocationCounter() {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+        return threads;
+    }
+}
@@ -0,0 +1,79 @@
+package org.example.locaspace.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.locaspace.dto.lieu.LieuResponse;
+import org.example.locaspace.dto.notification.NotificationResponse;
+import org.example.locaspace.dto.reservation.ReservationResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.example.locaspace.support.ResponseFixtures.lieuPage;
+import static org.junit.jupiter.api.Assertions.*;
+
+// Guards for the record DTOs and the Blackbird accessors: the JSON contract must not change
+// (allocation per page is capped by HotDtoAllocationTest under -Pallocation-guards, and measured
+// with throughput by SerializationBenchmark with -prof gc)
+@DisplayName("Hot DTO serialization")
+class HotDtoSerializationTest {
+
+    private final ObjectMapper reflection = Jackson2ObjectMapperBuilder.json().build();
+    private final ObjectMapper blackbird = Jackson2ObjectMapperBuilder.json()
+        .modulesToInstall(new JacksonConfig().blackbirdModule())
+        .build();
+
+    @Test
+    void recordsShouldKeepTheJsonPropertyNames() throws Exception {
+        JsonNode lieu = blackbird.valueToTree(lieuPage(1).getContent().get(0));
+        assertEquals(List.of("id", "titre", "description", "type", "prix", "adresse", "valide", "photos",
+            "photoCount", "owner", "averageRating", "reviewCount", "photoVariants"), fieldNames(lieu));
+        assertTrue(lieu.path("valide").isBoolean());
+
+        ReservationResponse reservation = new ReservationResponse(1L, LocalDate.of(2025, 7, 1), LocalDate.of(2025, 7, 4),
+            "CONFIRMEE", null, null, 3L, 255.0, null);
+        assertEquals(List.of("id", "dateDebut", "dateFin", "statut", "locataire", "lieu", "totalNights", "totalPrice", "expiresAt"),
+            fieldNames(blackbird.valueToTree(reservation)));
+
+        NotificationResponse notification = NotificationResponse.builder()
+            .id(1L).title("t").message("m").type("RESERVATION").lu(true).createdAt(LocalDateTime.of(2025, 6, 1, 12, 0))
+            .build();
+        JsonNode json = blackbird.valueToTree(notification);
+        assertEquals(List.of("id", "title", "message", "type", "lu", "createdAt"), fieldNames(json));
+        assertTrue(json.path("lu").asBoolean());
+    }
+
+    @Test
+    void recordsShouldRoundTrip() throws Exception {
+        LieuResponse lieu = lieuPage(1).getContent().get(0);
+
+        LieuResponse read = blackbird.readValue(blackbird.writeValueAsBytes(lieu), LieuResponse.class);
+
+        assertEquals(lieu.titre(), read.titre());
+        assertEquals(0, lieu.prix().compareTo(read.prix()));
+        assertEquals(lieu.photoCount(), read.photoCount());
+        assertEquals(lieu.photoVariants().get(0).getVariants().get(640), read.photoVariants().get(0).getVariants().get(640));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {12, 50, 100})
+    void blackbirdShouldProduceTheSameBytesAsReflection(int size) throws Exception {
+        PageImpl<LieuResponse> page = lieuPage(size);
+
+        assertArrayEquals(reflection.writeValueAsBytes(page), blackbird.writeValueAsBytes(page));
+    }
+
+    private static List<String> fieldNames(JsonNode node) {
+        List<String> names = new ArrayList<>();
+        node.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+}
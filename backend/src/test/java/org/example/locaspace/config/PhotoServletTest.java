@@ -0,0 +1,96 @@
+package org.example.locaspace.config;
+
+import jakarta.servlet.ServletException;
+import org.example.locaspace.service.PhotoStorageService;
+import org.example.locaspace.storage.LocalBlobStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletConfig;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PhotoServlet Unit Tests")
+class PhotoServletTest {
+
+    private static final String BLOB = "/sha256/ab/cd/abcdef.jpg";
+
+    @TempDir
+    Path uploadDir;
+
+    private PhotoServlet servlet;
+
+    @BeforeEach
+    void setUp() throws IOException, ServletException {
+        PhotoStorageService photoStorageService = new PhotoStorageService();
+        ReflectionTestUtils.setField(photoStorageService, "uploadDir", uploadDir.toString());
+        ReflectionTestUtils.setField(photoStorageService, "blobStore", new LocalBlobStore(uploadDir));
+        Path blob = uploadDir.resolve("sha256/ab/cd/abcdef.jpg");
+        Files.createDirectories(blob.getParent());
+        Files.write(blob, "0123456789".getBytes());
+        servlet = new PhotoServlet(photoStorageService);
+        servlet.init(new MockServletConfig());
+    }
+
+    @Test
+    void get_shouldServeImmutableContentWithStrongEtagAndRanges() throws Exception {
+        MockHttpServletResponse full = get(new MockHttpServletRequest("GET", "/uploads" + BLOB));
+        assertEquals(200, full.getStatus());
+        assertEquals("0123456789", full.getContentAsString());
+        assertEquals("public, max-age=31536000, immutable", full.getHeader("Cache-Control"));
+        String etag = full.getHeader("ETag");
+        assertTrue(etag.startsWith("\"") && etag.endsWith("\""));
+
+        MockHttpServletRequest conditional = new MockHttpServletRequest("GET", "/uploads" + BLOB);
+        conditional.addHeader("If-None-Match", etag);
+        assertEquals(304, get(conditional).getStatus());
+
+        MockHttpServletRequest ranged = new MockHttpServletRequest("GET", "/uploads" + BLOB);
+        ranged.addHeader("Range", "bytes=2-4");
+        MockHttpServletResponse partial = get(ranged);
+        assertEquals(206, partial.getStatus());
+        assertEquals("234", partial.getContentAsString());
+        assertEquals("bytes 2-4/10", partial.getHeader("Content-Range"));
+
+        MockHttpServletRequest unsatisfiable = new MockHttpServletRequest("GET", "/uploads" + BLOB);
+        unsatisfiable.addHeader("Range", "bytes=20-");
+        assertEquals(416, get(unsatisfiable).getStatus());
+    }
+
+    @Test
+    void get_shouldPreferWebpSiblingWhenAccepted() throws Exception {
+        Files.write(uploadDir.resolve("sha256/ab/cd/abcdef.webp"), "webp".getBytes());
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/uploads" + BLOB);
+        request.addHeader("Accept", "image/avif,image/webp,*/*;q=0.8");
+        MockHttpServletResponse response = get(request);
+        assertEquals("image/webp", response.getContentType());
+        assertEquals("webp", response.getContentAsString());
+        assertEquals("Accept", response.getHeader("Vary"));
+
+        MockHttpServletResponse plain = get(new MockHttpServletRequest("GET", "/uploads" + BLOB));
+        assertEquals("image/jpeg", plain.getContentType());
+    }
+
+    @Test
+    void get_shouldNotServeHiddenOrEscapingPaths() throws Exception {
+        assertEquals(404, get(new MockHttpServletRequest("GET", "/uploads/sha256/.staging/x.part")).getStatus());
+        assertEquals(404, get(new MockHttpServletRequest("GET", "/uploads/../secret")).getStatus());
+    }
+
+    private MockHttpServletResponse get(MockHttpServletRequest request) throws Exception {
+        request.setServletPath("/uploads");
+        request.setPathInfo(request.getRequestURI().substring("/uploads".length()));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        servlet.service(request, response);
+        return response;
+    }
+}
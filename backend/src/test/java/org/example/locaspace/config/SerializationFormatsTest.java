@@ -0,0 +1,73 @@
+package org.example.locaspace.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.example.locaspace.dto.lieu.LieuResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.example.locaspace.support.ResponseFixtures.lieuPage;
+import static org.junit.jupiter.api.Assertions.*;
+
+// Bytes on the wire for a typical page of listings in each negotiable encoding (encoding cost is
+// measured by WireFormatBenchmark in the benchmarks module)
+@DisplayName("Serialization formats comparison")
+class SerializationFormatsTest {
+
+    private final WebMvcConfig webMvcConfig = new WebMvcConfig();
+    private final ObjectMapper json = Jackson2ObjectMapperBuilder.json().build();
+    private final ObjectMapper cbor = webMvcConfig.cborHttpMessageConverter(new Jackson2ObjectMapperBuilder()).getObjectMapper();
+    private final ObjectMapper smile = webMvcConfig.smileHttpMessageConverter(new Jackson2ObjectMapperBuilder()).getObjectMapper();
+
+    @ParameterizedTest
+    @ValueSource(ints = {12, 50})
+    void binaryEncodingsShouldBeSmallerThanJsonAndRoundTrip(int size) throws IOException {
+        PageImpl<LieuResponse> page = lieuPage(size);
+
+        byte[] jsonBytes = json.writeValueAsBytes(page);
+        byte[] cborBytes = cbor.writeValueAsBytes(page);
+        byte[] smileBytes = smile.writeValueAsBytes(page);
+        byte[] gzipJson = gzip(jsonBytes);
+
+        assertTrue(cborBytes.length < jsonBytes.length);
+        assertTrue(smileBytes.length < jsonBytes.length);
+        // Compression dominates either binary encoding for repetitive pages
+        assertTrue(gzipJson.length < smileBytes.length);
+
+        for (JsonNode decoded : List.of(cbor.readTree(cborBytes), smile.readTree(smileBytes))) {
+            JsonNode content = decoded.path("content");
+            assertEquals(size, content.size());
+            assertEquals(page.getContent().get(size - 1).titre(), content.get(size - 1).path("titre").asText());
+            // Binary formats keep BigDecimal as a decimal instead of a JSON number
+            assertEquals(0, BigDecimal.valueOf(85).compareTo(content.get(0).path("prix").decimalValue()));
+            assertEquals(page.getContent().get(0).photoVariants().get(0).getVariants().get(640),
+                content.get(0).path("photoVariants").get(0).path("variants").path("640").asText());
+        }
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    @Test
+    void convertersShouldUseTheBinaryFactories() {
+        assertInstanceOf(CBORFactory.class, cbor.getFactory());
+        assertInstanceOf(SmileFactory.class, smile.getFactory());
+    }
+}
@@ -0,0 +1,22 @@
+package org.example.locaspace.controller;
+
+import org.example.locaspace.exception.BadRequestException;
+import org.example.locaspace.model.enums.LieuType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LieuController Unit Tests")
+class LieuControllerTest {
+
+    @Test
+    void parseLieuType_shouldAcceptFrenchAndEnglishSpellings() {
+        assertEquals(LieuType.APPARTEMENT, LieuController.parseLieuType(" apartment "));
+        assertEquals(LieuType.MAISON, LieuController.parseLieuType("House"));
+        assertEquals(LieuType.EVENT_SPACE, LieuController.parseLieuType("Salle Evenement"));
+        assertEquals(LieuType.EVENT_SPACE, LieuController.parseLieuType("event-space"));
+        assertThrows(BadRequestException.class, () -> LieuController.parseLieuType("castle"));
+        assertThrows(BadRequestException.class, () -> LieuController.parseLieuType(" "));
+    }
+}
@@ -0,0 +1,84 @@
+package org.example.locaspace.controller;
+
+import org.example.locaspace.mapper.EntityMapper;
+import org.example.locaspace.metrics.QueryCounter;
+import org.example.locaspace.model.User;
+import org.example.locaspace.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.example.locaspace.support.QueryCountAssertions.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Statement budgets of the read paths fixed for N+1, against the embedded loadtest database
+// seeded at a small scale (30 lieux, 3 photos and 15 reviews each). A regression into one
+// query per row shows up as a repeated statement shape.
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:querybudget;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+    "file.upload-dir=target/querybudget-uploads",
+    "loadtest.seed.users=60",
+    "loadtest.seed.lieux=30",
+    "loadtest.seed.reservations=60",
+    "loadtest.seed.reviews=450",
+    "loadtest.seed.notifications-per-user=1"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("loadtest")
+@DisplayName("Query budget Integration Tests")
+class QueryBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityMapper entityMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void toUserResponse_shouldLoadProfileTotalsInOneStatement() {
+        User user = userRepository.findById(2L).orElseThrow();
+
+        assertQueryCount(1, () -> entityMapper.toUserResponse(user));
+    }
+
+    // Page, count, then one batched lookup each for photos, ratings and cover variants
+    @ParameterizedTest
+    @ValueSource(strings = {"detail", "card"})
+    void lieuListPage_shouldBatchPhotosAndRatings(String view) {
+        QueryCounter.Scope scope = assertMaxQueryCount(5, () -> mockMvc.perform(get("/api/lieux")
+                .param("view", view)
+                .param("size", "12"))
+            .andExpect(status().isOk()));
+
+        assertEquals(1, scope.getMaxRepeat(), scope.describe(5, 200));
+    }
+
+    @Test
+    void avisFeed_shouldLoadAuthorsWithThePageAndServeTheFirstPageFromCache() {
+        Long lieuId = jdbcTemplate.queryForObject("SELECT MIN(lieu_id) FROM avis", Long.class);
+
+        // Second (last, partial) page: the rows only, the total is known without a count
+        assertQueryCount(1, () -> mockMvc.perform(get("/api/lieux/{id}/avis/feed", lieuId).param("page", "1"))
+            .andExpect(status().isOk()));
+        // Default first page: rows and count on a miss, nothing once cached
+        assertQueryCount(2, () -> mockMvc.perform(get("/api/lieux/{id}/avis/feed", lieuId))
+            .andExpect(status().isOk()));
+        assertQueryCount(0, () -> mockMvc.perform(get("/api/lieux/{id}/avis/feed", lieuId))
+            .andExpect(status().isOk()));
+    }
+}
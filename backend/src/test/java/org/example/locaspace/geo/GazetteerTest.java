@@ -0,0 +1,79 @@
+package org.example.locaspace.geo;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Gazetteer Unit Tests")
+class GazetteerTest {
+
+    private final Gazetteer gazetteer = new Gazetteer(new ClassPathResource("gazetteer/cities.csv"));
+
+    private String city(String adresse) {
+        return gazetteer.locate(adresse).map(Gazetteer.Place::getName).orElse(null);
+    }
+
+    @Test
+    void locate_shouldUseTheCityPartRatherThanTheStreetName() {
+        assertEquals("Lyon", city("12 rue de Paris, Lyon"));
+        assertEquals("Nice", city("Nice, France"));
+    }
+
+    @Test
+    void locate_shouldIgnorePostcodesArrondissementsAndCedex() {
+        assertEquals("Paris", city("75008 Paris"));
+        assertEquals("Lyon", city("Lyon 3e"));
+        assertEquals("Paris", city("Paris 8e arrondissement"));
+        assertEquals("Biarritz", city("rue du Port, 64200 Biarritz Cedex, France"));
+    }
+
+    @Test
+    void locate_shouldFoldAccentsCaseAndSaintAbbreviations() {
+        assertEquals("Saint-Étienne", city("13 quai de l'Isère, SAINT ETIENNE"));
+        assertEquals("Saint-Malo", city("St-Malo"));
+        assertEquals("Aix-en-Provence", city("Aix en Provence, 13100"));
+    }
+
+    @Test
+    void locate_shouldFindTheCityAtTheEndOfAnAddressWithoutCommas() {
+        assertEquals("Lyon", city("12 rue de la Gare Lyon"));
+    }
+
+    @Test
+    void locate_shouldReturnCoordinates() {
+        Optional<Gazetteer.Place> bordeaux = gazetteer.locate("Bordeaux, France");
+
+        assertTrue(bordeaux.isPresent());
+        assertEquals(44.8378, bordeaux.get().getLatitude(), 1e-9);
+        assertEquals(-0.5792, bordeaux.get().getLongitude(), 1e-9);
+    }
+
+    @Test
+    void locate_shouldReturnEmptyForUnknownPlaces() {
+        assertTrue(gazetteer.locate("Lieu-dit Les Granges").isEmpty());
+        assertTrue(gazetteer.locate("  ").isEmpty());
+        assertTrue(gazetteer.locate(null).isEmpty());
+    }
+
+    @Test
+    void city_shouldUseTheGazetteerSpelling() {
+        assertEquals(Optional.of("Saint-Étienne"), gazetteer.city("4 place Dorian, 42000 ST-ETIENNE"));
+    }
+
+    @Test
+    void city_shouldNameTownsMissingFromTheGazetteer() {
+        assertEquals(Optional.of("Villeneuve-lès-Maguelone"), gazetteer.city("3 chemin des Étangs, 34750 Villeneuve-lès-Maguelone, France"));
+        assertEquals(Optional.of("Petitbourg"), gazetteer.city("BP 12, 33000 Petitbourg Cedex 9"));
+        assertEquals(Optional.of("Gordes"), gazetteer.city("Gordes, France"));
+    }
+
+    @Test
+    void city_shouldNotMistakeAStreetForATown() {
+        assertTrue(gazetteer.city("Chemin des Vignes").isEmpty());
+        assertTrue(gazetteer.city("12 chemin des Vignes, France").isEmpty());
+    }
+}
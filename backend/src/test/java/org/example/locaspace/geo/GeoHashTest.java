@@ -0,0 +1,45 @@
+package org.example.locaspace.geo;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("GeoHash Unit Tests")
+class GeoHashTest {
+
+    @Test
+    void encode_shouldMatchReferenceHashes() {
+        assertEquals("u4pruydqqvj", GeoHash.encode(57.64911, 10.40744, 11));
+        assertEquals("ezs42", GeoHash.encode(42.6, -5.6, 5));
+    }
+
+    @Test
+    void cover_shouldIncludeTheCellOfEveryPointInTheArea() {
+        GeoArea paris = GeoArea.circle(48.8566, 2.3522, 10);
+        List<String> cells = GeoHash.cover(paris, 16);
+
+        assertFalse(cells.isEmpty());
+        assertTrue(cells.size() <= 16);
+        for (double[] point : new double[][]{{48.8566, 2.3522}, {48.80, 2.25}, {48.93, 2.45}}) {
+            String hash = GeoHash.encode(point[0], point[1], GeoHash.PRECISION);
+            assertTrue(cells.stream().anyMatch(hash::startsWith), hash);
+        }
+        String lyon = GeoHash.encode(45.7640, 4.8357, GeoHash.PRECISION);
+        assertTrue(cells.stream().noneMatch(lyon::startsWith));
+    }
+
+    @Test
+    void cover_shouldUseTheStoredPrecisionForAPoint() {
+        assertEquals(List.of(GeoHash.encode(48.85, 2.35, GeoHash.PRECISION)),
+            GeoHash.cover(GeoArea.box(48.85, 2.35, 48.85, 2.35), 16));
+    }
+
+    @Test
+    void cover_shouldGiveUpOnAreasLargerThanTheCellBudget() {
+        assertEquals(List.of(), GeoHash.cover(GeoArea.box(-90, -180, 90, 180), 16));
+        assertEquals(32, GeoHash.cover(GeoArea.box(-90, -180, 90, 180), 32).size());
+    }
+}
@@ -0,0 +1,224 @@
+package org.example.locaspace.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.locaspace.geo.CityNames;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.Resource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.LongFunction;
+
+// Fills the embedded loadtest database with synthetic users, lieux, photos, reservations, reviews
+// and notifications at the configured scale, with plain JDBC batches (the JPA path would need
+// minutes for a million rows). Values come from a fixed seed so every run replays the same data.
+// The account from loadtest.seed.account-file (test-register.json) is created first so the
+// load driver can log in with test-login.json; synthetic users share its password.
+@Component
+@Profile("loadtest")
+public class LoadTestSeeder implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestSeeder.class);
+
+    // Email pattern of the synthetic accounts, shared with the load driver
+    public static final String EMAIL_PATTERN = "user%d@loadtest.locaspace";
+
+    // Every OWNER_EVERY-th synthetic user is an owner, the others are tenants
+    static final int OWNER_EVERY = 10;
+
+    static final String[] CITIES = {
+        "Paris", "Lyon", "Marseille", "Toulouse", "Nice", "Nantes", "Bordeaux", "Lille", "Strasbourg", "Montpellier"
+    };
+
+    private static final String[] TYPES = {
+        "APPARTEMENT", "MAISON", "VILLA", "STUDIO", "LOFT", "CHAMBRE", "OFFICE", "EVENT_SPACE"
+    };
+
+    private static final String[] PAST_STATUSES = {"TERMINEE", "TERMINEE", "TERMINEE", "ANNULEE", "REFUSEE"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final ObjectMapper objectMapper;
+
+    @Value("${loadtest.seed.account-file:file:../test-register.json}")
+    private Resource accountFile;
+
+    @Value("${loadtest.seed.users:10000}")
+    private int users;
+
+    @Value("${loadtest.seed.lieux:2000}")
+    private int lieux;
+
+    @Value("${loadtest.seed.photos-per-lieu:3}")
+    private int photosPerLieu;
+
+    @Value("${loadtest.seed.reservations:20000}")
+    private int reservations;
+
+    @Value("${loadtest.seed.reviews:20000}")
+    private int reviews;
+
+    @Value("${loadtest.seed.notifications-per-user:3}")
+    private int notificationsPerUser;
+
+    @Value("${loadtest.seed.batch-size:1000}")
+    private int batchSize;
+
+    public LoadTestSeeder(JdbcTemplate jdbcTemplate, PasswordEncoder passwordEncoder, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        Integer existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Integer.class);
+        if (existing != null && existing > 0) {
+            log.info("Load-test database already has {} users, not seeding", existing);
+            return;
+        }
+        long started = System.currentTimeMillis();
+        Random random = new Random(42);
+        Account account = readAccount();
+        // One BCrypt hash for everyone: hashing a million passwords would dominate the seeding
+        String hash = passwordEncoder.encode(account.password);
+
+        // Ids are assigned here (1..n per table) so rows can reference each other without lookups
+        long totalUsers = users + 1L;
+        long owners = Math.max(1, users / OWNER_EVERY);
+        insert("INSERT INTO users (id, nom, email, mot_de_passe, role, deleted) VALUES (?, ?, ?, ?, ?, false)",
+            totalUsers, id -> id == 1
+                ? new Object[]{id, account.name, account.email, hash, account.role}
+                : new Object[]{id, "Utilisateur " + (id - 1), String.format(EMAIL_PATTERN, id - 1), hash,
+                    (id - 1) % OWNER_EVERY == 0 ? "PROPRIETAIRE" : "LOCATAIRE"});
+
+        // City filled in as LieuService does, so city searches hit idx_lieux_ville_key from the start
+        insert("INSERT INTO lieux (id, titre, description, type, prix, adresse, ville, ville_key, valide, deleted, owner_id) " +
+               "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, false, ?)", lieux, id -> {
+            String city = CITIES[(int) (id % CITIES.length)];
+            return new Object[]{id, "Logement " + id + " à " + city,
+                "Logement n°" + id + ", proche du centre de " + city + ". Cuisine équipée, wifi, linge fourni.",
+                TYPES[random.nextInt(TYPES.length)], BigDecimal.valueOf(30 + random.nextInt(470)),
+                (id * 7 % 200) + " rue de la Gare, " + city, city, CityNames.key(city),
+                random.nextInt(20) != 0, ownerId(id, owners)};
+        });
+
+        insert("INSERT INTO lieu_photos (lieu_id, photo_url) VALUES (?, ?)", (long) lieux * photosPerLieu, n -> {
+            long lieuId = 1 + (n - 1) / photosPerLieu;
+            return new Object[]{lieuId, "/uploads/loadtest/" + lieuId + "-" + (n - 1) % photosPerLieu + ".jpg"};
+        });
+
+        // Mostly finished stays over the past two years, a quarter confirmed in the coming months;
+        // the future stays of a lieu never overlap each other
+        LocalDate today = LocalDate.now();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        long lieuCount = Math.max(1, lieux);
+        insert("INSERT INTO reservations (id, date_debut, date_fin, statut, user_id, lieu_id, updated_at, deleted) " +
+               "VALUES (?, ?, ?, ?, ?, ?, ?, false)", reservations, id -> {
+            LocalDate start = id % 4 == 0
+                ? today.plusDays(7 + (id - 1) / lieuCount * 8)
+                : today.minusDays(10 + random.nextInt(720));
+            String status = id % 4 == 0 ? "CONFIRMEE" : PAST_STATUSES[random.nextInt(PAST_STATUSES.length)];
+            return new Object[]{id, Date.valueOf(start), Date.valueOf(start.plusDays(1 + random.nextInt(6))), status,
+                tenantId(random, totalUsers), 1 + (id - 1) % lieuCount, now};
+        });
+
+        // At most one review per (author, lieu) pair
+        insert("INSERT INTO avis (id, note, commentaire, user_id, lieu_id) VALUES (?, ?, ?, ?, ?)", reviews, id ->
+            new Object[]{id, 1 + random.nextInt(5), "Séjour n°" + id + " : logement conforme à l'annonce.",
+                2 + (id - 1) / lieuCount % Math.max(1, users), 1 + (id - 1) % lieuCount});
+
+        insert("INSERT INTO notifications (id, title, message, type, lu, created_at, user_id) VALUES (?, ?, ?, ?, ?, ?, ?)",
+            totalUsers * notificationsPerUser, id -> {
+            long k = (id - 1) % notificationsPerUser;
+            return new Object[]{id, "Réservation confirmée", "Votre réservation n°" + id + " a été confirmée.",
+                "RESERVATION_CONFIRMED", k > 0, Timestamp.valueOf(LocalDateTime.now().minusHours(k * 5)),
+                1 + (id - 1) / notificationsPerUser};
+        });
+
+        for (String table : List.of("users", "lieux", "reservations", "avis", "notifications")) {
+            Long max = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+            jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + (max + 1));
+        }
+
+        log.info("Load-test data: {} users, {} lieux, {} reservations, {} reviews, {} notifications in {} ms",
+            totalUsers, lieux, reservations, reviews, totalUsers * notificationsPerUser, System.currentTimeMillis() - started);
+    }
+
+    // Lieux are spread evenly over the owners (user ids OWNER_EVERY + 1, 2 * OWNER_EVERY + 1, ...)
+    private static long ownerId(long lieuId, long owners) {
+        return 1 + ((lieuId - 1) % owners + 1) * OWNER_EVERY;
+    }
+
+    private static long tenantId(Random random, long totalUsers) {
+        long id;
+        do {
+            id = 2 + random.nextInt((int) Math.max(1, totalUsers - 1));
+        } while ((id - 1) % OWNER_EVERY == 0);
+        return id;
+    }
+
+    // Rows 1..count are generated one batch at a time, so a million rows never sit in memory
+    private void insert(String sql, long count, LongFunction<Object[]> row) {
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        for (long n = 1; n <= count; n++) {
+            batch.add(row.apply(n));
+            if (batch.size() == batchSize || n == count) {
+                jdbcTemplate.batchUpdate(sql, batch, batch.size(), LoadTestSeeder::bind);
+                batch.clear();
+            }
+        }
+    }
+
+    private static void bind(PreparedStatement statement, Object[] row) throws SQLException {
+        for (int i = 0; i < row.length; i++) {
+            statement.setObject(i + 1, row[i]);
+        }
+    }
+
+    private Account readAccount() throws IOException {
+        if (!accountFile.exists()) {
+            log.warn("{} not found, using the default load-test account", accountFile);
+            return new Account("Test User", "test@test.com", "Password123!", "LOCATAIRE");
+        }
+        try (InputStream in = accountFile.getInputStream()) {
+            JsonNode json = objectMapper.readTree(in);
+            String role = "OWNER".equalsIgnoreCase(json.path("role").asText()) ? "PROPRIETAIRE" : "LOCATAIRE";
+            return new Account(json.path("firstName").asText() + " " + json.path("lastName").asText(),
+                json.path("email").asText(), json.path("password").asText(), role);
+        }
+    }
+
+    private static class Account {
+        private final String name;
+        private final String email;
+        private final String password;
+        private final String role;
+
+        Account(String name, String email, String password, String role) {
+            this.name = name;
+            this.email = email;
+            this.password = password;
+            this.role = role;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package org.example.locaspace.mapper;
+
+import org.example.locaspace.dto.lieu.LieuCardResponse;
+import org.example.locaspace.dto.lieu.LieuResponse;
+import org.example.locaspace.dto.lieu.LieuView;
+import org.example.locaspace.dto.lieu.PhotoVariantsResponse;
+import org.example.locaspace.dto.user.UserResponse;
+import org.example.locaspace.model.Lieu;
+import org.example.locaspace.model.User;
+import org.example.locaspace.model.enums.LieuType;
+import org.example.locaspace.model.enums.Role;
+import org.example.locaspace.repository.AvisRepository;
+import org.example.locaspace.repository.LieuCard;
+import org.example.locaspace.repository.LieuRepository;
+import org.example.locaspace.repository.UserRepository;
+import org.example.locaspace.repository.UserStats;
+import org.example.locaspace.service.PhotoVariantService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EntityMapper Unit Tests")
+class EntityMapperTest {
+
+    @Mock
+    private AvisRepository avisRepository;
+
+    @Mock
+    private LieuRepository lieuRepository;
+
+    @Mock
+    private PhotoVariantService photoVariantService;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private EntityMapper entityMapper;
+
+    private static Lieu lieu(long id) {
+        return Lieu.builder().id(id).titre("Lieu " + id).prix(BigDecimal.TEN).valide(true).build();
+    }
+
+    @Test
+    void toLieuCardResponses_shouldLoadThePageInTwoQueriesAndKeepOnlyTheCover() {
+        List<Lieu> page = List.of(lieu(1), lieu(2));
+        when(lieuRepository.findPhotosByLieuIds(List.of(1L, 2L))).thenReturn(List.of(
+            new Object[]{1L, "/uploads/a.jpg"},
+            new Object[]{1L, "/uploads/b.jpg"},
+            new Object[]{1L, "/uploads/c.jpg"}));
+        when(avisRepository.findRatingStatsByLieuIds(List.of(1L, 2L))).thenReturn(List.<Object[]>of(
+            new Object[]{2L, 4.5, 2L}));
+        when(photoVariantService.getVariants(List.of("/uploads/a.jpg"))).thenReturn(List.of(
+            PhotoVariantsResponse.builder().url("/uploads/a.jpg").variants(Map.of()).build()));
+
+        List<LieuResponse> responses = entityMapper.toLieuCardResponses(page);
+
+        LieuResponse first = responses.get(0);
+        assertEquals(List.of("/uploads/a.jpg"), first.photos());
+        assertEquals(3, first.photoCount());
+        assertEquals("/uploads/a.jpg", first.photoVariants().get(0).getUrl());
+        assertNull(first.averageRating());
+        assertEquals(0L, first.reviewCount());
+
+        LieuResponse second = responses.get(1);
+        assertTrue(second.photos().isEmpty());
+        assertEquals(0, second.photoCount());
+        assertEquals(4.5, second.averageRating());
+        assertEquals(2L, second.reviewCount());
+
+        verify(avisRepository, never()).findAverageNoteByLieu(any());
+        verify(avisRepository, never()).countByLieu(any());
+    }
+
+    @Test
+    void toLieuCards_shouldOnlyExposeTheValidationFlagInTheOwnerView() {
+        LieuCard card = new LieuCard(1L, "Loft", LieuType.APPARTEMENT, BigDecimal.TEN, "Paris", true);
+        when(lieuRepository.findPhotosByLieuIds(List.of(1L))).thenReturn(List.<Object[]>of(new Object[]{1L, "/uploads/a.jpg"}));
+        when(avisRepository.findRatingStatsByLieuIds(List.of(1L))).thenReturn(List.of());
+        when(photoVariantService.getVariants(List.of("/uploads/a.jpg"))).thenReturn(List.of(
+            PhotoVariantsResponse.builder().url("/uploads/a.jpg").variants(Map.of()).build()));
+
+        LieuCardResponse publicCard = entityMapper.toLieuCards(List.of(card), LieuView.CARD).get(0);
+        LieuCardResponse ownerCard = entityMapper.toLieuCards(List.of(card), LieuView.OWNER).get(0);
+
+        assertEquals("/uploads/a.jpg", publicCard.getCover());
+        assertEquals(1, publicCard.getPhotoCount());
+        assertEquals(0L, publicCard.getReviewCount());
+        assertNull(publicCard.getValide());
+        assertTrue(ownerCard.getValide());
+    }
+
+    @Test
+    void toLieuCardResponses_shouldNotQueryForAnEmptyPage() {
+        assertTrue(entityMapper.toLieuCardResponses(List.of()).isEmpty());
+
+        verifyNoInteractions(lieuRepository, avisRepository, photoVariantService);
+    }
+
+    @Test
+    void toUserResponse_shouldTakeTheTotalsFromTheStatsQueryWithoutTouchingTheCollections() {
+        User user = mock(User.class);
+        when(user.getId()).thenReturn(5L);
+        when(user.getNom()).thenReturn("Alice");
+        when(user.getRole()).thenReturn(Role.LOCATAIRE);
+        when(userRepository.findStatsById(5L)).thenReturn(new UserStats(3L, 2L, 4.5));
+
+        UserResponse response = entityMapper.toUserResponse(user);
+
+        assertEquals(3L, response.getTotalReservations());
+        assertEquals(2L, response.getTotalReviews());
+        assertEquals(4.5, response.getAverageRating());
+        assertEquals("LOCATAIRE", response.getRole());
+        verify(user, never()).getReservations();
+        verify(user, never()).getAvis();
+    }
+
+    @Test
+    void toUserResponse_shouldReportZeroTotalsWhenTheUserHasNoHistory() {
+        User user = User.builder().id(6L).nom("Bob").build();
+        when(userRepository.findStatsById(6L)).thenReturn(new UserStats(0L, 0L, null));
+
+        UserResponse response = entityMapper.toUserResponse(user);
+
+        assertEquals(0L, response.getTotalReservations());
+        assertEquals(0L, response.getTotalReviews());
+        assertNull(response.getAverageRating());
+    }
+}
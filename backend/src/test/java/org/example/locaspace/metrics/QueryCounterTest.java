@@ -0,0 +1,113 @@
+package org.example.locaspace.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.locaspace.config.DataSourceProxyConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.opentest4j.AssertionFailedError;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.example.locaspace.support.QueryCountAssertions.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("QueryCounter Unit Tests")
+class QueryCounterTest {
+
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource h2 = new DriverManagerDataSource("jdbc:h2:mem:querycount;DB_CLOSE_DELAY=-1");
+        jdbc = new JdbcTemplate(DataSourceProxyConfig.proxy(h2, "test"));
+        jdbc.execute("CREATE TABLE lieux (id BIGINT PRIMARY KEY, titre VARCHAR(100))");
+        jdbc.batchUpdate("INSERT INTO lieux VALUES (?, ?)",
+            List.of(new Object[]{1L, "Loft"}, new Object[]{2L, "Studio"}, new Object[]{3L, "Maison"}));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbc.execute("DROP TABLE lieux");
+    }
+
+    // One query for the ids, then one per row
+    private void nPlusOne() {
+        for (Long id : jdbc.queryForList("SELECT id FROM lieux ORDER BY id", Long.class)) {
+            jdbc.queryForObject("SELECT titre FROM lieux WHERE id = " + id, String.class);
+        }
+    }
+
+    @Test
+    void assertQueryCount_shouldCountEveryStatementOfTheBlock() {
+        QueryCounter.Scope scope = assertQueryCount(4, this::nPlusOne);
+
+        assertEquals(2, scope.getDistinct());
+        assertEquals(3, scope.getMaxRepeat());
+        assertEquals(4, scope.count("select"));
+        assertEquals(Map.entry("SELECT titre FROM lieux WHERE id = ?", 3), scope.topShapes(1).get(0));
+    }
+
+    @Test
+    void assertions_shouldFailWithTheOffendingShapes() {
+        AssertionFailedError error = assertThrows(AssertionFailedError.class, () -> assertQueryCount(2, this::nPlusOne));
+        assertTrue(error.getMessage().contains("Expected 2 SQL statements but got 4"));
+        assertTrue(error.getMessage().contains("3x SELECT titre FROM lieux WHERE id = ?"));
+
+        assertThrows(AssertionFailedError.class, () -> assertMaxQueryCount(3, this::nPlusOne));
+        assertThrows(AssertionFailedError.class, () -> assertNoRepeatedQueries(2, this::nPlusOne));
+        assertNoRepeatedQueries(1, () -> jdbc.queryForList("SELECT titre FROM lieux WHERE id IN (1, 2, 3)", String.class));
+    }
+
+    @Test
+    void scopes_shouldNestAndIgnoreStatementsOutsideAnyScope() {
+        jdbc.queryForList("SELECT id FROM lieux", Long.class);
+
+        try (QueryCounter.Scope outer = QueryCounter.start()) {
+            jdbc.queryForList("SELECT id FROM lieux", Long.class);
+            assertQueryCount(1, () -> jdbc.update("UPDATE lieux SET titre = 'Villa' WHERE id = 3"));
+            outer.close();
+            jdbc.queryForList("SELECT id FROM lieux", Long.class);
+            assertEquals(2, outer.getTotal());
+            assertEquals(1, outer.count("update"));
+        }
+    }
+
+    @Test
+    void shapeOf_shouldStripLiteralsAndInLists() {
+        assertEquals("select * from avis a where a.lieu_id in (...) and a.note > ? and c = ?",
+            QueryCounter.shapeOf("select *\n  from avis a where a.lieu_id in (?, ?,?) and a.note > 3 and c = 'it''s'"));
+        assertEquals("select l1_0.id from lieux l1_0 where l1_0.id = ?",
+            QueryCounter.shapeOf("select l1_0.id from lieux l1_0 where l1_0.id = 42"));
+    }
+
+    @Test
+    void filter_shouldRecordTheStatementsOfEachRequestPerEndpoint() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        QueryCountFilter filter = new QueryCountFilter(registry);
+        ReflectionTestUtils.setField(filter, "warnThreshold", 30);
+        ReflectionTestUtils.setField(filter, "repeatThreshold", 3);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/lieux/7");
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/lieux/{id}");
+            nPlusOne();
+        });
+
+        DistributionSummary statements = registry.get("locaspace.http.statements")
+            .tag("method", "GET").tag("uri", "/api/lieux/{id}").summary();
+        assertEquals(1, statements.count());
+        assertEquals(4, statements.totalAmount());
+        // The request scope is closed once the response is written
+        assertQueryCount(1, () -> jdbc.queryForList("SELECT id FROM lieux", Long.class));
+    }
+}
@@ -0,0 +1,167 @@
+package org.example.locaspace.repository;
+
+import org.example.locaspace.model.CalendarEvent;
+import org.example.locaspace.model.Lieu;
+import org.example.locaspace.model.Reservation;
+import org.example.locaspace.model.User;
+import org.example.locaspace.model.enums.ReservationStatus;
+import org.example.locaspace.model.enums.Role;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// The native UNION ALL occupancy queries and the availableBetween specification against H2 in
+// MySQL mode. Ranges are inclusive on both ends: a stay ending the day before the window does
+// not overlap it, one ending on its first day does.
+@DataJpaTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:occupancy;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.sql.init.mode=never",
+    "spring.jpa.show-sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DisplayName("OccupancyRepository Integration Tests")
+class OccupancyRepositoryTest {
+
+    private static final LocalDate START = LocalDate.of(2030, 6, 10);
+    private static final LocalDate END = LocalDate.of(2030, 6, 15);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private OccupancyRepository occupancyRepository;
+
+    @Autowired
+    private LieuRepository lieuRepository;
+
+    private User tenant;
+    private Lieu lieu;
+
+    @BeforeEach
+    void setUp() {
+        User owner = entityManager.persist(User.builder().nom("Owner").email("owner@example.com")
+            .motDePasse("x").role(Role.PROPRIETAIRE).build());
+        tenant = entityManager.persist(User.builder().nom("Tenant").email("tenant@example.com")
+            .motDePasse("x").role(Role.LOCATAIRE).build());
+        lieu = entityManager.persist(Lieu.builder().titre("Loft").prix(BigDecimal.TEN).valide(true).owner(owner).build());
+    }
+
+    private Reservation reservation(LocalDate start, LocalDate end, ReservationStatus statut, LocalDateTime expiresAt) {
+        return entityManager.persist(Reservation.builder().lieu(lieu).locataire(tenant)
+            .dateDebut(start).dateFin(end).statut(statut).expiresAt(expiresAt).build());
+    }
+
+    private CalendarEvent block(LocalDate start, LocalDate end) {
+        return entityManager.persist(CalendarEvent.builder().lieu(lieu)
+            .startDate(start).endDate(end).type("blocked").title("Travaux").build());
+    }
+
+    private long count() {
+        entityManager.flush();
+        return occupancyRepository.countOverlapping(lieu.getId(), START, END, LocalDateTime.now());
+    }
+
+    private List<Long> availableLieux() {
+        entityManager.flush();
+        return lieuRepository.findAll(LieuSpecifications.availableBetween(START, END)).stream().map(Lieu::getId).toList();
+    }
+
+    @Test
+    void rangesTouchingTheWindowFromOutsideShouldNotOverlap() {
+        reservation(START.minusDays(5), START.minusDays(1), ReservationStatus.CONFIRMEE, null);
+        reservation(END.plusDays(1), END.plusDays(3), ReservationStatus.CONFIRMEE, null);
+        block(START.minusDays(2), START.minusDays(1));
+        block(END.plusDays(1), END.plusDays(1));
+
+        assertEquals(0, count());
+        assertTrue(occupancyRepository.findOverlapping(lieu.getId(), START, END, LocalDateTime.now()).isEmpty());
+        assertEquals(List.of(lieu.getId()), availableLieux());
+    }
+
+    @Test
+    void rangesSharingAnEdgeDayShouldOverlap() {
+        reservation(START.minusDays(3), START, ReservationStatus.CONFIRMEE, null);
+
+        assertEquals(1, count());
+        assertEquals(List.of(), availableLieux());
+    }
+
+    @Test
+    void blockOnTheLastDayShouldOverlap() {
+        block(END, END.plusDays(4));
+
+        assertEquals(1, count());
+        assertEquals(List.of(), availableLieux());
+    }
+
+    @Test
+    void cancelledRefusedAndExpiredReservationsShouldNotOccupy() {
+        reservation(START, END, ReservationStatus.ANNULEE, null);
+        reservation(START, END, ReservationStatus.REFUSEE, null);
+        reservation(START, END, ReservationStatus.EXPIREE, null);
+        // Deadline passed but the expiry scheduler has not flipped the status yet
+        reservation(START, END, ReservationStatus.OPTION, LocalDateTime.now().minusMinutes(1));
+
+        assertEquals(0, count());
+        assertEquals(List.of(lieu.getId()), availableLieux());
+    }
+
+    @Test
+    void liveHoldShouldOccupy() {
+        reservation(START.plusDays(1), START.plusDays(2), ReservationStatus.OPTION, LocalDateTime.now().plusMinutes(10));
+
+        assertEquals(1, count());
+        assertEquals(List.of(), availableLieux());
+    }
+
+    @Test
+    void countShouldStopAtOneRowPerSource() {
+        reservation(START, START.plusDays(1), ReservationStatus.CONFIRMEE, null);
+        reservation(START.plusDays(2), START.plusDays(3), ReservationStatus.EN_ATTENTE, null);
+        block(START, END);
+        block(END, END);
+
+        assertEquals(2, count());
+    }
+
+    @Test
+    void findOverlappingShouldReturnBothSourcesOrderedByStart() {
+        Reservation booked = reservation(START.plusDays(2), START.plusDays(4), ReservationStatus.CONFIRMEE, null);
+        CalendarEvent blocked = block(START.minusDays(1), START);
+        reservation(START, END, ReservationStatus.ANNULEE, null);
+        entityManager.flush();
+
+        List<Object[]> rows = occupancyRepository.findOverlapping(lieu.getId(), START, END, LocalDateTime.now());
+
+        assertEquals(2, rows.size());
+        assertEquals("block", rows.get(0)[0]);
+        assertEquals(blocked.getId(), ((Number) rows.get(0)[1]).longValue());
+        assertEquals("Travaux", rows.get(0)[5]);
+        assertEquals("reservation", rows.get(1)[0]);
+        assertEquals(booked.getId(), ((Number) rows.get(1)[1]).longValue());
+        assertEquals("CONFIRMEE", rows.get(1)[4]);
+    }
+
+    @Test
+    void occupancyOfAnotherLieuShouldNotCount() {
+        Lieu other = entityManager.persist(Lieu.builder().titre("Studio").prix(BigDecimal.ONE).valide(true)
+            .owner(lieu.getOwner()).build());
+        entityManager.persist(CalendarEvent.builder().lieu(other).startDate(START).endDate(END).type("blocked").build());
+
+        assertEquals(0, count());
+        assertEquals(List.of(lieu.getId()), availableLieux());
+    }
+}
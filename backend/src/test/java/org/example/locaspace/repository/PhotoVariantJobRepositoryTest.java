@@ -0,0 +1,104 @@
+package org.example.locaspace.repository;
+
+import org.example.locaspace.model.PhotoVariantJob;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Recovery of jobs left RUNNING by a worker that died: each lost run counts as an attempt, and the
+// run that reaches the limit fails the job instead of queueing it again.
+@DataJpaTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:photovariantjobs;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+    "spring.datasource.username=sa",
+    "spring.datasource.password=",
+    "spring.sql.init.mode=never",
+    "spring.jpa.show-sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@DisplayName("PhotoVariantJobRepository Integration Tests")
+class PhotoVariantJobRepositoryTest {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PhotoVariantJobRepository jobRepository;
+
+    private final LocalDateTime now = LocalDateTime.now();
+
+    // A job claimed at the given time and never finished
+    private Long running(String url, int attempts, LocalDateTime claimedAt) {
+        PhotoVariantJob job = entityManager.persistAndFlush(PhotoVariantJob.builder()
+            .photoUrl(url).status(PhotoVariantJob.Status.PENDING).attempts(attempts).build());
+        jobRepository.transition(job.getId(), PhotoVariantJob.Status.PENDING, PhotoVariantJob.Status.RUNNING, claimedAt);
+        return job.getId();
+    }
+
+    private PhotoVariantJob reload(Long id) {
+        entityManager.clear();
+        return jobRepository.findById(id).orElseThrow();
+    }
+
+    private void recover() {
+        LocalDateTime staleBefore = now.minusMinutes(10);
+        jobRepository.failStale(staleBefore, MAX_ATTEMPTS, now);
+        jobRepository.requeueStale(staleBefore, MAX_ATTEMPTS, now);
+    }
+
+    @Test
+    void staleJobShouldBeRequeuedWithOneMoreAttempt() {
+        Long id = running("/uploads/a.jpg", 0, now.minusMinutes(30));
+
+        recover();
+
+        PhotoVariantJob job = reload(id);
+        assertEquals(PhotoVariantJob.Status.PENDING, job.getStatus());
+        assertEquals(1, job.getAttempts());
+    }
+
+    @Test
+    void staleJobOnItsLastAttemptShouldFail() {
+        Long id = running("/uploads/b.jpg", MAX_ATTEMPTS - 1, now.minusMinutes(30));
+
+        recover();
+
+        PhotoVariantJob job = reload(id);
+        assertEquals(PhotoVariantJob.Status.FAILED, job.getStatus());
+        assertEquals(MAX_ATTEMPTS, job.getAttempts());
+        assertNotNull(job.getLastError());
+    }
+
+    @Test
+    void jobThatKeepsKillingItsWorkerShouldEventuallyFail() {
+        Long id = running("/uploads/c.jpg", 0, now.minusMinutes(30));
+
+        for (int run = 1; run <= MAX_ATTEMPTS; run++) {
+            recover();
+            jobRepository.transition(id, PhotoVariantJob.Status.PENDING, PhotoVariantJob.Status.RUNNING, now.minusMinutes(30));
+        }
+
+        PhotoVariantJob job = reload(id);
+        assertEquals(PhotoVariantJob.Status.FAILED, job.getStatus());
+        assertEquals(MAX_ATTEMPTS, job.getAttempts());
+    }
+
+    @Test
+    void recentlyClaimedJobShouldBeLeftRunning() {
+        Long id = running("/uploads/d.jpg", MAX_ATTEMPTS - 1, now.minusMinutes(1));
+
+        recover();
+
+        PhotoVariantJob job = reload(id);
+        assertEquals(PhotoVariantJob.Status.RUNNING, job.getStatus());
+        assertEquals(MAX_ATTEMPTS - 1, job.getAttempts());
+    }
+}
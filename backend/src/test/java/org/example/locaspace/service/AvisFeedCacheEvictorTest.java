@@ -0,0 +1,41 @@
+package org.example.locaspace.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AvisFeedCacheEvictor Unit Tests")
+class AvisFeedCacheEvictorTest {
+
+    private Cache cache;
+    private AvisFeedCacheEvictor evictor;
+
+    @BeforeEach
+    void setUp() {
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(AvisService.AVIS_FIRST_PAGE);
+        cache = cacheManager.getCache(AvisService.AVIS_FIRST_PAGE);
+        cache.put(1L, "page of lieu 1");
+        cache.put(2L, "page of lieu 2");
+        evictor = new AvisFeedCacheEvictor(cacheManager);
+    }
+
+    @Test
+    void onAvisChanged_shouldEvictOnlyTheChangedLieu() {
+        evictor.onAvisChanged(new AvisChangedEvent(1L));
+
+        assertNull(cache.get(1L));
+        assertNotNull(cache.get(2L));
+    }
+
+    @Test
+    void onAvisChanged_withoutLieuShouldClearEveryPage() {
+        evictor.onAvisChanged(new AvisChangedEvent(null));
+
+        assertNull(cache.get(1L));
+        assertNull(cache.get(2L));
+    }
+}
@@ -1,9 +1,12 @@
 package org.example.locaspace.service;
 
+import org.example.locaspace.exception.BadRequestException;
 import org.example.locaspace.model.Avis;
 import org.example.locaspace.model.Lieu;
 import org.example.locaspace.model.User;
+import org.example.locaspace.repository.AvisFeedItem;
 import org.example.locaspace.repository.AvisRepository;
+import org.example.locaspace.repository.ReviewEligibility;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -11,6 +14,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -19,6 +27,7 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 /**
@@ -37,6 +46,12 @@ class AvisServiceTest {
 
     @Mock
     private AvisRepository avisRepository;
+
+    @Mock
+    private RatingHistogramService ratingHistogramService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
     
     @InjectMocks
     private AvisService avisService;
@@ -85,6 +100,12 @@ class AvisServiceTest {
         
         // Verify the repository was called
         verify(avisRepository, times(1)).save(testAvis);
+        // The new review lands in the 5 stars bucket of its lieu
+        verify(ratingHistogramService).prepare(1L);
+        verify(ratingHistogramService).move(1L, 0, 5);
+        // The cached first page of the feed is evicted once the transaction commits
+        verify(eventPublisher).publishEvent(argThat((Object event) ->
+            event instanceof AvisChangedEvent changed && Long.valueOf(1L).equals(changed.getLieuId())));
     }
 
     /**
@@ -228,6 +249,22 @@ class AvisServiceTest {
         
         // ASSERT
         verify(avisRepository, times(1)).deleteById(1L);
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Should only evict the feed of the deleted review's lieu")
+    void deleteAvisById_ShouldPublishTheLieuOfTheReview() {
+        // ARRANGE
+        when(avisRepository.findById(1L)).thenReturn(Optional.of(testAvis));
+
+        // ACT
+        avisService.deleteAvis(1L);
+
+        // ASSERT
+        verify(ratingHistogramService).move(1L, 5, 0);
+        verify(eventPublisher).publishEvent(argThat((Object event) ->
+            event instanceof AvisChangedEvent changed && Long.valueOf(1L).equals(changed.getLieuId())));
     }
 
     /**
@@ -249,4 +286,104 @@ class AvisServiceTest {
         assertEquals(testUser.getId(), result.get(0).getAuteur().getId());
         verify(avisRepository, times(1)).findByAuteur(testUser);
     }
-}
\ No newline at end of file
+
+    /**
+     * Test 11: Review preconditions come from a single query
+     */
+    @Test
+    @DisplayName("Should allow a review after a completed stay")
+    void checkCanReview_WhenStayCompletedAndNotReviewed_ShouldPass() {
+        // ARRANGE
+        when(avisRepository.findReviewEligibility(1L, 1L)).thenReturn(Optional.of(new ReviewEligibility(true, false)));
+
+        // ACT + ASSERT
+        assertDoesNotThrow(() -> avisService.checkCanReview(1L, 1L));
+        verify(avisRepository, never()).findByAuteurAndLieu(any(), any());
+    }
+
+    /**
+     * Test 12: No completed stay, or already reviewed
+     */
+    @Test
+    @DisplayName("Should reject a review without a completed stay or a second review")
+    void checkCanReview_WhenNotEligible_ShouldThrow() {
+        // ARRANGE
+        when(avisRepository.findReviewEligibility(1L, 1L)).thenReturn(Optional.of(new ReviewEligibility(false, false)));
+        when(avisRepository.findReviewEligibility(1L, 2L)).thenReturn(Optional.of(new ReviewEligibility(true, true)));
+
+        // ACT + ASSERT
+        BadRequestException noStay = assertThrows(BadRequestException.class, () -> avisService.checkCanReview(1L, 1L));
+        assertTrue(noStay.getMessage().contains("completed a reservation"));
+        BadRequestException duplicate = assertThrows(BadRequestException.class, () -> avisService.checkCanReview(1L, 2L));
+        assertEquals("You have already reviewed this place", duplicate.getMessage());
+    }
+
+    /**
+     * Test 13: A concurrent duplicate is stopped by the unique key
+     */
+    @Test
+    @DisplayName("Should report the unique key violation as an already reviewed place")
+    void createAvis_WhenUniqueKeyViolated_ShouldThrowBadRequest() {
+        // ARRANGE
+        when(avisRepository.save(testAvis)).thenThrow(new DataIntegrityViolationException("could not execute statement",
+            new RuntimeException("Duplicate entry '1-1' for key 'avis.uk_avis_user_lieu'")));
+
+        // ACT + ASSERT
+        BadRequestException exception = assertThrows(BadRequestException.class, () -> avisService.createAvis(testAvis));
+        assertEquals("You have already reviewed this place", exception.getMessage());
+    }
+
+    /**
+     * Test 14: Changing the note moves the review between histogram buckets
+     */
+    @Test
+    @DisplayName("Should move the review to its new note bucket on update")
+    void updateAvis_WhenNoteChanges_ShouldMoveHistogramBucket() {
+        // ARRANGE
+        when(avisRepository.save(testAvis)).thenReturn(testAvis);
+
+        // ACT
+        Avis result = avisService.updateAvis(testAvis, 3, "Finalement correct");
+
+        // ASSERT
+        assertEquals(3, result.getNote());
+        assertEquals("Finalement correct", result.getCommentaire());
+        verify(ratingHistogramService).prepare(1L);
+        verify(ratingHistogramService).move(1L, 5, 3);
+    }
+
+    /**
+     * Test 15: Deleting a review takes it out of the histogram
+     */
+    @Test
+    @DisplayName("Should remove the deleted review from the histogram")
+    void deleteAvis_ShouldDecrementHistogram() {
+        // ACT
+        avisService.deleteAvis(testAvis);
+
+        // ASSERT
+        verify(avisRepository).delete(testAvis);
+        verify(ratingHistogramService).move(1L, 5, 0);
+        verify(eventPublisher).publishEvent(any(AvisChangedEvent.class));
+    }
+
+    /**
+     * Test 16: Paginated feed
+     */
+    @Test
+    @DisplayName("Should load a feed page with the author in one repository call")
+    void getAvisFeed_ShouldQueryTheRequestedPage() {
+        // ARRANGE
+        AvisFeedItem item = new AvisFeedItem(1L, 5, "Great place!", 1L, "Test User", 1L, "Test Place");
+        when(avisRepository.findFeedByLieuId(1L, PageRequest.of(0, AvisService.FEED_PAGE_SIZE)))
+            .thenReturn(new PageImpl<>(List.of(item), PageRequest.of(0, AvisService.FEED_PAGE_SIZE), 1));
+
+        // ACT
+        Page<AvisFeedItem> result = avisService.getAvisFeed(1L, 0, AvisService.FEED_PAGE_SIZE);
+
+        // ASSERT
+        assertEquals(1, result.getTotalElements());
+        assertEquals("Test User", result.getContent().get(0).getAuteurNom());
+        verify(avisRepository, never()).findByLieuOrderByIdDesc(any());
+    }
+}
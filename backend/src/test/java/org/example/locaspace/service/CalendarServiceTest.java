@@ -0,0 +1,88 @@
+package org.example.locaspace.service;
+
+import org.example.locaspace.dto.lieu.CalendarEntryResponse;
+import org.example.locaspace.repository.CalendarEventRepository;
+import org.example.locaspace.repository.LieuRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CalendarService Unit Tests")
+class CalendarServiceTest {
+
+    @Mock
+    private CalendarEventRepository calendarEventRepository;
+
+    @Mock
+    private LieuRepository lieuRepository;
+
+    @Mock
+    private OccupancyService occupancyService;
+
+    @InjectMocks
+    private CalendarService calendarService;
+
+    private static final LocalDate D1 = LocalDate.of(2030, 5, 1);
+
+    @Test
+    void getTimeline_shouldMergeAdjacentBlocksAndKeepBookingsSeparate() {
+        when(lieuRepository.existsById(7L)).thenReturn(true);
+        when(occupancyService.getOccupancy(7L, D1, D1.plusDays(30))).thenReturn(List.of(
+            block(1L, D1, D1.plusDays(2), "Travaux"),
+            booking(10L, D1.plusDays(5), D1.plusDays(7), "CONFIRMEE"),
+            block(2L, D1.plusDays(3), D1.plusDays(4), "Famille"),
+            booking(11L, D1.plusDays(8), D1.plusDays(9), "EN_ATTENTE")
+        ));
+
+        List<CalendarEntryResponse> timeline = calendarService.getTimeline(7L, D1, D1.plusDays(30));
+
+        assertEquals(3, timeline.size());
+
+        CalendarEntryResponse blocks = timeline.get(0);
+        assertEquals("blocked", blocks.getType());
+        assertEquals(D1, blocks.getStartDate());
+        assertEquals(D1.plusDays(4), blocks.getEndDate());
+        assertEquals(List.of(1L, 2L), blocks.getIds());
+        assertNull(blocks.getId());
+
+        CalendarEntryResponse confirmed = timeline.get(1);
+        assertEquals("booked", confirmed.getType());
+        assertEquals("CONFIRMEE", confirmed.getStatus());
+        assertEquals(10L, confirmed.getBookingId());
+
+        assertEquals("EN_ATTENTE", timeline.get(2).getStatus());
+    }
+
+    @Test
+    void getTimeline_shouldNotMergeRangesWithAGap() {
+        when(lieuRepository.existsById(7L)).thenReturn(true);
+        when(occupancyService.getOccupancy(7L, D1, D1.plusDays(30))).thenReturn(List.of(
+            block(1L, D1, D1.plusDays(1), null),
+            block(2L, D1.plusDays(3), D1.plusDays(4), null)
+        ));
+
+        List<CalendarEntryResponse> timeline = calendarService.getTimeline(7L, D1, D1.plusDays(30));
+
+        assertEquals(2, timeline.size());
+        assertEquals(1L, timeline.get(0).getId());
+        assertEquals(2L, timeline.get(1).getId());
+    }
+
+    private static OccupancyService.OccupiedRange block(Long id, LocalDate start, LocalDate end, String title) {
+        return new OccupancyService.OccupiedRange(OccupancyService.SOURCE_BLOCK, id, start, end, "blocked", title);
+    }
+
+    private static OccupancyService.OccupiedRange booking(Long id, LocalDate start, LocalDate end, String status) {
+        return new OccupancyService.OccupiedRange(OccupancyService.SOURCE_RESERVATION, id, start, end, status, null);
+    }
+}
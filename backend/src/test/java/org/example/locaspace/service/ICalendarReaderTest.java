@@ -0,0 +1,68 @@
+package org.example.locaspace.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ICalendarReader Unit Tests")
+class ICalendarReaderTest {
+
+    @Test
+    void next_shouldUnfoldLinesAndConvertExclusiveDtend() throws IOException {
+        String ics = "BEGIN:VCALENDAR\r\n" +
+                     "BEGIN:VEVENT\r\n" +
+                     "UID:abc-123@airbnb.com\r\n" +
+                     "DTSTART;VALUE=DATE:20300501\r\n" +
+                     "DTEND;VALUE=DATE:20300504\r\n" +
+                     "SUMMARY:Reserved\\, guest\r\n" +
+                     "  arriving late\r\n" +
+                     "END:VEVENT\r\n" +
+                     "BEGIN:VEVENT\r\n" +
+                     "UID:gone@airbnb.com\r\n" +
+                     "DTSTART:20300601T140000Z\r\n" +
+                     "STATUS:CANCELLED\r\n" +
+                     "END:VEVENT\r\n" +
+                     "END:VCALENDAR\r\n";
+        ICalendarReader reader = new ICalendarReader(new StringReader(ics));
+
+        ICalendarReader.Event first = reader.next();
+        assertTrue(first.valid());
+        assertEquals("abc-123@airbnb.com", first.getUid());
+        assertEquals("Reserved, guest arriving late", first.getSummary());
+        assertEquals(LocalDate.of(2030, 5, 1), first.getStartDate());
+        assertEquals(LocalDate.of(2030, 5, 3), first.getEndDate());
+        assertFalse(first.isCancelled());
+
+        ICalendarReader.Event second = reader.next();
+        assertTrue(second.isCancelled());
+        assertEquals(LocalDate.of(2030, 6, 1), second.getEndDate());
+
+        assertNull(reader.next());
+    }
+
+    @Test
+    void writerOutput_shouldRoundTripThroughReader() throws IOException {
+        StringWriter out = new StringWriter();
+        ICalendarWriter writer = new ICalendarWriter(out);
+        String longTitle = "Bloqué pour travaux; peinture, sols et électricité ".repeat(3).trim();
+        writer.begin("Villa");
+        writer.event("block-9@locaspace", LocalDate.of(2030, 7, 1), LocalDate.of(2030, 7, 1), longTitle);
+        writer.end();
+
+        for (String line : out.toString().split("\r\n")) {
+            assertTrue(line.getBytes(java.nio.charset.StandardCharsets.UTF_8).length <= 75);
+        }
+
+        ICalendarReader.Event event = new ICalendarReader(new StringReader(out.toString())).next();
+        assertEquals("block-9@locaspace", event.getUid());
+        assertEquals(longTitle, event.getSummary());
+        assertEquals(LocalDate.of(2030, 7, 1), event.getStartDate());
+        assertEquals(LocalDate.of(2030, 7, 1), event.getEndDate());
+    }
+}
@@ -0,0 +1,103 @@
+package org.example.locaspace.service;
+
+import org.example.locaspace.exception.BadRequestException;
+import org.example.locaspace.repository.CalendarFeedRepository;
+import org.example.locaspace.repository.LieuRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("ICalendarService Unit Tests")
+class ICalendarServiceTest {
+
+    private JdbcTemplate jdbc;
+    private ICalendarService service;
+
+    @BeforeEach
+    void setUp() {
+        // MySQL mode for the ON DUPLICATE KEY UPDATE upsert
+        jdbc = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:icalimport;MODE=MySQL;DB_CLOSE_DELAY=-1"));
+        jdbc.execute("CREATE TABLE calendar_events (id BIGINT AUTO_INCREMENT PRIMARY KEY, lieu_id BIGINT, " +
+            "start_date DATE, end_date DATE, type VARCHAR(255), title VARCHAR(255), external_uid VARCHAR(255), " +
+            "external_source VARCHAR(64), import_generation BIGINT, updated_at TIMESTAMP, " +
+            "CONSTRAINT uk_calendar_events_lieu_source_uid UNIQUE (lieu_id, external_source, external_uid))");
+
+        LieuRepository lieuRepository = mock(LieuRepository.class);
+        when(lieuRepository.existsById(1L)).thenReturn(true);
+        service = new ICalendarService(mock(CalendarFeedRepository.class), lieuRepository, jdbc);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbc.execute("DROP TABLE calendar_events");
+    }
+
+    private static ByteArrayInputStream ics(String... uids) {
+        StringBuilder ics = new StringBuilder("BEGIN:VCALENDAR\r\n");
+        int day = 1;
+        for (String uid : uids) {
+            ics.append("BEGIN:VEVENT\r\n")
+               .append("UID:").append(uid).append("\r\n")
+               .append("DTSTART;VALUE=DATE:203005").append(String.format("%02d", day)).append("\r\n")
+               .append("DTEND;VALUE=DATE:203005").append(String.format("%02d", day + 2)).append("\r\n")
+               .append("END:VEVENT\r\n");
+            day += 3;
+        }
+        return new ByteArrayInputStream(ics.append("END:VCALENDAR\r\n").toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private List<String> uids() {
+        return jdbc.queryForList("SELECT CONCAT(external_source, ':', external_uid) FROM calendar_events ORDER BY 1", String.class);
+    }
+
+    @Test
+    void importFeed_shouldKeepBlocksOfOtherFeeds() throws IOException {
+        service.importFeed(1L, "airbnb", ics("a1@airbnb.com", "a2@airbnb.com"));
+        ICalendarService.ImportResult booking = service.importFeed(1L, "booking", ics("b1@booking.com"));
+
+        assertEquals(0, booking.getRemoved());
+        assertEquals(List.of("airbnb:a1@airbnb.com", "airbnb:a2@airbnb.com", "booking:b1@booking.com"), uids());
+    }
+
+    @Test
+    void importFeed_shouldOnlyPruneBlocksOfItsOwnFeed() throws IOException {
+        service.importFeed(1L, "airbnb", ics("a1@airbnb.com", "a2@airbnb.com"));
+        service.importFeed(1L, "Booking ", ics("b1@booking.com"));
+
+        ICalendarService.ImportResult airbnb = service.importFeed(1L, "airbnb", ics("a2@airbnb.com"));
+
+        assertEquals(1, airbnb.getImported());
+        assertEquals(1, airbnb.getRemoved());
+        assertEquals(List.of("airbnb:a2@airbnb.com", "booking:b1@booking.com"), uids());
+    }
+
+    // A retry right after a sync lands in the same second as the import it replaces
+    @Test
+    void importFeed_shouldPruneAnImmediateReimport() throws IOException {
+        service.importFeed(1L, "airbnb", ics("a1@airbnb.com", "a2@airbnb.com", "a3@airbnb.com"));
+
+        ICalendarService.ImportResult retry = service.importFeed(1L, "airbnb", ics("a3@airbnb.com"));
+        ICalendarService.ImportResult again = service.importFeed(1L, "airbnb", ics("a3@airbnb.com"));
+
+        assertEquals(2, retry.getRemoved());
+        assertEquals(0, again.getRemoved());
+        assertEquals(List.of("airbnb:a3@airbnb.com"), uids());
+    }
+
+    @Test
+    void importFeed_shouldRejectMissingSource() {
+        assertThrows(BadRequestException.class, () -> service.importFeed(1L, " ", ics("a1@airbnb.com")));
+        assertThrows(BadRequestException.class, () -> service.importFeed(1L, "x".repeat(65), ics("a1@airbnb.com")));
+    }
+}
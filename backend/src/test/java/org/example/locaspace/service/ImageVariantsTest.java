@@ -0,0 +1,56 @@
+package org.example.locaspace.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ImageVariants Unit Tests")
+class ImageVariantsTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void generate_shouldWriteOnlyVariantsNarrowerThanTheOriginal() throws IOException {
+        Path source = dir.resolve("photo.jpg");
+        BufferedImage image = new BufferedImage(1000, 500, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(Color.ORANGE);
+        g.fillRect(0, 0, 1000, 500);
+        g.dispose();
+        ImageIO.write(image, "jpg", source.toFile());
+
+        ImageVariants.Result result = ImageVariants.generate(
+            source, dir.resolve("variants"), "photo", new int[]{1280, 320, 640}, 0.8f);
+
+        assertEquals(List.of(320, 640), result.getWidths());
+        assertEquals(".jpg", result.getFormat());
+        assertTrue(result.getPlaceholder().startsWith("data:image/jpeg;base64,"));
+
+        BufferedImage small = ImageIO.read(dir.resolve("variants/photo-w320.jpg").toFile());
+        assertEquals(320, small.getWidth());
+        assertEquals(160, small.getHeight());
+        assertTrue(Files.exists(dir.resolve("variants/photo-w640.jpg")));
+        assertFalse(Files.exists(dir.resolve("variants/photo-w1280.jpg")));
+    }
+
+    @Test
+    void generate_shouldRejectFilesImageIoCannotDecode() throws IOException {
+        Path source = dir.resolve("notes.jpg");
+        Files.writeString(source, "not an image");
+
+        assertThrows(ImageVariants.UnsupportedImageException.class,
+            () -> ImageVariants.generate(source, dir.resolve("variants"), "notes", new int[]{320}, 0.8f));
+    }
+}
@@ -0,0 +1,88 @@
+package org.example.locaspace.service;
+
+import org.example.locaspace.model.enums.LieuType;
+import org.example.locaspace.repository.LieuFacetRow;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LieuFacets Unit Tests")
+class LieuFacetsTest {
+
+    // (type, price bucket, city, in price range, count) groups of a search over 20 lieux
+    private final List<LieuFacetRow> rows = List.of(
+        row(LieuType.APPARTEMENT, 1, "paris", "Paris", true, 5),
+        row(LieuType.APPARTEMENT, 3, "paris", "Paris", false, 2),
+        row(LieuType.MAISON, 1, "lyon", "Lyon", true, 3),
+        row(LieuType.MAISON, 2, "paris", "Paris", true, 4),
+        row(LieuType.VILLA, 4, "nice", "Nice", false, 6));
+
+    private static LieuFacetRow row(LieuType type, int bucket, String key, String ville, boolean inRange, long count) {
+        return new LieuFacetRow(type, bucket, key, ville, inRange ? 1 : 0, count);
+    }
+
+    private static List<Long> priceCounts(LieuFacets facets) {
+        return facets.getPrices().stream().map(LieuFacets.PriceBucket::getCount).collect(Collectors.toList());
+    }
+
+    @Test
+    void of_shouldCountEveryFacetWithoutActiveFilters() {
+        List<LieuFacetRow> unfiltered = new ArrayList<>();
+        for (LieuFacetRow row : rows) {
+            unfiltered.add(row(row.getType(), row.getPriceBucket(), row.getVilleKey(), row.getVille(), true, row.getCount()));
+        }
+
+        LieuFacets facets = LieuFacets.of(unfiltered, null, null, 20);
+
+        assertEquals(20, facets.getTotal());
+        assertEquals(7L, facets.getTypes().get(LieuType.APPARTEMENT));
+        assertEquals(7L, facets.getTypes().get(LieuType.MAISON));
+        assertEquals(6L, facets.getTypes().get(LieuType.VILLA));
+        assertEquals(List.of(0L, 8L, 4L, 2L, 6L), priceCounts(facets));
+        assertEquals(List.of("paris", "nice", "lyon"),
+            facets.getCities().stream().map(LieuFacets.City::getKey).collect(Collectors.toList()));
+        assertEquals(11, facets.getCities().get(0).getCount());
+    }
+
+    @Test
+    void of_shouldCountEachFacetAgainstTheOtherFilters() {
+        // type=MAISON, city=paris, and a price range that the in-range rows satisfy
+        LieuFacets facets = LieuFacets.of(rows, LieuType.MAISON, "paris", 20);
+
+        assertEquals(4, facets.getTotal());
+        // Types: in price range and in Paris
+        assertEquals(5L, facets.getTypes().get(LieuType.APPARTEMENT));
+        assertEquals(4L, facets.getTypes().get(LieuType.MAISON));
+        assertNull(facets.getTypes().get(LieuType.VILLA));
+        // Prices: houses in Paris, whatever their price
+        assertEquals(List.of(0L, 0L, 4L, 0L, 0L), priceCounts(facets));
+        // Cities: houses in the price range
+        assertEquals(List.of("paris", "lyon"),
+            facets.getCities().stream().map(LieuFacets.City::getKey).collect(Collectors.toList()));
+    }
+
+    @Test
+    void of_shouldDescribeThePriceBuckets() {
+        List<LieuFacets.PriceBucket> prices = LieuFacets.of(rows, null, null, 20).getPrices();
+
+        assertEquals(LieuFacets.PRICE_BOUNDS.size() + 1, prices.size());
+        assertNull(prices.get(0).getMin());
+        assertEquals(BigDecimal.valueOf(50), prices.get(0).getMax());
+        assertEquals(BigDecimal.valueOf(500), prices.get(4).getMin());
+        assertNull(prices.get(4).getMax());
+    }
+
+    @Test
+    void of_shouldKeepTheSelectedCityBeyondTheLargestOnes() {
+        LieuFacets facets = LieuFacets.of(rows, null, "lyon", 1);
+
+        assertEquals(List.of("paris", "lyon"),
+            facets.getCities().stream().map(LieuFacets.City::getKey).collect(Collectors.toList()));
+    }
+}
@@ -1,9 +1,12 @@
 package org.example.locaspace.service;
 
+import org.example.locaspace.geo.Gazetteer;
+import org.example.locaspace.geo.GeoHash;
 import org.example.locaspace.model.Lieu;
 import org.example.locaspace.model.User;
 import org.example.locaspace.model.enums.LieuType;
 import org.example.locaspace.repository.AvisRepository;
+import org.example.locaspace.repository.LieuFacetRow;
 import org.example.locaspace.repository.LieuRepository;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -21,6 +24,8 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,6 +38,9 @@ class LieuServiceTest {
     @Mock
     private AvisRepository avisRepository;
 
+    @Mock
+    private Gazetteer gazetteer;
+
     @InjectMocks
     private LieuService lieuService;
 
@@ -86,4 +94,112 @@ class LieuServiceTest {
         assertTrue(deletedByOwner);
         verify(lieuRepository, times(1)).delete(lieu);
     }
+
+    @Test
+    void createLieu_shouldGeocodeTheAddressCity() {
+        Lieu lieu = new Lieu();
+        lieu.setAdresse("12 rue de Paris, Lyon");
+
+        when(gazetteer.locate("12 rue de Paris, Lyon")).thenReturn(Optional.of(new Gazetteer.Place("Lyon", 45.7640, 4.8357)));
+        when(lieuRepository.save(any(Lieu.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Lieu result = lieuService.createLieu(lieu);
+
+        assertEquals(45.7640, result.getLatitude());
+        assertEquals(4.8357, result.getLongitude());
+        assertEquals(GeoHash.encode(45.7640, 4.8357, GeoHash.PRECISION), result.getGeohash());
+    }
+
+    @Test
+    void createLieu_shouldStoreTheNormalizedCity() {
+        Lieu lieu = new Lieu();
+        lieu.setAdresse("4 place Dorian, 42000 ST-ETIENNE");
+
+        when(gazetteer.city("4 place Dorian, 42000 ST-ETIENNE")).thenReturn(Optional.of("Saint-Étienne"));
+        when(lieuRepository.save(any(Lieu.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Lieu result = lieuService.createLieu(lieu);
+
+        assertEquals("Saint-Étienne", result.getVille());
+        assertEquals("saint etienne", result.getVilleKey());
+    }
+
+    @Test
+    void getLieuxByCity_shouldMatchTheNormalizedCityKey() {
+        PageRequest pageable = PageRequest.of(0, 12);
+        Page<Lieu> expected = new PageImpl<>(List.of(new Lieu()));
+
+        when(gazetteer.city("75015 PARIS")).thenReturn(Optional.of("Paris"));
+        when(lieuRepository.findByVilleKey("paris", pageable)).thenReturn(expected);
+
+        assertSame(expected, lieuService.getLieuxByCity("75015 PARIS", pageable));
+    }
+
+    @Test
+    void createLieu_shouldKeepGivenCoordinates() {
+        Lieu lieu = new Lieu();
+        lieu.setAdresse("Chemin des Vignes, Bordeaux");
+        lieu.setLatitude(44.80);
+        lieu.setLongitude(-0.60);
+
+        when(gazetteer.city("Chemin des Vignes, Bordeaux")).thenReturn(Optional.of("Bordeaux"));
+        when(lieuRepository.save(any(Lieu.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Lieu result = lieuService.createLieu(lieu);
+
+        assertEquals(44.80, result.getLatitude());
+        assertEquals(GeoHash.encode(44.80, -0.60, GeoHash.PRECISION), result.getGeohash());
+        assertEquals("Bordeaux", result.getVille());
+        // The city is still resolved, but given coordinates are never geocoded
+        verify(gazetteer, never()).locate(any());
+    }
+
+    @Test
+    void updateLieu_shouldClearThePositionOfAnUnknownAddress() {
+        User owner = new User();
+        owner.setId(1L);
+        Lieu existing = new Lieu();
+        existing.setOwner(owner);
+        existing.setAdresse("Nice, France");
+        existing.setLatitude(43.7102);
+        existing.setLongitude(7.2620);
+        existing.setGeohash("spv2bcy0x");
+        Lieu updated = new Lieu();
+        updated.setAdresse("Lieu-dit Les Granges");
+
+        when(lieuRepository.findById(3L)).thenReturn(Optional.of(existing));
+        when(gazetteer.locate("Lieu-dit Les Granges")).thenReturn(Optional.empty());
+        when(lieuRepository.save(any(Lieu.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Lieu result = lieuService.updateLieu(3L, updated, owner);
+
+        assertNull(result.getLatitude());
+        assertNull(result.getLongitude());
+        assertNull(result.getGeohash());
+    }
+
+    @Test
+    void getSearchFacets_shouldCountTheSearchWithTheActiveFiltersResolved() {
+        when(gazetteer.city("Lyon")).thenReturn(Optional.of("Lyon"));
+        when(lieuRepository.countFacets(any(), eq(BigDecimal.TEN), isNull(), eq(LieuFacets.PRICE_BOUNDS))).thenReturn(List.of(
+            new LieuFacetRow(LieuType.MAISON, 1, "lyon", "Lyon", 1, 2L),
+            new LieuFacetRow(LieuType.VILLA, 1, "lyon", "Lyon", 1, 3L)));
+
+        LieuFacets facets = lieuService.getSearchFacets(null, LieuType.MAISON, BigDecimal.TEN, null, "Lyon", null, null, null);
+
+        assertEquals(2, facets.getTotal());
+        assertEquals(3L, facets.getTypes().get(LieuType.VILLA));
+    }
+
+    @Test
+    void getSearchFacets_shouldIgnoreFiltersForAKeywordSearchLikeTheSearch() {
+        when(lieuRepository.countFacets(any(), isNull(), isNull(), eq(LieuFacets.PRICE_BOUNDS))).thenReturn(List.of(
+            new LieuFacetRow(LieuType.MAISON, 1, "lyon", "Lyon", 1, 2L),
+            new LieuFacetRow(LieuType.VILLA, 1, "nice", "Nice", 1, 3L)));
+
+        LieuFacets facets = lieuService.getSearchFacets("piscine", LieuType.MAISON, BigDecimal.TEN, null, "Lyon", null, null, null);
+
+        assertEquals(5, facets.getTotal());
+        verifyNoInteractions(gazetteer);
+    }
 }
@@ -0,0 +1,91 @@
+package org.example.locaspace.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("MultipartStreamReader Unit Tests")
+class MultipartStreamReaderTest {
+
+    private static final String BOUNDARY = "----WebKitFormBoundary7MA4YWxkTrZu0gW";
+
+    @Test
+    void nextPart_shouldStreamEachFileUpToItsBoundary() throws IOException {
+        byte[] big = new byte[200_000];
+        new Random(42).nextBytes(big);
+        byte[] body = concat(
+            "preamble\r\n--" + BOUNDARY + "\r\n" +
+            "Content-Disposition: form-data; name=\"photos\"; filename=\"a.jpg\"\r\n" +
+            "Content-Type: image/jpeg\r\n\r\n",
+            big,
+            "\r\n--" + BOUNDARY + "\r\n" +
+            "Content-Disposition: form-data; name=\"photos\"; filename=\"b.png\"\r\n\r\n" +
+            "small\r\n--" + BOUNDARY + "--\r\n");
+
+        // Trickle the body in 7-byte reads so boundaries straddle buffer refills
+        MultipartStreamReader reader = new MultipartStreamReader(new TrickleInputStream(body, 7), BOUNDARY);
+
+        MultipartStreamReader.Part first = reader.nextPart();
+        assertEquals("photos", first.getName());
+        assertEquals("a.jpg", first.getFilename());
+        assertEquals("image/jpeg", first.getContentType());
+        assertArrayEquals(big, first.getInputStream().readAllBytes());
+
+        MultipartStreamReader.Part second = reader.nextPart();
+        assertEquals("b.png", second.getFilename());
+        assertEquals("small", new String(second.getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+
+        assertNull(reader.nextPart());
+    }
+
+    @Test
+    void nextPart_shouldSkipUnreadPartsAndFailOnTruncatedBody() throws IOException {
+        byte[] body = ("--" + BOUNDARY + "\r\n" +
+            "Content-Disposition: form-data; name=\"title\"\r\n\r\n" +
+            "ignored\r\n--" + BOUNDARY + "\r\n" +
+            "Content-Disposition: form-data; name=\"photos\"; filename=\"c.jpg\"\r\n\r\n" +
+            "truncated").getBytes(StandardCharsets.UTF_8);
+        MultipartStreamReader reader = new MultipartStreamReader(new ByteArrayInputStream(body), BOUNDARY);
+
+        assertNull(reader.nextPart().getFilename());
+        MultipartStreamReader.Part photo = reader.nextPart();
+        assertEquals("c.jpg", photo.getFilename());
+        assertThrows(IOException.class, () -> photo.getInputStream().readAllBytes());
+    }
+
+    private static byte[] concat(String head, byte[] middle, String tail) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(head.getBytes(StandardCharsets.UTF_8));
+        out.write(middle);
+        out.write(tail.getBytes(StandardCharsets.UTF_8));
+        return out.toByteArray();
+    }
+
+    private static class TrickleInputStream extends InputStream {
+        private final ByteArrayInputStream in;
+        private final int chunk;
+
+        TrickleInputStream(byte[] data, int chunk) {
+            this.in = new ByteArrayInputStream(data);
+            this.chunk = chunk;
+        }
+
+        @Override
+        public int read() {
+            return in.read();
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            return in.read(b, off, Math.min(len, chunk));
+        }
+    }
+}
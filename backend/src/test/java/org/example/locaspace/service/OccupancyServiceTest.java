@@ -0,0 +1,108 @@
+package org.example.locaspace.service;
+
+import org.example.locaspace.repository.OccupancyRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OccupancyService Unit Tests")
+class OccupancyServiceTest {
+
+    @Mock
+    private OccupancyRepository occupancyRepository;
+
+    @InjectMocks
+    private OccupancyService occupancyService;
+
+    private static final LocalDate D1 = LocalDate.of(2030, 6, 1);
+
+    // Rows as returned by findOverlapping: source, id, start_date, end_date, status, title
+    private static Object[] row(String source, long id, LocalDate start, LocalDate end) {
+        return new Object[]{source, id, Date.valueOf(start), Date.valueOf(end), "CONFIRMEE", null};
+    }
+
+    private void occupied(LocalDate start, LocalDate end, Object[]... rows) {
+        List<Object[]> result = new ArrayList<>(List.of(rows));
+        when(occupancyRepository.findOverlapping(eq(7L), eq(start), eq(end), any())).thenReturn(result);
+    }
+
+    @Test
+    void getFreeDays_shouldTreatBothEndsOfARangeAsTaken() {
+        occupied(D1, D1.plusDays(9), row("reservation", 1, D1.plusDays(2), D1.plusDays(4)));
+
+        List<LocalDate> free = occupancyService.getFreeDays(7L, D1, D1.plusDays(9));
+
+        assertEquals(7, free.size());
+        assertTrue(free.contains(D1.plusDays(1)));
+        assertFalse(free.contains(D1.plusDays(2)));
+        assertFalse(free.contains(D1.plusDays(4)));
+        assertTrue(free.contains(D1.plusDays(5)));
+    }
+
+    @Test
+    void getFreeDays_shouldMergeOverlappingAndAdjacentRangesOfBothSources() {
+        occupied(D1, D1.plusDays(9),
+            row("reservation", 1, D1.plusDays(1), D1.plusDays(3)),
+            row("block", 2, D1.plusDays(2), D1.plusDays(5)),
+            row("reservation", 3, D1.plusDays(6), D1.plusDays(6)));
+
+        List<LocalDate> free = occupancyService.getFreeDays(7L, D1, D1.plusDays(9));
+
+        assertEquals(List.of(D1, D1.plusDays(7), D1.plusDays(8), D1.plusDays(9)), free);
+    }
+
+    @Test
+    void getFreeDays_shouldClipRangesThatOverhangTheWindow() {
+        occupied(D1, D1.plusDays(4),
+            row("block", 1, D1.minusDays(10), D1),
+            row("reservation", 2, D1.plusDays(4), D1.plusDays(20)));
+
+        List<LocalDate> free = occupancyService.getFreeDays(7L, D1, D1.plusDays(4));
+
+        assertEquals(List.of(D1.plusDays(1), D1.plusDays(2), D1.plusDays(3)), free);
+    }
+
+    @Test
+    void getFreeDays_shouldHandleSingleDayAndEmptyWindows() {
+        occupied(D1, D1);
+
+        assertEquals(List.of(D1), occupancyService.getFreeDays(7L, D1, D1));
+        assertEquals(List.of(), occupancyService.getFreeDays(7L, D1, D1.minusDays(1)));
+        verify(occupancyRepository, times(1)).findOverlapping(any(), any(), any(), any());
+    }
+
+    @Test
+    void getOccupancy_shouldMapNativeRows() {
+        occupied(D1, D1.plusDays(9), new Object[]{"block", 4L, D1.plusDays(1), D1.plusDays(2), "blocked", "Travaux"});
+
+        OccupancyService.OccupiedRange range = occupancyService.getOccupancy(7L, D1, D1.plusDays(9)).get(0);
+
+        assertEquals(OccupancyService.SOURCE_BLOCK, range.getSource());
+        assertEquals(4L, range.getId());
+        assertEquals(D1.plusDays(1), range.getStartDate());
+        assertEquals(D1.plusDays(2), range.getEndDate());
+        assertEquals("Travaux", range.getTitle());
+    }
+
+    @Test
+    void isFree_shouldBeTrueOnlyWithoutOverlap() {
+        when(occupancyRepository.countOverlapping(eq(7L), eq(D1), eq(D1.plusDays(2)), any())).thenReturn(0L, 1L);
+
+        assertTrue(occupancyService.isFree(7L, D1, D1.plusDays(2)));
+        assertFalse(occupancyService.isFree(7L, D1, D1.plusDays(2)));
+    }
+}
@@ -0,0 +1,139 @@
+package org.example.locaspace.service;
+
+import org.example.locaspace.repository.PhotoVariantJobRepository;
+import org.example.locaspace.storage.LocalBlobStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PhotoGarbageCollector Unit Tests")
+class PhotoGarbageCollectorTest {
+
+    private static final String KEPT = "sha256/aa/bb/aabb.jpg";
+    private static final String ORPHAN = "sha256/cc/dd/ccdd.jpg";
+
+    @TempDir
+    Path uploadDir;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PhotoVariantJobRepository variantJobRepository;
+
+    private PhotoGarbageCollector collector;
+
+    @BeforeEach
+    void setUp() {
+        PhotoStorageService photoStorageService = new PhotoStorageService();
+        ReflectionTestUtils.setField(photoStorageService, "uploadDir", uploadDir.toString());
+        ReflectionTestUtils.setField(photoStorageService, "blobStore", new LocalBlobStore(uploadDir));
+
+        collector = new PhotoGarbageCollector(jdbcTemplate, photoStorageService, variantJobRepository);
+        ReflectionTestUtils.setField(collector, "gracePeriod", Duration.ofHours(24));
+        ReflectionTestUtils.setField(collector, "batchSize", 2);
+        ReflectionTestUtils.setField(collector, "batchPause", Duration.ZERO);
+    }
+
+    // lieu_photos rows of live lieux, as returned by the mark query
+    private void referenced(String... urls) {
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            for (String url : urls) {
+                ResultSet rs = mock(ResultSet.class);
+                when(rs.getString(1)).thenReturn(url);
+                handler.processRow(rs);
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+    }
+
+    private Path file(String key, int size, boolean old) throws IOException {
+        Path path = uploadDir.resolve(key);
+        Files.createDirectories(path.getParent());
+        Files.write(path, new byte[size]);
+        if (old) {
+            Files.setLastModifiedTime(path, FileTime.from(Instant.now().minus(Duration.ofDays(3))));
+        }
+        return path;
+    }
+
+    @Test
+    void collect_shouldDeleteOldOrphansWithTheirVariantsAndKeepEverythingElse() throws IOException {
+        referenced("/uploads/" + KEPT, "https://cdn.example.com/external.jpg");
+        Path kept = file(KEPT, 10, true);
+        Path keptVariant = file("sha256/aa/bb/variants/aabb-w320.jpg", 5, true);
+        Path orphan = file(ORPHAN, 100, true);
+        Path orphanVariant = file("sha256/cc/dd/variants/ccdd-w320.jpg", 20, true);
+        Path fresh = file("sha256/ee/ff/eeff.jpg", 7, false);
+
+        PhotoGarbageCollector.GcStats stats = collector.collect();
+
+        assertTrue(Files.exists(kept));
+        assertTrue(Files.exists(keptVariant));
+        assertTrue(Files.exists(fresh));
+        assertFalse(Files.exists(orphan));
+        assertFalse(Files.exists(orphanVariant));
+        assertEquals(5, stats.getScanned());
+        assertEquals(2, stats.getDeleted());
+        assertEquals(120, stats.getReclaimedBytes());
+        verify(variantJobRepository).deleteByPhotoUrlIn(List.of("/uploads/" + ORPHAN));
+    }
+
+    @Test
+    void collect_shouldRemoveLegacyDirectoriesOfSoftDeletedLieux() throws IOException {
+        // Lieu 1 is live; lieu 2 was soft-deleted, so the mark query does not return its photos
+        referenced("/uploads/lieux/1/salon.jpg");
+        Path live = file("lieux/1/salon.jpg", 10, true);
+        file("lieux/2/cuisine.jpg", 30, true);
+        file("lieux/2/variants/cuisine-w640.jpg", 8, true);
+
+        PhotoGarbageCollector.GcStats stats = collector.collect();
+
+        assertTrue(Files.exists(live));
+        assertFalse(Files.exists(uploadDir.resolve("lieux/2")));
+        assertEquals(38, stats.getReclaimedBytes());
+    }
+
+    @Test
+    void collect_shouldDeleteStaleStagingFiles() throws IOException {
+        referenced();
+        Path stale = file(".staging/old.part", 50, true);
+        Path inProgress = file(".staging/new.part", 50, false);
+
+        PhotoGarbageCollector.GcStats stats = collector.collect();
+
+        assertFalse(Files.exists(stale));
+        assertTrue(Files.exists(inProgress));
+        assertEquals(50, stats.getReclaimedBytes());
+    }
+
+    @Test
+    void stemOf_shouldMapVariantsToTheirOriginal() {
+        assertEquals("sha256/aa/bb/aabb", PhotoGarbageCollector.stemOf("sha256/aa/bb/aabb.jpg"));
+        assertEquals("sha256/aa/bb/aabb", PhotoGarbageCollector.stemOf("sha256/aa/bb/variants/aabb-w1280.png"));
+        assertEquals("lieux/3/my-wall", PhotoGarbageCollector.stemOf("lieux/3/my-wall.jpg"));
+    }
+}
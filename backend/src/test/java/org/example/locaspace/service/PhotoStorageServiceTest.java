@@ -0,0 +1,112 @@
+package org.example.locaspace.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.locaspace.exception.BadRequestException;
+import org.example.locaspace.metrics.BusinessMetrics;
+import org.example.locaspace.storage.LocalBlobStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PhotoStorageService Unit Tests")
+class PhotoStorageServiceTest {
+
+    private static final byte[] JPEG = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0, 1, 2, 3, 4, 5};
+
+    @TempDir
+    Path uploadDir;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PhotoStorageService photoStorageService;
+
+    @BeforeEach
+    void setUp() {
+        photoStorageService = new PhotoStorageService();
+        ReflectionTestUtils.setField(photoStorageService, "uploadDir", uploadDir.toString());
+        ReflectionTestUtils.setField(photoStorageService, "maxFileSize", DataSize.ofMegabytes(1));
+        ReflectionTestUtils.setField(photoStorageService, "maxFiles", 5);
+        ReflectionTestUtils.setField(photoStorageService, "uploadThreads", 2);
+        ReflectionTestUtils.setField(photoStorageService, "uploadQueueCapacity", 4);
+        ReflectionTestUtils.setField(photoStorageService, "presignTtl", Duration.ofMinutes(15));
+        ReflectionTestUtils.setField(photoStorageService, "blobStore", new LocalBlobStore(uploadDir));
+        ReflectionTestUtils.setField(photoStorageService, "businessMetrics", new BusinessMetrics(meterRegistry));
+        photoStorageService.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        photoStorageService.stop();
+    }
+
+    @Test
+    void storePropertyPhotos_shouldStoreIdenticalBytesOnceUnderTheirHash() throws IOException {
+        List<PhotoStorageService.StoredPhoto> first = photoStorageService.storePropertyPhotos(1L,
+            List.of(new MockMultipartFile("photos", "salon.jpeg", "image/jpeg", JPEG)));
+        List<PhotoStorageService.StoredPhoto> second = photoStorageService.storePropertyPhotos(2L,
+            List.of(new MockMultipartFile("photos", "COPY.JPG", "image/jpeg", JPEG)));
+
+        PhotoStorageService.StoredPhoto a = first.get(0);
+        PhotoStorageService.StoredPhoto b = second.get(0);
+        String hash = a.getSha256();
+        assertEquals("/uploads/sha256/" + hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash + ".jpg", a.getUrl());
+        assertEquals(a.getUrl(), b.getUrl());
+        assertFalse(a.isDeduplicated());
+        assertTrue(b.isDeduplicated());
+        assertArrayEquals(JPEG, Files.readAllBytes(a.getPath()));
+        try (var staged = Files.list(uploadDir.resolve(".staging"))) {
+            assertEquals(0, staged.count());
+        }
+        assertEquals(1, meterRegistry.get("locaspace.photos.stored").tag("deduplicated", "false").counter().count());
+        assertEquals(1, meterRegistry.get("locaspace.photos.stored").tag("deduplicated", "true").counter().count());
+        assertEquals(JPEG.length, meterRegistry.get("locaspace.photos.bytes.written").counter().count());
+    }
+
+    @Test
+    void keyOf_shouldRejectPathsOutsideTheUploadDirectory() {
+        assertEquals("sha256/ab/cd/abcd.jpg", photoStorageService.keyOf("/uploads/sha256/ab/cd/abcd.jpg").orElseThrow());
+        assertTrue(photoStorageService.keyOf("/uploads/../application.properties").isEmpty());
+        assertTrue(photoStorageService.keyOf("/uploads/sha256/.staging/x.part").isEmpty());
+        assertTrue(photoStorageService.keyOf("https://example.com/photo.jpg").isEmpty());
+    }
+
+    @Test
+    void presignUpload_shouldReportExistingBlobsAndRejectUnsupportedStores() throws IOException {
+        PhotoStorageService.StoredPhoto stored = photoStorageService.storePropertyPhotos(1L,
+            List.of(new MockMultipartFile("photos", "salon.jpg", "image/jpeg", JPEG))).get(0);
+
+        PhotoStorageService.PresignedPhoto existing =
+            photoStorageService.presignUpload(1L, stored.getSha256(), "image/jpeg", JPEG.length);
+        assertTrue(existing.isExists());
+        assertEquals(stored.getUrl(), existing.getUrl());
+
+        // The local store cannot hand out upload URLs
+        String otherHash = "0".repeat(64);
+        assertThrows(BadRequestException.class,
+            () -> photoStorageService.presignUpload(1L, otherHash, "image/jpeg", JPEG.length));
+        assertThrows(BadRequestException.class,
+            () -> photoStorageService.presignUpload(1L, otherHash, "application/pdf", JPEG.length));
+    }
+
+    @Test
+    void confirmUploads_shouldRequireTheBlobToExist() throws IOException {
+        PhotoStorageService.StoredPhoto stored = photoStorageService.storePropertyPhotos(1L,
+            List.of(new MockMultipartFile("photos", "salon.jpg", "image/jpeg", JPEG))).get(0);
+
+        assertEquals(List.of(stored.getUrl()), photoStorageService.confirmUploads(List.of(stored.getUrl())));
+        assertThrows(BadRequestException.class,
+            () -> photoStorageService.confirmUploads(List.of("/uploads/sha256/00/00/" + "0".repeat(64) + ".jpg")));
+    }
+}
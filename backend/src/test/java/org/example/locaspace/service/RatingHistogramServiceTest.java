@@ -0,0 +1,118 @@
+package org.example.locaspace.service;
+
+import org.example.locaspace.dto.avis.RatingHistogramResponse;
+import org.example.locaspace.model.LieuRatingStats;
+import org.example.locaspace.repository.AvisRepository;
+import org.example.locaspace.repository.LieuRatingStatsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RatingHistogramService Unit Tests")
+class RatingHistogramServiceTest {
+
+    @Mock
+    private LieuRatingStatsRepository statsRepository;
+
+    @Mock
+    private AvisRepository avisRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private RatingHistogramService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new RatingHistogramService(statsRepository, avisRepository, transactionManager);
+    }
+
+    @Test
+    void getHistogram_shouldReadTheCounterRow() {
+        when(statsRepository.findById(1L)).thenReturn(Optional.of(LieuRatingStats.builder()
+            .lieuId(1L).stars1(1).stars2(0).stars3(0).stars4(2).stars5(1).build()));
+
+        RatingHistogramResponse histogram = service.getHistogram(1L);
+
+        assertEquals(Map.of(1, 1L, 2, 0L, 3, 0L, 4, 2L, 5, 1L), histogram.getCounts());
+        assertEquals(4L, histogram.getReviewCount());
+        assertEquals(3.5, histogram.getAverageRating());
+        verifyNoInteractions(avisRepository);
+    }
+
+    @Test
+    void getHistogram_shouldAggregateReviewsOfLieuxWithoutACounterRow() {
+        when(statsRepository.findById(2L)).thenReturn(Optional.empty());
+        when(avisRepository.countByNoteForLieu(2L)).thenReturn(List.of(new Object[]{5, 3L}, new Object[]{2, 1L}));
+
+        RatingHistogramResponse histogram = service.getHistogram(2L);
+
+        assertEquals(3L, histogram.getCounts().get(5));
+        assertEquals(0L, histogram.getCounts().get(1));
+        assertEquals(4L, histogram.getReviewCount());
+        assertEquals(4.25, histogram.getAverageRating());
+    }
+
+    @Test
+    void getHistogram_shouldHaveNoAverageWithoutReviews() {
+        when(statsRepository.findById(3L)).thenReturn(Optional.empty());
+        when(avisRepository.countByNoteForLieu(3L)).thenReturn(List.of());
+
+        RatingHistogramResponse histogram = service.getHistogram(3L);
+
+        assertEquals(0L, histogram.getReviewCount());
+        assertNull(histogram.getAverageRating());
+    }
+
+    @Test
+    void prepare_shouldSeedAMissingRowFromTheReviewsInItsOwnTransaction() {
+        when(statsRepository.existsById(1L)).thenReturn(false);
+
+        service.prepare(1L);
+
+        verify(statsRepository).insertFromAvis(1L);
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void prepare_shouldLeaveAnExistingRowAlone() {
+        when(statsRepository.existsById(1L)).thenReturn(true);
+
+        service.prepare(1L);
+
+        verify(statsRepository, never()).insertFromAvis(anyLong());
+        verifyNoInteractions(transactionManager);
+    }
+
+    @Test
+    void prepare_shouldTolerateAConcurrentSeed() {
+        when(statsRepository.existsById(1L)).thenReturn(false);
+        when(statsRepository.insertFromAvis(1L)).thenThrow(new DataIntegrityViolationException("Duplicate entry '1' for key 'PRIMARY'"));
+
+        assertDoesNotThrow(() -> service.prepare(1L));
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    void move_shouldSkipUnchangedNotes() {
+        service.move(1L, 4, 4);
+        service.move(1L, 4, 2);
+
+        verify(statsRepository).move(1L, 4, 2);
+        verifyNoMoreInteractions(statsRepository);
+    }
+}
@@ -0,0 +1,115 @@
+package org.example.locaspace.service;
+
+import org.example.locaspace.exception.ConflictException;
+import org.example.locaspace.metrics.BusinessMetrics;
+import org.example.locaspace.model.Lieu;
+import org.example.locaspace.model.Reservation;
+import org.example.locaspace.model.User;
+import org.example.locaspace.model.enums.ReservationStatus;
+import org.example.locaspace.repository.LieuRepository;
+import org.example.locaspace.repository.ReservationRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReservationService Unit Tests")
+class ReservationServiceTest {
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private LieuRepository lieuRepository;
+
+    @Mock
+    private NotificationService notificationService;
+
+    @Mock
+    private OccupancyService occupancyService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private BusinessMetrics businessMetrics;
+
+    @InjectMocks
+    private ReservationService reservationService;
+
+    @Test
+    void confirmHold_shouldFailWhenSchedulerExpiredItAfterTheRead() {
+        User tenant = user(2L);
+        Reservation hold = reservation(ReservationStatus.OPTION, tenant, LocalDateTime.now().plusMinutes(5));
+        when(reservationRepository.findByIdWithDetails(1L)).thenReturn(Optional.of(hold));
+        when(reservationRepository.transitionIfLive(eq(1L), eq(ReservationStatus.OPTION), eq(ReservationStatus.EN_ATTENTE), any(), any()))
+            .thenReturn(0);
+
+        assertThrows(IllegalStateException.class, () -> reservationService.confirmHold(1L, tenant));
+        verify(reservationRepository, never()).save(any(Reservation.class));
+        verifyNoInteractions(notificationService);
+    }
+
+    @Test
+    void updateReservationStatus_shouldConflictWhenGuardedUpdateMatchesNothing() {
+        Reservation request = reservation(ReservationStatus.EN_ATTENTE, user(2L), LocalDateTime.now().plusHours(1));
+        when(reservationRepository.findById(1L)).thenReturn(Optional.of(request));
+        when(reservationRepository.transitionIfLive(eq(1L), eq(ReservationStatus.EN_ATTENTE), eq(ReservationStatus.CONFIRMEE), isNull(), any()))
+            .thenReturn(0);
+
+        assertThrows(ConflictException.class,
+            () -> reservationService.updateReservationStatus(1L, ReservationStatus.CONFIRMEE));
+        verify(reservationRepository, never()).save(any(Reservation.class));
+        verifyNoInteractions(notificationService);
+    }
+
+    @Test
+    void updateReservationStatus_shouldReturnReloadedRowAfterGuardedUpdate() {
+        User tenant = user(2L);
+        Reservation request = reservation(ReservationStatus.EN_ATTENTE, tenant, LocalDateTime.now().plusHours(1));
+        Reservation confirmed = reservation(ReservationStatus.CONFIRMEE, tenant, null);
+        when(reservationRepository.findById(1L)).thenReturn(Optional.of(request));
+        when(reservationRepository.transitionIfLive(eq(1L), eq(ReservationStatus.EN_ATTENTE), eq(ReservationStatus.CONFIRMEE), isNull(), any()))
+            .thenReturn(1);
+        when(reservationRepository.findByIdWithDetails(1L)).thenReturn(Optional.of(confirmed));
+
+        Reservation result = reservationService.updateReservationStatus(1L, ReservationStatus.CONFIRMEE);
+
+        assertSame(confirmed, result);
+        verify(reservationRepository, never()).save(any(Reservation.class));
+        verify(notificationService).createNotification(eq(tenant), any(), any(), any());
+    }
+
+    private static User user(Long id) {
+        User user = new User();
+        user.setId(id);
+        return user;
+    }
+
+    private static Reservation reservation(ReservationStatus statut, User tenant, LocalDateTime expiresAt) {
+        Lieu lieu = new Lieu();
+        lieu.setId(10L);
+        lieu.setTitre("Loft");
+        lieu.setOwner(user(3L));
+
+        Reservation reservation = new Reservation();
+        reservation.setId(1L);
+        reservation.setStatut(statut);
+        reservation.setExpiresAt(expiresAt);
+        reservation.setLocataire(tenant);
+        reservation.setLieu(lieu);
+        return reservation;
+    }
+}
@@ -0,0 +1,85 @@
+package org.example.locaspace.storage;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("BlobReadCache Unit Tests")
+class BlobReadCacheTest {
+
+    @TempDir
+    Path dir;
+
+    private final Map<String, byte[]> remote = new HashMap<>();
+    private final AtomicInteger downloads = new AtomicInteger();
+
+    private boolean download(String key, Path target) throws IOException {
+        downloads.incrementAndGet();
+        byte[] bytes = remote.get(key);
+        if (bytes == null) {
+            return false;
+        }
+        Files.write(target, bytes);
+        return true;
+    }
+
+    @Test
+    void get_shouldDownloadOnceAndServeLaterReadsLocally() throws IOException {
+        remote.put("sha256/ab/cd/abcd.jpg", new byte[]{1, 2, 3});
+        BlobReadCache cache = new BlobReadCache(dir, 1024, 60_000, this::download);
+
+        Optional<Path> first = cache.get("sha256/ab/cd/abcd.jpg");
+        Optional<Path> second = cache.get("sha256/ab/cd/abcd.jpg");
+
+        assertTrue(first.isPresent());
+        assertEquals(first, second);
+        assertArrayEquals(new byte[]{1, 2, 3}, Files.readAllBytes(first.get()));
+        assertEquals(1, downloads.get());
+    }
+
+    @Test
+    void get_shouldRememberMissesForTheMissTtl() throws IOException {
+        BlobReadCache cache = new BlobReadCache(dir, 1024, 60_000, this::download);
+
+        assertTrue(cache.get("sha256/ab/cd/abcd.webp").isEmpty());
+        assertTrue(cache.get("sha256/ab/cd/abcd.webp").isEmpty());
+
+        assertEquals(1, downloads.get());
+    }
+
+    @Test
+    void put_shouldEvictLeastRecentlyUsedEntriesOverTheBudget() throws IOException {
+        BlobReadCache cache = new BlobReadCache(dir, 10, 0, this::download);
+        Path source = Files.write(dir.resolveSibling(dir.getFileName() + "-src"), new byte[4]);
+        try {
+            cache.put("a", source);
+            cache.put("b", source);
+            cache.get("a");
+            cache.put("c", source);
+
+            assertTrue(Files.exists(dir.resolve("a")));
+            assertFalse(Files.exists(dir.resolve("b")));
+            assertTrue(Files.exists(dir.resolve("c")));
+            assertEquals(0, downloads.get());
+        } finally {
+            Files.deleteIfExists(source);
+        }
+    }
+
+    @Test
+    void get_shouldRejectKeysEscapingTheCacheDirectory() throws IOException {
+        BlobReadCache cache = new BlobReadCache(dir, 1024, 0, this::download);
+
+        assertThrows(IllegalArgumentException.class, () -> cache.get("../outside.jpg"));
+    }
+}
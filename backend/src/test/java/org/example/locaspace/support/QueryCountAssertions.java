@@ -0,0 +1,61 @@
+package org.example.locaspace.support;
+
+import org.example.locaspace.metrics.QueryCounter;
+import org.junit.jupiter.api.function.Executable;
+import org.opentest4j.AssertionFailedError;
+
+// Statement-count assertions for tests running against the proxied DataSource (any Spring
+// context with DataSourceProxyConfig, or a DataSource wrapped with DataSourceProxyConfig.proxy).
+// Only statements issued on the test thread are counted.
+//
+//   assertQueryCount(2, () -> mockMvc.perform(get("/api/lieux/1")));
+//   assertNoRepeatedQueries(5, () -> entityMapper.toUserResponse(user));
+public final class QueryCountAssertions {
+
+    private static final int SHAPES_IN_MESSAGE = 5;
+    private static final int MAX_SHAPE_LENGTH = 200;
+
+    private QueryCountAssertions() {
+    }
+
+    public static QueryCounter.Scope assertQueryCount(int expected, Executable action) {
+        QueryCounter.Scope scope = run(action);
+        if (scope.getTotal() != expected) {
+            fail("Expected " + expected + " SQL statements but got " + scope.getTotal(), scope);
+        }
+        return scope;
+    }
+
+    public static QueryCounter.Scope assertMaxQueryCount(int max, Executable action) {
+        QueryCounter.Scope scope = run(action);
+        if (scope.getTotal() > max) {
+            fail("Expected at most " + max + " SQL statements but got " + scope.getTotal(), scope);
+        }
+        return scope;
+    }
+
+    // Fails when a single query shape runs more than maxRepeat times, whatever the total
+    public static QueryCounter.Scope assertNoRepeatedQueries(int maxRepeat, Executable action) {
+        QueryCounter.Scope scope = run(action);
+        if (scope.getMaxRepeat() > maxRepeat) {
+            fail("Expected no query shape to run more than " + maxRepeat + " times but one ran "
+                + scope.getMaxRepeat() + " times", scope);
+        }
+        return scope;
+    }
+
+    private static QueryCounter.Scope run(Executable action) {
+        try (QueryCounter.Scope scope = QueryCounter.start()) {
+            action.execute();
+            return scope;
+        } catch (Error | RuntimeException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new AssertionFailedError("Unexpected exception while counting SQL statements", e);
+        }
+    }
+
+    private static void fail(String message, QueryCounter.Scope scope) {
+        throw new AssertionFailedError(message + ":" + scope.describe(SHAPES_IN_MESSAGE, MAX_SHAPE_LENGTH));
+    }
+}
@@ -0,0 +1,44 @@
+package org.example.locaspace.support;
+
+import org.example.locaspace.dto.lieu.LieuResponse;
+import org.example.locaspace.dto.lieu.PhotoVariantsResponse;
+import org.example.locaspace.dto.user.UserSummaryResponse;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Response payloads shaped like production pages, shared by the serialization tests
+// (the benchmarks module has its own copy in Fixtures)
+public final class ResponseFixtures {
+
+    private ResponseFixtures() {
+    }
+
+    public static PageImpl<LieuResponse> lieuPage(int size) {
+        List<LieuResponse> content = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            long id = 1000 + i;
+            String cover = "/uploads/sha256/ab/cd/" + Long.toHexString(id * 0x9E3779B97F4A7C15L) + "0123456789abcdef.jpg";
+            Map<Integer, String> variants = new LinkedHashMap<>();
+            for (int width : new int[]{320, 640, 1280}) {
+                variants.put(width, cover.replace(".jpg", "-w" + width + ".jpg").replace("/cd/", "/cd/variants/"));
+            }
+            content.add(new LieuResponse(id, "Appartement lumineux n°" + i,
+                "Bel appartement rénové au cœur du quartier, proche des transports et des commerces. ".repeat(8),
+                "Appartement", BigDecimal.valueOf(85 + i), i + " rue de la République, Lyon", true,
+                List.of(cover), 6, new UserSummaryResponse(7L, "Propriétaire " + (i % 5), "owner" + (i % 5) + "@example.com", "PROPRIETAIRE"),
+                4.2, 17L,
+                List.of(PhotoVariantsResponse.builder()
+                    .url(cover)
+                    .placeholder("data:image/jpeg;base64,/9j/4AAQSkZJRgABAQAAAQABAAD/2wBDAAgGBgcGBQgHBwcJCQgKDBQNDAsLDBkSEw8UHR")
+                    .variants(variants)
+                    .build())));
+        }
+        return new PageImpl<>(content, PageRequest.of(0, size), 240);
+    }
+}
@@ -0,0 +1,163 @@
+package org.example.locaspace.tracing;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TailSamplingSpanExporter Unit Tests")
+class TailSamplingSpanExporterTest {
+
+    private static final long T0 = TimeUnit.SECONDS.toNanos(1_700_000_000L);
+
+    private final List<SpanData> exported = new ArrayList<>();
+    private SdkTracerProvider tracerProvider;
+    private TailSamplingSpanExporter sampler;
+    private Tracer tracer;
+
+    private void setUp(double ratio, int maxBufferedSpans) {
+        SpanExporter collecting = new SpanExporter() {
+            @Override
+            public CompletableResultCode export(Collection<SpanData> spans) {
+                exported.addAll(spans);
+                return CompletableResultCode.ofSuccess();
+            }
+
+            @Override
+            public CompletableResultCode flush() {
+                return CompletableResultCode.ofSuccess();
+            }
+
+            @Override
+            public CompletableResultCode shutdown() {
+                return CompletableResultCode.ofSuccess();
+            }
+        };
+        sampler = new TailSamplingSpanExporter(collecting, Duration.ofMillis(500), ratio, maxBufferedSpans, Duration.ofMinutes(1));
+        // Spans are handed to the sampler one by one as they end
+        tracerProvider = SdkTracerProvider.builder().addSpanProcessor(SimpleSpanProcessor.create(sampler)).build();
+        tracer = tracerProvider.get("test");
+    }
+
+    @AfterEach
+    void tearDown() {
+        tracerProvider.close();
+    }
+
+    private Span start(String name, Span parent, long startMillis) {
+        return tracer.spanBuilder(name)
+            .setParent(parent == null ? Context.root() : Context.root().with(parent))
+            .setStartTimestamp(T0 + TimeUnit.MILLISECONDS.toNanos(startMillis), TimeUnit.NANOSECONDS)
+            .startSpan();
+    }
+
+    private static void end(Span span, long endMillis) {
+        span.end(T0 + TimeUnit.MILLISECONDS.toNanos(endMillis), TimeUnit.NANOSECONDS);
+    }
+
+    // GET request with a service span and a JDBC span below it
+    private Span request(long durationMillis) {
+        Span root = start("http get", null, 0);
+        Span service = start("lieu-service#search", root, 1);
+        Span query = start("jdbc select", service, 2);
+        end(query, 3);
+        end(service, durationMillis - 1);
+        return root;
+    }
+
+    private List<String> exportedNames() {
+        return exported.stream().map(SpanData::getName).toList();
+    }
+
+    @Test
+    void export_shouldDropFastTracesOnceTheirRootEnds() {
+        setUp(0, 1000);
+        Span root = request(20);
+        assertTrue(exported.isEmpty());
+        assertEquals(2, sampler.getBufferedSpans());
+
+        end(root, 20);
+
+        assertTrue(exported.isEmpty());
+        assertEquals(0, sampler.getBufferedSpans());
+    }
+
+    @Test
+    void export_shouldKeepTheWholeTraceOfASlowRequest() {
+        setUp(0, 1000);
+        end(request(800), 800);
+
+        assertEquals(List.of("jdbc select", "lieu-service#search", "http get"), exportedNames());
+    }
+
+    @Test
+    void export_shouldKeepFastTracesWithAFailedSpan() {
+        setUp(0, 1000);
+        Span root = start("http post", null, 0);
+        Span query = start("jdbc insert", root, 1);
+        query.setStatus(StatusCode.ERROR);
+        end(query, 2);
+        end(root, 5);
+
+        assertEquals(List.of("jdbc insert", "http post"), exportedNames());
+    }
+
+    @Test
+    void export_shouldKeepFastTracesWithinTheRatio() {
+        setUp(1, 1000);
+        end(request(20), 20);
+
+        assertEquals(3, exported.size());
+    }
+
+    @Test
+    void export_shouldApplyTheDecisionToSpansEndingAfterTheRoot() {
+        setUp(0, 1000);
+        Span slowRoot = start("http post", null, 0);
+        Span slowJob = start("photo-variants", slowRoot, 10);
+        end(slowRoot, 600);
+        Span fastRoot = start("http get", null, 0);
+        Span fastJob = start("photo-variants", fastRoot, 10);
+        end(fastRoot, 20);
+
+        end(slowJob, 900);
+        end(fastJob, 900);
+
+        assertEquals(List.of("http post", "photo-variants"), exportedNames());
+        assertEquals(slowRoot.getSpanContext().getTraceId(), exported.get(1).getTraceId());
+        assertEquals(0, sampler.getBufferedSpans());
+    }
+
+    @Test
+    void export_shouldEvictTheOldestTracesWhenTheBufferIsFull() {
+        setUp(0, 2);
+        Span stuck = start("http get", null, 0);
+        end(start("jdbc select", stuck, 1), 2);
+        end(start("jdbc select", stuck, 3), 900);
+        assertEquals(2, sampler.getBufferedSpans());
+
+        Span other = start("http get", null, 0);
+        end(start("jdbc select", other, 1), 2);
+
+        // The stuck trace is pushed out; it had a slow span so it is exported
+        assertEquals(2, exported.size());
+        assertEquals(stuck.getSpanContext().getTraceId(), exported.get(0).getTraceId());
+        assertEquals(1, sampler.getBufferedSpans());
+    }
+}